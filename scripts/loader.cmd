@@ -61,6 +61,11 @@ IF EXIST "%LAUNCH_DIR%\launch.params" (
     FOR /F "usebackq delims=" %%A IN ("%LAUNCH_DIR%\launch.params") DO SET JVM_OPTIONS=%%A
 )
 
+@REM Class data sharing archive options, written by the Nucleus after it started successfully
+IF EXIST "%LAUNCH_DIR%\cds.params" (
+    FOR /F "usebackq delims=" %%A IN ("%LAUNCH_DIR%\cds.params") DO SET JVM_OPTIONS=!JVM_OPTIONS! %%A
+)
+
 SET JVM_OPTIONS=%JVM_OPTIONS% -Droot="%GG_ROOT%"
 SET OPTIONS=--setup-system-service false
 
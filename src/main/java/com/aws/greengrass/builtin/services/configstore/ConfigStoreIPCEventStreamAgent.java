@@ -13,6 +13,8 @@ import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.config.UpdateBehaviorTree;
 import com.aws.greengrass.config.Watcher;
 import com.aws.greengrass.config.WhatHappened;
+import com.aws.greengrass.ipc.IPCStreamBackpressure;
+import com.aws.greengrass.ipc.common.StreamEventWindow;
 import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
@@ -87,6 +89,10 @@ public class ConfigStoreIPCEventStreamAgent {
     @Setter(AccessLevel.PACKAGE)
     private Kernel kernel;
 
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private IPCStreamBackpressure streamBackpressure;
+
     public ConfigurationUpdateOperationHandler getConfigurationUpdateHandler(
             OperationContinuationHandlerContext context) {
         return new ConfigurationUpdateOperationHandler(context);
@@ -348,6 +354,7 @@ public class ConfigStoreIPCEventStreamAgent {
         private Node subscribedToNode;
         private Watcher subscribedToWatcher;
         private final AtomicBoolean active = new AtomicBoolean();
+        private StreamEventWindow<ConfigurationUpdateEvents> streamEventWindow;
 
         public ConfigurationUpdateOperationHandler(OperationContinuationHandlerContext context) {
             super(context);
@@ -460,10 +467,19 @@ public class ConfigStoreIPCEventStreamAgent {
                 logger.atDebug().kv(SERVICE_NAME, serviceName)
                         .log("Sending component {}'s updated config key {}", componentName, changedKeyPath);
 
-                this.sendStreamEvent(configurationUpdateEvents);
+                getStreamEventWindow().send(configurationUpdateEvents);
             };
         }
 
+        private synchronized StreamEventWindow<ConfigurationUpdateEvents> getStreamEventWindow() {
+            if (streamEventWindow == null) {
+                streamEventWindow = streamBackpressure == null ? StreamEventWindow.unbounded(this)
+                        : streamBackpressure.newWindow(this, serviceName,
+                                this.getOperationModelContext().getOperationName());
+            }
+            return streamEventWindow;
+        }
+
         private Node getNodeToSubscribeTo(Topics configurationTopics, List<String> keyPath) {
             Node subscribeTo = configurationTopics;
             if (keyPath != null && !keyPath.isEmpty()) {
@@ -56,6 +56,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -63,6 +64,7 @@ import javax.inject.Inject;
 
 import static com.aws.greengrass.ipc.IPCEventStreamService.DEFAULT_STREAM_MESSAGE_TIMEOUT_SECONDS;
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
+import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptionsAsync;
 import static com.aws.greengrass.ipc.modules.LifecycleIPCService.LIFECYCLE_SERVICE_NAME;
 
 public class LifecycleIPCEventStreamAgent {
@@ -96,6 +98,10 @@ public class LifecycleIPCEventStreamAgent {
     @Setter(AccessLevel.PACKAGE)
     private AuthorizationHandler authorizationHandler;
 
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private ExecutorService executorService;
+
     public UpdateStateOperationHandler getUpdateStateOperationHandler(OperationContinuationHandlerContext context) {
         return new UpdateStateOperationHandler(context);
     }
@@ -493,6 +499,12 @@ public class LifecycleIPCEventStreamAgent {
             });
         }
 
+        @Override
+        public CompletableFuture<PauseComponentResponse> handleRequestAsync(PauseComponentRequest request) {
+            // Pausing freezes the process tree which can be slow, keep it off the IPC event loop
+            return translateExceptionsAsync(() -> handleRequest(request), executorService);
+        }
+
         @Override
         public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
 
@@ -562,6 +574,11 @@ public class LifecycleIPCEventStreamAgent {
             });
         }
 
+        @Override
+        public CompletableFuture<ResumeComponentResponse> handleRequestAsync(ResumeComponentRequest request) {
+            return translateExceptionsAsync(() -> handleRequest(request), executorService);
+        }
+
         @Override
         public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
 
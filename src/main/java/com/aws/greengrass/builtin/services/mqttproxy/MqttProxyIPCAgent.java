@@ -8,6 +8,8 @@ package com.aws.greengrass.builtin.services.mqttproxy;
 import com.aws.greengrass.authorization.AuthorizationHandler;
 import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
+import com.aws.greengrass.ipc.IPCStreamBackpressure;
+import com.aws.greengrass.ipc.common.StreamEventWindow;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.mqttclient.MqttClient;
@@ -39,12 +41,14 @@ import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext
 import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
+import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptionsAsync;
 import static com.aws.greengrass.ipc.modules.MqttProxyIPCService.MQTT_PROXY_SERVICE_NAME;
 import static com.aws.greengrass.mqttclient.v5.QOS.AT_LEAST_ONCE;
 import static com.aws.greengrass.mqttclient.v5.QOS.AT_MOST_ONCE;
@@ -67,6 +71,14 @@ public class MqttProxyIPCAgent {
     @Setter(AccessLevel.PACKAGE)
     private AuthorizationHandler authorizationHandler;
 
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private ExecutorService executorService;
+
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private IPCStreamBackpressure streamBackpressure;
+
     public PublishToIoTCoreOperationHandler getPublishToIoTCoreOperationHandler(
             OperationContinuationHandlerContext context) {
         return new PublishToIoTCoreOperationHandler(context);
@@ -138,6 +150,12 @@ public class MqttProxyIPCAgent {
             });
         }
 
+        @Override
+        public CompletableFuture<PublishToIoTCoreResponse> handleRequestAsync(PublishToIoTCoreRequest request) {
+            // Publish may block on the spooler, keep it off the IPC event loop
+            return translateExceptionsAsync(() -> handleRequest(request), executorService);
+        }
+
         @Override
         public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
 
@@ -152,6 +170,7 @@ public class MqttProxyIPCAgent {
 
         private Consumer<Publish> subscriptionCallback;
         private final AtomicBoolean subscriptionResponseSent = new AtomicBoolean(false);
+        private StreamEventWindow<IoTCoreMessage> streamEventWindow;
 
         protected SubscribeToIoTCoreOperationHandler(OperationContinuationHandlerContext context) {
             super(context);
@@ -266,13 +285,22 @@ public class MqttProxyIPCAgent {
             // If we don't do this, the callback may be invoked and send the streaming response
             // before the non-streaming SubscribeToIoTCoreResponse which will cause a client error.
             if (subscriptionResponseSent.get()) {
-                this.sendStreamEvent(message);
+                getStreamEventWindow().send(message);
             } else {
                 LOGGER.warn("Not forwarding message on topic {} to {} "
                                 + "because subscription response is not yet sent",
                         m.getTopic(), serviceName);
             }
         }
+
+        private synchronized StreamEventWindow<IoTCoreMessage> getStreamEventWindow() {
+            if (streamEventWindow == null) {
+                streamEventWindow = streamBackpressure == null ? StreamEventWindow.unbounded(this)
+                        : streamBackpressure.newWindow(this, serviceName,
+                                this.getOperationModelContext().getOperationName());
+            }
+            return streamEventWindow;
+        }
     }
 
     private String validateTopic(String topic, String serviceName) {
@@ -8,14 +8,18 @@ package com.aws.greengrass.builtin.services.pubsub;
 import com.aws.greengrass.authorization.AuthorizationHandler;
 import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
+import com.aws.greengrass.ipc.IPCStreamBackpressure;
+import com.aws.greengrass.ipc.common.StreamEventWindow;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.OrderedExecutorService;
+import com.aws.greengrass.util.Pair;
 import com.aws.greengrass.util.Utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import software.amazon.awssdk.aws.greengrass.GeneratedAbstractPublishToTopicOperationHandler;
 import software.amazon.awssdk.aws.greengrass.GeneratedAbstractSubscribeToTopicOperationHandler;
 import software.amazon.awssdk.aws.greengrass.model.BinaryMessage;
@@ -33,7 +37,12 @@ import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext
 import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
 import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +65,10 @@ public class PubSubIPCEventStreamAgent {
     private final OrderedExecutorService orderedExecutorService;
     private final AuthorizationHandler authorizationHandler;
 
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private IPCStreamBackpressure streamBackpressure;
+
     @Inject
     PubSubIPCEventStreamAgent(AuthorizationHandler authorizationHandler,
                               OrderedExecutorService orderedExecutorService) {
@@ -127,10 +140,62 @@ public class PubSubIPCEventStreamAgent {
         return handlePublishToTopicRequest(topic, serviceName, Optional.empty(), Optional.of(binaryMessage));
     }
 
-    @SuppressWarnings("PMD.PreserveStackTrace")
+    /**
+     * Publish a batch of binary messages to all subscribers. Subscribers of each distinct topic are resolved once per
+     * batch, and each subscriber gets its messages in one hand-off, in the order of the batch. Topics are validated
+     * before anything is delivered, so an invalid topic fails the whole batch.
+     *
+     * @param messages    topic and binary message pairs to publish
+     * @param serviceName name of the service publishing the messages.
+     * @return response
+     */
+    public PublishToTopicResponse publish(List<Pair<String, byte[]>> messages, String serviceName) {
+        Map<String, Set<Object>> callbacksByTopic = new HashMap<>();
+        Map<Object, List<Pair<SubscriptionResponseMessage, PublishEvent>>> deliveries = new LinkedHashMap<>();
+        for (Pair<String, byte[]> entry : messages) {
+            String topic = entry.getLeft();
+            Set<Object> cbs = callbacksByTopic.get(topic);
+            if (cbs == null) {
+                validatePubTopic(topic);
+                cbs = getCallbacks(topic, serviceName);
+                callbacksByTopic.put(topic, cbs);
+            }
+            if (cbs.isEmpty()) {
+                continue;
+            }
+            Pair<SubscriptionResponseMessage, PublishEvent> message =
+                    buildMessages(topic, serviceName, Optional.empty(), Optional.of(entry.getRight()));
+            cbs.forEach(context -> deliveries.computeIfAbsent(context, k -> new ArrayList<>()).add(message));
+        }
+        deliveries.forEach((context, batch) -> {
+            log.atDebug().kv(COMPONENT_NAME, serviceName).log("Sending {} publish events", batch.size());
+            orderedExecutorService.execute(
+                    () -> batch.forEach(message -> deliver(context, message.getLeft(), message.getRight())),
+                    context);
+        });
+        return new PublishToTopicResponse();
+    }
+
     private PublishToTopicResponse handlePublishToTopicRequest(String topic, String serviceName,
                                                                Optional<Map<String, Object>> jsonMessage,
                                                                Optional<byte[]> binaryMessage) {
+        validatePubTopic(topic);
+        Set<Object> cbs = getCallbacks(topic, serviceName);
+        if (cbs.isEmpty()) {
+            // Still technically successful, just no one was subscribed
+            return new PublishToTopicResponse();
+        }
+        Pair<SubscriptionResponseMessage, PublishEvent> message =
+                buildMessages(topic, serviceName, jsonMessage, binaryMessage);
+
+        cbs.forEach(context -> {
+            log.atDebug().kv(COMPONENT_NAME, serviceName).log("Sending publish event for topic {}", topic);
+            orderedExecutorService.execute(() -> deliver(context, message.getLeft(), message.getRight()), context);
+        });
+        return new PublishToTopicResponse();
+    }
+
+    private void validatePubTopic(String topic) {
         if (topic == null) {
             throw new InvalidArgumentsError("Publish topic must not be null");
         }
@@ -138,11 +203,13 @@ public class PubSubIPCEventStreamAgent {
                 || topic.contains(GLOB_WILDCARD)) {
             throw new InvalidArgumentsError("Publish topic must not contain a wildcard.");
         }
+    }
+
+    private Set<Object> getCallbacks(String topic, String serviceName) {
         Set<SubscriptionCallback> contexts = listeners.get(topic);
         if (contexts == null || contexts.isEmpty()) {
             log.atDebug().kv(COMPONENT_NAME, serviceName).log("No one subscribed to topic {}. Returning.", topic);
-            // Still technically successful, just no one was subscribed
-            return new PublishToTopicResponse();
+            return Collections.emptySet();
         }
         Set<Object> cbs = new HashSet<>();
         contexts.forEach(context -> {
@@ -156,6 +223,13 @@ public class PubSubIPCEventStreamAgent {
                 cbs.add(context.getCallback());
             }
         });
+        return cbs;
+    }
+
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private Pair<SubscriptionResponseMessage, PublishEvent> buildMessages(String topic, String serviceName,
+                                                                         Optional<Map<String, Object>> jsonMessage,
+                                                                         Optional<byte[]> binaryMessage) {
         SubscriptionResponseMessage message = new SubscriptionResponseMessage();
         PublishEvent publishedEvent = PublishEvent.builder().topic(topic).build();
         MessageContext messageContext = new MessageContext().withTopic(topic);
@@ -178,19 +252,18 @@ public class PubSubIPCEventStreamAgent {
             message.setBinaryMessage(binaryMessage1);
             publishedEvent.setPayload(binaryMessage.get());
         }
+        return new Pair<>(message, publishedEvent);
+    }
 
-        cbs.forEach(context -> {
-            log.atDebug().kv(COMPONENT_NAME, serviceName).log("Sending publish event for topic {}", topic);
-            if (context instanceof StreamEventPublisher) {
-                StreamEventPublisher<SubscriptionResponseMessage> publisher =
-                        (StreamEventPublisher<SubscriptionResponseMessage>) context;
-                orderedExecutorService.execute(() -> publisher.sendStreamEvent(message), publisher);
-            } else if (context instanceof Consumer) {
-                Consumer<PublishEvent> consumer = (Consumer<PublishEvent>) context;
-                orderedExecutorService.execute(() -> consumer.accept(publishedEvent), consumer);
-            }
-        });
-        return new PublishToTopicResponse();
+    @SuppressWarnings("unchecked")
+    private void deliver(Object context, SubscriptionResponseMessage message, PublishEvent publishedEvent) {
+        if (context instanceof SubscribeToTopicOperationHandler) {
+            ((SubscribeToTopicOperationHandler) context).getStreamEventWindow().send(message);
+        } else if (context instanceof StreamEventPublisher) {
+            ((StreamEventPublisher<SubscriptionResponseMessage>) context).sendStreamEvent(message);
+        } else if (context instanceof Consumer) {
+            ((Consumer<PublishEvent>) context).accept(publishedEvent);
+        }
     }
 
     private void handleSubscribeToTopicRequest(SubscribeRequest subscribeRequest) {
@@ -264,6 +337,7 @@ public class PubSubIPCEventStreamAgent {
         private final String serviceName;
         private String subscribeTopic;
         private SubscribeRequest request;
+        private StreamEventWindow<SubscriptionResponseMessage> streamEventWindow;
 
         protected SubscribeToTopicOperationHandler(OperationContinuationHandlerContext context) {
             super(context);
@@ -299,6 +373,15 @@ public class PubSubIPCEventStreamAgent {
         public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
             // NA
         }
+
+        synchronized StreamEventWindow<SubscriptionResponseMessage> getStreamEventWindow() {
+            if (streamEventWindow == null) {
+                streamEventWindow = streamBackpressure == null ? StreamEventWindow.unbounded(this)
+                        : streamBackpressure.newWindow(this, serviceName,
+                                this.getOperationModelContext().getOperationName());
+            }
+            return streamEventWindow;
+        }
     }
 
     private void validateSubTopic(String topic) {
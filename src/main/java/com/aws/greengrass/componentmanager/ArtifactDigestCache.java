@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.CommitableWriter;
+import com.aws.greengrass.util.SerializerFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the digest of artifacts in the component store, so that an artifact which did not change is not read
+ * again to verify it against the recipe of every deployment. A digest is reused only while the size, modification
+ * time and file key (inode) of the artifact are the same as when it was computed.
+ */
+public class ArtifactDigestCache {
+    private static final Logger logger = LogManager.getLogger(ArtifactDigestCache.class);
+    static final String ARTIFACT_DIGEST_CACHE_FILE = "artifact-digests.json";
+
+    private final Path cacheFile;
+    private Map<String, Entry> entries;
+
+    ArtifactDigestCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Get the digest of an artifact computed earlier.
+     *
+     * @param artifact  artifact file
+     * @param algorithm digest algorithm
+     * @return digest encoded in base64, or empty if the artifact changed or its digest is unknown
+     */
+    public synchronized Optional<String> get(Path artifact, String algorithm) {
+        Entry entry = entries().get(key(artifact));
+        if (entry == null || !Objects.equals(entry.getAlgorithm(), algorithm)) {
+            return Optional.empty();
+        }
+        try {
+            if (!entry.matches(Files.readAttributes(artifact, BasicFileAttributes.class))) {
+                return Optional.empty();
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.getDigest());
+    }
+
+    /**
+     * Remember the digest of an artifact as it is now on disk.
+     *
+     * @param artifact  artifact file
+     * @param algorithm digest algorithm
+     * @param digest    digest encoded in base64
+     */
+    public synchronized void put(Path artifact, String algorithm, String digest) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(artifact, BasicFileAttributes.class);
+            Entry entry = new Entry(algorithm, digest, attributes.size(),
+                    attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), fileKey(attributes));
+            if (!entry.equals(entries().put(key(artifact), entry))) {
+                save();
+            }
+        } catch (IOException e) {
+            logger.atWarn().kv("file", artifact).setCause(e).log("Unable to cache the artifact digest");
+        }
+    }
+
+    private void save() {
+        // leave out artifacts which were removed with their component
+        entries().keySet().removeIf(artifact -> !Files.exists(cacheFile.getFileSystem().getPath(artifact)));
+        try (CommitableWriter out = CommitableWriter.abandonOnClose(cacheFile)) {
+            // Write the string rather than the writer, which Jackson would close before it is committed
+            out.write(SerializerFactory.getFailSafeJsonObjectMapper().writeValueAsString(new TreeMap<>(entries)));
+            out.commit();
+        } catch (IOException e) {
+            logger.atWarn().kv("file", cacheFile).setCause(e).log("Unable to write the artifact digest cache");
+        }
+    }
+
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = new HashMap<>();
+            if (Files.exists(cacheFile)) {
+                try {
+                    entries.putAll(SerializerFactory.getFailSafeJsonObjectMapper()
+                            .readValue(cacheFile.toFile(), new TypeReference<Map<String, Entry>>() {}));
+                } catch (IOException e) {
+                    logger.atWarn().kv("file", cacheFile).setCause(e)
+                            .log("Unable to read the artifact digest cache, artifacts will be hashed again");
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String key(Path artifact) {
+        return artifact.toAbsolutePath().normalize().toString();
+    }
+
+    private static String fileKey(BasicFileAttributes attributes) {
+        // (dev=...,ino=...) on unix, not available on Windows
+        return attributes.fileKey() == null ? null : attributes.fileKey().toString();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private String algorithm;
+        private String digest;
+        private long size;
+        private long lastModifiedNanos;
+        private String fileKey;
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModifiedNanos == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                    && Objects.equals(fileKey, fileKey(attributes));
+        }
+    }
+}
@@ -36,6 +36,8 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.Digest;
+import com.aws.greengrass.util.LockFactory;
+import com.aws.greengrass.util.LockScope;
 import com.aws.greengrass.util.NucleusPaths;
 import com.aws.greengrass.util.Permissions;
 import com.aws.greengrass.util.RetryUtils;
@@ -57,6 +59,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -64,9 +67,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -96,6 +106,12 @@ public class ComponentManager implements InjectionActions {
     private final Kernel kernel;
     private final Unarchiver unarchiver;
     private final NucleusPaths nucleusPaths;
+    // Size of the artifacts which are downloading, bounded by componentPrepareMaxBytesInFlight
+    private final Lock downloadBudgetLock = LockFactory.newReentrantLock("ComponentManager-downloadBudget");
+    private final Condition downloadBudgetReleased = downloadBudgetLock.newCondition();
+    private long downloadBytesInFlight;
+    // A list rather than a set, the same artifact could be downloaded by two deployments at once
+    private final List<Path> downloadFilesInFlight = new ArrayList<>();
     // Setter for unit tests
     @Setter(AccessLevel.PACKAGE)
     private RetryUtils.RetryConfig clientExceptionRetryConfig =
@@ -386,31 +402,85 @@ public class ComponentManager implements InjectionActions {
 
     /**
      * Make sure all the specified packages exist in the package cache. Download them from remote repository if they
-     * don't exist.
+     * don't exist. Up to componentPrepareConcurrency packages are prepared at once. Once one of them fails, the
+     * packages being prepared are interrupted, the packages which were not started are skipped and the future fails
+     * with its exception.
      *
      * @param pkgIds a list of packages.
-     * @return a future to notify once this is finished.
+     * @return a future to notify once this is finished. Cancelling it interrupts every package being prepared.
      */
     public Future<Void> preparePackages(List<ComponentIdentifier> pkgIds) {
+        int concurrency = Math.min(pkgIds.size(),
+                Math.max(1, Coerce.toInt(deviceConfiguration.getComponentPrepareConcurrency())));
         return executorService.submit(() -> {
-            for (ComponentIdentifier componentIdentifier : pkgIds) {
-                if (Thread.currentThread().isInterrupted()) {
-                    logger.atInfo().log("Interrupted while preparing artifact for component {}.",
-                            componentIdentifier.getName());
-                    return null;
+            Queue<ComponentIdentifier> remaining = new ConcurrentLinkedQueue<>(pkgIds);
+            if (concurrency <= 1) {
+                prepareRemainingPackages(remaining);
+                return null;
+            }
+            CompletionService<Boolean> workers = new ExecutorCompletionService<>(executorService);
+            List<Future<Boolean>> workerFutures = new ArrayList<>();
+            try {
+                for (int i = 0; i < concurrency; i++) {
+                    workerFutures.add(workers.submit(() -> prepareRemainingPackages(remaining)));
                 }
-                try {
-                    preparePackage(componentIdentifier);
-                } catch (InterruptedException ie) {
-                    logger.atInfo().log("Interrupted while preparing artifact for component {}.",
-                            componentIdentifier.getName());
-                    return null;
+                // Take the workers as they finish, so that the first failure is seen without waiting for the others
+                for (int i = 0; i < concurrency; i++) {
+                    workers.take().get();
                 }
+            } catch (InterruptedException ie) {
+                logger.atInfo().log("Interrupted while waiting for artifacts to be prepared.");
+            } catch (ExecutionException e) {
+                throw unwrapPrepareFailure(e);
+            } finally {
+                // Stop the other packages being prepared if one failed or this task was cancelled
+                workerFutures.forEach(worker -> worker.cancel(true));
             }
             return null;
         });
     }
 
+    /**
+     * Prepare packages from the queue until it is empty.
+     *
+     * @param remaining packages not taken by any task yet
+     * @return false if interrupted
+     */
+    private boolean prepareRemainingPackages(Queue<ComponentIdentifier> remaining)
+            throws PackageLoadingException, PackageDownloadException, InvalidArtifactUriException {
+        for (ComponentIdentifier componentIdentifier = remaining.poll(); componentIdentifier != null;
+             componentIdentifier = remaining.poll()) {
+            if (Thread.currentThread().isInterrupted()) {
+                logger.atInfo().log("Interrupted while preparing artifact for component {}.",
+                        componentIdentifier.getName());
+                return false;
+            }
+            boolean prepared = false;
+            try {
+                preparePackage(componentIdentifier);
+                prepared = true;
+            } catch (InterruptedException ie) {
+                logger.atInfo().log("Interrupted while preparing artifact for component {}.",
+                        componentIdentifier.getName());
+                return false;
+            } finally {
+                if (!prepared) {
+                    // Don't start any other package once one failed
+                    remaining.clear();
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Exception unwrapPrepareFailure(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+
     /**
      * Check if all plugins that are required to execute pre-merge steps for other components are included
      * in the deployment.
@@ -487,22 +557,33 @@ public class ComponentManager implements InjectionActions {
                             String.format("Disk space critical: %d bytes usable, %d bytes minimum allowed",
                                     usableSpaceBytes, DEFAULT_MIN_DISK_AVAIL_BYTES));
                 }
-                if (downloader.checkComponentStoreSize()) {
-                    long downloadSize = downloader.getDownloadSize();
-                    long storeContentSize = componentStore.getContentSize();
-                    if (storeContentSize + downloadSize > getConfiguredMaxSize()) {
-                        throw new SizeLimitException(String.format(
-                                "Component store size limit reached: %d bytes existing, %d bytes needed"
-                                        + ", %d bytes maximum allowed total", storeContentSize, downloadSize,
-                                getConfiguredMaxSize()));
-                    }
-                }
+                File downloadFile = downloader.getArtifactFile();
+                long downloadSize = 0;
+                boolean reserved = false;
                 try {
+                    if (downloader.checkComponentStoreSize()) {
+                        downloadSize = downloader.getDownloadSize();
+                        // Other artifacts being downloaded at the same time will need their space too
+                        long otherDownloadsSize = reserveDownloadBytes(downloadFile, downloadSize);
+                        reserved = true;
+                        // Files being downloaded are counted by their whole size above, not by what was written
+                        long storeContentSize = componentStore.getContentSize(downloadFilesInFlight());
+                        if (storeContentSize + otherDownloadsSize + downloadSize > getConfiguredMaxSize()) {
+                            throw new SizeLimitException(String.format(
+                                    "Component store size limit reached: %d bytes existing, %d bytes downloading, "
+                                            + "%d bytes needed, %d bytes maximum allowed total", storeContentSize,
+                                    otherDownloadsSize, downloadSize, getConfiguredMaxSize()));
+                        }
+                    }
                     downloader.download();
                 } catch (IOException e) {
                     throw new PackageDownloadException(
                             String.format("Failed to download component %s artifact %s", componentIdentifier, artifact),
                             e);
+                } finally {
+                    if (reserved) {
+                        releaseDownloadBytes(downloadFile, downloadSize);
+                    }
                 }
             } else {
                 logger.atDebug().log("Artifact download is not required for [{}]", artifact.getArtifactUri());
@@ -554,6 +635,47 @@ public class ComponentManager implements InjectionActions {
         }
     }
 
+    /**
+     * Wait until an artifact fits in componentPrepareMaxBytesInFlight with the other artifacts being downloaded, and
+     * count it as being downloaded.
+     *
+     * @param file  file the artifact is downloaded to, null if unknown
+     * @param bytes size of the artifact
+     * @return size of the other artifacts being downloaded
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private long reserveDownloadBytes(File file, long bytes) throws InterruptedException {
+        long budget = Coerce.toLong(deviceConfiguration.getComponentPrepareMaxBytesInFlight());
+        try (LockScope ls = LockScope.lock(downloadBudgetLock)) {
+            // An artifact larger than the budget is downloaded alone rather than never
+            while (budget > 0 && downloadBytesInFlight > 0 && downloadBytesInFlight + bytes > budget) {
+                downloadBudgetReleased.await();
+            }
+            long others = downloadBytesInFlight;
+            downloadBytesInFlight += bytes;
+            if (file != null) {
+                downloadFilesInFlight.add(file.toPath());
+            }
+            return others;
+        }
+    }
+
+    private void releaseDownloadBytes(File file, long bytes) {
+        try (LockScope ls = LockScope.lock(downloadBudgetLock)) {
+            downloadBytesInFlight -= bytes;
+            if (file != null) {
+                downloadFilesInFlight.remove(file.toPath());
+            }
+            downloadBudgetReleased.signalAll();
+        }
+    }
+
+    private Set<Path> downloadFilesInFlight() {
+        try (LockScope ls = LockScope.lock(downloadBudgetLock)) {
+            return new HashSet<>(downloadFilesInFlight);
+        }
+    }
+
     private long getConfiguredMaxSize() {
         return Coerce.toLong(deviceConfiguration.getComponentStoreMaxSizeBytes());
     }
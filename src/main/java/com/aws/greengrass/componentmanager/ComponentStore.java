@@ -70,6 +70,7 @@ public class ComponentStore {
     private final NucleusPaths nucleusPaths;
     private final PlatformResolver platformResolver;
     private final RecipeLoader recipeLoader;
+    private ArtifactDigestCache artifactDigestCache;
 
     /**
      * Constructor. It will initialize recipe, artifact and artifact decompressed directory.
@@ -468,9 +469,23 @@ public class ComponentStore {
      * @throws PackageLoadingException if unable to access the package store directory
      */
     public long getContentSize() throws PackageLoadingException {
+        return getContentSize(Collections.emptySet());
+    }
+
+    /**
+     * Get the total size of files in the package store, leaving out some files such as artifacts being downloaded.
+     *
+     * @param excludedFiles files which are not counted
+     * @return total length of the other files in bytes
+     * @throws PackageLoadingException if unable to access the package store directory
+     */
+    public long getContentSize(Set<Path> excludedFiles) throws PackageLoadingException {
+        Set<Path> excluded = excludedFiles.stream().map(p -> p.toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
         try {
-            try (LongStream lengths = Files.walk(nucleusPaths.componentStorePath()).map(Path::toFile)
-                    .filter(File::isFile).mapToLong(File::length)) {
+            try (LongStream lengths = Files.walk(nucleusPaths.componentStorePath())
+                    .filter(p -> excluded.isEmpty() || !excluded.contains(p.toAbsolutePath().normalize()))
+                    .map(Path::toFile).filter(File::isFile).mapToLong(File::length)) {
                 return lengths.sum();
             }
         } catch (IOException e) {
@@ -494,6 +509,36 @@ public class ComponentStore {
         }
     }
 
+    /**
+     * Get the digest of an artifact which was computed before, if the artifact did not change since.
+     *
+     * @param artifact  artifact file
+     * @param algorithm digest algorithm
+     * @return digest encoded in base64, or empty if it needs to be computed
+     */
+    public Optional<String> getCachedArtifactDigest(Path artifact, String algorithm) {
+        return artifactDigestCache().get(artifact, algorithm);
+    }
+
+    /**
+     * Remember the digest of an artifact until the artifact changes.
+     *
+     * @param artifact  artifact file
+     * @param algorithm digest algorithm
+     * @param digest    digest encoded in base64
+     */
+    public void cacheArtifactDigest(Path artifact, String algorithm, String digest) {
+        artifactDigestCache().put(artifact, algorithm, digest);
+    }
+
+    private synchronized ArtifactDigestCache artifactDigestCache() {
+        if (artifactDigestCache == null) {
+            artifactDigestCache = new ArtifactDigestCache(
+                    nucleusPaths.componentStorePath().resolve(ArtifactDigestCache.ARTIFACT_DIGEST_CACHE_FILE));
+        }
+        return artifactDigestCache;
+    }
+
     private static Semver parseVersionFromRecipeFileName(String recipeFilename) throws PackageLoadingException {
         // TODO: [P41215992]: Validate recipe filename before extracting name and version from it
 
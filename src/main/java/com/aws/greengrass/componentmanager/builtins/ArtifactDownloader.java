@@ -14,15 +14,22 @@ import com.aws.greengrass.componentmanager.models.ComponentIdentifier;
 import com.aws.greengrass.deployment.errorcode.DeploymentErrorCode;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.CommitableWriter;
 import com.aws.greengrass.util.RetryUtils;
+import com.aws.greengrass.util.SerializerFactory;
 import com.aws.greengrass.util.Utils;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
@@ -31,11 +38,23 @@ import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEFAULT_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES;
+
 public abstract class ArtifactDownloader {
     public static final String ARTIFACT_URI_LOG_KEY = "artifactUri";
     public static final String COMPONENT_IDENTIFIER_LOG_KEY = "componentIdentifier";
@@ -45,6 +64,7 @@ public abstract class ArtifactDownloader {
             "Failed to download artifact name: '%s' for component %s-%s, reason: ";
     private static final int DOWNLOAD_BUFFER_SIZE = 1024 * 64; // Download/write with 64KB buffer
     private static final int READ_BUFFER_SIZE = 8192;
+    static final String CHUNK_PROGRESS_SUFFIX = ".chunks";
     protected final Logger logger;
     protected final ComponentIdentifier identifier;
     protected final ComponentArtifact artifact;
@@ -58,6 +78,11 @@ public abstract class ArtifactDownloader {
                     .retryableExceptions(Arrays.asList(ArtifactChecksumMismatchException.class)).build();
     private Path saveToPath;
 
+    // Large artifacts are downloaded in ranged chunks on this executor when it is set, see setChunkedDownload()
+    private ExecutorService chunkExecutor;
+    private int chunkConnections = 1;
+    private long chunkSizeBytes = DEFAULT_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES;
+
     protected ArtifactDownloader(ComponentIdentifier identifier, ComponentArtifact artifact,
                                  Path artifactDir, ComponentStore componentStore) {
         this.identifier = identifier;
@@ -80,6 +105,18 @@ public abstract class ArtifactDownloader {
         }
     }
 
+    private String digestOf(Path file) throws IOException, NoSuchAlgorithmException {
+        Optional<String> cached = componentStore.getCachedArtifactDigest(file, artifact.getAlgorithm());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        MessageDigest messageDigest = MessageDigest.getInstance(artifact.getAlgorithm());
+        updateDigestFromFile(file, messageDigest);
+        String digest = Base64.getEncoder().encodeToString(messageDigest.digest());
+        componentStore.cacheArtifactDigest(file, artifact.getAlgorithm(), digest);
+        return digest;
+    }
+
     private boolean recipeHasDigest(ComponentArtifact artifact) {
         return !Utils.isEmpty(artifact.getAlgorithm()) && !Utils.isEmpty(artifact.getChecksum());
     }
@@ -110,6 +147,13 @@ public abstract class ArtifactDownloader {
 
         saveToPath = getArtifactFile().toPath();
         long artifactSize = getDownloadSize();
+        if (useChunkedDownload(artifactSize)) {
+            return downloadChunks((RangedArtifactDownloader) this, artifactSize, messageDigest);
+        }
+        // A file left by a chunked download is preallocated, so it is not a prefix of the artifact
+        if (Files.deleteIfExists(getChunkProgressPath())) {
+            Files.deleteIfExists(saveToPath);
+        }
         final AtomicLong offset = new AtomicLong(0);
 
         // If there are partially downloaded artifact existing on device
@@ -147,6 +191,7 @@ public abstract class ArtifactDownloader {
                             DeploymentErrorCode.ARTIFACT_CHECKSUM_MISMATCH);
                 }
                 logger.atDebug().setEventType("download-artifact").log("Passed integrity check");
+                componentStore.cacheArtifactDigest(saveToPath, artifact.getAlgorithm(), digest);
                 return saveToPath.toFile();
             }, "download-artifact", logger);
         } catch (InterruptedException | PackageDownloadException e) {
@@ -196,6 +241,166 @@ public abstract class ArtifactDownloader {
         }
     }
 
+    /**
+     * Enable downloading artifacts larger than one chunk as several ranges at once.
+     *
+     * @param executor    executor to download the chunks on
+     * @param connections number of chunks to download at once, 1 or less to download sequentially
+     * @param chunkSize   size of each chunk in bytes
+     */
+    public void setChunkedDownload(ExecutorService executor, int connections, long chunkSize) {
+        this.chunkExecutor = executor;
+        this.chunkConnections = connections;
+        this.chunkSizeBytes = chunkSize > 0 ? chunkSize : DEFAULT_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES;
+    }
+
+    private boolean useChunkedDownload(long artifactSize) {
+        // Only downloaders which can fetch arbitrary ranges of the artifact download it in chunks
+        return chunkExecutor != null && chunkConnections > 1 && this instanceof RangedArtifactDownloader
+                && artifactSize > chunkSizeBytes;
+    }
+
+    Path getChunkProgressPath() {
+        return artifactDir.resolve("." + getArtifactFilename() + CHUNK_PROGRESS_SUFFIX);
+    }
+
+    /**
+     * Download the artifact as chunks, several at once, into a file preallocated to the size of the artifact. The
+     * chunks which are complete are recorded in a file next to the artifact, so that a download which was interrupted
+     * only fetches the chunks which are missing. The whole file is checked against the recipe checksum at the end.
+     */
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
+    private File downloadChunks(RangedArtifactDownloader ranged, long artifactSize, MessageDigest messageDigest)
+            throws PackageDownloadException, InterruptedException {
+        Path progressPath = getChunkProgressPath();
+        try {
+            ChunkProgress progress = loadChunkProgress(progressPath, artifactSize);
+            return RetryUtils.runWithRetry(checksumMismatchRetryConfig, () -> {
+                try (RandomAccessFile file = new RandomAccessFile(saveToPath.toFile(), "rw")) {
+                    file.setLength(artifactSize);
+                }
+                downloadMissingChunks(ranged, progress, progressPath, artifactSize);
+
+                messageDigest.reset();
+                updateDigestFromFile(saveToPath, messageDigest);
+                String digest = Base64.getEncoder().encodeToString(messageDigest.digest());
+                if (!digest.equals(artifact.getChecksum())) {
+                    // Handle failure in integrity check, delete bad file then throw
+                    Files.deleteIfExists(progressPath);
+                    Files.deleteIfExists(saveToPath);
+                    Arrays.fill(progress.getCompleted(), false);
+                    throw new ArtifactChecksumMismatchException(
+                            "Failed integrity check for the downloaded artifact. Artifact contents may have changed "
+                                    + "after component version was created",
+                            DeploymentErrorCode.ARTIFACT_CHECKSUM_MISMATCH);
+                }
+                Files.deleteIfExists(progressPath);
+                componentStore.cacheArtifactDigest(saveToPath, artifact.getAlgorithm(), digest);
+                logger.atDebug().setEventType("download-artifact").kv("chunks", progress.getCompleted().length)
+                        .log("Passed integrity check");
+                return saveToPath.toFile();
+            }, "download-artifact", logger);
+        } catch (InterruptedException | PackageDownloadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PackageDownloadException(getErrorString("Failed to download the artifact"), e);
+        }
+    }
+
+    private ChunkProgress loadChunkProgress(Path progressPath, long artifactSize) throws IOException {
+        int chunkCount = (int) ((artifactSize + chunkSizeBytes - 1) / chunkSizeBytes);
+        if (Files.exists(progressPath) && Files.exists(saveToPath)) {
+            try {
+                ChunkProgress progress = SerializerFactory.getFailSafeJsonObjectMapper()
+                        .readValue(progressPath.toFile(), ChunkProgress.class);
+                if (progress.getSize() == artifactSize && progress.getChunkSize() == chunkSizeBytes
+                        && Objects.equals(progress.getChecksum(), artifact.getChecksum())
+                        && progress.getCompleted() != null && progress.getCompleted().length == chunkCount) {
+                    return progress;
+                }
+            } catch (IOException e) {
+                logger.atWarn().kv("file", progressPath).setCause(e)
+                        .log("Unable to read the download progress, downloading every chunk");
+            }
+            Files.deleteIfExists(saveToPath);
+        }
+        ChunkProgress progress =
+                new ChunkProgress(artifactSize, chunkSizeBytes, artifact.getChecksum(), new boolean[chunkCount]);
+        if (Files.exists(saveToPath) && !Files.exists(progressPath)) {
+            // A partial file from a sequential download holds the start of the artifact
+            long prefix = Files.size(saveToPath);
+            if (prefix > artifactSize) {
+                Files.deleteIfExists(saveToPath);
+            } else {
+                for (int i = 0; (i + 1) * chunkSizeBytes <= prefix; i++) {
+                    progress.getCompleted()[i] = true;
+                }
+            }
+        }
+        return progress;
+    }
+
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.SignatureDeclareThrowsException"})
+    private void downloadMissingChunks(RangedArtifactDownloader ranged, ChunkProgress progress, Path progressPath,
+                                       long artifactSize) throws Exception {
+        Queue<Integer> missing = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < progress.getCompleted().length; i++) {
+            if (!progress.getCompleted()[i]) {
+                missing.add(i);
+            }
+        }
+        logger.atDebug().kv("chunks", progress.getCompleted().length).kv("missing", missing.size())
+                .kv("connections", chunkConnections).log("Downloading artifact in chunks");
+        CompletionService<Void> completion = new ExecutorCompletionService<>(chunkExecutor);
+        List<Future<Void>> workers = new ArrayList<>();
+        try {
+            for (int i = Math.min(chunkConnections, missing.size()); i > 0; i--) {
+                workers.add(completion.submit(() -> {
+                    try {
+                        for (Integer index = missing.poll(); index != null; index = missing.poll()) {
+                            fetchChunk(ranged, index, artifactSize);
+                            progress.markCompleted(index, progressPath);
+                        }
+                        return null;
+                    } catch (Exception e) {
+                        // Don't start other chunks, the download is retried as a whole
+                        missing.clear();
+                        throw e;
+                    }
+                }));
+            }
+            // Take the workers as they finish, so that a failed chunk is seen without waiting for the others
+            for (int i = 0; i < workers.size(); i++) {
+                completion.take().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            // Stop the other chunks if one failed or this thread was interrupted
+            workers.forEach(worker -> worker.cancel(true));
+        }
+    }
+
+    private void fetchChunk(RangedArtifactDownloader ranged, int index, long artifactSize)
+            throws IOException, PackageDownloadException, InterruptedException {
+        long start = index * chunkSizeBytes;
+        long end = Math.min(artifactSize, start + chunkSizeBytes) - 1;
+        try (FileChannel channel = FileChannel.open(saveToPath, StandardOpenOption.WRITE)) {
+            Chunk chunk = new Chunk(channel, start, end);
+            while (chunk.position <= end) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                // The digest is computed over the whole file once every chunk is downloaded
+                ranged.downloadRange(chunk.position, end, chunk);
+            }
+            channel.force(true);
+        }
+    }
+
     /**
      * Internal method invoked in downloadToFile().
      *
@@ -220,9 +425,7 @@ public abstract class ArtifactDownloader {
             if (recipeHasDigest(artifact)) {
                 // If the file already exists and has the right content, skip download
                 try {
-                    MessageDigest messageDigest = MessageDigest.getInstance(artifact.getAlgorithm());
-                    updateDigestFromFile(artifactDir.resolve(filename), messageDigest);
-                    String digest = Base64.getEncoder().encodeToString(messageDigest.digest());
+                    String digest = digestOf(artifactDir.resolve(filename));
                     boolean mismatches = !digest.equals(artifact.getChecksum());
                     if (mismatches) {
                         logger.atWarn().log("Artifact appears to exist on disk, "
@@ -312,5 +515,88 @@ public abstract class ArtifactDownloader {
      * @throws IOException if error encountered
      */
     public abstract void cleanup() throws IOException;
-}
 
+    /**
+     * Receives the response stream of {@link RangedArtifactDownloader#downloadRange(long, long, RangeSink)}.
+     */
+    @FunctionalInterface
+    protected interface RangeSink {
+        /**
+         * Write the bytes of the stream. If an IOException is thrown while reading, the bytes read so far are kept.
+         *
+         * @param inputStream stream to read
+         * @return number of bytes written. Might return 0 only when encountering IOException
+         * @throws PackageDownloadException when fail to write to the disk
+         */
+        long write(InputStream inputStream) throws PackageDownloadException;
+    }
+
+    /**
+     * Writes a range of the artifact at its position in the preallocated artifact file.
+     */
+    private class Chunk implements RangeSink {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        Chunk(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public long write(InputStream inputStream) throws PackageDownloadException {
+            long totalReadBytes = 0;
+            byte[] buffer = new byte[DOWNLOAD_BUFFER_SIZE];
+            try {
+                while (position <= end) {
+                    // A server which ignores the range sends the rest of the artifact, only keep this chunk
+                    int readBytes = inputStream.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1));
+                    if (readBytes < 0) {
+                        break;
+                    }
+                    try {
+                        ByteBuffer data = ByteBuffer.wrap(buffer, 0, readBytes);
+                        long writePosition = position;
+                        while (data.hasRemaining()) {
+                            writePosition += channel.write(data, writePosition);
+                        }
+                    } catch (IOException e) {
+                        throw new PackageDownloadException(getErrorString("Error writing artifact"), e)
+                                .withErrorContext(e, DeploymentErrorCode.IO_WRITE_ERROR);
+                    }
+                    position += readBytes;
+                    totalReadBytes += readBytes;
+                }
+                return totalReadBytes;
+            } catch (IOException e) {
+                logger.atWarn().kv("bytes-read", totalReadBytes).setCause(e)
+                        .log("Failed to read from input stream and will retry");
+                return totalReadBytes;
+            }
+        }
+    }
+
+    /**
+     * Chunks of an artifact which are on disk, saved next to the artifact while it is downloading.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class ChunkProgress {
+        private long size;
+        private long chunkSize;
+        private String checksum;
+        private boolean[] completed;
+
+        synchronized void markCompleted(int index, Path progressPath) throws IOException {
+            completed[index] = true;
+            try (CommitableWriter out = CommitableWriter.abandonOnClose(progressPath)) {
+                // Write the string rather than the writer, which Jackson would close before it is committed
+                out.write(SerializerFactory.getFailSafeJsonObjectMapper().writeValueAsString(this));
+                out.commit();
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.aws.greengrass.componentmanager.plugins.docker.Image;
 import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.deployment.errorcode.DeploymentErrorCode;
+import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.GreengrassServiceClientFactory;
 import com.aws.greengrass.util.S3SdkClientFactory;
 
@@ -23,6 +24,7 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 
@@ -90,11 +92,12 @@ public class ArtifactDownloaderFactory {
         URI artifactUri = artifact.getArtifactUri();
         String scheme = artifactUri.getScheme() == null ? null : artifactUri.getScheme().toUpperCase();
         if (GREENGRASS_SCHEME.equals(scheme)) {
-            return new GreengrassRepositoryDownloader(clientFactory, identifier, artifact, artifactDir, componentStore,
-                    deviceConfiguration);
+            return withChunkedDownload(new GreengrassRepositoryDownloader(clientFactory, identifier, artifact,
+                    artifactDir, componentStore, deviceConfiguration));
         }
         if (S3_SCHEME.equals(scheme)) {
-            return new S3Downloader(s3ClientFactory, identifier, artifact, artifactDir, componentStore);
+            return withChunkedDownload(
+                    new S3Downloader(s3ClientFactory, identifier, artifact, artifactDir, componentStore));
         }
         // TODO : Needs to be moved out into a different mechanism where when loaded via a plugin,
         //  an artifact downloader can register itself and be discoverable here.
@@ -105,6 +108,13 @@ public class ArtifactDownloaderFactory {
                 DeploymentErrorCode.UNSUPPORTED_ARTIFACT_SCHEME);
     }
 
+    private ArtifactDownloader withChunkedDownload(ArtifactDownloader downloader) {
+        downloader.setChunkedDownload(context.get(ExecutorService.class),
+                Coerce.toInt(deviceConfiguration.getArtifactDownloadConnections()),
+                Coerce.toLong(deviceConfiguration.getArtifactDownloadChunkSizeBytes()));
+        return downloader;
+    }
+
     /**
      * Check if all plugins that are required for downloading artifacts of other components are included in the
      * deployment.
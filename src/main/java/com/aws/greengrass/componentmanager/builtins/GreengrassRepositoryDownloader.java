@@ -47,7 +47,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 
-public class GreengrassRepositoryDownloader extends ArtifactDownloader {
+public class GreengrassRepositoryDownloader extends ArtifactDownloader implements RangedArtifactDownloader {
     static final String CONTENT_LENGTH_HEADER = "content-length";
     private static final List<DeploymentErrorCode> HTTP_DOWNLOAD_ERROR_CODE =
             Arrays.asList(DeploymentErrorCode.DOWNLOAD_GREENGRASS_ARTIFACT_ERROR,
@@ -56,6 +56,9 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
     private final GreengrassServiceClientFactory clientFactory;
     private Long artifactSize = null;
     private final DeviceConfiguration deviceConfiguration;
+    // Presigned URL shared by the size lookup and every chunk, fetched again only once it is rejected
+    private String downloadUrl;
+    private boolean downloadUrlWorked;
 
     // Setter for unit test
     @Setter(AccessLevel.PACKAGE)
@@ -112,7 +115,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
     @SuppressWarnings({"PMD.PreserveStackTrace", "PMD.AvoidCatchingGenericException"})
     private Long getDownloadSizeWithoutRetry() throws InterruptedException, PackageDownloadException, IOException,
             RetryableServerErrorException {
-        String url = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
+        String url = getDownloadUrl();
 
         try (SdkHttpClient client = getSdkHttpClient()) {
             HttpExecuteRequest executeRequest = HttpExecuteRequest.builder()
@@ -122,6 +125,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
 
             int responseCode = executeResponse.httpResponse().statusCode();
             if (responseCode == HttpURLConnection.HTTP_OK) {
+                markDownloadUrlWorked(url);
                 long length = getContentLengthLong(executeResponse.httpResponse());
 
                 if (length == -1) {
@@ -129,7 +133,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
                             DeploymentErrorCode.GREENGRASS_ARTIFACT_SIZE_NOT_FOUND);
                 }
                 return length;
-            } else if (RetryUtils.retryErrorCodes(responseCode)) {
+            } else if (RetryUtils.retryErrorCodes(responseCode) || isExpired(url, responseCode)) {
                 throw new RetryableServerErrorException("Failed to get download size with retryable error. Error code"
                         + responseCode);
             } else {
@@ -141,14 +145,24 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
         }
     }
 
-    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
     @Override
     protected long download(long rangeStart, long rangeEnd, MessageDigest messageDigest)
             throws PackageDownloadException, InterruptedException {
-        String url = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
+        return downloadFromUrl(rangeStart, rangeEnd, inputStream -> download(inputStream, messageDigest));
+    }
+
+    @Override
+    public long downloadRange(long rangeStart, long rangeEnd, RangeSink sink)
+            throws PackageDownloadException, InterruptedException {
+        return downloadFromUrl(rangeStart, rangeEnd, sink);
+    }
 
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
+    private long downloadFromUrl(long rangeStart, long rangeEnd, RangeSink sink)
+            throws PackageDownloadException, InterruptedException {
         try {
             return RetryUtils.runWithRetry(clientExceptionRetryConfig, () -> {
+                String url = getDownloadUrl();
                 try (SdkHttpClient client = getSdkHttpClient()) {
                     HttpExecuteRequest executeRequest = HttpExecuteRequest.builder().request(
                                     SdkHttpFullRequest.builder().uri(URI.create(url)).method(SdkHttpMethod.GET)
@@ -162,8 +176,9 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
 
                     // check response code
                     if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+                        markDownloadUrlWorked(url);
                         try (InputStream inputStream = executeResponse.responseBody().get()) {
-                            long downloaded = download(inputStream, messageDigest);
+                            long downloaded = sink.write(inputStream);
                             if (downloaded == 0) {
                                 // If 0 byte is read, it's fairly certain that the input stream is closed.
                                 // Therefore throw IOException to trigger the retry logic.
@@ -173,6 +188,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
                             }
                         }
                     } else if (responseCode == HttpURLConnection.HTTP_OK) {
+                        markDownloadUrlWorked(url);
                         long length = getContentLengthLong(executeResponse.httpResponse());
                         if (length < rangeEnd) {
                             String errMsg = String.format(
@@ -189,7 +205,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
                                 throw new PackageDownloadException(getErrorString("Reach the end of the stream"),
                                         HTTP_DOWNLOAD_ERROR_CODE);
                             }
-                            long downloaded = download(inputStream, messageDigest);
+                            long downloaded = sink.write(inputStream);
                             if (downloaded == 0) {
                                 // If 0 byte is read, it's fairly certain that the inputStream is closed.
                                 // Therefore throw IOException to trigger the retry logic.
@@ -198,7 +214,7 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
                                 return downloaded;
                             }
                         }
-                    } else if (RetryUtils.retryErrorCodes(responseCode)) {
+                    } else if (RetryUtils.retryErrorCodes(responseCode) || isExpired(url, responseCode)) {
                         throw new RetryableServerErrorException(
                                 "Failed to download artifact with retryable error, error code:" + responseCode);
                     } else {
@@ -220,6 +236,40 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
         return Optional.ofNullable(clientFactory.getConfigValidationError());
     }
 
+    private synchronized String getDownloadUrl() throws InterruptedException, PackageDownloadException {
+        if (downloadUrl == null) {
+            downloadUrl = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
+            downloadUrlWorked = false;
+        }
+        return downloadUrl;
+    }
+
+    private synchronized void markDownloadUrlWorked(String url) {
+        if (url.equals(downloadUrl)) {
+            downloadUrlWorked = true;
+        }
+    }
+
+    /**
+     * A presigned URL which was accepted before and is now forbidden has expired. Drop it so that the retry gets a
+     * new one. A URL which was never accepted is not retried, since a new one would be forbidden too.
+     */
+    private synchronized boolean isExpired(String url, int responseCode) {
+        if (responseCode != HttpURLConnection.HTTP_FORBIDDEN) {
+            return false;
+        }
+        if (!url.equals(downloadUrl)) {
+            // another chunk already replaced it
+            return true;
+        }
+        if (downloadUrlWorked) {
+            logger.atDebug().log("Presigned URL of the artifact expired, getting a new one");
+            downloadUrl = null;
+            return true;
+        }
+        return false;
+    }
+
     @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
     private String getArtifactDownloadURL(ComponentIdentifier componentIdentifier, String artifactName)
             throws InterruptedException, PackageDownloadException {
@@ -0,0 +1,27 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager.builtins;
+
+import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
+
+/**
+ * Implemented by an {@link ArtifactDownloader} which can download arbitrary byte ranges of the artifact, so that large
+ * artifacts are downloaded as several chunks at once.
+ */
+interface RangedArtifactDownloader {
+    /**
+     * Download a range of the artifact into a sink, which writes it where it belongs in the artifact file.
+     *
+     * @param rangeStart Range start index. INCLUSIVE.
+     * @param rangeEnd   Range end index. INCLUSIVE.
+     * @param sink       sink to hand the response stream to
+     * @return number of bytes downloaded
+     * @throws PackageDownloadException PackageDownloadException
+     * @throws InterruptedException     if interrupted in downloading
+     */
+    long downloadRange(long rangeStart, long rangeEnd, ArtifactDownloader.RangeSink sink)
+            throws PackageDownloadException, InterruptedException;
+}
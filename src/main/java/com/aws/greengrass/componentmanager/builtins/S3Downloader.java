@@ -43,7 +43,7 @@ import java.util.regex.Pattern;
 /**
  * Downloads component artifacts from S3 bucket URI specified in the component recipe.
  */
-public class S3Downloader extends ArtifactDownloader {
+public class S3Downloader extends ArtifactDownloader implements RangedArtifactDownloader {
     protected static final String REGION_EXPECTING_STRING = "expecting '";
     private static final Pattern S3_PATH_REGEX = Pattern.compile("s3:\\/\\/([^\\/]+)\\/(.*)");
     // S3 throws "The provided token has expired" with status code 400 instead of 403. We need to retry on this error
@@ -89,11 +89,22 @@ public class S3Downloader extends ArtifactDownloader {
 
     }
 
-    @SuppressWarnings(
-            {"PMD.CloseResource", "PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
     @Override
     protected long download(long rangeStart, long rangeEnd, MessageDigest messageDigest)
             throws InterruptedException, PackageDownloadException {
+        return getObjectRange(rangeStart, rangeEnd, inputStream -> download(inputStream, messageDigest));
+    }
+
+    @Override
+    public long downloadRange(long rangeStart, long rangeEnd, RangeSink sink)
+            throws InterruptedException, PackageDownloadException {
+        return getObjectRange(rangeStart, rangeEnd, sink);
+    }
+
+    @SuppressWarnings(
+            {"PMD.CloseResource", "PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
+    private long getObjectRange(long rangeStart, long rangeEnd, RangeSink sink)
+            throws InterruptedException, PackageDownloadException {
         String bucket = s3ObjectPath.bucket;
         String key = s3ObjectPath.key;
 
@@ -107,7 +118,7 @@ public class S3Downloader extends ArtifactDownloader {
                 long downloaded = 0;
                 S3Client regionClient = getRegionClientForBucket(bucket);
                 try (InputStream inputStream = regionClient.getObject(getObjectRequest)) {
-                    downloaded = download(inputStream, messageDigest);
+                    downloaded = sink.write(inputStream);
                     if (downloaded == 0) {
                         // If 0 byte is read, it's fairly certain that the inputStream is closed.
                         // Therefore throw IOException to trigger the retry logic.
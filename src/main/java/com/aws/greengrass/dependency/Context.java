@@ -16,6 +16,7 @@ import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.CrashableFunction;
 import com.aws.greengrass.util.LockFactory;
 import com.aws.greengrass.util.LockScope;
+import com.aws.greengrass.util.StartupTrace;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.Closeable;
@@ -506,7 +507,8 @@ public class Context implements Closeable {
         }
 
         private T constructObjectWithInjection() {
-            try (LockScope ls = LockScope.lock(lock)) {
+            try (LockScope ls = LockScope.lock(lock);
+                 StartupTrace.Span span = StartupTrace.begin("inject", targetClass.getSimpleName())) {
                 return putAndInjectFields(constructObject());
             }
         }
@@ -20,19 +20,26 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.AccessController;
+import java.security.CodeSource;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -49,6 +56,11 @@ public class EZPlugins implements Closeable {
     public static final String JAR_FILE_EXTENSION = ".jar";
     private final List<Consumer<FastClasspathScanner>> matchers = new ArrayList<>();
     private final List<Consumer<Class<?>>> classMatchers = new ArrayList<>();
+    // what the matchers look for, identifies the classes recorded in the plugin index
+    private final List<String> matcherSignatures = new ArrayList<>();
+    // classes matched by the current classpath scan, to be recorded in the plugin index
+    private final List<Class<?>> scanMatches = Collections.synchronizedList(new ArrayList<>());
+    private PluginIndex pluginIndex;
     private Path cacheDirectory;
     @Getter
     private Path trustedCacheDirectory;
@@ -90,6 +102,7 @@ public class EZPlugins implements Closeable {
         untrustedCacheDirectory = cacheDirectory.resolve("untrusted");
         Files.createDirectories(trustedCacheDirectory);
         Files.createDirectories(untrustedCacheDirectory);
+        pluginIndex = new PluginIndex(cacheDirectory.resolve(PluginIndex.PLUGIN_INDEX_FILE));
         return this;
     }
 
@@ -100,6 +113,12 @@ public class EZPlugins implements Closeable {
                 root = cls;
             }
 
+            List<Path> jars = indexableJars(cls);
+            String signature = String.join(",", matcherSignatures);
+            if (loadFromIndex(cls, jars, signature)) {
+                return;
+            }
+
             // Try and find the Greengrass plugin class (fast path)
             try {
                 if (cls instanceof URLClassLoader) {
@@ -109,6 +128,7 @@ public class EZPlugins implements Closeable {
                     // manifest entry.
                     if (((URLClassLoader) cls).getURLs().length == classes.size()) {
                         classes.forEach(c -> classMatchers.forEach(m -> m.accept(c)));
+                        index(jars, signature, classes);
                         return;
                     }
                 }
@@ -121,7 +141,105 @@ public class EZPlugins implements Closeable {
             sc.strictWhitelist();
             sc.addClassLoader(cls);
             matchers.forEach(m -> m.accept(sc));
+            scanMatches.clear();
             sc.scan(executorService, 1);
+            index(jars, signature, new ArrayList<>(scanMatches));
+            scanMatches.clear();
+        }
+    }
+
+    /**
+     * Get the plugin jars of a class loader, if they can all be indexed.
+     *
+     * @return the jars, or an empty list if the class loader has something other than jar files
+     */
+    private List<Path> indexableJars(ClassLoader cls) {
+        if (pluginIndex == null || !(cls instanceof URLClassLoader)) {
+            return Collections.emptyList();
+        }
+        List<Path> jars = new ArrayList<>();
+        for (URL url : ((URLClassLoader) cls).getURLs()) {
+            try {
+                Path jar = Paths.get(url.toURI());
+                if (!jar.toString().endsWith(JAR_FILE_EXTENSION) || !Files.isRegularFile(jar)) {
+                    return Collections.emptyList();
+                }
+                jars.add(jar);
+            } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+                return Collections.emptyList();
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * Load the classes recorded in the plugin index instead of scanning, if every jar is unchanged.
+     *
+     * @return true if the classes were loaded from the index
+     */
+    private boolean loadFromIndex(ClassLoader cls, List<Path> jars, String signature) {
+        List<Class<?>> classes = indexedClasses(cls, jars, signature);
+        if (classes == null) {
+            return false;
+        }
+        logger.atDebug().kv("jars", jars.size()).log("Loading plugins from the plugin index");
+        classes.forEach(c -> classMatchers.forEach(m -> m.accept(c)));
+        return true;
+    }
+
+    private List<Class<?>> indexedClasses(ClassLoader cls, List<Path> jars, String signature) {
+        if (jars.isEmpty()) {
+            return null;
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (Path jar : jars) {
+            List<String> classNames = pluginIndex.get(jar, signature);
+            if (classNames == null) {
+                return null;
+            }
+            for (String className : classNames) {
+                try {
+                    classes.add(cls.loadClass(className));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.atWarn().kv("jar", jar).kv("class", className)
+                            .log("Class in the plugin index could not be loaded. Scanning the plugin again");
+                    pluginIndex.remove(jar);
+                    return null;
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Record the classes found in each jar in the plugin index.
+     */
+    private void index(List<Path> jars, String signature, Collection<Class<?>> classes) {
+        if (jars.isEmpty()) {
+            return;
+        }
+        Map<Path, List<String>> classesByJar = new HashMap<>();
+        jars.forEach(jar -> classesByJar.put(jar, new ArrayList<>()));
+        // A class matched by several matchers is only recorded once
+        for (Class<?> c : new LinkedHashSet<>(classes)) {
+            Path jar = jarOf(c);
+            if (jar == null || !classesByJar.containsKey(jar)) {
+                // Cannot tell which jar the class came from, so the index could miss it
+                return;
+            }
+            classesByJar.get(jar).add(c.getName());
+        }
+        classesByJar.forEach((jar, classNames) -> pluginIndex.put(jar, signature, classNames));
+        pluginIndex.save();
+    }
+
+    private static Path jarOf(Class<?> c) {
+        try {
+            CodeSource codeSource = c.getProtectionDomain().getCodeSource();
+            return codeSource == null || codeSource.getLocation() == null ? null
+                    : Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException | SecurityException e) {
+            return null;
         }
     }
 
@@ -153,34 +271,48 @@ public class EZPlugins implements Closeable {
                 classLoaders.add(cl);
                 root = cl;
 
+                List<Path> jars = indexableJars(cl);
+                String signature = annotatedSignature(annotationClass);
+                List<Class<?>> indexed = indexedClasses(cl, jars, signature);
+                if (indexed != null) {
+                    indexed.stream().filter(c -> c.isAnnotationPresent(annotationClass)).forEach(matcher);
+                    return cl;
+                }
+
                 // Try and find the Greengrass plugin class (fast path)
                 try {
                     Collection<Class<?>> classes = findGreengrassPlugin(cl);
                     if (!classes.isEmpty()) {
-                        AtomicReference<ClassLoader> loaderRef = new AtomicReference<>();
+                        List<Class<?>> annotated = new ArrayList<>();
                         classes.forEach((clazz) -> {
                             if (clazz.isAnnotationPresent(annotationClass)) {
                                 matcher.accept(clazz);
-                                loaderRef.set(cl);
+                                annotated.add(clazz);
                             } else {
                                 logger.atWarn()
                                         .log("Class {} was found, but not annotated with {}", clazz.getSimpleName(),
                                                 annotationClass.getSimpleName());
                             }
                         });
-                        if (loaderRef.get() != null) {
-                            return loaderRef.get();
+                        if (!annotated.isEmpty()) {
+                            index(jars, signature, annotated);
+                            return cl;
                         }
                     }
                 } catch (IOException e) {
                     logger.atWarn().log("IOException reading from {}. Falling back to classpath scanner", p, e);
                 }
 
+                List<Class<?>> annotated = new ArrayList<>();
                 FastClasspathScanner sc = new FastClasspathScanner();
                 sc.ignoreParentClassLoaders();
                 sc.addClassLoader(cl);
-                sc.matchClassesWithAnnotation(annotationClass, matcher::accept);
+                sc.matchClassesWithAnnotation(annotationClass, c -> {
+                    annotated.add(c);
+                    matcher.accept(c);
+                });
                 sc.scan(executorService, 1);
+                index(jars, signature, annotated);
                 return cl;
             });
         }
@@ -301,7 +433,11 @@ public class EZPlugins implements Closeable {
         if (doneFirstLoad) {
             throw new IllegalStateException("EZPlugins: all matchers must be specified before the first class load");
         }
-        matchers.add(fcs -> fcs.matchClassesImplementing(c, m));
+        matcherSignatures.add("implementing:" + c.getName());
+        matchers.add(fcs -> fcs.matchClassesImplementing(c, x -> {
+            scanMatches.add(x);
+            m.processMatch(x);
+        }));
         classMatchers.add(x -> {
             if (c.isAssignableFrom(x)) {
                 m.processMatch((Class<? extends T>) x);
@@ -323,7 +459,11 @@ public class EZPlugins implements Closeable {
         if (doneFirstLoad) {
             throw new IllegalStateException("EZPlugins: all matchers must be specified before the first class load");
         }
-        matchers.add(fcs -> fcs.matchClassesWithAnnotation(c, m));
+        matcherSignatures.add(annotatedSignature(c));
+        matchers.add(fcs -> fcs.matchClassesWithAnnotation(c, x -> {
+            scanMatches.add(x);
+            m.processMatch(x);
+        }));
         classMatchers.add((x) -> {
             if (x.isAnnotationPresent(c)) {
                 m.processMatch(x);
@@ -332,6 +472,10 @@ public class EZPlugins implements Closeable {
         return this;
     }
 
+    private static String annotatedSignature(Class<? extends Annotation> c) {
+        return "annotated:" + c.getName();
+    }
+
     /**
      * Load a class from the root classloader.
      *
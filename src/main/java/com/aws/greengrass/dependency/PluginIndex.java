@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.dependency;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.CommitableWriter;
+import com.aws.greengrass.util.Digest;
+import com.aws.greengrass.util.SerializerFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers which plugin classes each plugin jar contains, so that unchanged jars do not need to be scanned again when
+ * the Nucleus starts. Jars are identified by their SHA-256 digest. The digest is only computed again when the size or
+ * modification time of a jar changes. Not thread safe, {@link EZPlugins} uses it while holding its lock.
+ */
+class PluginIndex {
+    private static final Logger logger = LogManager.getLogger(PluginIndex.class);
+    static final String PLUGIN_INDEX_FILE = "plugin-index.json";
+
+    private final Path indexFile;
+    private Map<String, Entry> entries;
+    private boolean dirty;
+
+    PluginIndex(Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Get the classes found in a jar the last time it was scanned with the same matchers.
+     *
+     * @param jar       plugin jar
+     * @param signature matchers which were used to find the classes
+     * @return names of the classes, or null if the jar has changed or was not scanned with these matchers
+     */
+    List<String> get(Path jar, String signature) {
+        Entry entry = entries().get(key(jar));
+        if (entry == null || !entry.getMatches().containsKey(signature)) {
+            return null;
+        }
+        try {
+            long size = Files.size(jar);
+            long modified = Files.getLastModifiedTime(jar).toMillis();
+            if (entry.getSize() != size || entry.getLastModified() != modified) {
+                // The jar may have been copied again with the same content
+                if (!Digest.isEqual(entry.getDigest(), digest(jar))) {
+                    return null;
+                }
+                entry.setSize(size);
+                entry.setLastModified(modified);
+                dirty = true;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return entry.getMatches().get(signature);
+    }
+
+    /**
+     * Remember the classes found in a jar.
+     *
+     * @param jar        plugin jar
+     * @param signature  matchers which were used to find the classes
+     * @param classNames names of the classes which were found
+     */
+    void put(Path jar, String signature, List<String> classNames) {
+        try {
+            long size = Files.size(jar);
+            long modified = Files.getLastModifiedTime(jar).toMillis();
+            String digest = digest(jar);
+            Entry entry = entries().get(key(jar));
+            if (entry == null || !Digest.isEqual(entry.getDigest(), digest)) {
+                entry = new Entry(digest, size, modified, new HashMap<>());
+                entries().put(key(jar), entry);
+            }
+            entry.setSize(size);
+            entry.setLastModified(modified);
+            entry.getMatches().put(signature, new ArrayList<>(classNames));
+            dirty = true;
+        } catch (IOException e) {
+            logger.atWarn().kv("jar", jar).setCause(e).log("Unable to index plugin jar");
+        }
+    }
+
+    /**
+     * Forget a jar, for example when its indexed classes could not be loaded.
+     *
+     * @param jar plugin jar
+     */
+    void remove(Path jar) {
+        if (entries().remove(key(jar)) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Write the index if it changed, leaving out jars which no longer exist.
+     */
+    void save() {
+        if (!entries().keySet().removeIf(jar -> !Files.exists(indexFile.getFileSystem().getPath(jar))) && !dirty) {
+            return;
+        }
+        try (CommitableWriter out = CommitableWriter.abandonOnClose(indexFile)) {
+            // Write the string rather than the writer, which Jackson would close before it is committed
+            out.write(SerializerFactory.getFailSafeJsonObjectMapper().writeValueAsString(new TreeMap<>(entries)));
+            out.commit();
+            dirty = false;
+        } catch (IOException e) {
+            logger.atWarn().kv("file", indexFile).setCause(e).log("Unable to write the plugin index");
+        }
+    }
+
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = new HashMap<>();
+            if (Files.exists(indexFile)) {
+                try {
+                    entries.putAll(SerializerFactory.getFailSafeJsonObjectMapper()
+                            .readValue(indexFile.toFile(), new TypeReference<Map<String, Entry>>() {}));
+                } catch (IOException e) {
+                    logger.atWarn().kv("file", indexFile).setCause(e)
+                            .log("Unable to read the plugin index, plugins will be scanned again");
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String key(Path jar) {
+        return jar.toAbsolutePath().normalize().toString();
+    }
+
+    private static String digest(Path jar) throws IOException {
+        try (InputStream in = Files.newInputStream(jar)) {
+            MessageDigest messageDigest = MessageDigest.getInstance(Digest.SHA_256);
+            byte[] buffer = new byte[64 * 1024];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                messageDigest.update(buffer, 0, read);
+            }
+            return Base64.getEncoder().encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private String digest;
+        private long size;
+        private long lastModified;
+        // matchers used for the scan, mapped to the names of the classes found
+        private Map<String, List<String>> matches;
+    }
+}
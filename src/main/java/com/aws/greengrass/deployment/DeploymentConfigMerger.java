@@ -19,6 +19,7 @@ import com.aws.greengrass.deployment.exceptions.ServiceUpdateException;
 import com.aws.greengrass.deployment.model.Deployment;
 import com.aws.greengrass.deployment.model.DeploymentDocument;
 import com.aws.greengrass.deployment.model.DeploymentResult;
+import com.aws.greengrass.ipc.IPCOperationMetrics;
 import com.aws.greengrass.lifecyclemanager.GreengrassService;
 import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.lifecyclemanager.UnloadableService;
@@ -504,6 +505,7 @@ public class DeploymentConfigMerger {
                 if (removed != null && !removed.isEmpty()) {
                     kernel.getContext().remove(removed.get().getClass());
                 }
+                kernel.getContext().get(IPCOperationMetrics.class).removeComponent(serviceName);
 
                 Topics serviceTopic = kernel.findServiceTopic(serviceName);
                 if (serviceTopic == null) {
@@ -89,6 +89,17 @@ public class DeviceConfiguration {
     public static final String DEPLOYMENT_CONFIGURATION_TIME_SOURCE_DEPLOYMENT_PROCESSING_TIME =
             "deploymentProcessingTime";
     public static final String DEVICE_PARAM_IPC_SOCKET_PATH = "ipcSocketPath";
+    public static final String DEVICE_PARAM_IPC_EVENT_LOOP_THREADS = "ipcEventLoopThreads";
+    public static final String DEVICE_PARAM_COMPONENT_INSTALL_CONCURRENCY = "componentInstallConcurrency";
+    public static final String DEVICE_PARAM_COMPONENT_PREPARE_CONCURRENCY = "componentPrepareConcurrency";
+    public static final String DEVICE_PARAM_COMPONENT_PREPARE_MAX_BYTES_IN_FLIGHT =
+            "componentPrepareMaxBytesInFlight";
+    public static final int DEFAULT_COMPONENT_PREPARE_CONCURRENCY = 1;
+    public static final String DEVICE_PARAM_ARTIFACT_DOWNLOAD_CONNECTIONS = "artifactDownloadConnections";
+    public static final int DEFAULT_ARTIFACT_DOWNLOAD_CONNECTIONS = 1;
+    public static final String DEVICE_PARAM_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES = "artifactDownloadChunkSizeBytes";
+    public static final long DEFAULT_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES = 16L * 1024 * 1024;
+    public static final String IPC_STREAM_BACKPRESSURE_TOPICS = "ipcStreamBackpressure";
     public static final String SYSTEM_NAMESPACE_KEY = "system";
     public static final String PLATFORM_OVERRIDE_TOPIC = "platformOverride";
     public static final String DEVICE_PARAM_AWS_REGION = "awsRegion";
@@ -245,6 +256,15 @@ public class DeviceConfiguration {
         return getTopics(FLEET_STATUS_CONFIG_TOPICS);
     }
 
+    /**
+     * Get the IPC stream backpressure configuration.
+     *
+     * @return Configuration for IPC subscription streams.
+     */
+    public Topics getIpcStreamBackpressureTopics() {
+        return getTopics(IPC_STREAM_BACKPRESSURE_TOPICS);
+    }
+
     /**
      * Get the Nucleus component name to lookup the configuration in the right place. If no component of type Nucleus
      * exists, create service config for the default Nucleus component.
@@ -457,6 +477,63 @@ public class DeviceConfiguration {
         return config.find(SYSTEM_NAMESPACE_KEY, DEVICE_PARAM_IPC_SOCKET_PATH);
     }
 
+    /**
+     * Number of native event loop threads used by the IPC server. Values less than 1 mean the default, which is
+     * derived from the number of available processors.
+     *
+     * @return IPC event loop thread count topic
+     */
+    public Topic getIpcEventLoopThreads() {
+        return getTopic(DEVICE_PARAM_IPC_EVENT_LOOP_THREADS).dflt(0);
+    }
+
+    /**
+     * Number of component install steps which may run at once. Values less than 1 mean no limit.
+     *
+     * @return component install concurrency topic
+     */
+    public Topic getComponentInstallConcurrency() {
+        return getTopic(DEVICE_PARAM_COMPONENT_INSTALL_CONCURRENCY).dflt(0);
+    }
+
+    /**
+     * Number of components whose artifacts a deployment may download and unarchive at once. Values less than 1 mean
+     * one at a time.
+     *
+     * @return component prepare concurrency topic
+     */
+    public Topic getComponentPrepareConcurrency() {
+        return getTopic(DEVICE_PARAM_COMPONENT_PREPARE_CONCURRENCY).dflt(DEFAULT_COMPONENT_PREPARE_CONCURRENCY);
+    }
+
+    /**
+     * Total size of the artifacts which may be downloading at once. Values less than 1 mean no limit.
+     *
+     * @return maximum bytes in flight topic
+     */
+    public Topic getComponentPrepareMaxBytesInFlight() {
+        return getTopic(DEVICE_PARAM_COMPONENT_PREPARE_MAX_BYTES_IN_FLIGHT).dflt(0L);
+    }
+
+    /**
+     * Number of ranges of one artifact which are downloaded at once. Values less than 2 download sequentially.
+     *
+     * @return artifact download connections topic
+     */
+    public Topic getArtifactDownloadConnections() {
+        return getTopic(DEVICE_PARAM_ARTIFACT_DOWNLOAD_CONNECTIONS).dflt(DEFAULT_ARTIFACT_DOWNLOAD_CONNECTIONS);
+    }
+
+    /**
+     * Size of each range when an artifact is downloaded in chunks.
+     *
+     * @return artifact download chunk size topic
+     */
+    public Topic getArtifactDownloadChunkSizeBytes() {
+        return getTopic(DEVICE_PARAM_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES)
+                .dflt(DEFAULT_ARTIFACT_DOWNLOAD_CHUNK_SIZE_BYTES);
+    }
+
     public Topic getInterpolateComponentConfiguration() {
         return getTopic(DEVICE_PARAM_INTERPOLATE_COMPONENT_CONFIGURATION).dflt(false);
     }
@@ -40,6 +40,7 @@ import static com.aws.greengrass.lifecyclemanager.GreengrassService.SETENV_CONFI
 public class IPCEventStreamService implements Startable, Closeable {
     public static final long DEFAULT_STREAM_MESSAGE_TIMEOUT_SECONDS = 5;
     public static final int DEFAULT_PORT_NUMBER = 8033;
+    public static final int MAX_DEFAULT_EVENT_LOOP_THREADS = 4;
     private static final ObjectMapper OBJECT_MAPPER =
             new ObjectMapper().configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false)
                     .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -62,6 +63,8 @@ public class IPCEventStreamService implements Startable, Closeable {
 
     private final Configuration config;
 
+    private final IPCOperationMetrics ipcOperationMetrics;
+
     private SocketOptions socketOptions;
     private EventLoopGroup eventLoopGroup;
 
@@ -70,12 +73,14 @@ public class IPCEventStreamService implements Startable, Closeable {
                           DeviceConfiguration deviceConfiguration,
                           GreengrassCoreIPCService greengrassCoreIPCService,
                           Configuration config,
-                          AuthenticationHandler authenticationHandler) {
+                          AuthenticationHandler authenticationHandler,
+                          IPCOperationMetrics ipcOperationMetrics) {
         this.kernel = kernel;
         this.deviceConfiguration = deviceConfiguration;
         this.greengrassCoreIPCService = greengrassCoreIPCService;
         this.config = config;
         this.authenticationHandler = authenticationHandler;
+        this.ipcOperationMetrics = ipcOperationMetrics;
     }
 
     @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.ExceptionAsFlowControl"})
@@ -93,12 +98,15 @@ public class IPCEventStreamService implements Startable, Closeable {
             greengrassCoreIPCService.setAuthenticationHandler((List<Header> headers, byte[] bytes) ->
                     ipcAuthenticationHandler(bytes));
             greengrassCoreIPCService.setAuthorizationHandler(this::ipcAuthorizationHandler);
+            greengrassCoreIPCService.setOperationMetricsRecorder(ipcOperationMetrics);
 
             socketOptions = new SocketOptions();
             socketOptions.connectTimeoutMs = 3000;
             socketOptions.domain = SocketOptions.SocketDomain.LOCAL;
             socketOptions.type = SocketOptions.SocketType.STREAM;
-            eventLoopGroup = new EventLoopGroup(1);
+            int eventLoopThreads = getEventLoopThreadCount();
+            logger.atDebug().kv("eventLoopThreads", eventLoopThreads).log("Starting IPC event loop group");
+            eventLoopGroup = new EventLoopGroup(eventLoopThreads);
 
             Topic kernelUri = config.getRoot().lookup(SETENV_CONFIG_NAMESPACE, NUCLEUS_DOMAIN_SOCKET_FILEPATH);
             kernelUri.withValue(Platform.getInstance().prepareIpcFilepath(rootPath, ipcPath));
@@ -122,6 +130,20 @@ public class IPCEventStreamService implements Startable, Closeable {
         Platform.getInstance().setIpcFilePermissions(rootPath, ipcPath);
     }
 
+    /**
+     * Get the number of event loop threads for the IPC server. Uses the configured value if it is positive, otherwise
+     * one thread per available processor up to {@link #MAX_DEFAULT_EVENT_LOOP_THREADS}.
+     *
+     * @return number of event loop threads
+     */
+    int getEventLoopThreadCount() {
+        int configured = Coerce.toInt(deviceConfiguration.getIpcEventLoopThreads());
+        if (configured > 0) {
+            return configured;
+        }
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_EVENT_LOOP_THREADS));
+    }
+
     @SuppressWarnings("PMD.UnusedFormalParameter")
     private Authorization ipcAuthorizationHandler(AuthenticationData authenticationData) {
         // No authorization on service level exist for whole IPC right now so returning ACCEPT for all authenticated
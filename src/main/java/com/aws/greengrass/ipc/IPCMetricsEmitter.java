@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.AggregationType;
+import com.aws.greengrass.telemetry.LatencyHistogram;
+import com.aws.greengrass.telemetry.PeriodicMetricsEmitter;
+import com.aws.greengrass.telemetry.SnapshotDeltas;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+
+/**
+ * Emits the IPC activity of each component and operation since the previous emit. Metric names have the form
+ * {@code <component>.<operation>.<metric>}, and only pairs with activity in the interval are emitted.
+ */
+public class IPCMetricsEmitter extends PeriodicMetricsEmitter {
+    public static final Logger logger = LogManager.getLogger(IPCMetricsEmitter.class);
+    public static final String NAMESPACE = "IPCOperations";
+    private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final IPCOperationMetrics ipcOperationMetrics;
+    // component.operation -> snapshot at the previous emit
+    private final SnapshotDeltas<String, IPCOperationMetrics.Snapshot> deltas =
+            new SnapshotDeltas<>(IPCOperationMetrics.Snapshot.EMPTY, IPCOperationMetrics.Snapshot::minus);
+
+    @Inject
+    public IPCMetricsEmitter(IPCOperationMetrics ipcOperationMetrics) {
+        super();
+        this.ipcOperationMetrics = ipcOperationMetrics;
+    }
+
+    /**
+     * Emit IPC operation metrics.
+     */
+    @Override
+    public void emitMetrics() {
+        emit(getMetrics(), mf::putMetricData);
+    }
+
+    /**
+     * Retrieve IPC operation metrics for the activity since the previous call.
+     *
+     * @return a list of {@link Metric}
+     */
+    @Override
+    public synchronized List<Metric> getMetrics() {
+        List<Metric> metricsList = new ArrayList<>();
+        long timestamp = Instant.now().toEpochMilli();
+        ipcOperationMetrics.getStats().forEach((component, operations) -> operations.forEach((operation, stats) -> {
+            String prefix = component + "." + operation + ".";
+            IPCOperationMetrics.Snapshot delta = deltas.delta(prefix, stats.snapshot());
+            if (!delta.hasActivity()) {
+                return;
+            }
+            metricsList.add(buildMetric(prefix + "RequestCount", TelemetryUnit.Count, TelemetryAggregation.Sum,
+                    delta.getRequests(), timestamp));
+            metricsList.add(buildMetric(prefix + "ErrorCount", TelemetryUnit.Count, TelemetryAggregation.Sum,
+                    delta.getErrors(), timestamp));
+            metricsList.add(buildMetric(prefix + "BytesIn", TelemetryUnit.Bytes, TelemetryAggregation.Sum,
+                    delta.getBytesIn(), timestamp));
+            metricsList.add(buildMetric(prefix + "BytesOut", TelemetryUnit.Bytes, TelemetryAggregation.Sum,
+                    delta.getBytesOut(), timestamp));
+            if (delta.getRequests() > 0) {
+                // TelemetryAggregation has no percentiles, getAggregationType makes the aggregator use P50 and P99
+                metricsList.add(buildMetric(prefix + "HandlerLatencyP50", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Average,
+                        LatencyHistogram.percentileMillis(delta.getHandlerLatencyBuckets(), 50), timestamp));
+                metricsList.add(buildMetric(prefix + "HandlerLatencyP99", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Maximum,
+                        LatencyHistogram.percentileMillis(delta.getHandlerLatencyBuckets(), 99), timestamp));
+            }
+            if (delta.getStreamEventsSent() > 0 || delta.getStreamEventsFailed() > 0) {
+                metricsList.add(buildMetric(prefix + "StreamEventsSent", TelemetryUnit.Count,
+                        TelemetryAggregation.Sum, delta.getStreamEventsSent(), timestamp));
+                metricsList.add(buildMetric(prefix + "StreamEventsFailed", TelemetryUnit.Count,
+                        TelemetryAggregation.Sum, delta.getStreamEventsFailed(), timestamp));
+                metricsList.add(buildMetric(prefix + "StreamEventLatencyP99", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Maximum,
+                        LatencyHistogram.percentileMillis(delta.getStreamEventLatencyBuckets(), 99), timestamp));
+            }
+            if (delta.getStreamEventsDropped() > 0) {
+                metricsList.add(buildMetric(prefix + "StreamEventsDropped", TelemetryUnit.Count,
+                        TelemetryAggregation.Sum, delta.getStreamEventsDropped(), timestamp));
+            }
+        }));
+        // forget components which were removed
+        deltas.endEmit();
+        return metricsList;
+    }
+
+    /**
+     * Accumulate the latency percentiles of each interval as percentiles rather than as an average or maximum.
+     *
+     * @param metric metric emitted by this emitter
+     * @return aggregation type for the latency percentiles, null for the other metrics
+     */
+    @Override
+    public AggregationType getAggregationType(Metric metric) {
+        if (metric.getName().endsWith("LatencyP50")) {
+            return AggregationType.P50;
+        }
+        if (metric.getName().endsWith("LatencyP99")) {
+            return AggregationType.P99;
+        }
+        return null;
+    }
+
+    private static Metric buildMetric(String name, TelemetryUnit unit, TelemetryAggregation aggregation, Object value,
+                                      long timestamp) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(name)
+                .unit(unit)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+}
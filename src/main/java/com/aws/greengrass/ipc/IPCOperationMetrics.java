@@ -0,0 +1,186 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc;
+
+import com.aws.greengrass.telemetry.LatencyHistogram;
+import lombok.Getter;
+import lombok.Value;
+import software.amazon.awssdk.eventstreamrpc.OperationMetricsRecorder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative IPC request and stream statistics per component and operation. Recorded from the IPC server event loop,
+ * emitted to telemetry by {@link IPCMetricsEmitter} and available on demand through {@link #getStats()} for local
+ * debugging.
+ */
+public class IPCOperationMetrics implements OperationMetricsRecorder {
+    static final String UNKNOWN_COMPONENT = "unknown";
+
+    // component name -> operation name -> stats
+    private final Map<String, Map<String, OperationStats>> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestReceived(String identityLabel, String operationName, int requestBytes) {
+        OperationStats s = statsFor(identityLabel, operationName);
+        s.requests.increment();
+        s.bytesIn.add(requestBytes);
+    }
+
+    @Override
+    public void requestCompleted(String identityLabel, String operationName, long latencyNanos, int responseBytes) {
+        OperationStats s = statsFor(identityLabel, operationName);
+        s.handlerLatency.record(latencyNanos);
+        s.bytesOut.add(responseBytes);
+    }
+
+    @Override
+    public void operationFailed(String identityLabel, String operationName) {
+        statsFor(identityLabel, operationName).errors.increment();
+    }
+
+    @Override
+    public void streamEventReceived(String identityLabel, String operationName, int eventBytes) {
+        OperationStats s = statsFor(identityLabel, operationName);
+        s.streamEventsReceived.increment();
+        s.bytesIn.add(eventBytes);
+    }
+
+    @Override
+    public void streamEventSent(String identityLabel, String operationName, long latencyNanos, int eventBytes,
+                                boolean failed) {
+        OperationStats s = statsFor(identityLabel, operationName);
+        if (failed) {
+            s.streamEventsFailed.increment();
+        } else {
+            s.streamEventsSent.increment();
+            s.bytesOut.add(eventBytes);
+        }
+        s.streamEventLatency.record(latencyNanos);
+    }
+
+    /**
+     * Record a stream event which was discarded because the subscriber could not keep up.
+     *
+     * @param identityLabel  component name
+     * @param operationName  operation name
+     */
+    public void streamEventDropped(String identityLabel, String operationName) {
+        statsFor(identityLabel, operationName).streamEventsDropped.increment();
+    }
+
+    /**
+     * Get the statistics recorded so far.
+     *
+     * @return read only map of component name to operation name to stats
+     */
+    public Map<String, Map<String, OperationStats>> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Drop statistics of a component, for example once it has been removed.
+     *
+     * @param componentName component name
+     */
+    public void removeComponent(String componentName) {
+        stats.remove(componentName);
+    }
+
+    private OperationStats statsFor(String identityLabel, String operationName) {
+        String component = identityLabel == null ? UNKNOWN_COMPONENT : identityLabel;
+        return stats.computeIfAbsent(component, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(shortOperationName(operationName), k -> new OperationStats());
+    }
+
+    /**
+     * Strip the service namespace from an operation name, "aws.greengrass#PublishToTopic" becomes "PublishToTopic".
+     *
+     * @param operationName fully qualified operation name
+     * @return operation name without namespace
+     */
+    static String shortOperationName(String operationName) {
+        if (operationName == null) {
+            return UNKNOWN_COMPONENT;
+        }
+        int idx = operationName.indexOf('#');
+        return idx < 0 ? operationName : operationName.substring(idx + 1);
+    }
+
+    public static class OperationStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder streamEventsReceived = new LongAdder();
+        private final LongAdder streamEventsSent = new LongAdder();
+        private final LongAdder streamEventsFailed = new LongAdder();
+        private final LongAdder streamEventsDropped = new LongAdder();
+        @Getter
+        private final LatencyHistogram handlerLatency = new LatencyHistogram();
+        @Getter
+        private final LatencyHistogram streamEventLatency = new LatencyHistogram();
+
+        /**
+         * Take a point in time copy of the counters.
+         *
+         * @return snapshot
+         */
+        public Snapshot snapshot() {
+            return new Snapshot(requests.sum(), errors.sum(), bytesIn.sum(), bytesOut.sum(),
+                    streamEventsReceived.sum(), streamEventsSent.sum(), streamEventsFailed.sum(),
+                    streamEventsDropped.sum(), handlerLatency.getBucketCounts(), streamEventLatency.getBucketCounts());
+        }
+    }
+
+    @Value
+    public static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0,
+                new long[LatencyHistogram.NUM_BUCKETS], new long[LatencyHistogram.NUM_BUCKETS]);
+
+        long requests;
+        long errors;
+        long bytesIn;
+        long bytesOut;
+        long streamEventsReceived;
+        long streamEventsSent;
+        long streamEventsFailed;
+        long streamEventsDropped;
+        long[] handlerLatencyBuckets;
+        long[] streamEventLatencyBuckets;
+
+        /**
+         * Get the activity between an earlier snapshot and this one.
+         *
+         * @param earlier earlier snapshot of the same stats
+         * @return difference of the two snapshots
+         */
+        public Snapshot minus(Snapshot earlier) {
+            return new Snapshot(requests - earlier.requests, errors - earlier.errors, bytesIn - earlier.bytesIn,
+                    bytesOut - earlier.bytesOut, streamEventsReceived - earlier.streamEventsReceived,
+                    streamEventsSent - earlier.streamEventsSent, streamEventsFailed - earlier.streamEventsFailed,
+                    streamEventsDropped - earlier.streamEventsDropped,
+                    subtract(handlerLatencyBuckets, earlier.handlerLatencyBuckets),
+                    subtract(streamEventLatencyBuckets, earlier.streamEventLatencyBuckets));
+        }
+
+        public boolean hasActivity() {
+            return requests > 0 || errors > 0 || streamEventsReceived > 0 || streamEventsSent > 0
+                    || streamEventsFailed > 0 || streamEventsDropped > 0;
+        }
+
+        private static long[] subtract(long[] a, long[] b) {
+            long[] result = new long[a.length];
+            for (int i = 0; i < a.length; i++) {
+                result[i] = a[i] - b[i];
+            }
+            return result;
+        }
+    }
+}
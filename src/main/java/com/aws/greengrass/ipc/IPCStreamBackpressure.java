@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc;
+
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.ipc.common.StreamEventWindow;
+import com.aws.greengrass.ipc.common.StreamOverflowPolicy;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.Coerce;
+import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
+import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
+
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+
+/**
+ * Creates the {@link StreamEventWindow} of each IPC subscription stream from the Nucleus
+ * {@code ipcStreamBackpressure} configuration. The configuration is read when a subscription is made, so changes
+ * apply to new subscriptions.
+ */
+public class IPCStreamBackpressure {
+    private static final Logger logger = LogManager.getLogger(IPCStreamBackpressure.class);
+    public static final String MAX_OUTSTANDING_EVENTS_KEY = "maxOutstandingEvents";
+    public static final String OVERFLOW_POLICY_KEY = "overflowPolicy";
+    public static final String DISCONNECT_AFTER_SECONDS_KEY = "disconnectAfterSeconds";
+    static final int DEFAULT_MAX_OUTSTANDING_EVENTS = 1000;
+    // Close the stream of a stalled subscriber rather than silently dropping its events. The component sees the
+    // stream end and can subscribe again, where dropped events would go unnoticed by it.
+    static final StreamOverflowPolicy DEFAULT_OVERFLOW_POLICY = StreamOverflowPolicy.DISCONNECT;
+    static final int DEFAULT_DISCONNECT_AFTER_SECONDS = 30;
+
+    private final DeviceConfiguration deviceConfiguration;
+    private final IPCOperationMetrics operationMetrics;
+    private final ScheduledExecutorService ses;
+
+    /**
+     * Constructor.
+     *
+     * @param deviceConfiguration device configuration
+     * @param operationMetrics    metrics to count dropped events in
+     * @param ses                 executor to close stalled streams on
+     */
+    @Inject
+    public IPCStreamBackpressure(DeviceConfiguration deviceConfiguration, IPCOperationMetrics operationMetrics,
+                                 ScheduledExecutorService ses) {
+        this.deviceConfiguration = deviceConfiguration;
+        this.operationMetrics = operationMetrics;
+        this.ses = ses;
+    }
+
+    /**
+     * Create the window for a new subscription stream.
+     *
+     * @param publisher     stream to send events on
+     * @param componentName name of the subscribing component
+     * @param operationName subscription operation name
+     * @param <T>           stream event type
+     * @return window to send the stream events through
+     */
+    public <T extends EventStreamJsonMessage> StreamEventWindow<T> newWindow(StreamEventPublisher<T> publisher,
+                                                                            String componentName,
+                                                                            String operationName) {
+        Topics topics = deviceConfiguration.getIpcStreamBackpressureTopics();
+        int maxOutstandingEvents = Coerce.toInt(
+                topics.findOrDefault(DEFAULT_MAX_OUTSTANDING_EVENTS, MAX_OUTSTANDING_EVENTS_KEY));
+        if (maxOutstandingEvents <= 0) {
+            maxOutstandingEvents = DEFAULT_MAX_OUTSTANDING_EVENTS;
+        }
+        int disconnectAfterSeconds = Coerce.toInt(
+                topics.findOrDefault(DEFAULT_DISCONNECT_AFTER_SECONDS, DISCONNECT_AFTER_SECONDS_KEY));
+        if (disconnectAfterSeconds <= 0) {
+            disconnectAfterSeconds = DEFAULT_DISCONNECT_AFTER_SECONDS;
+        }
+        return new StreamEventWindow<>(publisher, maxOutstandingEvents,
+                getOverflowPolicy(topics.findOrDefault(DEFAULT_OVERFLOW_POLICY.name(), OVERFLOW_POLICY_KEY)),
+                TimeUnit.SECONDS.toNanos(disconnectAfterSeconds),
+                () -> operationMetrics.streamEventDropped(componentName, operationName), ses);
+    }
+
+    private static StreamOverflowPolicy getOverflowPolicy(Object configured) {
+        String policy = Coerce.toString(configured);
+        if (policy != null) {
+            try {
+                return StreamOverflowPolicy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.atWarn().kv(OVERFLOW_POLICY_KEY, policy).kv("default", DEFAULT_OVERFLOW_POLICY)
+                        .log("Unknown IPC stream overflow policy, using the default");
+            }
+        }
+        return DEFAULT_OVERFLOW_POLICY;
+    }
+}
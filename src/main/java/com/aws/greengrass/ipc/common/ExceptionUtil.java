@@ -10,6 +10,8 @@ import com.aws.greengrass.logging.impl.LogManager;
 import software.amazon.awssdk.aws.greengrass.model.GreengrassCoreIPCError;
 import software.amazon.awssdk.aws.greengrass.model.ServiceError;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public final class ExceptionUtil {
@@ -39,4 +41,21 @@ public final class ExceptionUtil {
             throw new ServiceError(e.getMessage());
         }
     }
+
+    /**
+     * Run a potentially blocking method on the given executor instead of the IPC event loop thread and translate any
+     * runtime exceptions from it into ServiceErrors. Returns null when no executor is available, in which case the
+     * caller falls back to handling the request synchronously.
+     *
+     * @param sup      method to run
+     * @param executor executor to run the method on
+     * @param <T>      Return type
+     * @return future completing with the return value of the supplier, or null if executor is null
+     */
+    public static <T> CompletableFuture<T> translateExceptionsAsync(Supplier<T> sup, Executor executor) {
+        if (executor == null) {
+            return null;
+        }
+        return CompletableFuture.supplyAsync(() -> translateExceptions(sup), executor);
+    }
 }
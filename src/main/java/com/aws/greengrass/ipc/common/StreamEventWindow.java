@@ -0,0 +1,252 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc.common;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import lombok.AccessLevel;
+import lombok.Getter;
+import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
+import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded window of stream events sent to one IPC subscriber.
+ *
+ * <p>At most {@code maxOutstandingEvents} events are handed to the socket without having been written yet. Events
+ * beyond that wait in a queue of the same size, and once the queue is full the {@link StreamOverflowPolicy} decides
+ * which events are dropped. This keeps a subscriber that stops reading from growing Nucleus memory without bound,
+ * and keeps it from slowing down publishers and other subscribers.
+ *
+ * @param <T> stream event type
+ */
+public class StreamEventWindow<T extends EventStreamJsonMessage> {
+    private static final Logger logger = LogManager.getLogger(StreamEventWindow.class);
+    private static final long NOT_FULL = -1;
+
+    private final StreamEventPublisher<T> publisher;
+    private final int maxOutstandingEvents;
+    private final StreamOverflowPolicy overflowPolicy;
+    private final long disconnectAfterNanos;
+    private final Runnable onDropped;
+    private final LongSupplier nanoClock;
+    // Checks a full window for DISCONNECT even when no more events are sent, null to only check on send
+    private final ScheduledExecutorService stallChecker;
+
+    private final Deque<T> pending = new ArrayDeque<>();
+    private int inFlight;
+    private long fullSinceNanos = NOT_FULL;
+    private boolean disconnected;
+    private boolean stallCheckScheduled;
+    private boolean overflowLogged;
+    @Getter(AccessLevel.PACKAGE)
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param publisher            stream to send events on
+     * @param maxOutstandingEvents maximum number of unwritten events, and maximum number of queued events
+     * @param overflowPolicy       what to do once the queue is full
+     * @param disconnectAfterNanos how long the window may stay full without any event being written before the
+     *                             stream is closed when using {@link StreamOverflowPolicy#DISCONNECT}
+     * @param onDropped            called once for each dropped event
+     */
+    public StreamEventWindow(StreamEventPublisher<T> publisher, int maxOutstandingEvents,
+                             StreamOverflowPolicy overflowPolicy, long disconnectAfterNanos, Runnable onDropped) {
+        this(publisher, maxOutstandingEvents, overflowPolicy, disconnectAfterNanos, onDropped, System::nanoTime,
+                null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param publisher            stream to send events on
+     * @param maxOutstandingEvents maximum number of unwritten events, and maximum number of queued events
+     * @param overflowPolicy       what to do once the queue is full
+     * @param disconnectAfterNanos how long the window may stay full without any event being written before the
+     *                             stream is closed when using {@link StreamOverflowPolicy#DISCONNECT}
+     * @param onDropped            called once for each dropped event
+     * @param stallChecker         executor to close a stalled stream on when no more events are sent
+     */
+    public StreamEventWindow(StreamEventPublisher<T> publisher, int maxOutstandingEvents,
+                             StreamOverflowPolicy overflowPolicy, long disconnectAfterNanos, Runnable onDropped,
+                             ScheduledExecutorService stallChecker) {
+        this(publisher, maxOutstandingEvents, overflowPolicy, disconnectAfterNanos, onDropped, System::nanoTime,
+                stallChecker);
+    }
+
+    StreamEventWindow(StreamEventPublisher<T> publisher, int maxOutstandingEvents,
+                      StreamOverflowPolicy overflowPolicy, long disconnectAfterNanos, Runnable onDropped,
+                      LongSupplier nanoClock, ScheduledExecutorService stallChecker) {
+        this.publisher = publisher;
+        this.maxOutstandingEvents = Math.max(1, maxOutstandingEvents);
+        this.overflowPolicy = overflowPolicy;
+        this.disconnectAfterNanos = disconnectAfterNanos;
+        this.onDropped = onDropped;
+        this.nanoClock = nanoClock;
+        this.stallChecker = stallChecker;
+    }
+
+    /**
+     * Get a window which never drops events, for use when no backpressure is configured.
+     *
+     * @param publisher stream to send events on
+     * @param <T>       stream event type
+     * @return unbounded window
+     */
+    public static <T extends EventStreamJsonMessage> StreamEventWindow<T> unbounded(StreamEventPublisher<T> publisher) {
+        return new StreamEventWindow<>(publisher, Integer.MAX_VALUE, StreamOverflowPolicy.DROP_NEWEST, Long.MAX_VALUE,
+                () -> {
+                });
+    }
+
+    /**
+     * Send an event, or queue it if the window is full.
+     *
+     * @param event stream event
+     */
+    public void send(T event) {
+        T toSend = null;
+        boolean disconnect = false;
+        synchronized (this) {
+            if (disconnected) {
+                dropped(1);
+                return;
+            }
+            if (inFlight < maxOutstandingEvents && pending.isEmpty()) {
+                inFlight++;
+                toSend = event;
+            } else {
+                long now = nanoClock.getAsLong();
+                if (fullSinceNanos == NOT_FULL) {
+                    fullSinceNanos = now;
+                    scheduleStallCheck(disconnectAfterNanos);
+                }
+                if (overflowPolicy == StreamOverflowPolicy.DISCONNECT && now - fullSinceNanos > disconnectAfterNanos) {
+                    disconnect = true;
+                    disconnect(1);
+                } else if (pending.size() < maxOutstandingEvents) {
+                    pending.addLast(event);
+                } else if (overflowPolicy == StreamOverflowPolicy.DROP_OLDEST) {
+                    pending.pollFirst();
+                    pending.addLast(event);
+                    overflowed();
+                } else {
+                    overflowed();
+                }
+            }
+        }
+        if (toSend != null) {
+            write(toSend);
+        } else if (disconnect) {
+            closeStream();
+        }
+    }
+
+    private void overflowed() {
+        // Log the first drop only, the metric counts every dropped event
+        if (!overflowLogged) {
+            overflowLogged = true;
+            logger.atWarn().kv("maxOutstandingEvents", maxOutstandingEvents).kv("overflowPolicy", overflowPolicy)
+                    .log("Dropping IPC stream events because the subscriber is not reading them");
+        }
+        dropped(1);
+    }
+
+    private void disconnect(int alsoDropped) {
+        disconnected = true;
+        dropped(pending.size() + alsoDropped);
+        pending.clear();
+    }
+
+    private void closeStream() {
+        logger.atWarn().kv("maxOutstandingEvents", maxOutstandingEvents)
+                .log("Closing IPC stream because the subscriber is not reading events");
+        publisher.closeStream();
+    }
+
+    private void scheduleStallCheck(long delayNanos) {
+        if (overflowPolicy == StreamOverflowPolicy.DISCONNECT && stallChecker != null && !stallCheckScheduled) {
+            stallCheckScheduled = true;
+            stallChecker.schedule(this::checkStalled, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void checkStalled() {
+        synchronized (this) {
+            stallCheckScheduled = false;
+            if (disconnected || fullSinceNanos == NOT_FULL) {
+                return;
+            }
+            long stalledNanos = nanoClock.getAsLong() - fullSinceNanos;
+            if (stalledNanos < disconnectAfterNanos) {
+                // Events were written since the check was scheduled, check again when the new deadline passes
+                scheduleStallCheck(disconnectAfterNanos - stalledNanos);
+                return;
+            }
+            disconnect(0);
+        }
+        closeStream();
+    }
+
+    private void write(T first) {
+        // Loop rather than recurse while sends complete immediately, so draining a long queue stays flat
+        T event = first;
+        while (event != null) {
+            CompletableFuture<Void> future = sendQuietly(event);
+            if (future != null && !future.isDone()) {
+                future.whenComplete((r, t) -> write(nextAfterWritten()));
+                return;
+            }
+            event = nextAfterWritten();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private CompletableFuture<Void> sendQuietly(T event) {
+        try {
+            return publisher.sendStreamEvent(event);
+        } catch (RuntimeException e) {
+            logger.atDebug().cause(e).log("Unable to send stream event");
+            return null;
+        }
+    }
+
+    private synchronized T nextAfterWritten() {
+        inFlight--;
+        T next = pending.pollFirst();
+        if (next != null) {
+            inFlight++;
+        }
+        // The subscriber made progress, so restart the clock for disconnecting it if events are still queued
+        if (pending.isEmpty()) {
+            fullSinceNanos = NOT_FULL;
+        } else {
+            fullSinceNanos = nanoClock.getAsLong();
+            scheduleStallCheck(disconnectAfterNanos);
+        }
+        return next;
+    }
+
+    private void dropped(int count) {
+        droppedEvents.add(count);
+        for (int i = 0; i < count; i++) {
+            onDropped.run();
+        }
+    }
+
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+}
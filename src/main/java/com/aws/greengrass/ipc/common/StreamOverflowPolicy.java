@@ -0,0 +1,25 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc.common;
+
+/**
+ * What to do with a stream event when the subscriber's window of outstanding events is full.
+ */
+public enum StreamOverflowPolicy {
+    /**
+     * Discard the oldest queued event to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the new event and keep the queued ones.
+     */
+    DROP_NEWEST,
+    /**
+     * Discard the new event, and close the stream if the window has stayed full for longer than the configured
+     * timeout.
+     */
+    DISCONNECT
+}
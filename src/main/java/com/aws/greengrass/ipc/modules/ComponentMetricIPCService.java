@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 public class ComponentMetricIPCService implements Startable, InjectionActions {
     public static final String PUT_COMPONENT_METRIC_SERVICE_NAME = "aws.greengrass.ipc.componentmetric";
@@ -25,8 +26,9 @@ public class ComponentMetricIPCService implements Startable, InjectionActions {
     @Inject
     private AuthorizationHandler authorizationHandler;
 
+    // resolved on the first operation so that the agent is only created once a component publishes metrics
     @Inject
-    private ComponentMetricIPCEventStreamAgent eventStreamAgent;
+    private Provider<ComponentMetricIPCEventStreamAgent> eventStreamAgentProvider;
 
     @Inject
     private GreengrassCoreIPCService greengrassCoreIPCService;
@@ -46,6 +48,6 @@ public class ComponentMetricIPCService implements Startable, InjectionActions {
     @Override
     public void startup() {
         greengrassCoreIPCService.setPutComponentMetricHandler(
-                context -> eventStreamAgent.getPutComponentMetricHandler(context));
+                context -> eventStreamAgentProvider.get().getPutComponentMetricHandler(context));
     }
 }
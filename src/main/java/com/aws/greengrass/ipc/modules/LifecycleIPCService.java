@@ -21,14 +21,16 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 public class LifecycleIPCService implements Startable, InjectionActions {
     private static final Logger logger = LogManager.getLogger(LifecycleIPCService.class);
     public static final String LIFECYCLE_SERVICE_NAME = "aws.greengrass.ipc.lifecycle";
 
+    // resolved on the first operation so that the agent is only created once a component uses it
     @Inject
     @Setter(AccessLevel.PACKAGE)
-    private LifecycleIPCEventStreamAgent eventStreamAgent;
+    private Provider<LifecycleIPCEventStreamAgent> eventStreamAgentProvider;
 
     @Inject
     @Setter(AccessLevel.PACKAGE)
@@ -54,14 +56,14 @@ public class LifecycleIPCService implements Startable, InjectionActions {
     @Override
     public void startup() {
         greengrassCoreIPCService.setUpdateStateHandler(
-                (context) -> eventStreamAgent.getUpdateStateOperationHandler(context));
+                (context) -> eventStreamAgentProvider.get().getUpdateStateOperationHandler(context));
         greengrassCoreIPCService.setSubscribeToComponentUpdatesHandler(
-                (context) -> eventStreamAgent.getSubscribeToComponentUpdateHandler(context));
+                (context) -> eventStreamAgentProvider.get().getSubscribeToComponentUpdateHandler(context));
         greengrassCoreIPCService.setDeferComponentUpdateHandler(
-                (context) -> eventStreamAgent.getDeferComponentHandler(context));
+                (context) -> eventStreamAgentProvider.get().getDeferComponentHandler(context));
         greengrassCoreIPCService.setPauseComponentHandler(
-                (context) -> eventStreamAgent.getPauseComponentHandler(context));
+                (context) -> eventStreamAgentProvider.get().getPauseComponentHandler(context));
         greengrassCoreIPCService.setResumeComponentHandler(
-                (context) -> eventStreamAgent.getResumeComponentHandler(context));
+                (context) -> eventStreamAgentProvider.get().getResumeComponentHandler(context));
     }
 }
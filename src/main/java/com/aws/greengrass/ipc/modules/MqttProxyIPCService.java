@@ -18,13 +18,16 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 public class MqttProxyIPCService implements Startable, InjectionActions {
     private static final Logger logger = LogManager.getLogger(MqttProxyIPCService.class);
     public static final String MQTT_PROXY_SERVICE_NAME = "aws.greengrass.ipc.mqttproxy";
 
+    // resolved on the first operation so that the agent and its MQTT client are only created when a component
+    // talks to IoT Core
     @Inject
-    MqttProxyIPCAgent mqttProxyIPCAgent;
+    Provider<MqttProxyIPCAgent> mqttProxyIPCAgentProvider;
 
     @Inject
     private GreengrassCoreIPCService greengrassCoreIPCService;
@@ -47,8 +50,8 @@ public class MqttProxyIPCService implements Startable, InjectionActions {
     @Override
     public void startup() {
         greengrassCoreIPCService.setPublishToIoTCoreHandler(
-                (context) -> mqttProxyIPCAgent.getPublishToIoTCoreOperationHandler(context));
+                (context) -> mqttProxyIPCAgentProvider.get().getPublishToIoTCoreOperationHandler(context));
         greengrassCoreIPCService.setSubscribeToIoTCoreHandler(
-                (context) -> mqttProxyIPCAgent.getSubscribeToIoTCoreOperationHandler(context));
+                (context) -> mqttProxyIPCAgentProvider.get().getSubscribeToIoTCoreOperationHandler(context));
     }
 }
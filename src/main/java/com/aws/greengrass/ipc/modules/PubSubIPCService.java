@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 public class PubSubIPCService implements Startable, InjectionActions {
     public static final String PUB_SUB_SERVICE_NAME = "aws.greengrass.ipc.pubsub";
@@ -25,8 +26,9 @@ public class PubSubIPCService implements Startable, InjectionActions {
     @Inject
     private AuthorizationHandler authorizationHandler;
 
+    // resolved on the first operation so that the agent is only created once a component uses Pub/Sub
     @Inject
-    private PubSubIPCEventStreamAgent eventStreamAgent;
+    private Provider<PubSubIPCEventStreamAgent> eventStreamAgentProvider;
 
     @Inject
     private GreengrassCoreIPCService greengrassCoreIPCService;
@@ -47,8 +49,8 @@ public class PubSubIPCService implements Startable, InjectionActions {
     @Override
     public void startup() {
         greengrassCoreIPCService.setSubscribeToTopicHandler(
-                context -> eventStreamAgent.getSubscribeToTopicHandler(context));
+                context -> eventStreamAgentProvider.get().getSubscribeToTopicHandler(context));
         greengrassCoreIPCService.setPublishToTopicHandler(
-                context -> eventStreamAgent.getPublishToTopicHandler(context));
+                context -> eventStreamAgentProvider.get().getPublishToTopicHandler(context));
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jna;
+
+import com.sun.jna.Library;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+import com.sun.jna.ptr.PointerByReference;
+
+/**
+ * Reentrant user and group database functions of the C library. They go through the name service switch, so users
+ * and groups from sources other than the local files are found too.
+ */
+@SuppressWarnings({"checkstyle:MethodName", "PMD.MethodNamingConventions"})
+public interface UnixLibC extends Library {
+    int ERANGE = 34;
+
+    // buflen is a size_t, which is as wide as a C long on the supported platforms (32 bits on armv7l)
+
+    int getpwnam_r(String name, Passwd pwd, Pointer buf, NativeLong buflen, PointerByReference result);
+
+    int getpwuid_r(int uid, Passwd pwd, Pointer buf, NativeLong buflen, PointerByReference result);
+
+    int getgrnam_r(String name, Group grp, Pointer buf, NativeLong buflen, PointerByReference result);
+
+    int getgrgid_r(int gid, Group grp, Pointer buf, NativeLong buflen, PointerByReference result);
+
+    /**
+     * struct passwd. Only the leading fields, which are laid out the same on Linux, macOS and QNX, are mapped. The
+     * padding leaves room for the fields which differ.
+     */
+    @Structure.FieldOrder({"pw_name", "pw_passwd", "pw_uid", "pw_gid", "padding"})
+    @SuppressWarnings({"checkstyle:MemberName", "PMD.FieldNamingConventions"})
+    class Passwd extends Structure {
+        public String pw_name;
+        public String pw_passwd;
+        public int pw_uid;
+        public int pw_gid;
+        public byte[] padding = new byte[128];
+
+        public Passwd() {
+            super();
+            // The fields are only valid if an entry was found
+            setAutoRead(false);
+        }
+    }
+
+    /**
+     * struct group. The padding leaves room for the member list, which is not mapped.
+     */
+    @Structure.FieldOrder({"gr_name", "gr_passwd", "gr_gid", "padding"})
+    @SuppressWarnings({"checkstyle:MemberName", "PMD.FieldNamingConventions"})
+    class Group extends Structure {
+        public String gr_name;
+        public String gr_passwd;
+        public int gr_gid;
+        public byte[] padding = new byte[64];
+
+        public Group() {
+            super();
+            // The fields are only valid if an entry was found
+            setAutoRead(false);
+        }
+    }
+}
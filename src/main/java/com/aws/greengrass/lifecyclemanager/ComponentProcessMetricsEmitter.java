@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.PeriodicMetricsEmitter;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.platforms.ProcessResourceUsage;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+
+/**
+ * Emits the resource usage of the processes of each running generic component: CPU time and I/O bytes used since the
+ * previous emit, and the current resident memory and thread count. Metric names have the form
+ * {@code <component>.<metric>}. The I/O bytes are left out where the platform cannot account for them.
+ */
+public class ComponentProcessMetricsEmitter extends PeriodicMetricsEmitter {
+    public static final Logger logger = LogManager.getLogger(ComponentProcessMetricsEmitter.class);
+    public static final String NAMESPACE = "ComponentProcesses";
+    private final Kernel kernel;
+    private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    // component -> usage at the previous emit
+    private final Map<String, ProcessResourceUsage> previousUsage = new HashMap<>();
+
+    @Inject
+    public ComponentProcessMetricsEmitter(Kernel kernel) {
+        super();
+        this.kernel = kernel;
+    }
+
+    /**
+     * Emit component process metrics.
+     */
+    @Override
+    public void emitMetrics() {
+        emit(getMetrics(), mf::putMetricData);
+    }
+
+    /**
+     * Retrieve component process metrics.
+     *
+     * @return a list of {@link Metric}
+     */
+    @Override
+    public synchronized List<Metric> getMetrics() {
+        List<Metric> metricsList = new ArrayList<>();
+        Map<String, ProcessResourceUsage> currentUsage = new HashMap<>();
+        long timestamp = Instant.now().toEpochMilli();
+        for (GreengrassService service : kernel.orderedDependencies()) {
+            if (!(service instanceof GenericExternalService)) {
+                continue;
+            }
+            ProcessResourceUsage usage = ((GenericExternalService) service).getResourceUsage();
+            if (usage == null) {
+                continue;
+            }
+            String name = service.getServiceName();
+            currentUsage.put(name, usage);
+            ProcessResourceUsage previous = previousUsage.get(name);
+            String prefix = name + ".";
+            metricsList.add(buildMetric(prefix + "CpuTime", TelemetryUnit.Milliseconds, TelemetryAggregation.Sum,
+                    delta(usage.getCpuTimeMillis(), previous == null ? 0 : previous.getCpuTimeMillis()),
+                    timestamp));
+            metricsList.add(buildMetric(prefix + "ResidentMemory", TelemetryUnit.Bytes,
+                    TelemetryAggregation.Average, usage.getRssBytes(), timestamp));
+            // Not available without cgroup v2 io accounting when the io files of the processes cannot be read
+            if (usage.getIoReadBytes() >= 0 && usage.getIoWriteBytes() >= 0) {
+                boolean hadIo = previous != null && previous.getIoReadBytes() >= 0;
+                metricsList.add(buildMetric(prefix + "IoReadBytes", TelemetryUnit.Bytes, TelemetryAggregation.Sum,
+                        delta(usage.getIoReadBytes(), hadIo ? previous.getIoReadBytes() : 0), timestamp));
+                metricsList.add(buildMetric(prefix + "IoWriteBytes", TelemetryUnit.Bytes, TelemetryAggregation.Sum,
+                        delta(usage.getIoWriteBytes(), hadIo ? previous.getIoWriteBytes() : 0), timestamp));
+            }
+            metricsList.add(buildMetric(prefix + "Threads", TelemetryUnit.Count, TelemetryAggregation.Average,
+                    usage.getThreads(), timestamp));
+        }
+        // Components which stopped are forgotten, they start from zero when they run again
+        previousUsage.clear();
+        previousUsage.putAll(currentUsage);
+        return metricsList;
+    }
+
+    /**
+     * Increase of a cumulative counter. A lower value than before means the processes were restarted, so the whole
+     * value is new.
+     */
+    private static long delta(long current, long previous) {
+        return current >= previous ? current - previous : current;
+    }
+
+    private static Metric buildMetric(String name, TelemetryUnit unit, TelemetryAggregation aggregation, Object value,
+                                      long timestamp) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(name)
+                .unit(unit)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -26,6 +26,7 @@ import com.aws.greengrass.util.LockFactory;
 import com.aws.greengrass.util.LockScope;
 import com.aws.greengrass.util.Utils;
 import com.aws.greengrass.util.platforms.Platform;
+import com.aws.greengrass.util.platforms.ProcessResourceUsage;
 import com.aws.greengrass.util.platforms.SystemResourceController;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.AllArgsConstructor;
@@ -411,6 +412,20 @@ public class GenericExternalService extends GreengrassService {
         }
     }
 
+    /**
+     * Sample the resource usage of the running lifecycle processes of this service and all of their descendants.
+     *
+     * @return resource usage, or null if no lifecycle process is running or the platform cannot sample it
+     */
+    public ProcessResourceUsage getResourceUsage() {
+        List<Process> processes = lifecycleProcesses.stream().map(Exec::getProcess)
+                .filter(p -> p != null && p.isAlive()).collect(Collectors.toList());
+        if (processes.isEmpty()) {
+            return null;
+        }
+        return systemResourceController.getResourceUsage(this, processes);
+    }
+
     @SuppressWarnings("PMD.NullAssignment")
     protected void cacheShutdownExec() throws InterruptedException {
         if (!shouldCacheShutdownExec()) {
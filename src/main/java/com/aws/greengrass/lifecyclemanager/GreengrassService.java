@@ -33,6 +33,7 @@ import lombok.Getter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,8 @@ public class GreengrassService implements InjectionActions {
     private Throwable error;
     private final Periodicity periodicityInformation;
     private final Object dependencyReadyLock = new Object();
+    // run once the dependencies are ready, guarded by dependencyReadyLock
+    private final List<Runnable> dependencyReadyCallbacks = new ArrayList<>();
 
     // dependencies that are explicitly declared by customer in config store.
     private final Topic externalDependenciesTopic;
@@ -534,11 +537,14 @@ public class GreengrassService implements InjectionActions {
                 logger.atInfo("service-restart").log("Restarting service because dependency {} was in a bad state",
                         dependencyService.getName());
             }
+            List<Runnable> callbacks = Collections.emptyList();
             synchronized (dependencyReadyLock) {
-                if (dependencyReady()) {
-                    dependencyReadyLock.notifyAll();
+                if (!dependencyReadyCallbacks.isEmpty() && dependencyReady()) {
+                    callbacks = new ArrayList<>(dependencyReadyCallbacks);
+                    dependencyReadyCallbacks.clear();
                 }
             }
+            callbacks.forEach(Runnable::run);
         };
     }
 
@@ -627,13 +633,33 @@ public class GreengrassService implements InjectionActions {
                 || State.STOPPING.equals(state) && !v.didStartupError();
     }
 
-    void waitForDependencyReady() throws InterruptedException {
+    /**
+     * Run a callback once all dependencies are ready, without holding a thread while waiting. The callback runs now if
+     * they are ready, otherwise on the thread reporting the state change which makes the last of them ready, so it
+     * must not block.
+     *
+     * @param callback callback
+     */
+    void runWhenDependencyReady(Runnable callback) {
         synchronized (dependencyReadyLock) {
-            while (!dependencyReady()) {
+            if (!dependencyReady()) {
                 logger.atDebug("service-waiting-for-dependency").log();
-                dependencyReadyLock.wait();
+                dependencyReadyCallbacks.add(callback);
+                return;
             }
         }
+        callback.run();
+    }
+
+    /**
+     * Forget a callback given to {@link #runWhenDependencyReady(Runnable)} which has not run yet.
+     *
+     * @param callback callback
+     */
+    void cancelDependencyReadyCallback(Runnable callback) {
+        synchronized (dependencyReadyLock) {
+            dependencyReadyCallbacks.remove(callback);
+        }
     }
 
     public void forAllDependencies(Consumer<? super GreengrassService> f) {
@@ -51,6 +51,7 @@ import com.aws.greengrass.util.NucleusPaths;
 import com.aws.greengrass.util.Pair;
 import com.aws.greengrass.util.Permissions;
 import com.aws.greengrass.util.ProxyUtils;
+import com.aws.greengrass.util.StartupTrace;
 import com.aws.greengrass.util.Utils;
 import com.aws.greengrass.util.platforms.Platform;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -216,8 +217,15 @@ public class Kernel {
     /**
      * Startup the Kernel and all services.
      */
-    @SuppressWarnings("PMD.MissingBreakInSwitch")
     public Kernel launch() {
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "Kernel.launch")) {
+            launchAtDeploymentStage();
+        }
+        return this;
+    }
+
+    @SuppressWarnings("PMD.MissingBreakInSwitch")
+    private void launchAtDeploymentStage() {
         try {
             Platform.getInstance().getRunWithGenerator()
                     .validateDefaultConfiguration(context.get(DeviceConfiguration.class));
@@ -305,7 +313,6 @@ public class Kernel {
                 kernelLifecycle.launch();
                 break;
         }
-        return this;
     }
 
     /**
@@ -331,6 +338,8 @@ public class Kernel {
      * @param exitCode       exit code
      */
     public void shutdown(int timeoutSeconds, int exitCode) {
+        // Write whatever was traced if the Nucleus stops before all services started
+        StartupTrace.finish();
         kernelLifecycle.shutdown(timeoutSeconds, exitCode);
     }
 
@@ -443,8 +452,11 @@ public class Kernel {
      * @throws ServiceLoadException if service cannot load
      */
     public GreengrassService locate(String name) throws ServiceLoadException {
-        return context.getValue(GreengrassService.class, name).computeObjectIfEmpty(v ->
-                createGreengrassServiceInstance(v, name, this::locate));
+        return context.getValue(GreengrassService.class, name).computeObjectIfEmpty(v -> {
+            try (StartupTrace.Span span = StartupTrace.begin("kernel", "createService", "service", name)) {
+                return createGreengrassServiceInstance(v, name, this::locate);
+            }
+        });
     }
 
     /**
@@ -455,7 +467,7 @@ public class Kernel {
      */
     public GreengrassService locateIgnoreError(String name) {
         return context.getValue(GreengrassService.class, name).computeObjectIfEmpty(v -> {
-            try {
+            try (StartupTrace.Span span = StartupTrace.begin("kernel", "createService", "service", name)) {
                 return createGreengrassServiceInstance(v, name, this::locateIgnoreError);
             } catch (ServiceLoadException e) {
                 logger.atError().log("Cannot load service", e);
@@ -735,10 +747,12 @@ public class Kernel {
             default:
                 logger.atInfo().log("No ongoing deployment detected. Proceed as default");
         }
-        if (Utils.isEmpty(configFileName)) {
-            kernelLifecycle.initConfigAndTlog();
-        } else {
-            kernelLifecycle.initConfigAndTlog(configFileName);
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "initConfigAndTlog")) {
+            if (Utils.isEmpty(configFileName)) {
+                kernelLifecycle.initConfigAndTlog();
+            } else {
+                kernelLifecycle.initConfigAndTlog(configFileName);
+            }
         }
 
         // Create DeviceConfiguration
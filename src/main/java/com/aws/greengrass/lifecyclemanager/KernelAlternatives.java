@@ -6,6 +6,7 @@
 package com.aws.greengrass.lifecyclemanager;
 
 import com.aws.greengrass.config.Configuration;
+import com.aws.greengrass.config.PlatformResolver;
 import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.deployment.DeploymentDirectoryManager;
@@ -20,6 +21,7 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.CommitableWriter;
+import com.aws.greengrass.util.Digest;
 import com.aws.greengrass.util.NucleusPaths;
 import com.aws.greengrass.util.Utils;
 import com.aws.greengrass.util.platforms.Platform;
@@ -31,11 +33,16 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 
 import static com.aws.greengrass.deployment.DeploymentDirectoryManager.getSafeFileName;
@@ -67,6 +74,10 @@ public class KernelAlternatives {
     private static final String KERNEL_LIB_DIR = "lib";
     private static final String LOADER_PID_FILE = "loader.pid";
     static final String LAUNCH_PARAMS_FILE = "launch.params";
+    static final String CDS_PARAMS_FILE = "cds.params";
+    private static final String CDS_ARCHIVE_PREFIX = "nucleus-";
+    private static final String CDS_ARCHIVE_EXTENSION = ".jsa";
+    private static final String KERNEL_JAR = "Greengrass.jar";
     private static final String BOOTSTRAP_ON_ROLLBACK_CONFIG_KEY = "bootstrapOnRollback";
 
     private final NucleusPaths nucleusPaths;
@@ -158,6 +169,122 @@ public class KernelAlternatives {
         }
     }
 
+    public Path getClassDataSharingParamsPath() {
+        return getCurrentDir().resolve(CDS_PARAMS_FILE);
+    }
+
+    /**
+     * Set up the JVM options which make the loader launch the Nucleus with an application class data sharing archive,
+     * so that later launches load the classes of the Nucleus from the archive. Called once the Nucleus has started
+     * successfully.
+     *
+     * <p>The options are written to {@value #CDS_PARAMS_FILE} in the launch directory, next to the launch parameters.
+     * On Java 19 and later the JVM creates the archive at exit and recreates it when it no longer matches. On Java 13
+     * to 18 the archive is created when the Nucleus exits after the first launch, and used once it exists. Earlier
+     * versions of Java do not support it. The archive is named after the Java version and the Nucleus jar, and the
+     * files are removed when the Nucleus distribution of the launch directory changes.
+     */
+    public void setupClassDataSharing() {
+        int javaVersion = javaFeatureVersion(System.getProperty("java.specification.version"));
+        if (javaVersion < 13) {
+            logger.atDebug().kv("javaVersion", javaVersion).log("Class data sharing archive is not supported");
+            return;
+        }
+        try {
+            Path launchDir = getCurrentDir().toRealPath();
+            Path jar = launchDir.resolve(KERNEL_DISTRIBUTION_DIR).resolve(KERNEL_LIB_DIR).resolve(KERNEL_JAR);
+            if (!Files.exists(jar)) {
+                logger.atDebug().kv("jar", jar).log("Nucleus is not launched from the launch directory");
+                return;
+            }
+            Path paramsFile = launchDir.resolve(CDS_PARAMS_FILE);
+            if (isClassDataSharingConfigured(getLaunchParamsPath())) {
+                // Leave it to the JVM options which were set on the Nucleus
+                Files.deleteIfExists(paramsFile);
+                return;
+            }
+            Path archive = launchDir.resolve(CDS_ARCHIVE_PREFIX + Digest.calculateWithUrlEncoderNoPadding(
+                    System.getProperty("java.vm.version") + '|' + Files.size(jar) + '|'
+                            + Files.getLastModifiedTime(jar).toMillis()) + CDS_ARCHIVE_EXTENSION);
+            String params = classDataSharingParams(javaVersion, archive, Files.exists(archive));
+            if (Files.exists(paramsFile)
+                    && params.equals(new String(Files.readAllBytes(paramsFile), StandardCharsets.UTF_8).trim())) {
+                return;
+            }
+            deleteClassDataSharingFiles(launchDir, archive);
+            try (CommitableWriter out = CommitableWriter.abandonOnClose(paramsFile)) {
+                out.write(params);
+                out.commit();
+            }
+            logger.atInfo().kv("archive", archive).log("Set up class data sharing for the next Nucleus launch");
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.atWarn().setCause(e).log("Unable to set up class data sharing");
+        }
+    }
+
+    static int javaFeatureVersion(String specificationVersion) {
+        if (specificationVersion == null) {
+            return 0;
+        }
+        // 1.8 for Java 8, then 9, 10, 11...
+        String version = specificationVersion.startsWith("1.") ? specificationVersion.substring(2)
+                : specificationVersion;
+        try {
+            return Integer.parseInt(version.split("\\.")[0]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static String classDataSharingParams(int javaVersion, Path archive, boolean archiveExists) {
+        String archiveOption;
+        if (javaVersion >= 19) {
+            archiveOption = "-XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=" + archive;
+        } else if (archiveExists) {
+            archiveOption = "-XX:SharedArchiveFile=" + archive;
+        } else {
+            archiveOption = "-XX:ArchiveClassesAtExit=" + archive;
+        }
+        // Still launch if the loader is switched to a Java which does not know these options
+        String params = "-XX:+IgnoreUnrecognizedVMOptions " + archiveOption;
+        // Same quoting as the launch parameters, see Kernel#persistInitialLaunchParams
+        return PlatformResolver.isWindows ? Arrays.stream(params.split(" ")).map(o -> "\"" + o + "\"")
+                .collect(Collectors.joining(" ")) : params;
+    }
+
+    private static boolean isClassDataSharingConfigured(Path launchParams) throws IOException {
+        if (!Files.exists(launchParams)) {
+            return false;
+        }
+        String params = new String(Files.readAllBytes(launchParams), StandardCharsets.UTF_8);
+        return params.contains("-Xshare:") || params.contains("SharedArchiveFile")
+                || params.contains("ArchiveClassesAtExit");
+    }
+
+    /**
+     * Remove the class data sharing options and archives from a launch directory.
+     *
+     * @param launchDir launch directory
+     * @param keep      archive to keep, or null
+     */
+    private static void deleteClassDataSharingFiles(Path launchDir, Path keep) {
+        try (Stream<Path> files = Files.list(launchDir)) {
+            files.filter(f -> !f.equals(keep)).filter(f -> {
+                String name = f.getFileName().toString();
+                return CDS_PARAMS_FILE.equals(name)
+                        || name.startsWith(CDS_ARCHIVE_PREFIX) && name.endsWith(CDS_ARCHIVE_EXTENSION);
+            }).forEach(f -> {
+                try {
+                    Files.deleteIfExists(f);
+                } catch (IOException e) {
+                    logger.atWarn().kv("file", f).setCause(e).log("Unable to delete class data sharing file");
+                }
+            });
+        } catch (IOException e) {
+            logger.atWarn().kv("directory", launchDir).setCause(e).log("Unable to clean up class data sharing");
+        }
+    }
+
     private boolean isLaunchDirSetup() {
         return Files.isSymbolicLink(getCurrentDir()) && validateLaunchDirSetup(getCurrentDir());
     }
@@ -249,6 +376,7 @@ public class KernelAlternatives {
         Utils.createPaths(getInitDir());
         Files.deleteIfExists(distroDir);
         setupLinkToDirectory(distroDir, pathToNucleusDistro);
+        deleteClassDataSharingFiles(getInitDir(), null);
 
         if (linkCurrentToInit) {
             Files.deleteIfExists(getCurrentDir());
@@ -394,6 +522,8 @@ public class KernelAlternatives {
         Path newLaunchDir = getAltsDir().resolve(getSafeFileName(deploymentId)).toAbsolutePath();
         Path existingLaunchDir = Files.readSymbolicLink(getCurrentDir()).toAbsolutePath();
         copyFolderRecursively(existingLaunchDir, newLaunchDir, REPLACE_EXISTING, NOFOLLOW_LINKS, COPY_ATTRIBUTES);
+        // The archive belongs to the current Nucleus, the new one creates its own
+        deleteClassDataSharingFiles(newLaunchDir, null);
 
         cleanupLaunchDirectoryLinks();
         setupLinkToDirectory(getNewDir(), newLaunchDir);
@@ -39,9 +39,11 @@ import com.aws.greengrass.status.FleetStatusService;
 import com.aws.greengrass.telemetry.TelemetryAgent;
 import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
 import com.aws.greengrass.tes.TokenExchangeService;
+import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.CommitableFile;
 import com.aws.greengrass.util.NucleusPaths;
 import com.aws.greengrass.util.RetryUtils;
+import com.aws.greengrass.util.StartupTrace;
 import com.aws.greengrass.util.Utils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.AccessLevel;
@@ -163,20 +165,32 @@ public class KernelLifecycle {
         // Startup builtin non-services. This is blocking, so it will wait for them to be running.
         // This guarantees that IPC, for example, is running before any user code
         for (Class<? extends Startable> c : startables) {
-            kernel.getContext().get(c).startup();
+            try (StartupTrace.Span span = StartupTrace.begin("kernel", "startable", "class", c.getSimpleName())) {
+                kernel.getContext().get(c).startup();
+            }
         }
 
-        final List<DeviceIdentityInterface> provisioningPlugins = findProvisioningPlugins();
+        final List<DeviceIdentityInterface> provisioningPlugins;
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "findProvisioningPlugins")) {
+            provisioningPlugins = findProvisioningPlugins();
+        }
         // Must be called before everything else so that these are available to be
         // referenced by main/dependencies of main
-        final Queue<String> autostart = findBuiltInServicesAndPlugins(); //NOPMD
-        loadPlugins();
+        final Queue<String> autostart; //NOPMD
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "findBuiltInServicesAndPlugins")) {
+            autostart = findBuiltInServicesAndPlugins();
+        }
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "loadPlugins")) {
+            loadPlugins();
+        }
 
         // Start MqttProxyIPCService after plugins are loaded, as it requires
         // DiskSpooler Implementation Plugin. This behavior is only needed in testing
         // as we scan our own classpath to find the @ImplementsService
         for (Class<? extends Startable> c : postPluginStartables) {
-            kernel.getContext().get(c).startup();
+            try (StartupTrace.Span span = StartupTrace.begin("kernel", "startable", "class", c.getSimpleName())) {
+                kernel.getContext().get(c).startup();
+            }
         }
 
         // run the provisioning if device is not provisioned
@@ -189,7 +203,9 @@ public class KernelLifecycle {
                         provisioningPlugins.toString());
                 throw new RuntimeException(errorString);
             }
-            executeProvisioningPlugin(provisioningPlugins.get(0));
+            try (StartupTrace.Span span = StartupTrace.begin("kernel", "provisioning")) {
+                executeProvisioningPlugin(provisioningPlugins.get(0));
+            }
         }
 
         mainService = kernel.locateIgnoreError(KernelCommandLine.MAIN_SERVICE_NAME);
@@ -204,10 +220,14 @@ public class KernelLifecycle {
             }
         });
 
-        kernel.writeEffectiveConfig();
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "writeEffectiveConfig")) {
+            kernel.writeEffectiveConfig();
+        }
 
         logger.atInfo().setEventType("system-start").addKeyValue("main", kernel.getMain()).log();
-        startupAllServices();
+        try (StartupTrace.Span span = StartupTrace.begin("kernel", "startupAllServices")) {
+            startupAllServices();
+        }
 
         try {
             GreengrassService fleetStatusService = kernel.locate(FleetStatusService.FLEET_STATUS_SERVICE_TOPICS);
@@ -476,8 +496,15 @@ public class KernelLifecycle {
      * Make all services startup in order.
      */
     public void startupAllServices() {
-        kernel.orderedDependencies().stream().filter(GreengrassService::shouldAutoStart)
-                .forEach(GreengrassService::requestStart);
+        StartupScheduler startupScheduler = kernel.getContext().get(StartupScheduler.class);
+        startupScheduler.setInstallConcurrency(Coerce.toInt(
+                kernel.getContext().get(DeviceConfiguration.class).getComponentInstallConcurrency()));
+        startupScheduler.startAll(kernel.orderedDependencies());
+        startupScheduler.getBootCompleted().thenAccept(successful -> {
+            if (successful && !isShutdownInitiated.get()) {
+                kernel.getContext().get(KernelAlternatives.class).setupClassDataSharing();
+            }
+        });
     }
 
     /**
@@ -8,6 +8,7 @@ package com.aws.greengrass.lifecyclemanager;
 import com.aws.greengrass.dependency.State;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.MetricSketch;
 import com.aws.greengrass.telemetry.PeriodicMetricsEmitter;
 import com.aws.greengrass.telemetry.impl.Metric;
 import com.aws.greengrass.telemetry.impl.MetricFactory;
@@ -16,8 +17,6 @@ import com.aws.greengrass.telemetry.models.TelemetryUnit;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
@@ -25,18 +24,20 @@ import javax.inject.Inject;
 public class KernelMetricsEmitter extends PeriodicMetricsEmitter {
     public static final Logger logger = LogManager.getLogger(KernelMetricsEmitter.class);
     public static final String NAMESPACE = "GreengrassComponents";
-    private final Kernel kernel;
+    public static final String STATES_NAMESPACE = "ComponentStates";
+    private final ServiceStateCounters serviceStateCounters;
     private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final MetricFactory statesMf = new MetricFactory(STATES_NAMESPACE);
 
     /**
      * Constructor for kernel metrics emitter.
      *
-     * @param kernel {@link Kernel}
+     * @param serviceStateCounters {@link ServiceStateCounters}
      */
     @Inject
-    public KernelMetricsEmitter(Kernel kernel) {
+    public KernelMetricsEmitter(ServiceStateCounters serviceStateCounters) {
         super();
-        this.kernel = kernel;
+        this.serviceStateCounters = serviceStateCounters;
     }
 
     /**
@@ -44,23 +45,21 @@ public class KernelMetricsEmitter extends PeriodicMetricsEmitter {
      */
     @Override
     public void emitMetrics() {
-        List<Metric> retrievedMetrics = getMetrics();
-        for (Metric retrievedMetric : retrievedMetrics) {
-            mf.putMetricData(retrievedMetric);
-        }
+        emit(getMetrics(), m -> (STATES_NAMESPACE.equals(m.getNamespace()) ? statesMf : mf).putMetricData(m));
     }
 
     /**
-     * Retrieve kernel component state metrics.
+     * Retrieve kernel component state metrics, and the time that each component spent in the states it left since
+     * the last call. The time in state metrics are {@code <component>.TimeIn<state>P50}, {@code P99} and {@code Max}
+     * with the median, 99th percentile and longest of the intervals in milliseconds, and
+     * {@code <component>.TimeIn<state>Count} with their number. The time in NEW, STARTING, RUNNING, STOPPING and
+     * ERRORED are the install, startup, run, shutdown and error recovery stages of the lifecycle.
+     * {@code <component>.ErroredCount} and {@code BrokenCount} count the transitions to ERRORED and BROKEN.
      * @return a list of {@link Metric}
      */
     @Override
     public List<Metric> getMetrics() {
-        Map<State, Integer> stateCount = new EnumMap<>(State.class);
-        Collection<GreengrassService> services = kernel.orderedDependencies();
-        for (GreengrassService service : services) {
-            stateCount.put(service.getState(), stateCount.getOrDefault(service.getState(), 0) + 1);
-        }
+        Map<State, Integer> stateCount = serviceStateCounters.getCounts();
 
         List<Metric> metricsList = new ArrayList<>();
         long timestamp = Instant.now().toEpochMilli();
@@ -154,6 +153,42 @@ public class KernelMetricsEmitter extends PeriodicMetricsEmitter {
                 .build();
         metricsList.add(metric);
 
+        for (Map.Entry<String, ServiceStateCounters.StateActivity> component
+                : serviceStateCounters.drainStateActivity().entrySet()) {
+            ServiceStateCounters.StateActivity activity = component.getValue();
+            for (Map.Entry<State, MetricSketch> state : activity.getTimeInState().entrySet()) {
+                String name = component.getKey() + ".TimeIn" + state.getKey().getName();
+                MetricSketch sketch = state.getValue();
+                metricsList.add(buildStatesMetric(name + "P50", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Maximum, sketch.quantile(0.5), timestamp));
+                metricsList.add(buildStatesMetric(name + "P99", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Maximum, sketch.quantile(0.99), timestamp));
+                metricsList.add(buildStatesMetric(name + "Max", TelemetryUnit.Milliseconds,
+                        TelemetryAggregation.Maximum, sketch.getMax(), timestamp));
+                metricsList.add(buildStatesMetric(name + "Count", TelemetryUnit.Count, TelemetryAggregation.Sum,
+                        sketch.getCount(), timestamp));
+            }
+            if (activity.getEnteredCount(State.ERRORED) > 0) {
+                metricsList.add(buildStatesMetric(component.getKey() + ".ErroredCount", TelemetryUnit.Count,
+                        TelemetryAggregation.Sum, activity.getEnteredCount(State.ERRORED), timestamp));
+            }
+            if (activity.getEnteredCount(State.BROKEN) > 0) {
+                metricsList.add(buildStatesMetric(component.getKey() + ".BrokenCount", TelemetryUnit.Count,
+                        TelemetryAggregation.Sum, activity.getEnteredCount(State.BROKEN), timestamp));
+            }
+        }
         return metricsList;
     }
+
+    private static Metric buildStatesMetric(String name, TelemetryUnit unit, TelemetryAggregation aggregation,
+                                            Object value, long timestamp) {
+        return Metric.builder()
+                .namespace(STATES_NAMESPACE)
+                .name(name)
+                .unit(unit)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
 }
@@ -15,6 +15,7 @@ import com.aws.greengrass.status.model.ComponentStatusDetails;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.LockFactory;
 import com.aws.greengrass.util.LockScope;
+import com.aws.greengrass.util.StartupTrace;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -111,9 +112,19 @@ public class Lifecycle {
     private final AtomicReference<Future> backingTask = new AtomicReference<>(CompletableFuture.completedFuture(null));
     private String backingTaskName;
 
-    private Future<?> lifecycleThread;
+    // Completed when the lifecycle is over. Volatile rather than guarded by lock, since state events are enqueued
+    // while holding desiredStateLock, which is taken while holding lock when a service reports FINISHED.
+    private volatile CompletableFuture<Void> lifecycleThread;
     // A state event can be a reported state event, or a desired state updated notification.
     private final BlockingQueue<StateEvent> stateEventQueue = new LinkedBlockingQueue<>();
+    // Whether a run of the state machine is scheduled or running, so that only one runs at a time
+    private final AtomicBoolean stateTransitionScheduled = new AtomicBoolean(false);
+    // State of the state machine between runs, only used by the run which is in progress
+    private State handledState;
+    private State prevState;
+    private boolean awaitingStateEvent;
+    private final AtomicReference<Predicate<Object>> asyncFinishAction =
+            new AtomicReference<>((stateEvent) -> true);
     // DesiredStateList is used to set desired path of state transition.
     // Eg. Start a service will need DesiredStateList to be <RUNNING>
     // ReInstall a service will set DesiredStateList to <FINISHED->NEW->RUNNING>
@@ -344,94 +355,112 @@ public class Lifecycle {
         if (!stateEventQueue.offer(event)) {
             logger.atError().kv("event", event).log("couldn't put the new event to stateEventQueue");
         }
+        scheduleStateTransition();
     }
 
-    private void startStateTransition() throws InterruptedException {
-        AtomicReference<Predicate<Object>> asyncFinishAction = new AtomicReference<>((stateEvent) -> true);
-        State prevState = getState();
+    /**
+     * Run the state machine until it has to wait for a state event. The lifecycle does not keep a thread of its own:
+     * this runs on the shared executor when an event is enqueued, and returns the thread to the pool while waiting.
+     *
+     * @return true once the lifecycle is over
+     * @throws InterruptedException if interrupted while running a blocking stage
+     */
+    private boolean runStateTransitionUntilIdle() throws InterruptedException {
         // if uninstall is requested, the wait for uninstalled state, else see if is closable
-        while (requestedUninstall.get()
-                ? getState() != State.UNINSTALLED
-                : !(isClosed.get() && getState().isClosable())) {
-            Optional<State> desiredState;
-            State current = getState();
-            logger.atDebug("service-state-transition-start").log();
-            Configuration kernelConfig = greengrassService.getContext().get(Configuration.class);
-            // postpone start/install when configuration is under update.
-            if (current == State.NEW || current == State.INSTALLED) {
-                kernelConfig.waitConfigUpdateComplete();
+        while (true) {
+            if (!awaitingStateEvent) {
+                if (requestedUninstall.get()
+                        ? getState() == State.UNINSTALLED
+                        : isClosed.get() && getState().isClosable()) {
+                    return true;
+                }
+                handleCurrentState();
+                awaitingStateEvent = true;
             }
 
-            // if already in desired state, remove the head of desired state list.
-            desiredState = peekOrRemoveFirstDesiredState(current);
-            while (desiredState.isPresent() && desiredState.get().equals(current)) {
-                desiredState = peekOrRemoveFirstDesiredState(current);
+            // A state event can either be a report state transition event or a desired state updated event.
+            StateEvent stateEvent = stateEventQueue.poll();
+
+            // If there are accumulated DesiredStateUpdatedEvent in the queue,
+            // drain them until a StateTransitionEvent event is encountered.
+            while (!(stateEvent instanceof StateTransitionEvent) && !stateEventQueue.isEmpty()) {
+                stateEvent = stateEventQueue.poll();
             }
-            switch (current) {
-                case BROKEN:
-                    handleCurrentStateBroken(desiredState, prevState);
-                    break;
-                case NEW:
-                    handleCurrentStateNew(desiredState);
-                    break;
-                case INSTALLED:
-                    handleCurrentStateInstalledAsync(desiredState, asyncFinishAction);
-                    break;
-                case STARTING:
-                    handleCurrentStateStartingAsync(desiredState, asyncFinishAction);
-                    break;
-                case RUNNING:
-                    handleCurrentStateRunning(desiredState);
-                    break;
-                case STOPPING:
-                    handleCurrentStateStopping();
-                    break;
-                case FINISHED:
-                    handleCurrentStateFinished(desiredState);
-                    break;
-                case UNINSTALLING:
-                    handleCurrentStateUninstalling();
-                    break;
-                case UNINSTALLED:
-                    handleCurrentStateUninstalled(desiredState);
-                    break;
-                case ERRORED:
-                    handleCurrentStateErrored(desiredState, prevState);
-                    break;
-                default:
-                    logger.atError(INVALID_STATE_ERROR_EVENT).log("Unrecognized current state");
-                    break;
+            // if there are no events in the queue, wait to be scheduled again when one is enqueued.
+            if (stateEvent == null) {
+                return false;
             }
-
             boolean canFinish = false;
-            while (!canFinish) {
-                // A state event can either be a report state transition event or a desired state updated event.
-                StateEvent stateEvent = stateEventQueue.poll();
-
-                // If there are accumulated DesiredStateUpdatedEvent in the queue,
-                // drain them until a StateTransitionEvent event is encountered.
-                while (!(stateEvent instanceof StateTransitionEvent) && !stateEventQueue.isEmpty()) {
-                    stateEvent = stateEventQueue.poll();
-                }
-                // if there are no events in the queue, block until one is available.
-                if (stateEvent == null) {
-                    stateEvent = stateEventQueue.take();
+            if (stateEvent instanceof StateTransitionEvent) {
+                State newState = ((StateTransitionEvent) stateEvent).getNewState();
+                if (newState == handledState) {
+                    continue;
                 }
-                if (stateEvent instanceof StateTransitionEvent) {
-                    State newState = ((StateTransitionEvent) stateEvent).getNewState();
-                    if (newState == current) {
-                        continue;
-                    }
 
-                    canFinish = true;
-                    setState(current, (StateTransitionEvent) stateEvent);
-                    prevState = current;
-                }
-                if (asyncFinishAction.get().test(stateEvent)) {
-                    canFinish = true;
-                }
+                canFinish = true;
+                setState(handledState, (StateTransitionEvent) stateEvent);
+                prevState = handledState;
+            }
+            if (asyncFinishAction.get().test(stateEvent)) {
+                canFinish = true;
+            }
+            if (canFinish) {
+                asyncFinishAction.set((event) -> true);
+                awaitingStateEvent = false;
             }
-            asyncFinishAction.set((stateEvent) -> true);
+        }
+    }
+
+    private void handleCurrentState() throws InterruptedException {
+        Optional<State> desiredState;
+        State current = getState();
+        handledState = current;
+        logger.atDebug("service-state-transition-start").log();
+        Configuration kernelConfig = greengrassService.getContext().get(Configuration.class);
+        // postpone start/install when configuration is under update.
+        if (current == State.NEW || current == State.INSTALLED) {
+            kernelConfig.waitConfigUpdateComplete();
+        }
+
+        // if already in desired state, remove the head of desired state list.
+        desiredState = peekOrRemoveFirstDesiredState(current);
+        while (desiredState.isPresent() && desiredState.get().equals(current)) {
+            desiredState = peekOrRemoveFirstDesiredState(current);
+        }
+        switch (current) {
+            case BROKEN:
+                handleCurrentStateBroken(desiredState, prevState);
+                break;
+            case NEW:
+                handleCurrentStateNewAsync(desiredState);
+                break;
+            case INSTALLED:
+                handleCurrentStateInstalledAsync(desiredState);
+                break;
+            case STARTING:
+                handleCurrentStateStartingAsync(desiredState);
+                break;
+            case RUNNING:
+                handleCurrentStateRunning(desiredState);
+                break;
+            case STOPPING:
+                handleCurrentStateStopping();
+                break;
+            case FINISHED:
+                handleCurrentStateFinished(desiredState);
+                break;
+            case UNINSTALLING:
+                handleCurrentStateUninstalling();
+                break;
+            case UNINSTALLED:
+                handleCurrentStateUninstalled(desiredState);
+                break;
+            case ERRORED:
+                handleCurrentStateErrored(desiredState, prevState);
+                break;
+            default:
+                logger.atError(INVALID_STATE_ERROR_EVENT).log("Unrecognized current state");
+                break;
         }
     }
 
@@ -516,47 +545,104 @@ public class Lifecycle {
     }
 
     @SuppressWarnings("PMD.AvoidCatchingThrowable")
-    private void handleCurrentStateNew(Optional<State> desiredState) throws InterruptedException {
+    private void handleCurrentStateNewAsync(Optional<State> desiredState) {
         // if no desired state is set, don't do anything.
         if (!desiredState.isPresent()) {
             return;
         }
 
         long currentStateGeneration = stateGeneration.incrementAndGet();
-        replaceBackingTask(() -> {
-            if (!State.NEW.equals(getState()) || getStateGeneration().get() != currentStateGeneration) {
-                // Bail out if we're not in the expected state
+        StartupScheduler startupScheduler = greengrassService.getContext().get(StartupScheduler.class);
+        AtomicReference<Future<?>> installTimeout = new AtomicReference<>();
+        // Set once the state was handled, guarded by lock
+        AtomicBoolean installAbandoned = new AtomicBoolean();
+        // Set once the install task was submitted, guarded by lock
+        AtomicBoolean installScheduled = new AtomicBoolean();
+        // Set by whichever releases the install slot, the install task or the state being handled before it ran
+        AtomicBoolean installSlotReleased = new AtomicBoolean();
+        Runnable install = () -> {
+            if (!installSlotReleased.compareAndSet(false, true)) {
                 return;
             }
             try {
-                greengrassService.install();
+                if (!State.NEW.equals(getState()) || getStateGeneration().get() != currentStateGeneration) {
+                    // Bail out if we're not in the expected state
+                    return;
+                }
+                // The install timeout does not include the time spent waiting for other installs
+                scheduleInstallTimeout(installTimeout, currentStateGeneration);
+                try (StartupTrace.Span span = StartupTrace.begin("lifecycle", "install", "service",
+                        greengrassService.getServiceName())) {
+                    greengrassService.install();
+                }
             } catch (InterruptedException t) {
+                // Still report below, nothing else moves the service out of NEW while the state is being handled
                 logger.atWarn("service-install-interrupted").log("Service interrupted while running install");
             } catch (Throwable t) {
                 greengrassService.serviceErrored(t);
+                return;
+            } finally {
+                startupScheduler.releaseInstallSlot(greengrassService);
             }
-        }, LIFECYCLE_INSTALL_NAMESPACE_TOPIC);
-
-        Integer installTimeOut = getTimeoutConfigValue(
-                LIFECYCLE_INSTALL_NAMESPACE_TOPIC, DEFAULT_INSTALL_STAGE_TIMEOUT_IN_SEC);
-
-        try {
-            backingTask.get().get(installTimeOut, TimeUnit.SECONDS);
-            if (!State.ERRORED.equals(lastReportedState.get())) {
+            if (State.NEW.equals(getState()) && getStateGeneration().get() == currentStateGeneration
+                    && !State.ERRORED.equals(lastReportedState.get())) {
                 internalReportState(State.INSTALLED);
             }
-        } catch (ExecutionException ee) {
-            greengrassService.serviceErrored(ee);
-        } catch (TimeoutException te) {
-            greengrassService.serviceErrored(ComponentStatusCode.INSTALL_TIMEOUT, "Timeout in install");
-        } finally {
+        };
+        // No thread is held while waiting for an install slot, the install is submitted once one frees
+        CompletableFuture<Void> installSlot = startupScheduler.acquireInstallSlot(greengrassService);
+        installSlot.thenRun(() -> {
+            try (LockScope ls = LockScope.lock(lock)) {
+                if (!installAbandoned.get()) {
+                    installScheduled.set(true);
+                    replaceBackingTask(install, LIFECYCLE_INSTALL_NAMESPACE_TOPIC);
+                    return;
+                }
+            }
+            startupScheduler.releaseInstallSlot(greengrassService);
+        });
+
+        asyncFinishAction.set((stateEvent) -> {
+            // Desired state updates wait for the install to finish
+            if (!(stateEvent instanceof StateTransitionEvent)) {
+                return false;
+            }
+            Future<?> timeout = installTimeout.getAndSet(CompletableFuture.completedFuture(null));
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            boolean scheduled;
+            try (LockScope ls = LockScope.lock(lock)) {
+                installAbandoned.set(true);
+                scheduled = installScheduled.get();
+            }
+            installSlot.cancel(false);
             stopBackingTask();
+            // The install task was cancelled before it ran, so it did not release its slot
+            if (scheduled && installSlotReleased.compareAndSet(false, true)) {
+                startupScheduler.releaseInstallSlot(greengrassService);
+            }
+            return true;
+        });
+    }
+
+    private void scheduleInstallTimeout(AtomicReference<Future<?>> installTimeout, long currentStateGeneration) {
+        Integer installTimeOut = getTimeoutConfigValue(
+                LIFECYCLE_INSTALL_NAMESPACE_TOPIC, DEFAULT_INSTALL_STAGE_TIMEOUT_IN_SEC);
+        Future<?> schedule =
+            greengrassService.getContext().get(ScheduledExecutorService.class).schedule(() -> {
+                if (State.NEW.equals(getState()) && currentStateGeneration == getStateGeneration().get()) {
+                    greengrassService.serviceErrored(ComponentStatusCode.INSTALL_TIMEOUT, "Timeout in install");
+                }
+            }, installTimeOut, TimeUnit.SECONDS);
+        // The state was already handled if the reference was set, so the timeout is not needed
+        if (!installTimeout.compareAndSet(null, schedule)) {
+            schedule.cancel(false);
         }
     }
 
 
-    private void handleCurrentStateInstalledAsync(Optional<State> desiredState,
-                                                  AtomicReference<Predicate<Object>> asyncFinishAction) {
+    private void handleCurrentStateInstalledAsync(Optional<State> desiredState) {
         if (!desiredState.isPresent()) {
             return;
         }
@@ -566,24 +652,34 @@ public class Lifecycle {
             return;
         }
 
-        replaceBackingTask(() -> {
+        long currentStateGeneration = stateGeneration.incrementAndGet();
+        if (greengrassService.dependencyReady()) {
+            internalReportState(State.STARTING);
+            return;
+        }
+
+        // No thread is held while waiting, the dependencies becoming ready schedule the start
+        logger.atDebug("service-awaiting-start").log("waiting for dependencies to start");
+        Runnable startWhenReady = () -> {
             try {
-                logger.atDebug("service-awaiting-start").log("waiting for dependencies to start");
-                greengrassService.waitForDependencyReady();
-                internalReportState(State.STARTING);
-            } catch (InterruptedException e) {
-                logger.atWarn("service-dependency-error").log("Got interrupted while waiting for dependency ready");
+                greengrassService.getContext().get(ExecutorService.class).execute(() -> {
+                    if (State.INSTALLED.equals(getState()) && getStateGeneration().get() == currentStateGeneration) {
+                        internalReportState(State.STARTING);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.atWarn("service-dependency-error").log("Unable to start service as the executor is shut down");
             }
-        }, "waiting for dependency ready");
+        };
+        greengrassService.runWhenDependencyReady(startWhenReady);
 
         asyncFinishAction.set((stateEvent) -> {
-            stopBackingTask();
+            greengrassService.cancelDependencyReadyCallback(startWhenReady);
             return true;
         });
     }
 
-    private void handleCurrentStateStartingAsync(Optional<State> desiredState,
-                                                  AtomicReference<Predicate<Object>> asyncFinishAction) {
+    private void handleCurrentStateStartingAsync(Optional<State> desiredState) {
         if (!desiredState.isPresent()) {
             return;
         }
@@ -594,14 +690,14 @@ public class Lifecycle {
             if (currentTask != null && !currentTask.isDone()) {
                 return;
             }
-            handleStateTransitionStartingToRunningAsync(asyncFinishAction);
+            handleStateTransitionStartingToRunningAsync();
         } else {
             internalReportState(State.STOPPING);
         }
     }
 
     @SuppressWarnings({"PMD.AvoidCatchingThrowable", "PMD.AvoidGettingFutureWithoutTimeout"})
-    private void handleStateTransitionStartingToRunningAsync(AtomicReference<Predicate<Object>> asyncFinishAction) {
+    private void handleStateTransitionStartingToRunningAsync() {
         long currentStateGeneration = stateGeneration.incrementAndGet();
         Integer timeout = getTimeoutConfigValue(
                 LIFECYCLE_STARTUP_NAMESPACE_TOPIC, DEFAULT_STARTUP_STAGE_TIMEOUT_IN_SEC);
@@ -618,7 +714,10 @@ public class Lifecycle {
                     internalReportState(State.INSTALLED);
                     return;
                 }
-                greengrassService.startup();
+                try (StartupTrace.Span span = StartupTrace.begin("lifecycle", "startup", "service",
+                        greengrassService.getServiceName())) {
+                    greengrassService.startup();
+                }
             } catch (InterruptedException i) {
                 logger.atWarn("service-run-interrupted").log("Service interrupted while running startup");
             } catch (Throwable t) {
@@ -851,51 +950,99 @@ public class Lifecycle {
         return replaceBackingTask(null, null);
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingThrowable")
     void initLifecycleThread() {
         try (LockScope ls = LockScope.lock(lock)) {
             if (lifecycleThread != null) {
                 return;
             }
-            lifecycleThread = greengrassService.getContext().get(ExecutorService.class).submit(() -> {
-                String threadName = Thread.currentThread().getName();
+            prevState = getState();
+            lifecycleThread = new CompletableFuture<>();
+        }
+        stateTransitionScheduled.set(true);
+        submitStateTransition();
+    }
+
+    private void scheduleStateTransition() {
+        CompletableFuture<Void> lifecycleFuture = getLifecycleThreadFuture();
+        if (lifecycleFuture == null || lifecycleFuture.isDone()) {
+            return;
+        }
+        if (stateTransitionScheduled.compareAndSet(false, true)) {
+            submitStateTransition();
+        }
+    }
+
+    private void submitStateTransition() {
+        try {
+            greengrassService.getContext().get(ExecutorService.class).execute(this::runStateTransition);
+        } catch (RejectedExecutionException e) {
+            logger.atWarn("service-state-transition-error", e)
+                    .log("Service lifecycle had RejectedExecutionException. "
+                            + "Since no more tasks can be run, lifecycle will exit now");
+            getLifecycleThreadFuture().complete(null);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void runStateTransition() {
+        CompletableFuture<Void> lifecycleFuture = getLifecycleThreadFuture();
+        String threadName = Thread.currentThread().getName();
+        try {
+            Thread.currentThread().setName(greengrassService.getName() + "-lifecycle");
+            while (true) {
                 try {
-                    Thread.currentThread().setName(greengrassService.getName() + "-lifecycle");
-                    while (!isClosed.get()) {
-                        try {
-                            startStateTransition();
-                            return;
-                        } catch (RejectedExecutionException e) {
-                            logger.atWarn("service-state-transition-error", e)
-                                    .log("Service lifecycle thread had RejectedExecutionException. "
-                                            + "Since no more tasks can be run, thread will exit now");
-                            return;
-                        } catch (InterruptedException i) {
-                            logger.atWarn("service-state-transition-interrupted")
-                                    .log("Service lifecycle thread interrupted. Thread will exit now");
-                            return;
-                        } catch (Throwable e) {
-                            logger.atError("service-state-transition-error").setCause(e).log();
-                            logger.atInfo("service-state-transition-retry").log();
-                        }
+                    if (runStateTransitionUntilIdle()) {
+                        lifecycleFuture.complete(null);
+                        return;
                     }
-                } finally {
-                    Thread.currentThread()
-                            .setName(threadName); // reset thread name so that if the thread is recycled it
-                    // will not falsely claim to be a lifecycle thread.
+                } catch (RejectedExecutionException e) {
+                    logger.atWarn("service-state-transition-error", e)
+                            .log("Service lifecycle had RejectedExecutionException. "
+                                    + "Since no more tasks can be run, lifecycle will exit now");
+                    lifecycleFuture.complete(null);
+                    return;
+                } catch (InterruptedException i) {
+                    logger.atWarn("service-state-transition-interrupted")
+                            .log("Service lifecycle interrupted. Lifecycle will exit now");
+                    lifecycleFuture.complete(null);
+                    return;
+                } catch (Throwable e) {
+                    logger.atError("service-state-transition-error").setCause(e).log();
+                    if (isClosed.get()) {
+                        lifecycleFuture.complete(null);
+                        return;
+                    }
+                    logger.atInfo("service-state-transition-retry").log();
+                    // start over from the current state
+                    prevState = getState();
+                    awaitingStateEvent = false;
+                    asyncFinishAction.set((stateEvent) -> true);
+                    continue;
+                }
+                // Waiting for an event. Check again after releasing the flag, in case an event was enqueued after
+                // the queue was found empty but before the flag was released.
+                stateTransitionScheduled.set(false);
+                if (stateEventQueue.isEmpty() || !stateTransitionScheduled.compareAndSet(false, true)) {
+                    return;
                 }
-            });
+            }
+        } finally {
+            Thread.currentThread()
+                    .setName(threadName); // reset thread name so that if the thread is recycled it
+            // will not falsely claim to be a lifecycle thread.
         }
     }
 
+    private CompletableFuture<Void> getLifecycleThreadFuture() {
+        return lifecycleThread;
+    }
+
     /**
      * Return the lifecycle thread future.
      * @return the lifecycle thread future.
      */
     public Future<?> getLifecycleThread() {
-        try (LockScope ls = LockScope.lock(lock)) {
-            return lifecycleThread;
-        }
+        return lifecycleThread;
     }
 
     void setClosed(boolean b) {
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.telemetry.MetricSketch;
+import com.aws.greengrass.util.LockFactory;
+import com.aws.greengrass.util.LockScope;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+
+/**
+ * Number of services in each state, kept up to date from the global state change events so that reading it does not
+ * scan every service. The services counted are the ordered dependencies of the kernel, which are only scanned again
+ * after the kernel recomputes them. Also keeps a histogram of the time each service spent in the states it left, and
+ * how often it entered each state, which the telemetry uses for lifecycle stage durations and error counts.
+ */
+public class ServiceStateCounters implements GlobalStateChangeListener {
+    private final Kernel kernel;
+    private final LongSupplier clock;
+    private final Lock lock = LockFactory.newReentrantLock(this);
+    private final int[] counts = new int[State.values().length];
+    private final Map<GreengrassService, TrackedState> tracked = new HashMap<>();
+    // services which changed state before the next scan picked them up, timed but not counted
+    private final Map<GreengrassService, TrackedState> pending = new HashMap<>();
+    // the collection returned by the kernel when the tracked services were last scanned
+    private Collection<GreengrassService> trackedServices;
+    // component -> what it did since the last drain
+    private Map<String, StateActivity> activity = new HashMap<>();
+
+    @Inject
+    public ServiceStateCounters(Kernel kernel, Context context) {
+        this(kernel, System::currentTimeMillis);
+        context.addGlobalStateChangeListener(this);
+    }
+
+    ServiceStateCounters(Kernel kernel, LongSupplier clock) {
+        this.kernel = kernel;
+        this.clock = clock;
+    }
+
+    @Override
+    public void globalServiceStateChanged(GreengrassService service, State oldState, State newState) {
+        // Called while the lifecycle holds its global lock, so only take our own lock here
+        try (LockScope ls = LockScope.lock(lock)) {
+            TrackedState trackedState = tracked.get(service);
+            if (trackedState != null) {
+                if (trackedState.state != newState) {
+                    counts[trackedState.state.ordinal()]--;
+                    counts[newState.ordinal()]++;
+                }
+                transition(service, trackedState, newState);
+                return;
+            }
+            // Services which are not tracked yet are counted by the next scan, time their states from now on so that
+            // the first install of a new service is not missed
+            trackedState = pending.get(service);
+            if (trackedState == null) {
+                pending.put(service, new TrackedState(newState, clock.getAsLong()));
+                recordEntered(service, newState);
+            } else {
+                transition(service, trackedState, newState);
+            }
+        }
+    }
+
+    /**
+     * Get the number of services in a state.
+     *
+     * @param state state
+     * @return number of services
+     */
+    public int getCount(State state) {
+        Collection<GreengrassService> services = kernel.orderedDependencies();
+        try (LockScope ls = LockScope.lock(lock)) {
+            refresh(services);
+            return counts[state.ordinal()];
+        }
+    }
+
+    /**
+     * Get the number of services in every state.
+     *
+     * @return state to number of services
+     */
+    public Map<State, Integer> getCounts() {
+        Collection<GreengrassService> services = kernel.orderedDependencies();
+        Map<State, Integer> stateCount = new EnumMap<>(State.class);
+        try (LockScope ls = LockScope.lock(lock)) {
+            refresh(services);
+            for (State state : State.values()) {
+                stateCount.put(state, counts[state.ordinal()]);
+            }
+        }
+        return stateCount;
+    }
+
+    /**
+     * Check if no service is broken.
+     *
+     * @return true if no service is in the BROKEN state
+     */
+    public boolean isHealthy() {
+        return getCount(State.BROKEN) == 0;
+    }
+
+    /**
+     * Get what each component did since the last call, and start over. Components which did not change state are left
+     * out, so removed components are forgotten after one call.
+     *
+     * @return component name to its activity
+     */
+    public Map<String, StateActivity> drainStateActivity() {
+        try (LockScope ls = LockScope.lock(lock)) {
+            Map<String, StateActivity> drained = activity;
+            activity = new HashMap<>();
+            return drained;
+        }
+    }
+
+    private void transition(GreengrassService service, TrackedState trackedState, State newState) {
+        if (trackedState.state == newState) {
+            return;
+        }
+        long now = clock.getAsLong();
+        activity.computeIfAbsent(service.getServiceName(), k -> new StateActivity()).timeInState
+                .computeIfAbsent(trackedState.state, k -> new MetricSketch())
+                .add(Math.max(0, now - trackedState.sinceMillis));
+        recordEntered(service, newState);
+        trackedState.state = newState;
+        trackedState.sinceMillis = now;
+    }
+
+    private void recordEntered(GreengrassService service, State state) {
+        activity.computeIfAbsent(service.getServiceName(), k -> new StateActivity()).entered
+                .merge(state, 1, Integer::sum);
+    }
+
+    private void refresh(Collection<GreengrassService> services) {
+        // The kernel returns the same collection until its dependency order changes
+        if (services == trackedServices) {
+            return;
+        }
+        Map<GreengrassService, TrackedState> previous = new HashMap<>(tracked);
+        tracked.clear();
+        long now = clock.getAsLong();
+        for (GreengrassService service : services) {
+            TrackedState trackedState = previous.get(service);
+            if (trackedState == null) {
+                trackedState = pending.get(service);
+            }
+            if (trackedState == null) {
+                trackedState = new TrackedState(service.getState(), now);
+            }
+            tracked.put(service, trackedState);
+        }
+        pending.clear();
+        Arrays.fill(counts, 0);
+        tracked.values().forEach(t -> counts[t.state.ordinal()]++);
+        trackedServices = services;
+    }
+
+    /**
+     * What a component did between two drains.
+     */
+    public static class StateActivity {
+        // state it left -> milliseconds spent in the state
+        private final Map<State, MetricSketch> timeInState = new EnumMap<>(State.class);
+        // state -> number of times the component entered it
+        private final Map<State, Integer> entered = new EnumMap<>(State.class);
+
+        /**
+         * Get the time spent in the states the component left.
+         *
+         * @return state to histogram of the time spent in it, in milliseconds
+         */
+        public Map<State, MetricSketch> getTimeInState() {
+            return timeInState;
+        }
+
+        /**
+         * Get the number of times the component entered a state.
+         *
+         * @param state state
+         * @return number of transitions to the state
+         */
+        public int getEnteredCount(State state) {
+            return entered.getOrDefault(state, 0);
+        }
+    }
+
+    private static class TrackedState {
+        private State state;
+        private long sinceMillis;
+
+        TrackedState(State state, long sinceMillis) {
+            this.state = state;
+            this.sinceMillis = sinceMillis;
+        }
+    }
+}
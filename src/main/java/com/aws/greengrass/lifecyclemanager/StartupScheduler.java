@@ -0,0 +1,323 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.amazon.aws.iot.greengrass.component.common.DependencyType;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.LockFactory;
+import com.aws.greengrass.util.LockScope;
+import com.aws.greengrass.util.SerializerFactory;
+import com.aws.greengrass.util.StartupTrace;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+
+/**
+ * Starts the services at boot, and optionally bounds how many install steps run at once.
+ *
+ * <p>Services are requested to start in dependency order. Their installs then run in parallel, up to the install
+ * concurrency if one is set, in the order they were requested. No thread is held while an install waits for a slot.
+ * Each service moves on to startup as soon as its own dependencies are ready, so independent services start in
+ * parallel.
+ *
+ * <p>Once every service started at boot is running, finished, broken or waiting for a broken dependency, the chain of
+ * dependencies which determined the time until then is logged and written to {@value #CRITICAL_PATH_REPORT_FILE} in
+ * the log directory.
+ */
+public class StartupScheduler implements GlobalStateChangeListener {
+    private static final Logger logger = LogManager.getLogger(StartupScheduler.class);
+    public static final String CRITICAL_PATH_REPORT_FILE = "startup-critical-path.json";
+
+    private final Context context;
+    private final LongSupplier clock;
+    private final Lock installLock = LockFactory.newReentrantLock("StartupScheduler-install");
+    // no limit if less than 1
+    private int installConcurrency;
+    private int installsRunning;
+    private final Queue<InstallWaiter> installWaiters = new ArrayDeque<>();
+    private final Lock bootLock = LockFactory.newReentrantLock("StartupScheduler-boot");
+    // services started at boot, until all of them are done starting
+    private Map<GreengrassService, Timeline> timelines;
+    private long bootStartMillis;
+    // completed with whether every service started at boot is running or finished
+    @Getter
+    private final CompletableFuture<Boolean> bootCompleted = new CompletableFuture<>();
+
+    @Inject
+    public StartupScheduler(Context context) {
+        this(context, System::currentTimeMillis);
+    }
+
+    StartupScheduler(Context context, LongSupplier clock) {
+        this.context = context;
+        this.clock = clock;
+    }
+
+    /**
+     * Set the number of install steps which may run at once.
+     *
+     * @param concurrency number of installs, values less than 1 mean no limit
+     */
+    public void setInstallConcurrency(int concurrency) {
+        try (LockScope ls = LockScope.lock(installLock)) {
+            installConcurrency = concurrency;
+        }
+        grantInstallSlots();
+    }
+
+    /**
+     * Request every service which starts automatically to start.
+     *
+     * @param orderedServices services in dependency order
+     */
+    public void startAll(Collection<GreengrassService> orderedServices) {
+        List<GreengrassService> services =
+                orderedServices.stream().filter(GreengrassService::shouldAutoStart).collect(Collectors.toList());
+        try (LockScope ls = LockScope.lock(bootLock)) {
+            bootStartMillis = clock.getAsLong();
+            timelines = new LinkedHashMap<>();
+            services.forEach(s -> timelines.put(s, new Timeline()));
+        }
+        context.addGlobalStateChangeListener(this);
+        services.forEach(GreengrassService::requestStart);
+    }
+
+    /**
+     * Request a slot to run an install step. The returned future is completed, on the thread which freed the slot,
+     * once the install may run, and must then be followed by {@link #releaseInstallSlot}. Cancel it to give up
+     * waiting.
+     *
+     * @param service service to install
+     * @return future completed when the install may run
+     */
+    CompletableFuture<Void> acquireInstallSlot(GreengrassService service) {
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        try (LockScope ls = LockScope.lock(installLock)) {
+            installWaiters.add(new InstallWaiter(service, slot));
+        }
+        grantInstallSlots();
+        return slot;
+    }
+
+    /**
+     * Let another install step run.
+     *
+     * @param service service which was installed
+     */
+    void releaseInstallSlot(GreengrassService service) {
+        try (LockScope ls = LockScope.lock(installLock)) {
+            installsRunning--;
+        }
+        record(service, t -> t.installEndMillis = clock.getAsLong());
+        grantInstallSlots();
+    }
+
+    private void grantInstallSlots() {
+        while (true) {
+            InstallWaiter waiter;
+            try (LockScope ls = LockScope.lock(installLock)) {
+                if (installConcurrency >= 1 && installsRunning >= installConcurrency) {
+                    return;
+                }
+                do {
+                    waiter = installWaiters.poll();
+                } while (waiter != null && waiter.slot.isDone());
+                if (waiter == null) {
+                    return;
+                }
+                installsRunning++;
+            }
+            record(waiter.service, t -> t.installStartMillis = clock.getAsLong());
+            // Runs the install continuation, outside of the lock
+            if (!waiter.slot.complete(null)) {
+                // cancelled meanwhile, give the slot to the next waiter
+                try (LockScope ls = LockScope.lock(installLock)) {
+                    installsRunning--;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void globalServiceStateChanged(GreengrassService service, State oldState, State newState) {
+        long now = clock.getAsLong();
+        Map<GreengrassService, Timeline> done = null;
+        long bootStart;
+        try (LockScope ls = LockScope.lock(bootLock)) {
+            Timeline timeline = timelines == null ? null : timelines.get(service);
+            // A dependency which was not started at boot can still block services started at boot
+            if (timelines == null || timeline == null && !State.BROKEN.equals(newState)) {
+                return;
+            }
+            if (timeline != null) {
+                if (State.STARTING.equals(newState) && timeline.startingMillis < 0) {
+                    timeline.startingMillis = now;
+                } else if ((State.RUNNING.equals(newState) || State.FINISHED.equals(newState))
+                        && timeline.readyMillis < 0) {
+                    timeline.readyMillis = now;
+                } else if (State.BROKEN.equals(newState)) {
+                    timeline.broken = true;
+                }
+            }
+            if (timelines.entrySet().stream().allMatch(e -> e.getValue().readyMillis >= 0
+                    || isBlocked(e.getKey(), new HashSet<>()))) {
+                done = timelines;
+                timelines = null;
+            }
+            bootStart = bootStartMillis;
+        }
+        if (done != null) {
+            context.removeGlobalStateChangeListener(this);
+            Map<GreengrassService, Timeline> report = done;
+            // Called with the lifecycle state lock held, so do not write the file here
+            try {
+                context.get(ExecutorService.class).execute(() -> {
+                    reportCriticalPath(report, bootStart);
+                    bootCompleted.complete(report.values().stream().noneMatch(t -> t.broken || t.readyMillis < 0));
+                });
+            } catch (RejectedExecutionException e) {
+                logger.atDebug().log("Not reporting the startup critical path as the Nucleus is shutting down");
+            }
+        }
+    }
+
+    /**
+     * Check whether a service started at boot is broken, or will not start until a deployment fixes one of its hard
+     * dependencies. A dependency which errors is retried until it is broken, so only broken dependencies block.
+     */
+    private boolean isBlocked(GreengrassService service, Set<GreengrassService> visited) {
+        Timeline timeline = timelines.get(service);
+        if (timeline != null && timeline.readyMillis >= 0) {
+            return timeline.broken;
+        }
+        if (timeline != null && timeline.broken || State.BROKEN.equals(service.getState())) {
+            return true;
+        }
+        if (!visited.add(service)) {
+            return false;
+        }
+        return service.getDependencies().entrySet().stream()
+                .anyMatch(e -> DependencyType.HARD.equals(e.getValue()) && isBlocked(e.getKey(), visited));
+    }
+
+    private void record(GreengrassService service, Consumer<Timeline> update) {
+        try (LockScope ls = LockScope.lock(bootLock)) {
+            Timeline timeline = timelines == null ? null : timelines.get(service);
+            if (timeline != null) {
+                update.accept(timeline);
+            }
+        }
+    }
+
+    private void reportCriticalPath(Map<GreengrassService, Timeline> timelines, long bootStart) {
+        StartupTrace.finish();
+        List<Map<String, Object>> path = criticalPath(timelines, bootStart);
+        long timeToAllRunning = timelines.values().stream().mapToLong(t -> t.readyMillis).max().orElse(bootStart)
+                - bootStart;
+        logger.atInfo("startup-critical-path").kv("timeToAllRunningMillis", Math.max(0, timeToAllRunning))
+                .kv("criticalPath", path.stream().map(e -> (String) e.get("service"))
+                        .collect(Collectors.joining(" -> ")))
+                .log("All services started");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timeToAllRunningMillis", Math.max(0, timeToAllRunning));
+        report.put("criticalPath", path);
+        Path file = LogManager.getRootLogConfiguration().getStoreDirectory().resolve(CRITICAL_PATH_REPORT_FILE);
+        try {
+            SerializerFactory.getFailSafeJsonObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            logger.atWarn().kv("file", file).setCause(e).log("Unable to write the startup critical path");
+        }
+    }
+
+    /**
+     * Find the chain of services which determined when the last service was ready. Starting from the service which
+     * was ready last, each step goes to the dependency which was ready last, as long as the service had to wait for
+     * it after its own install finished.
+     *
+     * @param timelines timelines of the services started at boot
+     * @param bootStart time the services were requested to start
+     * @return the chain, from the first service to the last, with the time spent in each step in milliseconds
+     */
+    static List<Map<String, Object>> criticalPath(Map<GreengrassService, Timeline> timelines, long bootStart) {
+        GreengrassService current = null;
+        for (Map.Entry<GreengrassService, Timeline> e : timelines.entrySet()) {
+            if (e.getValue().readyMillis >= 0
+                    && (current == null || e.getValue().readyMillis > timelines.get(current).readyMillis)) {
+                current = e.getKey();
+            }
+        }
+        List<Map<String, Object>> path = new ArrayList<>();
+        Set<GreengrassService> visited = new HashSet<>();
+        while (current != null && visited.add(current)) {
+            Timeline timeline = timelines.get(current);
+            path.add(timeline.toReport(current.getServiceName(), bootStart));
+            GreengrassService blocking = null;
+            for (GreengrassService dependency : current.getDependencies().keySet()) {
+                Timeline d = timelines.get(dependency);
+                if (d != null && d.readyMillis >= 0 && d.readyMillis >= timeline.installEndMillis
+                        && (blocking == null || d.readyMillis > timelines.get(blocking).readyMillis)) {
+                    blocking = dependency;
+                }
+            }
+            current = blocking;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    @AllArgsConstructor
+    private static final class InstallWaiter {
+        final GreengrassService service;
+        final CompletableFuture<Void> slot;
+    }
+
+    static final class Timeline {
+        long installStartMillis = -1;
+        long installEndMillis = -1;
+        long startingMillis = -1;
+        long readyMillis = -1;
+        boolean broken;
+
+        Map<String, Object> toReport(String service, long bootStart) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("service", service);
+            entry.put("installWaitMillis", between(bootStart, installStartMillis));
+            entry.put("installMillis", between(installStartMillis, installEndMillis));
+            entry.put("dependencyWaitMillis", between(Math.max(bootStart, installEndMillis), startingMillis));
+            entry.put("startupMillis", between(startingMillis, readyMillis));
+            entry.put("readyAtMillis", between(bootStart, readyMillis));
+            return entry;
+        }
+
+        private static long between(long from, long to) {
+            return from < 0 || to < 0 ? 0 : Math.max(0, to - from);
+        }
+    }
+}
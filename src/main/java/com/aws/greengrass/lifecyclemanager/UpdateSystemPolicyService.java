@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 /**
@@ -54,8 +55,9 @@ public class UpdateSystemPolicyService extends GreengrassService {
     private final Map<String, UpdateAction> pendingActions = Collections.synchronizedMap(new LinkedHashMap<>());
     private final AtomicReference<String> actionInProgress = new AtomicReference<>();
 
+    // resolved when an update is processed, so that the agent is only created once a deployment needs it
     @Inject
-    private LifecycleIPCEventStreamAgent lifecycleIPCAgent;
+    private Provider<LifecycleIPCEventStreamAgent> lifecycleIPCAgentProvider;
 
     @Inject
     private Clock clock;
@@ -107,7 +109,7 @@ public class UpdateSystemPolicyService extends GreengrassService {
                 }
             }
             pendingActions.clear();
-            lifecycleIPCAgent.sendPostComponentUpdateEvent(
+            lifecycleIPCAgentProvider.get().sendPostComponentUpdateEvent(
                     new PostComponentUpdateEvent().withDeploymentId(deploymentId));
             actionInProgress.set(null);
         }
@@ -127,7 +129,7 @@ public class UpdateSystemPolicyService extends GreengrassService {
         final UpdateAction pendingUpdateAction = pendingActions.get(tag);
         if (pendingUpdateAction != null) {
             // Signal components that they can resume their work since the update is not going to happen
-            lifecycleIPCAgent.sendPostComponentUpdateEvent(
+            lifecycleIPCAgentProvider.get().sendPostComponentUpdateEvent(
                     new PostComponentUpdateEvent().withDeploymentId(pendingUpdateAction.getDeploymentId()));
             pendingActions.remove(tag);
         }
@@ -163,14 +165,14 @@ public class UpdateSystemPolicyService extends GreengrassService {
             String deploymentId = pendingActions.values().stream().map(UpdateAction::getDeploymentId).findFirst().get();
             preComponentUpdateEvent.setDeploymentId(deploymentId);
             List<Future<DeferComponentUpdateRequest>> deferRequestFutures =
-                    lifecycleIPCAgent.sendPreComponentUpdateEvent(preComponentUpdateEvent);
+                    lifecycleIPCAgentProvider.get().sendPreComponentUpdateEvent(preComponentUpdateEvent);
 
             long timeToReCheck = getTimeToReCheck(getMaxTimeoutInMillis(), deploymentId, deferRequestFutures);
             if (timeToReCheck > 0) {
                 logger.atDebug().setEventType("service-update-pending").addKeyValue("waitInMS", timeToReCheck).log();
                 Thread.sleep(timeToReCheck);
             } else {
-                lifecycleIPCAgent.discardDeferComponentUpdateFutures();
+                lifecycleIPCAgentProvider.get().discardDeferComponentUpdateFutures();
                 logger.atDebug().setEventType("service-update-scheduled").log();
                 try {
                     context.get(ExecutorService.class).submit(() -> {
@@ -1101,6 +1101,16 @@ public class MqttClient implements Closeable {
         return Coerce.toInt(mqttTopics.findOrDefault(DEFAULT_MQTT_OPERATION_TIMEOUT, MQTT_OPERATION_TIMEOUT_KEY));
     }
 
+    /**
+     * Check if the connection to the cloud uses MQTT 5, so that messages can carry a content type and user
+     * properties.
+     *
+     * @return true if MQTT 5 is configured
+     */
+    public boolean isMqtt5() {
+        return MQTT_VERSION_5.equalsIgnoreCase(getMqttVersion());
+    }
+
     private String getMqttVersion() {
         return Coerce.toString(mqttTopics.findOrDefault(DEFAULT_MQTT_VERSION, MQTT_VERSION_KEY));
     }
@@ -7,11 +7,14 @@ package com.aws.greengrass.mqttclient;
 
 import com.aws.greengrass.mqttclient.v5.Publish;
 import com.aws.greengrass.mqttclient.v5.QOS;
+import com.aws.greengrass.mqttclient.v5.UserProperty;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
 import software.amazon.awssdk.crt.mqtt.QualityOfService;
 
+import java.util.List;
+
 @SuppressWarnings("PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal")
 @Value
 public class PublishRequest {
@@ -23,9 +26,15 @@ public class PublishRequest {
      */
     boolean retain;
     byte[] payload;
+    /**
+     * MQTT 5 content type and user properties of the message, ignored when connected with MQTT 3.1.1.
+     */
+    String contentType;
+    List<UserProperty> userProperties;
 
     @Builder
-    protected PublishRequest(String topic, QualityOfService qos, boolean retain, byte[] payload) {
+    protected PublishRequest(String topic, QualityOfService qos, boolean retain, byte[] payload,
+                             String contentType, List<UserProperty> userProperties) {
         // Intern the string to deduplicate topic strings in memory
         this.topic = topic.intern();
         if (qos == null) {
@@ -34,6 +43,8 @@ public class PublishRequest {
         this.qos = qos;
         this.retain = retain;
         this.payload = payload;
+        this.contentType = contentType;
+        this.userProperties = userProperties;
     }
 
     /**
@@ -44,6 +55,8 @@ public class PublishRequest {
     public Publish toPublish() {
         return Publish.builder().topic(getTopic()).payload(getPayload())
                 .qos(QOS.fromInt(getQos().getValue()))
-                .retain(isRetain()).build();
+                .retain(isRetain())
+                .contentType(getContentType())
+                .userProperties(getUserProperties()).build();
     }
 }
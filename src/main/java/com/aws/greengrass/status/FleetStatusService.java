@@ -22,6 +22,7 @@ import com.aws.greengrass.lifecyclemanager.GlobalStateChangeListener;
 import com.aws.greengrass.lifecyclemanager.GreengrassService;
 import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.lifecyclemanager.KernelLifecycle;
+import com.aws.greengrass.lifecyclemanager.ServiceStateCounters;
 import com.aws.greengrass.lifecyclemanager.exceptions.ServiceLoadException;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.status.model.ComponentDetails;
@@ -48,6 +49,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -87,6 +89,7 @@ public class FleetStatusService extends GreengrassService {
     public static final int MINIMAL_RECONNECT_PUBLISH_INTERVAL_SEC = 60;
     public static final int FLEET_STATUS_MESSAGE_PUBLISH_MIN_WAIT_TIME_SEC = 3;
     public static final String FLEET_STATUS_PERIODIC_PUBLISH_INTERVAL_SEC = "periodicStatusPublishIntervalSeconds";
+    public static final String FLEET_STATUS_COMPRESS_PAYLOADS = "compressPayloads";
     static final String FLEET_STATUS_SEQUENCE_NUMBER_TOPIC = "sequenceNumber";
     static final String FLEET_STATUS_LAST_PERIODIC_UPDATE_TIME_TOPIC = "lastPeriodicUpdateTime";
     private static final int MAX_PAYLOAD_LENGTH_BYTES = 128_000;
@@ -117,6 +120,12 @@ public class FleetStatusService extends GreengrassService {
     private final Set<GreengrassService> updatedGreengrassServiceSet =
             Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final ConcurrentHashMap<GreengrassService, Instant> serviceFssTracksMap = new ConcurrentHashMap<>();
+    @Inject
+    @Setter(AccessLevel.PACKAGE)
+    private ServiceStateCounters serviceStateCounters;
+    // component name -> details in the last successfully published message
+    private final Map<String, ComponentDetails> publishedComponents = new HashMap<>();
+    private final Lock publishedComponentsLock = LockFactory.newReentrantLock("fssPublishedComponentsLock");
     private final AtomicBoolean isDeploymentInProgress = new AtomicBoolean(false);
     private final Lock periodicUpdateInProgressLock = LockFactory.newReentrantLock(this);
     @Setter // Needed for integration tests.
@@ -255,6 +264,8 @@ public class FleetStatusService extends GreengrassService {
             Topics configurationTopics = deviceConfiguration.getStatusConfigurationTopics();
             configurationTopics.lookup(FLEET_STATUS_PERIODIC_PUBLISH_INTERVAL_SEC)
                     .dflt(DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC).subscribe(publishIntervalSubscriber);
+            configurationTopics.lookup(FLEET_STATUS_COMPRESS_PAYLOADS).dflt(false)
+                    .subscribe((why, newv) -> publisher.setCompressPayloads(Coerce.toBoolean(newv)));
 
             config.getContext().addGlobalStateChangeListener(handleServiceStateChange);
 
@@ -368,6 +379,10 @@ public class FleetStatusService extends GreengrassService {
     }
 
     private OverallStatus getOverallStatus() {
+        // Counted as the states change, so there is no need to check every service
+        if (serviceStateCounters != null) {
+            return serviceStateCounters.isHealthy() ? OverallStatus.HEALTHY : OverallStatus.UNHEALTHY;
+        }
         Instant now = Instant.now();
         OverallStatus overAllStatus = OverallStatus.HEALTHY;
         for (GreengrassService service : this.kernel.orderedDependencies()) {
@@ -568,6 +583,7 @@ public class FleetStatusService extends GreengrassService {
             if (isSystemLevelService(service)) {
                 return;
             }
+            // Sorted, so that the details of an unchanged component are equal to the ones last published
             List<String> componentGroups = new ArrayList<>();
             if (finalComponentsToGroupsTopics != null) {
                 Topics groupsTopics = finalComponentsToGroupsTopics.findTopics(service.getName());
@@ -578,6 +594,7 @@ public class FleetStatusService extends GreengrassService {
                                 // Get all the group names from the user components.
                                 allGroups.add(groupName);
                             });
+                    Collections.sort(componentGroups);
                 }
             }
             Topic versionTopic = service.getServiceConfig().findLeafChild(KernelConfigResolver.VERSION_CONFIG_KEY);
@@ -591,10 +608,18 @@ public class FleetStatusService extends GreengrassService {
                     .build();
             components.add(componentDetails);
         });
+        // Status change and reconnect messages only carry the components which changed since they were last
+        // published, the complete messages at the periodic cadence still carry every component
+        boolean changedComponentsOnly = isChangedComponentsOnlyTrigger(trigger);
+        if (changedComponentsOnly) {
+            components.removeIf(this::isUnchangedSinceLastPublish);
+        }
         // if all components updating are system-level services, there is no need to update
         if (Trigger.COMPONENT_STATUS_CHANGE.equals(trigger) && components.isEmpty()) {
             return;
         }
+        List<String> sortedGroups = new ArrayList<>(allGroups);
+        Collections.sort(sortedGroups);
         filteredServices.forEach(service -> {
             if (!isSystemLevelService(service)) {
                 return;
@@ -605,10 +630,12 @@ public class FleetStatusService extends GreengrassService {
                     .state(service.getState())
                     .componentStatusDetails(getComponentStatusDetails(service))
                     .version(Coerce.toString(versionTopic))
-                    .fleetConfigArns(new ArrayList<>(allGroups))
+                    .fleetConfigArns(new ArrayList<>(sortedGroups))
                     .isRoot(false) // Set false for all system level services.
                     .build();
-            components.add(componentDetails);
+            if (!changedComponentsOnly || !isUnchangedSinceLastPublish(componentDetails)) {
+                components.add(componentDetails);
+            }
         });
         greengrassServiceSet.clear();
         Topic sequenceNumberTopic = getSequenceNumberTopic();
@@ -654,20 +681,50 @@ public class FleetStatusService extends GreengrassService {
         }
         if (delay == 0 || !Trigger.COMPONENT_STATUS_CHANGE.equals(trigger)) {
             // Publish immediately
-            publisher.publish(fleetStatusDetails, components);
-            logger.atInfo().event("fss-status-update-published").kv("trigger", trigger)
-                    .log("Status update published to FSS");
+            publishAndRecord(fleetStatusDetails, components, trigger);
         } else {
             // Schedule for later
             ses.schedule(() -> {
                 fleetStatusDetails.setTimestamp(expectedPublishTime.toEpochMilli());
-                publisher.publish(fleetStatusDetails, components);
-                logger.atInfo().event("fss-status-update-published").kv("trigger", trigger)
-                        .log("Status update published to FSS");
+                publishAndRecord(fleetStatusDetails, components, trigger);
             }, delay, TimeUnit.SECONDS);
         }
     }
 
+    private void publishAndRecord(FleetStatusDetails fleetStatusDetails, List<ComponentDetails> components,
+                                  Trigger trigger) {
+        boolean complete = MessageType.COMPLETE.equals(MessageType.fromTrigger(trigger));
+        // Only what reached the MQTT client counts as published, so a failed publish is sent again on the next change
+        publisher.publish(fleetStatusDetails, components)
+                .thenRun(() -> recordPublishedComponents(components, complete));
+        logger.atInfo().event("fss-status-update-published").kv("trigger", trigger)
+                .log("Status update published to FSS");
+    }
+
+    /*
+     * Deployment messages keep every component of the deployment, since the cloud uses them to tell what the
+     * deployment changed.
+     */
+    private static boolean isChangedComponentsOnlyTrigger(Trigger trigger) {
+        return Trigger.COMPONENT_STATUS_CHANGE.equals(trigger) || Trigger.RECONNECT.equals(trigger);
+    }
+
+    private boolean isUnchangedSinceLastPublish(ComponentDetails componentDetails) {
+        try (LockScope ls = LockScope.lock(publishedComponentsLock)) {
+            return componentDetails.equals(publishedComponents.get(componentDetails.getComponentName()));
+        }
+    }
+
+    private void recordPublishedComponents(List<ComponentDetails> components, boolean complete) {
+        try (LockScope ls = LockScope.lock(publishedComponentsLock)) {
+            // A complete message lists every component, so forget the ones which were removed
+            if (complete) {
+                publishedComponents.clear();
+            }
+            components.forEach(c -> publishedComponents.put(c.getComponentName(), c));
+        }
+    }
+
     /* Only set status details in FSS message if component is ERRORED or BROKEN */
     private ComponentStatusDetails getComponentStatusDetails(GreengrassService service) {
         if (service.inState(State.BROKEN) || service.inState(State.ERRORED)) {
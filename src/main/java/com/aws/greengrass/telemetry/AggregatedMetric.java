@@ -7,6 +7,7 @@ package com.aws.greengrass.telemetry;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +32,23 @@ public class AggregatedMetric {
     private Map<String, Object> value = new HashMap<>();
     @JsonProperty("U")
     private String unit;
+    // Sketch of the raw data points of a percentile, so that aggregated points can be merged over the publish
+    // interval. It is kept in the binary aggregated metrics log or in memory, never in JSON.
+    @JsonIgnore
+    private MetricSketch sketch;
+
+    /**
+     * Constructor for an aggregated metric without a sketch.
+     *
+     * @param name  metric name
+     * @param value aggregation type to aggregated value
+     * @param unit  metric unit
+     */
+    public AggregatedMetric(String name, Map<String, Object> value, String unit) {
+        this.name = name;
+        this.value = value;
+        this.unit = unit;
+    }
 
     @JsonAnyGetter
     public Map<String, Object> getValue() {
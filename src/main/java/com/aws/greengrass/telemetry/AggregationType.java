@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Aggregations the metrics aggregator can compute. The first four have the same names as
+ * {@link com.aws.greengrass.telemetry.models.TelemetryAggregation}; the percentiles are only available to emitters
+ * through {@link PeriodicMetricsEmitter#getAggregationType}.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public enum AggregationType {
+    Average(-1),
+    Sum(-1),
+    Maximum(-1),
+    Minimum(-1),
+    P50(0.5),
+    P90(0.9),
+    P99(0.99);
+
+    @Getter(AccessLevel.PACKAGE)
+    private final double quantile;
+
+    /**
+     * Check whether the aggregation is a percentile, which cannot be accumulated from aggregated values and needs the
+     * sketch of the data points.
+     *
+     * @return true for a percentile
+     */
+    public boolean isQuantile() {
+        return quantile >= 0;
+    }
+
+    /**
+     * Look up an aggregation type by name.
+     *
+     * @param name aggregation name, such as "Average" or "P99"
+     * @return aggregation type or null if unknown
+     */
+    public static AggregationType fromString(String name) {
+        for (AggregationType type : values()) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the aggregated value from a sketch of all data points.
+     *
+     * @param sketch sketch of the data points
+     * @return aggregated value
+     */
+    public double valueOf(MetricSketch sketch) {
+        switch (this) {
+            case Average:
+                return sketch.getCount() == 0 ? 0 : sketch.getSum() / sketch.getCount();
+            case Sum:
+                return sketch.getSum();
+            case Maximum:
+                return sketch.getMax();
+            case Minimum:
+                return sketch.getMin();
+            default:
+                return sketch.quantile(quantile);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.Coerce;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary log of metric data points and aggregated metrics, written in place of JSON log events when the
+ * telemetry configuration asks for it.
+ *
+ * <p>Each writer session appends to its own file, {@code <prefix>_<yyyy_MM_dd_HH>_<sessionStart>.metrics}, and a new
+ * file is started every hour. A file is a sequence of records, each starting with a type byte:
+ * <ul>
+ *     <li>session: base timestamp. Always the first record of a file.</li>
+ *     <li>string: defines the next string id, used for namespaces, names, units and aggregation types.</li>
+ *     <li>point: a raw {@link Metric}, with its timestamp as a delta from the previous record.</li>
+ *     <li>aggregate: an {@link AggregatedNamespaceData} including the sketches of its metrics.</li>
+ * </ul>
+ * Numbers are variable length, so a data point usually takes around a dozen bytes instead of a few hundred. A torn
+ * record at the end of a file, from a crash during a write, is skipped by the reader.
+ */
+public class BinaryMetricsLog {
+    public static final String FILE_EXTENSION = ".metrics";
+    private static final Logger logger = LogManager.getLogger(BinaryMetricsLog.class);
+    private static final DateTimeFormatter HOUR_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy_MM_dd_HH").withZone(ZoneOffset.UTC);
+    private static final int HOUR_LENGTH = "yyyy_MM_dd_HH".length();
+    private static final int MAGIC = 0x47474d31; // GGM1
+    private static final int SESSION = 0;
+    private static final int STRING = 1;
+    private static final int POINT = 2;
+    private static final int AGGREGATE = 3;
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_LONG = 1;
+    private static final int VALUE_DOUBLE = 2;
+    private static final int VALUE_STRING = 3;
+
+    private final Path directory;
+    private final String prefix;
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private final DataOutputStream batchOut = new DataOutputStream(batch);
+    private OutputStream file;
+    private Path filePath;
+    private String fileHour;
+    private long lastTimestamp;
+
+    /**
+     * Constructor.
+     *
+     * @param directory directory of the telemetry files
+     * @param prefix    file name prefix, which is the namespace for raw data points
+     */
+    public BinaryMetricsLog(Path directory, String prefix) {
+        this.directory = directory;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Append raw data points in a single write.
+     *
+     * @param dataPoints data points
+     * @throws IOException if the write fails
+     */
+    public synchronized void append(List<Metric> dataPoints) throws IOException {
+        if (dataPoints.isEmpty()) {
+            return;
+        }
+        startBatch(dataPoints.get(0).getTimestamp());
+        for (Metric m : dataPoints) {
+            int ns = stringId(m.getNamespace());
+            int name = stringId(m.getName());
+            int unit = stringId(Coerce.toString(m.getUnit()));
+            int agg = stringId(Coerce.toString(m.getAggregation()));
+            int stringValue = m.getValue() instanceof String ? stringId((String) m.getValue()) : -1;
+            batchOut.writeByte(POINT);
+            writeVarLong(ns);
+            writeVarLong(name);
+            writeVarLong(unit);
+            writeVarLong(agg);
+            writeTimestamp(m.getTimestamp());
+            writeValue(m.getValue(), stringValue);
+        }
+        flushBatch();
+    }
+
+    /**
+     * Append aggregated metrics of a namespace in a single write.
+     *
+     * @param data aggregated metrics
+     * @throws IOException if the write fails
+     */
+    public synchronized void append(AggregatedNamespaceData data) throws IOException {
+        startBatch(data.getTimestamp());
+        int ns = stringId(data.getNamespace());
+        List<AggregatedMetric> metrics = data.getMetrics() == null ? new ArrayList<>() : data.getMetrics();
+        for (AggregatedMetric m : metrics) {
+            stringId(m.getName());
+            stringId(m.getUnit());
+            for (String aggregationType : m.getValue().keySet()) {
+                stringId(aggregationType);
+            }
+        }
+        batchOut.writeByte(AGGREGATE);
+        writeVarLong(ns);
+        writeTimestamp(data.getTimestamp());
+        writeVarLong(metrics.size());
+        for (AggregatedMetric m : metrics) {
+            writeVarLong(stringId(m.getName()));
+            writeVarLong(stringId(m.getUnit()));
+            writeVarLong(m.getValue().size());
+            for (Map.Entry<String, Object> e : m.getValue().entrySet()) {
+                writeVarLong(stringId(e.getKey()));
+                batchOut.writeDouble(Coerce.toDouble(e.getValue()));
+            }
+            MetricSketch sketch = m.getSketch();
+            batchOut.writeBoolean(sketch != null);
+            if (sketch != null) {
+                writeSketch(sketch);
+            }
+        }
+        flushBatch();
+    }
+
+    /**
+     * Close the current file.
+     */
+    public synchronized void close() {
+        closeFile();
+    }
+
+    /**
+     * Read all records of a binary metrics file.
+     *
+     * @param path       file
+     * @param points     receives the raw data points
+     * @param aggregates receives the aggregated metrics
+     */
+    public static void read(Path path, Consumer<Metric> points, Consumer<AggregatedNamespaceData> aggregates) {
+        try (InputStream fileIn = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn))) {
+            if (in.readInt() != MAGIC) {
+                logger.atWarn().kv("file", path).log("Not a binary metrics file");
+                return;
+            }
+            List<String> strings = new ArrayList<>();
+            long timestamp = 0;
+            while (true) {
+                int type = in.read();
+                switch (type) {
+                    case -1:
+                        return;
+                    case SESSION:
+                        strings.clear();
+                        timestamp = readVarLong(in);
+                        break;
+                    case STRING:
+                        byte[] bytes = new byte[(int) readVarLong(in)];
+                        in.readFully(bytes);
+                        strings.add(new String(bytes, StandardCharsets.UTF_8));
+                        break;
+                    case POINT:
+                        timestamp = readPoint(in, strings, timestamp, points);
+                        break;
+                    case AGGREGATE:
+                        timestamp = readAggregate(in, strings, timestamp, aggregates);
+                        break;
+                    default:
+                        throw new IOException("Unknown record type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            logger.atDebug().kv("file", path).log("Skipping incomplete record at the end of the binary metrics file");
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            logger.atError().cause(e).kv("file", path).log("Unable to read the binary metrics file");
+        }
+    }
+
+    /**
+     * Delete the binary metrics files of a prefix whose hour ended at or before the given time.
+     *
+     * @param directory directory of the telemetry files
+     * @param prefix    file name prefix
+     * @param timestamp time before which the records are no longer needed
+     */
+    public static void deleteFilesBefore(Path directory, String prefix, long timestamp) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        String cutoffHour = HOUR_FORMAT.format(Instant.ofEpochMilli(timestamp));
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(p -> {
+                String name = Coerce.toString(p.getFileName());
+                if (!name.endsWith(FILE_EXTENSION) || !name.startsWith(prefix + "_")) {
+                    return false;
+                }
+                // <prefix>_<yyyy_MM_dd_HH>_<sessionStart>.metrics
+                String rest = name.substring(prefix.length() + 1);
+                int sessionStart = rest.lastIndexOf('_');
+                if (sessionStart != HOUR_LENGTH) {
+                    return false;
+                }
+                // The hour ended before the cutoff if it is earlier than the hour of the cutoff
+                return rest.substring(0, sessionStart).compareTo(cutoffHour) < 0;
+            }).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    logger.atWarn().cause(e).kv("file", p).log("Unable to delete the binary metrics file");
+                }
+            });
+        } catch (IOException e) {
+            logger.atError().cause(e).log("Unable to read the binary metrics files from the directory");
+        }
+    }
+
+    private static long readPoint(DataInputStream in, List<String> strings, long previousTimestamp,
+                                  Consumer<Metric> points) throws IOException {
+        String namespace = strings.get((int) readVarLong(in));
+        String name = strings.get((int) readVarLong(in));
+        String unit = strings.get((int) readVarLong(in));
+        String aggregation = strings.get((int) readVarLong(in));
+        long timestamp = previousTimestamp + readZigZag(in);
+        Object value = readValue(in, strings);
+        points.accept(Metric.builder()
+                .namespace(namespace)
+                .name(name)
+                .unit(TelemetryUnit.valueOf(unit))
+                .aggregation(TelemetryAggregation.valueOf(aggregation))
+                .value(value)
+                .timestamp(timestamp)
+                .build());
+        return timestamp;
+    }
+
+    private static long readAggregate(DataInputStream in, List<String> strings, long previousTimestamp,
+                                      Consumer<AggregatedNamespaceData> aggregates) throws IOException {
+        String namespace = strings.get((int) readVarLong(in));
+        long timestamp = previousTimestamp + readZigZag(in);
+        int count = (int) readVarLong(in);
+        List<AggregatedMetric> metrics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = strings.get((int) readVarLong(in));
+            String unit = strings.get((int) readVarLong(in));
+            int values = (int) readVarLong(in);
+            Map<String, Object> value = new HashMap<>();
+            for (int j = 0; j < values; j++) {
+                String key = strings.get((int) readVarLong(in));
+                value.put(key, in.readDouble());
+            }
+            MetricSketch sketch = in.readBoolean() ? readSketch(in) : null;
+            metrics.add(AggregatedMetric.builder().name(name).unit(unit).value(value).sketch(sketch).build());
+        }
+        aggregates.accept(new AggregatedNamespaceData(timestamp, namespace, metrics));
+        return timestamp;
+    }
+
+    private void startBatch(long timestamp) throws IOException {
+        batch.reset();
+        String hour = HOUR_FORMAT.format(Instant.ofEpochMilli(timestamp));
+        // The file is also replaced if it was deleted, otherwise the writes would go to the unlinked file
+        if (file == null || !hour.equals(fileHour) || !Files.exists(filePath)) {
+            closeFile();
+            filePath = directory.resolve(prefix + "_" + hour + "_" + System.currentTimeMillis() + FILE_EXTENSION);
+            Files.createDirectories(directory);
+            file = Files.newOutputStream(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            fileHour = hour;
+            stringIds.clear();
+            lastTimestamp = timestamp;
+            batchOut.writeInt(MAGIC);
+            batchOut.writeByte(SESSION);
+            writeVarLong(timestamp);
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        batchOut.flush();
+        try {
+            batch.writeTo(file);
+            file.flush();
+        } catch (IOException e) {
+            // Start a new file on the next write rather than appending after a partial record
+            closeFile();
+            throw e;
+        }
+    }
+
+    private void closeFile() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                logger.atWarn().cause(e).kv("prefix", prefix).log("Unable to close the binary metrics file");
+            }
+            file = null;
+        }
+    }
+
+    private int stringId(String s) throws IOException {
+        String value = s == null ? "" : s;
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = stringIds.size();
+            stringIds.put(value, id);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            batchOut.writeByte(STRING);
+            writeVarLong(bytes.length);
+            batchOut.write(bytes);
+        }
+        return id;
+    }
+
+    private void writeTimestamp(long timestamp) throws IOException {
+        writeZigZag(timestamp - lastTimestamp);
+        lastTimestamp = timestamp;
+    }
+
+    private void writeValue(Object value, int stringId) throws IOException {
+        if (value == null) {
+            batchOut.writeByte(VALUE_NULL);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            batchOut.writeByte(VALUE_LONG);
+            writeZigZag(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            batchOut.writeByte(VALUE_DOUBLE);
+            batchOut.writeDouble(((Number) value).doubleValue());
+        } else if (stringId >= 0) {
+            batchOut.writeByte(VALUE_STRING);
+            writeVarLong(stringId);
+        } else {
+            batchOut.writeByte(VALUE_DOUBLE);
+            batchOut.writeDouble(Coerce.toDouble(value));
+        }
+    }
+
+    private static Object readValue(DataInputStream in, List<String> strings) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_LONG:
+                return readZigZag(in);
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_STRING:
+                return strings.get((int) readVarLong(in));
+            default:
+                throw new IOException("Unknown value type " + tag);
+        }
+    }
+
+    private void writeSketch(MetricSketch sketch) throws IOException {
+        writeVarLong(sketch.getCount());
+        batchOut.writeDouble(sketch.getSum());
+        batchOut.writeDouble(sketch.getMin());
+        batchOut.writeDouble(sketch.getMax());
+        writeVarLong(sketch.getZeroCount());
+        writeBuckets(sketch.getPositive());
+        writeBuckets(sketch.getNegative());
+    }
+
+    private void writeBuckets(NavigableMap<Integer, Long> buckets) throws IOException {
+        writeVarLong(buckets.size());
+        int previous = 0;
+        for (Map.Entry<Integer, Long> e : buckets.entrySet()) {
+            writeZigZag(e.getKey() - previous);
+            writeVarLong(e.getValue());
+            previous = e.getKey();
+        }
+    }
+
+    private static MetricSketch readSketch(DataInputStream in) throws IOException {
+        MetricSketch sketch = new MetricSketch(readVarLong(in), in.readDouble(), in.readDouble(), in.readDouble(),
+                readVarLong(in));
+        readBuckets(in, sketch.getPositive());
+        readBuckets(in, sketch.getNegative());
+        return sketch;
+    }
+
+    private static void readBuckets(DataInputStream in, NavigableMap<Integer, Long> buckets) throws IOException {
+        int size = (int) readVarLong(in);
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            index += (int) readZigZag(in);
+            buckets.put(index, readVarLong(in));
+        }
+    }
+
+    private void writeZigZag(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            batchOut.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        batchOut.writeByte((int) v);
+    }
+
+    private static long readZigZag(DataInputStream in) throws IOException {
+        long v = readVarLong(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number");
+    }
+}
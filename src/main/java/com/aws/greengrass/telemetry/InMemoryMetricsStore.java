@@ -0,0 +1,172 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import lombok.AccessLevel;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the data points of the periodic metrics emitters in memory until they are aggregated, so that aggregation does
+ * not have to write and then re-read and parse the telemetry log files. Each metric keeps at most
+ * {@link #MAX_POINTS_PER_METRIC} points, dropping the oldest ones first.
+ *
+ * <p>Namespaces fed into this store are aggregated from memory only. Writing the data points to the telemetry log
+ * files is optional and only serves as a durable copy.
+ */
+public class InMemoryMetricsStore {
+    static final int MAX_POINTS_PER_METRIC = 1024;
+    private static final Logger logger = LogManager.getLogger(InMemoryMetricsStore.class);
+
+    // namespace -> metric name -> data points in the order they were recorded
+    private final Map<String, Map<String, Series>> metrics = new ConcurrentHashMap<>();
+    private final Map<String, MetricFactory> metricFactories = new ConcurrentHashMap<>();
+    private final Map<String, BinaryMetricsLog> binaryLogs = new ConcurrentHashMap<>();
+    // namespace -> metric name -> aggregation the emitter asked for, kept after the points are drained
+    private final Map<String, Map<String, AggregationType>> aggregationTypes = new ConcurrentHashMap<>();
+    // Write the data points to the log files in the compact binary format
+    @Setter(AccessLevel.PACKAGE)
+    private volatile boolean binaryLogFiles;
+
+    /**
+     * Record data points.
+     *
+     * @param dataPoints     metrics with their value and timestamp set
+     * @param writeToLogFile also write the data points to the telemetry log file of their namespace
+     */
+    public void record(List<Metric> dataPoints, boolean writeToLogFile) {
+        record(dataPoints, m -> null, writeToLogFile);
+    }
+
+    /**
+     * Record data points.
+     *
+     * @param dataPoints       metrics with their value and timestamp set
+     * @param aggregationTypes aggregation to use for a data point in place of the one set on it, or null to use its own
+     * @param writeToLogFile   also write the data points to the telemetry log file of their namespace
+     */
+    public void record(List<Metric> dataPoints, Function<Metric, AggregationType> aggregationTypes,
+                       boolean writeToLogFile) {
+        Map<String, List<Metric>> toWrite = new HashMap<>();
+        for (Metric dataPoint : dataPoints) {
+            Series series = metrics.computeIfAbsent(dataPoint.getNamespace(), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(dataPoint.getName(), k -> new Series());
+            synchronized (series) {
+                series.aggregationType = aggregationTypes.apply(dataPoint);
+                if (series.aggregationType != null) {
+                    this.aggregationTypes.computeIfAbsent(dataPoint.getNamespace(), k -> new ConcurrentHashMap<>())
+                            .put(dataPoint.getName(), series.aggregationType);
+                }
+                if (series.points.size() >= MAX_POINTS_PER_METRIC) {
+                    series.points.pollFirst();
+                }
+                series.points.addLast(dataPoint);
+            }
+            if (writeToLogFile) {
+                toWrite.computeIfAbsent(dataPoint.getNamespace(), k -> new ArrayList<>()).add(dataPoint);
+            }
+        }
+        toWrite.forEach(this::writeToLogFile);
+    }
+
+    private void writeToLogFile(String namespace, List<Metric> dataPoints) {
+        if (!binaryLogFiles) {
+            MetricFactory metricFactory = metricFactories.computeIfAbsent(namespace, MetricFactory::new);
+            dataPoints.forEach(metricFactory::putMetricData);
+            return;
+        }
+        try {
+            binaryLogs.computeIfAbsent(namespace,
+                    ns -> new BinaryMetricsLog(TelemetryConfig.getTelemetryDirectory(), ns)).append(dataPoints);
+        } catch (IOException e) {
+            logger.atError().cause(e).kv("namespace", namespace).log("Unable to write the binary metrics file");
+        }
+    }
+
+    /**
+     * Get the namespaces which are aggregated from this store.
+     *
+     * @return namespaces
+     */
+    public Set<String> getNamespaces() {
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    /**
+     * Get the aggregation an emitter asked for in place of the one set on a metric, so that data points of the metric
+     * which are read back from the log files are aggregated the same way as the ones in memory.
+     *
+     * @param namespace metric namespace
+     * @param name      metric name
+     * @return aggregation type, or null to use the one set on the data points
+     */
+    AggregationType getAggregationType(String namespace, String name) {
+        Map<String, AggregationType> namespaceTypes = aggregationTypes.get(namespace);
+        return namespaceTypes == null ? null : namespaceTypes.get(name);
+    }
+
+    /**
+     * Remove the data points recorded before the given time and return their aggregation. Points older than
+     * {@code from} are removed without being aggregated.
+     *
+     * @param namespace metric namespace
+     * @param from  inclusive start of the aggregation interval
+     * @param until exclusive end of the aggregation interval
+     * @return metric name to the aggregation of its data points in the interval, for the given namespace
+     */
+    Map<String, MetricAccumulator> drain(String namespace, long from, long until) {
+        Map<String, Series> namespaceMetrics = metrics.get(namespace);
+        if (namespaceMetrics == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, MetricAccumulator> drained = new HashMap<>();
+        namespaceMetrics.forEach((name, series) -> {
+            MetricAccumulator accumulator = null;
+            synchronized (series) {
+                Iterator<Metric> it = series.points.iterator();
+                while (it.hasNext()) {
+                    Metric point = it.next();
+                    if (point.getTimestamp() >= until) {
+                        continue;
+                    }
+                    it.remove();
+                    if (point.getTimestamp() >= from) {
+                        if (accumulator == null) {
+                            accumulator = new MetricAccumulator(point, series.aggregationType);
+                        }
+                        accumulator.add(point);
+                    }
+                }
+            }
+            if (accumulator != null) {
+                drained.put(name, accumulator);
+            }
+        });
+        return drained;
+    }
+
+    private static class Series {
+        private final Deque<Metric> points = new ArrayDeque<>();
+        private AggregationType aggregationType;
+    }
+}
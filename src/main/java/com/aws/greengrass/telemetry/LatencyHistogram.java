@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with power of two microsecond buckets. Bucket 0 holds durations under one
+ * microsecond and bucket {@code i} holds durations in {@code [2^(i-1), 2^i)} microseconds, so percentiles are
+ * accurate to within a factor of two, which is enough to tell a slow handler from a fast one.
+ */
+public class LatencyHistogram {
+    public static final int NUM_BUCKETS = 40;
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(bucketFor(nanos));
+        totalNanos.add(Math.max(0, nanos));
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Get a copy of the bucket counts.
+     *
+     * @return count per bucket
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    static int bucketFor(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        return Math.min(NUM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Estimate a percentile from bucket counts, returning the upper bound of the bucket containing it.
+     *
+     * @param counts     bucket counts as returned by {@link #getBucketCounts()}, or a difference of two of them
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the percentile in milliseconds, 0 if there are no samples
+     */
+    public static double percentileMillis(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return (1L << (counts.length - 1)) / 1000.0;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.util.Coerce;
+import lombok.Getter;
+
+/**
+ * Streaming aggregation of the data points of one metric over an aggregation interval.
+ */
+@Getter
+class MetricAccumulator {
+    private final String unit;
+    private final String aggregationType;
+    private final MetricSketch sketch = new MetricSketch();
+
+    /**
+     * Constructor.
+     *
+     * @param first           first data point, which sets the unit and aggregation type
+     * @param aggregationType aggregation to use in place of the one set on the data point, or null
+     */
+    MetricAccumulator(Metric first, AggregationType aggregationType) {
+        this.unit = String.valueOf(first.getUnit());
+        this.aggregationType = aggregationType == null ? Coerce.toString(first.getAggregation())
+                : aggregationType.name();
+    }
+
+    void add(Metric dataPoint) {
+        sketch.add(Coerce.toDouble(dataPoint.getValue()));
+    }
+
+    MetricAccumulator merge(MetricAccumulator other) {
+        sketch.merge(other.sketch);
+        return this;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Constant memory summary of a stream of values: count, sum, min and max, plus a mergeable quantile sketch with
+ * logarithmic buckets. A quantile is accurate to within {@link #RELATIVE_ACCURACY} of the true value as long as no
+ * more than {@link #MAX_BUCKETS} buckets are needed for each sign; past that the lowest buckets are collapsed, which
+ * only affects the accuracy of the lowest quantiles.
+ *
+ * <p>The sketch of a percentile is kept with its aggregated point, in the binary aggregated metrics log or in memory
+ * until the next publish when the log is JSON, so that the points can be merged over the publish interval.
+ */
+@Getter
+@NoArgsConstructor
+public class MetricSketch {
+    static final double RELATIVE_ACCURACY = 0.01;
+    static final int MAX_BUCKETS = 2048;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    @JsonProperty("C")
+    private long count;
+    @JsonProperty("S")
+    private double sum;
+    @JsonProperty("Min")
+    private double min = Double.POSITIVE_INFINITY;
+    @JsonProperty("Max")
+    private double max = Double.NEGATIVE_INFINITY;
+    @JsonProperty("Z")
+    private long zeroCount;
+    // bucket index -> count, for positive values and for the magnitude of negative values
+    @JsonProperty("P")
+    private NavigableMap<Integer, Long> positive = new TreeMap<>();
+    @JsonProperty("N")
+    private NavigableMap<Integer, Long> negative = new TreeMap<>();
+
+    MetricSketch(long count, double sum, double min, double max, long zeroCount) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.zeroCount = zeroCount;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value value
+     */
+    public void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (Math.abs(value) < MIN_INDEXABLE) {
+            zeroCount++;
+        } else if (value > 0) {
+            addToBucket(positive, index(value), 1);
+        } else {
+            addToBucket(negative, index(-value), 1);
+        }
+    }
+
+    /**
+     * Add all values of another sketch to this one.
+     *
+     * @param other sketch to merge in
+     */
+    public void merge(MetricSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        zeroCount += other.zeroCount;
+        other.positive.forEach((i, c) -> addToBucket(positive, i, c));
+        other.negative.forEach((i, c) -> addToBucket(negative, i, c));
+    }
+
+    /**
+     * Get an approximate quantile.
+     *
+     * @param q quantile between 0 and 1
+     * @return approximate value at the quantile, 0 if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        // Most negative first, which is the highest magnitude bucket
+        for (Map.Entry<Integer, Long> e : negative.descendingMap().entrySet()) {
+            seen += e.getValue();
+            if (seen > rank) {
+                return clamp(-bucketValue(e.getKey()));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> e : positive.entrySet()) {
+            seen += e.getValue();
+            if (seen > rank) {
+                return clamp(bucketValue(e.getKey()));
+            }
+        }
+        return max;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / LOG_GAMMA);
+    }
+
+    private static double bucketValue(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private static void addToBucket(NavigableMap<Integer, Long> buckets, int index, long c) {
+        buckets.merge(index, c, Long::sum);
+        while (buckets.size() > MAX_BUCKETS) {
+            // Collapse the two lowest magnitude buckets into one
+            Map.Entry<Integer, Long> lowest = buckets.pollFirstEntry();
+            buckets.merge(buckets.firstKey(), lowest.getValue(), Long::sum);
+        }
+    }
+}
@@ -17,17 +17,25 @@ import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.platforms.Platform;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.inject.Inject;
 
 import static com.aws.greengrass.telemetry.SystemMetricsEmitter.NAMESPACE;
 
@@ -35,7 +43,23 @@ public class MetricsAggregator {
     public static final Logger logger = LogManager.getLogger(MetricsAggregator.class);
     protected static final String AGGREGATE_METRICS_FILE = "AggregateMetrics";
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long FILE_TIME_GRANULARITY_MS = 2000;
     private final MetricFactory metricFactory = new MetricFactory(AGGREGATE_METRICS_FILE);
+    @Inject
+    @Getter(AccessLevel.PACKAGE)
+    private InMemoryMetricsStore metricsStore = new InMemoryMetricsStore();
+    private BinaryMetricsLog binaryAggregateLog;
+    private volatile boolean binaryMetricsLogs;
+    // Sketches of the percentiles written to the JSON log since the last publish, which the JSON log does not carry:
+    // aggregation timestamp -> namespace -> metric name -> sketch. They are lost on restart, in which case the
+    // aggregated points are accumulated from their values.
+    private final Map<Long, Map<String, Map<String, MetricSketch>>> jsonLogSketches = new ConcurrentHashMap<>();
+    // Data points in the log files from before this time were written before a restart and are not in memory
+    private final long startedAt = Instant.now().toEpochMilli();
+    // Namespaces of the telemetry log files, and the modification time of the directory when they were read
+    private Set<String> logFileNamespaces;
+    private Path logFileNamespacesDirectory;
+    private FileTime logFileNamespacesModified;
 
     /**
      * Read namespaces from files.
@@ -70,59 +94,24 @@ public class MetricsAggregator {
      * @param currTimestamp timestamp at which the current aggregation is initiated.
      */
     protected void aggregateMetrics(long lastAgg, long currTimestamp) {
-        for (String namespace : getNamespaceSet()) {
+        Set<String> inMemoryNamespaces = new HashSet<>(metricsStore.getNamespaces());
+        Set<String> logFileNamespaces = getLogFileNamespaces();
+        Set<String> namespaces = new HashSet<>(logFileNamespaces);
+        namespaces.addAll(inMemoryNamespaces);
+        for (String namespace : namespaces) {
             AggregatedNamespaceData aggMetrics = new AggregatedNamespaceData();
-            HashMap<String, List<Metric>> metrics = new HashMap<>();
-            // Read from the Telemetry/namespace*.log file.
-            // TODO: [P41214521] Read only those files that are modified after the last aggregation.
-            // file.lastModified() behavior is platform dependent.
-            // filter only files with given namespace that end in ".log"
-            try (Stream<Path> paths = Files
-                    .walk(TelemetryConfig.getTelemetryDirectory())
-                    .filter(Files::isRegularFile)
-                    .filter((path) -> Coerce.toString(path.getFileName()).startsWith(namespace)
-                            && Coerce.toString(path.getFileName()).endsWith(".log"))
-            ) {
-                paths.forEach(path -> {
-                    try (Stream<String> logs = Files.lines(path)) {
-                        logs.forEach((log) -> {
-                            try {
-                                /* {
-                                    "thread": "pool-3-thread-4",
-                                    "level": "TRACE",
-                                    "eventType": null,
-                                    "message": {
-                                        "NS": "SystemMetrics",
-                                        "N": "TotalNumberOfFDs",
-                                        "U": "Count",
-                                        "A": "Average",
-                                        "V": 4583,
-                                        "TS": 1600127641506
-                                    },
-                                    "contexts": {},
-                                    "loggerName": "Metrics-SystemMetrics",
-                                    "timestamp": 1600127641506,
-                                    "cause": null
-                                } */
-                                GreengrassLogMessage egLog = objectMapper.readValue(log,
-                                        GreengrassLogMessage.class);
-                                Metric mdp = objectMapper.readValue(egLog.getMessage(), Metric.class);
-                                // Avoid the metrics that are emitted at/after the currTimestamp and before the
-                                // aggregation interval
-                                if (mdp != null && currTimestamp > mdp.getTimestamp() && mdp.getTimestamp()
-                                        >= lastAgg) {
-                                    metrics.computeIfAbsent(mdp.getName(), k -> new ArrayList<>()).add(mdp);
-                                }
-                            } catch (IOException e) {
-                                logger.atError().cause(e).log("Unable to parse the metric log.");
-                            }
-                        });
-                    } catch (IOException e) {
-                        logger.atError().cause(e).log("Unable to parse the emitted metric log file.");
-                    }
-                });
-            } catch (IOException e) {
-                logger.atError().cause(e).log("Unable to read metric files from the directory");
+            Map<String, MetricAccumulator> metrics;
+            if (inMemoryNamespaces.contains(namespace)) {
+                // Namespaces fed by the periodic emitters are aggregated from memory. Their log files are only read
+                // for the points written before this start, which are not in memory.
+                metrics = new HashMap<>();
+                if (lastAgg < startedAt && logFileNamespaces.contains(namespace)) {
+                    metrics.putAll(readMetricsFromLogFiles(namespace, lastAgg, Math.min(startedAt, currTimestamp)));
+                }
+                metricsStore.drain(namespace, lastAgg, currTimestamp)
+                        .forEach((name, accumulator) -> metrics.merge(name, accumulator, MetricAccumulator::merge));
+            } else {
+                metrics = readMetricsFromLogFiles(namespace, lastAgg, currTimestamp);
             }
 
             // No aggregation if the metrics are empty
@@ -130,13 +119,152 @@ public class MetricsAggregator {
                 aggMetrics.setNamespace(namespace);
                 aggMetrics.setTimestamp(currTimestamp);
                 aggMetrics.setMetrics(doAggregation(metrics));
-                metricFactory.logMetrics(new TelemetryLoggerMessage(aggMetrics));
+                writeAggregatedMetrics(aggMetrics);
+            }
+            if (logFileNamespaces.contains(namespace)) {
+                BinaryMetricsLog.deleteFilesBefore(TelemetryConfig.getTelemetryDirectory(), namespace, lastAgg);
             }
         }
     }
 
     /**
-     * This function takes in the map of metrics with metric name as key and returns a list of metrics with aggregation.
+     * Get the namespaces of the telemetry log files. The directory is only walked again when files were added to or
+     * removed from it, so that namespaces aggregated from memory do not cost a walk on every aggregation.
+     *
+     * @return namespace set
+     */
+    private synchronized Set<String> getLogFileNamespaces() {
+        Path directory = TelemetryConfig.getTelemetryDirectory();
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(directory);
+        } catch (IOException e) {
+            return getNamespaceSet();
+        }
+        if (logFileNamespaces == null || !directory.equals(logFileNamespacesDirectory)
+                || !modified.equals(logFileNamespacesModified)) {
+            long walkStarted = System.currentTimeMillis();
+            logFileNamespaces = getNamespaceSet();
+            logFileNamespacesDirectory = directory;
+            // A file added right after the walk may not change a coarse modification time, so the walk is only
+            // reused once the directory was last modified well before it
+            logFileNamespacesModified = modified.toMillis() < walkStarted - FILE_TIME_GRANULARITY_MS ? modified : null;
+        }
+        return new HashSet<>(logFileNamespaces);
+    }
+
+    /**
+     * Write metrics to the telemetry directory in the compact binary format instead of JSON log events. Files in
+     * either format are read regardless of this setting, so switching it keeps the existing files readable.
+     *
+     * @param binaryMetricsLogs true to write the binary format
+     */
+    void setBinaryMetricsLogs(boolean binaryMetricsLogs) {
+        this.binaryMetricsLogs = binaryMetricsLogs;
+        if (metricsStore != null) {
+            metricsStore.setBinaryLogFiles(binaryMetricsLogs);
+        }
+    }
+
+    private synchronized void writeAggregatedMetrics(AggregatedNamespaceData aggMetrics) {
+        if (!binaryMetricsLogs) {
+            logAggregatedMetrics(aggMetrics);
+            return;
+        }
+        if (binaryAggregateLog == null) {
+            binaryAggregateLog = new BinaryMetricsLog(TelemetryConfig.getTelemetryDirectory(),
+                    AGGREGATE_METRICS_FILE);
+        }
+        try {
+            binaryAggregateLog.append(aggMetrics);
+        } catch (IOException e) {
+            logger.atError().cause(e).log("Unable to write the aggregated metrics, writing them as a log event");
+            logAggregatedMetrics(aggMetrics);
+        }
+    }
+
+    private void logAggregatedMetrics(AggregatedNamespaceData aggMetrics) {
+        for (AggregatedMetric m : aggMetrics.getMetrics()) {
+            if (m.getSketch() != null) {
+                jsonLogSketches.computeIfAbsent(aggMetrics.getTimestamp(), k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(aggMetrics.getNamespace(), k -> new ConcurrentHashMap<>())
+                        .put(m.getName(), m.getSketch());
+            }
+        }
+        metricFactory.logMetrics(new TelemetryLoggerMessage(aggMetrics));
+    }
+
+    private Map<String, MetricAccumulator> readMetricsFromLogFiles(String namespace, long lastAgg,
+                                                                   long currTimestamp) {
+        Map<String, MetricAccumulator> metrics = new HashMap<>();
+        // Read from the Telemetry/namespace*.log file.
+        // TODO: [P41214521] Read only those files that are modified after the last aggregation.
+        // file.lastModified() behavior is platform dependent.
+        // filter only files with given namespace that end in ".log" or are binary metrics files
+        try (Stream<Path> paths = Files
+                .walk(TelemetryConfig.getTelemetryDirectory())
+                .filter(Files::isRegularFile)
+                .filter((path) -> Coerce.toString(path.getFileName()).startsWith(namespace)
+                        && (Coerce.toString(path.getFileName()).endsWith(".log")
+                        || isBinaryMetricsFile(path)))
+        ) {
+            paths.forEach(path -> {
+                if (isBinaryMetricsFile(path)) {
+                    BinaryMetricsLog.read(path, mdp -> {
+                        if (currTimestamp > mdp.getTimestamp() && mdp.getTimestamp() >= lastAgg) {
+                            metrics.computeIfAbsent(mdp.getName(), k -> new MetricAccumulator(mdp,
+                                    metricsStore.getAggregationType(namespace, k))).add(mdp);
+                        }
+                    }, am -> { });
+                    return;
+                }
+                try (Stream<String> logs = Files.lines(path)) {
+                    logs.forEach((log) -> {
+                        try {
+                            /* {
+                                "thread": "pool-3-thread-4",
+                                "level": "TRACE",
+                                "eventType": null,
+                                "message": {
+                                    "NS": "SystemMetrics",
+                                    "N": "TotalNumberOfFDs",
+                                    "U": "Count",
+                                    "A": "Average",
+                                    "V": 4583,
+                                    "TS": 1600127641506
+                                },
+                                "contexts": {},
+                                "loggerName": "Metrics-SystemMetrics",
+                                "timestamp": 1600127641506,
+                                "cause": null
+                            } */
+                            GreengrassLogMessage egLog = objectMapper.readValue(log,
+                                    GreengrassLogMessage.class);
+                            Metric mdp = objectMapper.readValue(egLog.getMessage(), Metric.class);
+                            // Avoid the metrics that are emitted at/after the currTimestamp and before the
+                            // aggregation interval
+                            if (mdp != null && currTimestamp > mdp.getTimestamp() && mdp.getTimestamp()
+                                    >= lastAgg) {
+                                metrics.computeIfAbsent(mdp.getName(), k -> new MetricAccumulator(mdp,
+                                        metricsStore.getAggregationType(namespace, k))).add(mdp);
+                            }
+                        } catch (IOException e) {
+                            logger.atError().cause(e).log("Unable to parse the metric log.");
+                        }
+                    });
+                } catch (IOException e) {
+                    logger.atError().cause(e).log("Unable to parse the emitted metric log file.");
+                }
+            });
+        } catch (IOException e) {
+            logger.atError().cause(e).log("Unable to read metric files from the directory");
+        }
+        return metrics;
+    }
+
+    /**
+     * This function takes in the map of streaming aggregations with metric name as key and returns a list of metrics
+     * with aggregation. Aggregated percentiles keep the sketch of their data points.
      * Example:
      * Input:
      * NumOfComponentsInstalled
@@ -149,26 +277,23 @@ public class MetricsAggregator {
      * |___N -  NumOfComponentsInstalled,Average - 12.5,U - Count
      * |___N -  NumOfComponentsBroken,Average - 15,U - Count
      *
-     * @param map metric name -> metric
+     * @param map metric name -> aggregation of its data points
      * @return a list of {@link AggregatedMetric}
      */
-    private List<AggregatedMetric> doAggregation(Map<String, List<Metric>> map) {
+    private List<AggregatedMetric> doAggregation(Map<String, MetricAccumulator> map) {
         List<AggregatedMetric> aggMetrics = new ArrayList<>();
-        for (Map.Entry<String, List<Metric>> metric : map.entrySet()) {
-            String metricName = metric.getKey();
-            List<Metric> metrics = metric.getValue();
-            String aggregationType = Coerce.toString(metrics.get(0).getAggregation());
-            List<Double> values = new ArrayList<>();
-            for (Metric m : metrics) {
-                values.add(Coerce.toDouble(m.getValue()));
-            }
-            double aggregation = values.isEmpty() ? 0 : getAggregatedValue(values, aggregationType);
+        for (Map.Entry<String, MetricAccumulator> metric : map.entrySet()) {
+            MetricAccumulator accumulator = metric.getValue();
+            String aggregationType = accumulator.getAggregationType();
             Map<String, Object> value = new HashMap<>();
-            value.put(aggregationType, aggregation);
+            value.put(aggregationType, getAggregatedValue(accumulator.getSketch(), aggregationType));
+            // Other aggregations are accumulated over the publish interval from their aggregated values
+            AggregationType type = AggregationType.fromString(aggregationType);
             AggregatedMetric m = AggregatedMetric.builder()
-                    .name(metricName)
-                    .unit(String.valueOf(metrics.get(0).getUnit()))
+                    .name(metric.getKey())
+                    .unit(accumulator.getUnit())
                     .value(value)
+                    .sketch(type != null && type.isQuantile() ? accumulator.getSketch() : null)
                     .build();
             aggMetrics.add(m);
         }
@@ -193,6 +318,14 @@ public class MetricsAggregator {
                 .filter(Files::isRegularFile)
                 .filter((path) -> Coerce.toString(path.getFileName()).startsWith(AGGREGATE_METRICS_FILE))) {
             paths.forEach(path -> {
+                if (isBinaryMetricsFile(path)) {
+                    BinaryMetricsLog.read(path, mdp -> { }, am -> {
+                        if (currTimestamp > am.getTimestamp() && am.getTimestamp() >= lastPublish) {
+                            aggUploadMetrics.computeIfAbsent(currTimestamp, k -> new ArrayList<>()).add(am);
+                        }
+                    });
+                    return;
+                }
                 try (Stream<String> logs = Files.lines(path)) {
                     logs.forEach(log -> {
                         try {
@@ -220,6 +353,7 @@ public class MetricsAggregator {
                             // Avoid the metrics that are aggregated at/after the currTimestamp and before the
                             // upload interval
                             if (am != null && currTimestamp > am.getTimestamp() && am.getTimestamp() >= lastPublish) {
+                                addJsonLogSketches(am);
                                 aggUploadMetrics.computeIfAbsent(currTimestamp, k -> new ArrayList<>()).add(am);
                             }
                         } catch (JsonProcessingException e) {
@@ -233,6 +367,9 @@ public class MetricsAggregator {
         } catch (IOException e) {
             logger.atError().cause(e).log("Unable to read the aggregated metric files from the directory");
         }
+        BinaryMetricsLog.deleteFilesBefore(TelemetryConfig.getTelemetryDirectory(), AGGREGATE_METRICS_FILE,
+                lastPublish);
+        jsonLogSketches.keySet().removeIf(timestamp -> timestamp < currTimestamp);
 
         // If there are no metrics to be published, then we should return and not publish any telemetry messages.
         if (!aggUploadMetrics.isEmpty()) {
@@ -249,7 +386,9 @@ public class MetricsAggregator {
             // The following code changes any aggregation type of the metrics to "Sum" only in the final result to keep
             // it compatible with v1 and UATs for now. However, metrics are still defined and aggregated with on their
             // own aggregation type.
+            // The sketches are only needed to accumulate the aggregated points and are not published.
             aggUploadMetrics.forEach((k, v) -> v.forEach(nsd -> nsd.getMetrics().forEach(m -> {
+                m.setSketch(null);
                 Map<String, Object> value = new HashMap<>();
                 m.getValue().values().forEach((val) -> {
                     value.put("Sum", val);
@@ -277,6 +416,18 @@ public class MetricsAggregator {
         return aggUploadMetrics;
     }
 
+    private void addJsonLogSketches(AggregatedNamespaceData am) {
+        Map<String, MetricSketch> sketches =
+                jsonLogSketches.getOrDefault(am.getTimestamp(), Collections.emptyMap()).get(am.getNamespace());
+        if (sketches != null) {
+            am.getMetrics().forEach(m -> m.setSketch(sketches.get(m.getName())));
+        }
+    }
+
+    private static boolean isBinaryMetricsFile(Path path) {
+        return Coerce.toString(path.getFileName()).endsWith(BinaryMetricsLog.FILE_EXTENSION);
+    }
+
     @SuppressWarnings("PMD.DoubleBraceInitialization")
     protected List<AggregatedMetric> getKernelAndOSMetrics() {
         List<AggregatedMetric> kernelAndOSMetrics = new ArrayList<>();
@@ -293,7 +444,8 @@ public class MetricsAggregator {
 
     /**
      * This function takes a list of aggregated metrics and returns their aggregation in a list(Aggregation of
-     * aggregated metrics). This is published to the cloud along with the aggregated metric points
+     * aggregated metrics). This is published to the cloud along with the aggregated metric points. Namespaces other
+     * than GreengrassComponents are only accumulated for their percentiles, from the merged sketches.
      * Example:
      * Input:
      * TS:123456
@@ -316,7 +468,9 @@ public class MetricsAggregator {
     private List<AggregatedNamespaceData> getAggForThePublishInterval(List<AggregatedNamespaceData> aggList,
                                                                       long currTimestamp) {
         List<AggregatedNamespaceData> list = new ArrayList<>();
-        for (String namespace : getNamespaceSet()) {
+        Set<String> namespaces = aggList.stream().map(AggregatedNamespaceData::getNamespace)
+                .collect(Collectors.toSet());
+        for (String namespace : namespaces) {
             HashMap<String, List<AggregatedMetric>> metrics = new HashMap<>();
             AggregatedNamespaceData newAgg = new AggregatedNamespaceData();
             for (AggregatedNamespaceData am : aggList) {
@@ -326,9 +480,14 @@ public class MetricsAggregator {
                     }
                 }
             }
-            // Only accumulate the aggregated data points if the namespace is GreengrassComponents.
+            // Only accumulate all the aggregated data points if the namespace is GreengrassComponents. Other
+            // namespaces only get the percentiles which have the sketches of all their points, since a percentile
+            // cannot be accumulated from the aggregated values.
+            if (!KernelMetricsEmitter.NAMESPACE.equals(namespace)) {
+                metrics.values().removeIf(points -> points.stream().anyMatch(m -> m.getSketch() == null));
+            }
             // No aggregation if the metrics are empty.
-            if (!metrics.isEmpty() && KernelMetricsEmitter.NAMESPACE.equals(namespace)) {
+            if (!metrics.isEmpty()) {
                 newAgg.setNamespace(namespace);
                 newAgg.setTimestamp(currTimestamp);
                 newAgg.setMetrics(doAggregationForPublish(metrics));
@@ -361,11 +520,29 @@ public class MetricsAggregator {
         List<AggregatedMetric> aggMetrics = new ArrayList<>();
         for (Map.Entry<String, List<AggregatedMetric>> metric : map.entrySet()) {
             List<AggregatedMetric> metrics = metric.getValue();
-            List<Double> values = new ArrayList<>();
+            // Merge the sketches of the aggregated points so that the accumulated point is computed over all the data
+            // points of the publish interval. Points aggregated without a sketch are accumulated from their values.
+            MetricSketch merged = new MetricSketch();
+            boolean allSketched = true;
+            for (AggregatedMetric m : metrics) {
+                if (m.getSketch() == null) {
+                    allSketched = false;
+                    break;
+                }
+                merged.merge(m.getSketch());
+            }
+            boolean sketched = allSketched;
             metrics.get(0).getValue().forEach((aggType, aggValue) -> {
-                metrics.forEach((v) -> values.add(Coerce.toDouble(v.getValue().get(aggType))));
+                double aggregation;
+                if (sketched) {
+                    aggregation = getAggregatedValue(merged, aggType);
+                } else {
+                    List<Double> values = new ArrayList<>();
+                    metrics.forEach((v) -> values.add(Coerce.toDouble(v.getValue().get(aggType))));
+                    aggregation = values.isEmpty() ? 0 : getAggregatedValue(values, aggType);
+                }
                 Map<String, Object> value = new HashMap<>();
-                value.put(aggType, values.isEmpty() ? 0 : getAggregatedValue(values, aggType));
+                value.put(aggType, aggregation);
                 AggregatedMetric m = AggregatedMetric.builder()
                         .name(metric.getKey())
                         .unit(metrics.get(0).getUnit())
@@ -377,36 +554,32 @@ public class MetricsAggregator {
         return aggMetrics;
     }
 
+    /**
+     * This method gets the aggregated value from the sketch of all the data points.
+     *
+     * @param sketch          sketch of the data points
+     * @param aggregationType string value of {@link AggregationType}
+     * @return returns an aggregated value for all the data points.
+     */
+    private double getAggregatedValue(MetricSketch sketch, String aggregationType) {
+        AggregationType type = AggregationType.fromString(aggregationType);
+        if (type == null) {
+            logger.atError().log("Unknown aggregation type: {}", aggregationType);
+            return 0;
+        }
+        return type.valueOf(sketch);
+    }
+
     /**
      * This method performs aggregation on the list of values of the metrics.
      *
      * @param values          list of the values extracted from the metrics
-     * @param aggregationType string value of {@link com.aws.greengrass.telemetry.models.TelemetryAggregation}
+     * @param aggregationType string value of {@link AggregationType}
      * @return returns an aggregated value for the entire list.
      */
     private double getAggregatedValue(List<Double> values, String aggregationType) {
-        double aggregation = 0;
-        switch (aggregationType) {
-            case "Average":
-                aggregation = values.stream().mapToDouble(Coerce::toDouble).sum();
-                if (!values.isEmpty()) {
-                    aggregation = aggregation / values.size();
-                }
-                break;
-            case "Sum":
-                aggregation = values.stream().mapToDouble(Coerce::toDouble).sum();
-                break;
-            case "Maximum":
-                aggregation = values.stream().mapToDouble(Coerce::toDouble).max().getAsDouble();
-                break;
-            case "Minimum":
-                aggregation = values.stream().mapToDouble(Coerce::toDouble).min().getAsDouble();
-                break;
-            default:
-                logger.atError().log("Unknown aggregation type: {}", aggregationType);
-                break;
-        }
-        return aggregation;
+        MetricSketch sketch = new MetricSketch();
+        values.forEach(sketch::add);
+        return getAggregatedValue(sketch, aggregationType);
     }
 }
-
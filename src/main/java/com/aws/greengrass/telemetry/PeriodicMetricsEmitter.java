@@ -9,9 +9,14 @@ import com.aws.greengrass.telemetry.impl.Metric;
 
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public abstract class PeriodicMetricsEmitter {
     protected ScheduledFuture<?> future;
+    // Set by the telemetry agent, the namespaces of the data points are then aggregated from the store only
+    private volatile InMemoryMetricsStore metricsStore;
+    private volatile BooleanSupplier writeToLogFile = () -> false;
 
     /**
      * This method will be scheduled to run. So this method typically assigns values to the metrics and emit them.
@@ -23,4 +28,43 @@ public abstract class PeriodicMetricsEmitter {
      * This method can be called on demand. So this method typically returns raw metric data.
      */
     public abstract List<Metric> getMetrics();
+
+    /**
+     * Aggregation to use for a metric in place of the one set on it. This is how an emitter asks for aggregations
+     * which {@link com.aws.greengrass.telemetry.models.TelemetryAggregation} does not have, such as percentiles.
+     *
+     * @param metric metric emitted by this emitter
+     * @return aggregation type, or null to use the one set on the metric
+     */
+    public AggregationType getAggregationType(Metric metric) {
+        return null;
+    }
+
+    /**
+     * Record the data points of {@link #emit} in a metrics store instead of writing them to the log files.
+     *
+     * @param metricsStore   store the aggregator reads from
+     * @param writeToLogFile whether the store also writes the data points to the log files
+     */
+    void recordTo(InMemoryMetricsStore metricsStore, BooleanSupplier writeToLogFile) {
+        this.writeToLogFile = writeToLogFile;
+        this.metricsStore = metricsStore;
+    }
+
+    /**
+     * Emit data points, typically from {@link #emitMetrics()}. They are recorded in the metrics store of the telemetry
+     * agent, which is the only source the aggregator reads their namespaces from, or written with the given metric
+     * factory when the emitter is not registered with one.
+     *
+     * @param dataPoints     data points
+     * @param writeToLogFile writes a data point to the telemetry log file of its namespace
+     */
+    protected void emit(List<Metric> dataPoints, Consumer<Metric> writeToLogFile) {
+        InMemoryMetricsStore store = metricsStore;
+        if (store == null) {
+            dataPoints.forEach(writeToLogFile);
+            return;
+        }
+        store.record(dataPoints, this::getAggregationType, this.writeToLogFile.getAsBoolean());
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+/**
+ * Turns point in time copies of cumulative counters into the activity since the previous emit, for periodic emitters
+ * which keep counters per component. Keys which are not seen during an emit are forgotten at its end, so that removed
+ * components do not stay in memory.
+ *
+ * @param <K> key, such as the component name
+ * @param <S> snapshot of the counters of a key
+ */
+public class SnapshotDeltas<K, S> {
+    private final S empty;
+    private final BinaryOperator<S> minus;
+    private Map<K, S> previous = new HashMap<>();
+    private Map<K, S> seen = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param empty snapshot of counters which were never incremented
+     * @param minus returns the first snapshot minus the earlier second one
+     */
+    public SnapshotDeltas(S empty, BinaryOperator<S> minus) {
+        this.empty = empty;
+        this.minus = minus;
+    }
+
+    /**
+     * Get the activity of a key since the previous emit.
+     *
+     * @param key      key
+     * @param snapshot current snapshot of its counters
+     * @return snapshot minus the one passed for the key during the previous emit
+     */
+    public S delta(K key, S snapshot) {
+        seen.put(key, snapshot);
+        return minus.apply(snapshot, previous.getOrDefault(key, empty));
+    }
+
+    /**
+     * End the current emit, forgetting the keys which were not passed to {@link #delta} during it.
+     */
+    public void endEmit() {
+        previous = seen;
+        seen = new HashMap<>();
+    }
+}
@@ -34,10 +34,7 @@ public class SystemMetricsEmitter extends PeriodicMetricsEmitter {
      */
     @Override
     public void emitMetrics() {
-        List<Metric> retrievedMetrics = getMetrics();
-        for (Metric retrievedMetric : retrievedMetrics) {
-            mf.putMetricData(retrievedMetric);
-        }
+        emit(getMetrics(), mf::putMetricData);
     }
 
     /**
@@ -9,6 +9,8 @@ import com.aws.greengrass.config.Topic;
 import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.dependency.ImplementsService;
 import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.ipc.IPCMetricsEmitter;
+import com.aws.greengrass.lifecyclemanager.ComponentProcessMetricsEmitter;
 import com.aws.greengrass.lifecyclemanager.GreengrassService;
 import com.aws.greengrass.lifecyclemanager.KernelMetricsEmitter;
 import com.aws.greengrass.mqttclient.MqttClient;
@@ -93,14 +95,18 @@ public class TelemetryAgent extends GreengrassService {
      * @param ma                  {@link MetricsAggregator}
      * @param sme                 {@link SystemMetricsEmitter}
      * @param kme                 {@link KernelMetricsEmitter}
+     * @param ime                 {@link IPCMetricsEmitter}
+     * @param cpme                {@link ComponentProcessMetricsEmitter}
      * @param ses                 {@link ScheduledExecutorService}
      * @param executorService     {@link ExecutorService}
      */
     @Inject
+    @SuppressWarnings("PMD.ExcessiveParameterList")
     public TelemetryAgent(Topics topics, MqttClient mqttClient, DeviceConfiguration deviceConfiguration,
                           MetricsAggregator ma, SystemMetricsEmitter sme, KernelMetricsEmitter kme,
-                          ScheduledExecutorService ses, ExecutorService executorService) {
-        this(topics, mqttClient, deviceConfiguration, ma, sme, kme, ses, executorService,
+                          IPCMetricsEmitter ime, ComponentProcessMetricsEmitter cpme, ScheduledExecutorService ses,
+                          ExecutorService executorService) {
+        this(topics, mqttClient, deviceConfiguration, ma, sme, kme, ime, cpme, ses, executorService,
                 DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC, DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC);
     }
 
@@ -113,6 +119,8 @@ public class TelemetryAgent extends GreengrassService {
      * @param ma                                  {@link MetricsAggregator}
      * @param sme                                 {@link SystemMetricsEmitter}
      * @param kme                                 {@link KernelMetricsEmitter}
+     * @param ime                                 {@link IPCMetricsEmitter}
+     * @param cpme                                {@link ComponentProcessMetricsEmitter}
      * @param ses                                 {@link ScheduledExecutorService}
      * @param executorService                     {@link ExecutorService}
      * @param periodicPublishMetricsIntervalSec   interval for cadence based telemetry publish.
@@ -120,9 +128,9 @@ public class TelemetryAgent extends GreengrassService {
      */
     @SuppressWarnings("PMD.ExcessiveParameterList")
     TelemetryAgent(Topics topics, MqttClient mqttClient, DeviceConfiguration deviceConfiguration,
-                   MetricsAggregator ma, SystemMetricsEmitter sme, KernelMetricsEmitter kme,
-                   ScheduledExecutorService ses, ExecutorService executorService, int periodicPublishMetricsIntervalSec,
-                   int periodicAggregateMetricsIntervalSec) {
+                   MetricsAggregator ma, SystemMetricsEmitter sme, KernelMetricsEmitter kme, IPCMetricsEmitter ime,
+                   ComponentProcessMetricsEmitter cpme, ScheduledExecutorService ses, ExecutorService executorService,
+                   int periodicPublishMetricsIntervalSec, int periodicAggregateMetricsIntervalSec) {
         super(topics);
         this.mqttClient = mqttClient;
         this.publisher = new MqttChunkedPayloadPublisher<>(this.mqttClient);
@@ -142,6 +150,13 @@ public class TelemetryAgent extends GreengrassService {
                 .build());
         periodicMetricsEmitters.add(sme);
         periodicMetricsEmitters.add(kme);
+        periodicMetricsEmitters.add(ime);
+        periodicMetricsEmitters.add(cpme);
+        InMemoryMetricsStore metricsStore = ma.getMetricsStore();
+        if (metricsStore != null) {
+            periodicMetricsEmitters.forEach(emitter -> emitter.recordTo(metricsStore,
+                    () -> currentConfiguration.get().isPersistRawMetrics()));
+        }
         getPeriodicAggregateTimeTopic();
         getPeriodicPublishTimeTopic();
         schedulePeriodicAggregateMetrics(false);
@@ -329,6 +344,8 @@ public class TelemetryAgent extends GreengrassService {
             cancelAllJobs();
         }
         currentConfiguration.set(newTelemetryConfiguration);
+        metricsAggregator.setBinaryMetricsLogs(newTelemetryConfiguration.isBinaryMetricsLogs());
+        publisher.setCompressPayloads(newTelemetryConfiguration.isCompressPayloads());
         if (aggregateMetricsIntervalSecChanged) {
             schedulePeriodicAggregateMetrics(true);
         }
@@ -346,13 +363,10 @@ public class TelemetryAgent extends GreengrassService {
 
     private void setPeriodicPublishMetricsIntervalAndScheduleTask(int defaultValue) {
         TelemetryConfiguration telemetryConfiguration = currentConfiguration.get();
-        currentConfiguration.set(TelemetryConfiguration.builder()
+        currentConfiguration.set(telemetryConfiguration.toBuilder()
                 .periodicPublishMetricsIntervalSeconds(TestFeatureParameters
                         .retrieveWithDefault(Double.class, TELEMETRY_TEST_PERIODIC_PUBLISH_INTERVAL_SEC, defaultValue)
                         .intValue())
-                .periodicAggregateMetricsIntervalSeconds(telemetryConfiguration
-                        .getPeriodicAggregateMetricsIntervalSeconds())
-                .enabled(telemetryConfiguration.isEnabled())
                 .build());
         try (LockScope ls = LockScope.lock(periodicPublishMetricsInProgressLock)) {
             if (periodicPublishMetricsFuture != null && telemetryConfiguration.isEnabled()) {
@@ -363,13 +377,10 @@ public class TelemetryAgent extends GreengrassService {
 
     private void setPeriodicAggregateMetricsIntervalAndSchedule(int defaultValue) {
         TelemetryConfiguration telemetryConfiguration = currentConfiguration.get();
-        currentConfiguration.set(TelemetryConfiguration.builder()
+        currentConfiguration.set(telemetryConfiguration.toBuilder()
                 .periodicAggregateMetricsIntervalSeconds(TestFeatureParameters
                         .retrieveWithDefault(Double.class, TELEMETRY_TEST_PERIODIC_AGGREGATE_INTERVAL_SEC, defaultValue)
                         .intValue())
-                .periodicPublishMetricsIntervalSeconds(telemetryConfiguration
-                        .getPeriodicPublishMetricsIntervalSeconds())
-                .enabled(telemetryConfiguration.isEnabled())
                 .build());
 
         try (LockScope ls = LockScope.lock(periodicAggregateMetricsInProgressLock)) {
@@ -18,7 +18,7 @@ import static com.aws.greengrass.telemetry.TelemetryAgent.TELEMETRY_TEST_PERIODI
 import static com.aws.greengrass.telemetry.TelemetryAgent.TELEMETRY_TEST_PERIODIC_PUBLISH_INTERVAL_SEC;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class TelemetryConfiguration {
 
     @Builder.Default
@@ -27,6 +27,12 @@ public class TelemetryConfiguration {
     int periodicAggregateMetricsIntervalSeconds = DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC;
     @Builder.Default
     int periodicPublishMetricsIntervalSeconds = DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC;
+    // Also write the raw data points of the periodic emitters to the telemetry log files
+    boolean persistRawMetrics;
+    // Write metrics to the telemetry directory in the compact binary format instead of JSON log events
+    boolean binaryMetricsLogs;
+    // Deflate the published payloads, only applied when connected with MQTT 5
+    boolean compressPayloads;
 
     /**
      * Get the telemetry configuration from the POJO map.
@@ -37,6 +43,9 @@ public class TelemetryConfiguration {
         int periodicAggregateMetricsIntervalSec = DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC;
         int periodicPublishMetricsIntervalSec = DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC;
         boolean isEnabled = true;
+        boolean persistRawMetrics = false;
+        boolean binaryMetricsLogs = false;
+        boolean compressPayloads = false;
         for (Map.Entry<String, Object> entry : pojo.entrySet()) {
             switch (entry.getKey()) {
                 case "enabled":
@@ -60,6 +69,15 @@ public class TelemetryConfiguration {
                     }
                     periodicPublishMetricsIntervalSec = newPeriodicPublishMetricsIntervalSec;
                     break;
+                case "persistRawMetrics":
+                    persistRawMetrics = Coerce.toBoolean(entry.getValue());
+                    break;
+                case "binaryMetricsLogs":
+                    binaryMetricsLogs = Coerce.toBoolean(entry.getValue());
+                    break;
+                case "compressPayloads":
+                    compressPayloads = Coerce.toBoolean(entry.getValue());
+                    break;
                 default:
                     break;
             }
@@ -74,6 +92,9 @@ public class TelemetryConfiguration {
                 .enabled(isEnabled)
                 .periodicAggregateMetricsIntervalSeconds(periodicAggregateMetricsIntervalSec)
                 .periodicPublishMetricsIntervalSeconds(periodicPublishMetricsIntervalSec)
+                .persistRawMetrics(persistRawMetrics)
+                .binaryMetricsLogs(binaryMetricsLogs)
+                .compressPayloads(compressPayloads)
                 .build();
     }
 }
@@ -8,7 +8,14 @@ package com.aws.greengrass.util;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class DependencyOrder<T> {
@@ -20,7 +27,10 @@ public class DependencyOrder<T> {
     }
 
     /**
-     * Resolve the inter-dependency order within a given set of elements.
+     * Resolve the inter-dependency order within a given set of elements, with Kahn's algorithm so that the time is
+     * linear in the number of elements and dependencies. Elements are ordered by the round in which their last
+     * dependency was resolved, and by their order in the given set within a round. Resolved elements are removed from
+     * the given set, so only the elements which are part of or depend on a cycle are left in it.
      *
      * @param pendingDependencies a set of inter-dependent elements
      * @param dependencyGetter function to get all dependency elements of the given element
@@ -30,22 +40,36 @@ public class DependencyOrder<T> {
     public LinkedHashSet<T> computeOrderedDependencies(Set<T> pendingDependencies,
                                                        DependencyGetter<T> dependencyGetter) {
         final LinkedHashSet<T> dependencyFound = new LinkedHashSet<>();
-        while (!pendingDependencies.isEmpty()) {
-            int sz = pendingDependencies.size();
-            pendingDependencies.removeIf(pendingService -> {
-                if (dependencyFound.containsAll(dependencyGetter.getDependencies(pendingService))) {
-                    dependencyFound.add(pendingService);
-                    return true;
+        // number of dependencies which are not resolved yet, and reverse edges
+        Map<T, Integer> unresolved = new HashMap<>();
+        Map<T, List<T>> dependers = new HashMap<>();
+        Deque<T> resolvable = new ArrayDeque<>();
+        for (T pending : pendingDependencies) {
+            Set<T> dependencies = dependencyGetter.getDependencies(pending);
+            // A dependency outside of the given set is never resolved, like one in a cycle
+            unresolved.put(pending, dependencies.size());
+            for (T dependency : dependencies) {
+                dependers.computeIfAbsent(dependency, k -> new ArrayList<>()).add(pending);
+            }
+            if (dependencies.isEmpty()) {
+                resolvable.add(pending);
+            }
+        }
+        while (!resolvable.isEmpty()) {
+            T resolved = resolvable.poll();
+            dependencyFound.add(resolved);
+            for (T depender : dependers.getOrDefault(resolved, Collections.emptyList())) {
+                if (unresolved.merge(depender, -1, Integer::sum) == 0) {
+                    resolvable.add(depender);
                 }
-                return false;
-            });
-            if (sz == pendingDependencies.size()) {
-                // didn't find anything to remove, there must be a cycle
-                logger.atError().kv("pendingItems", pendingDependencies).log(
-                        "Found potential circular dependencies. Ignoring all pending items");
-                break;
             }
         }
+        pendingDependencies.removeIf(dependencyFound::contains);
+        if (!pendingDependencies.isEmpty()) {
+            // didn't find anything to remove, there must be a cycle
+            logger.atError().kv("pendingItems", pendingDependencies).log(
+                    "Found potential circular dependencies. Ignoring all pending items");
+        }
         return dependencyFound;
     }
 }
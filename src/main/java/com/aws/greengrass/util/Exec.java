@@ -10,15 +10,10 @@ import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.platforms.Platform;
 import com.aws.greengrass.util.platforms.ShellDecorator;
 import com.aws.greengrass.util.platforms.UserDecorator;
-import lombok.Getter;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -80,7 +75,7 @@ public abstract class Exec implements Closeable {
     private IntConsumer whenDone;
     private Consumer<CharSequence> stdout = NOP;
     private Consumer<CharSequence> stderr = NOP;
-    private AtomicInteger numberOfCopiers;
+    private AtomicInteger numberOfOpenStreams;
     protected String[] cmds;
 
     protected ShellDecorator shellDecorator;
@@ -89,8 +84,8 @@ public abstract class Exec implements Closeable {
     protected File dir = userdir;
     private long timeout = -1;
     private TimeUnit timeunit = TimeUnit.SECONDS;
-    private Copier stderrc;
-    private Copier stdoutc;
+    private ProcessOutputPump.PumpedStream stderrc;
+    private ProcessOutputPump.PumpedStream stdoutc;
     protected Duration gracefulShutdownTimeout = Duration.ofSeconds(5);
 
     public static void setDefaultEnv(String key, String value) {
@@ -318,10 +313,10 @@ public abstract class Exec implements Closeable {
             process.getOutputStream().close();
         }
 
-        stderrc = new Copier(process.getErrorStream(), stderr);
-        stdoutc = new Copier(process.getInputStream(), stdout);
-        stderrc.start();
-        stdoutc.start();
+        // Output is sent to the consumers by threads pooled across processes
+        numberOfOpenStreams = new AtomicInteger(2);
+        stderrc = ProcessOutputPump.INSTANCE.pump(process.getErrorStream(), stderr, this::streamClosed);
+        stdoutc = ProcessOutputPump.INSTANCE.pump(process.getInputStream(), stdout, this::streamClosed);
         if (whenDone == null) {
             try {
                 if (timeout < 0) {
@@ -415,74 +410,13 @@ public abstract class Exec implements Closeable {
         return Utils.deepToString(cmds, 90).toString();
     }
 
-    /**
-     * Sends the lines of an InputStream to a consumer in the background.
-     */
-    @SuppressWarnings("PMD.AvoidCatchingThrowable")
-    private class Copier extends Thread {
-        private final Consumer<CharSequence> out;
-        private final InputStream in;
-        @Getter
-        private int nlines = 0;
-
-        Copier(InputStream i, Consumer<CharSequence> s) {
-            super("Copier");
-            in = i;
-            out = s;
-            // Set as a daemon thread so that it dies when the main thread exits
-            setDaemon(true);
-            if (whenDone != null) {
-                if (numberOfCopiers == null) {
-                    numberOfCopiers = new AtomicInteger(1);
-                } else {
-                    numberOfCopiers.incrementAndGet();
-                }
-            }
-        }
-
-        @Override
-        public void run() {
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 200)) {
-                StringBuilder sb = new StringBuilder();
-                boolean cr = false;
-                while (true) {
-                    int c;
-                    for (c = br.read(); c >= 0 && c != '\n' && c != '\r'; c = br.read()) {
-                        sb.append((char) c);
-                        cr = false;
-                    }
-
-                    // Append a newline to our builder if we get \n or if we are seeing \r for the first time.
-                    // This prevents \r\n from causing 2 lines to be logged.
-                    // If cr is true and we see another \r, we will append a newline (\r\r is 2 lines).
-                    if (c >= 0 && !cr || c == '\r') {
-                        // Split on cr too, this protects us from having crazy long lines from a console application
-                        // which is using \r to rewrite the last line, ex updating download status.
-                        if (c == '\r') {
-                            cr = true;
-                        }
-                        sb.append('\n');
-                        nlines++;
-                    }
-                    if (out != null && sb.length() > 0) {
-                        out.accept(sb);
-                    }
-                    sb.setLength(0);
-                    if (c < 0) {
-                        break;
-                    }
-                }
-            } catch (Throwable ignore) {
-                // nothing that can go wrong here worries us, they're
-                // all EOFs
-            }
-            if (whenDone != null && numberOfCopiers.decrementAndGet() <= 0) {
-                try {
-                    process.waitFor();
-                    setClosed();
-                } catch (InterruptedException ignore) {
-                    // Ignore as this thread is done running anyway and will exit
-                }
+    private void streamClosed() {
+        if (whenDone != null && numberOfOpenStreams.decrementAndGet() <= 0) {
+            try {
+                process.waitFor();
+                setClosed();
+            } catch (InterruptedException ignore) {
+                // Ignore as this thread is done running anyway and will exit
             }
         }
     }
@@ -9,24 +9,39 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.PublishRequest;
+import com.aws.greengrass.mqttclient.v5.UserProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Setter;
 import software.amazon.awssdk.crt.mqtt.QualityOfService;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.Deflater;
 
 public class MqttChunkedPayloadPublisher<T> {
+    public static final String CONTENT_TYPE_JSON = "application/json";
+    public static final String CONTENT_ENCODING_KEY = "content-encoding";
+    public static final String CONTENT_ENCODING_DEFLATE = "deflate";
     private static final Logger logger = LogManager.getLogger(MqttChunkedPayloadPublisher.class);
     private static final String topicKey = "topic";
     private static final ObjectMapper SERIALIZER = new ObjectMapper();
+    private static final List<UserProperty> DEFLATE_USER_PROPERTIES =
+            Collections.singletonList(new UserProperty(CONTENT_ENCODING_KEY, CONTENT_ENCODING_DEFLATE));
     private final MqttClient mqttClient;
     @Setter
     private String updateTopic;
     @Setter
     private int maxPayloadLengthBytes;
+    /**
+     * Deflate (zlib format) each chunk and mark it with a content-encoding user property. Only applied when
+     * connected with MQTT 5, since MQTT 3.1.1 has no way to tell the receiver that the payload is compressed.
+     */
+    @Setter
+    private volatile boolean compressPayloads;
 
     public MqttChunkedPayloadPublisher(MqttClient mqttClient) {
         this.mqttClient = mqttClient;
@@ -37,17 +52,21 @@ public class MqttChunkedPayloadPublisher<T> {
      *
      * @param chunkablePayload The common object payload included in all the messages
      * @param variablePayloads The variable objects in the payload to chunk
+     * @return future completed once every message was accepted by the MQTT client, or failed if the payload was
+     *         dropped or a message could not be published
      */
-    public void publish(Chunkable<T> chunkablePayload, List<T> variablePayloads) {
+    public CompletableFuture<Void> publish(Chunkable<T> chunkablePayload, List<T> variablePayloads) {
+        boolean compress = compressPayloads && mqttClient.isMqtt5();
         // reserve enough space for chunk info
         chunkablePayload.setChunkInfo(Integer.MAX_VALUE, Integer.MAX_VALUE);
         int payloadCommonInformationSize;
         try {
-            payloadCommonInformationSize = SERIALIZER.writeValueAsBytes(chunkablePayload).length;
+            byte[] commonInformation = SERIALIZER.writeValueAsBytes(chunkablePayload);
+            payloadCommonInformationSize = compress ? deflate(commonInformation).length : commonInformation.length;
         } catch (JsonProcessingException e) {
             logger.atError().cause(e).kv(topicKey, updateTopic)
                     .log("Unable to write common payload as bytes. Dropping the message");
-            return;
+            return failed(e);
         }
 
         // if common info already exceeds limit, drop the publish request
@@ -55,33 +74,51 @@ public class MqttChunkedPayloadPublisher<T> {
             logger.atError().kv(topicKey, updateTopic).log("Failed to publish payload via "
                     + "MqttChunkedPayloadPublisher because the common information payload size "
                     + "exceeded the max limit allowed");
-            return;
+            return failed(new IllegalArgumentException("Common information payload size exceeds the max limit"));
         }
 
         // chunk variable payloads into multiple lists conforming to limit
-        List<List<T>> chunkedVariablePayloadList = chunkVariablePayloads(chunkablePayload, variablePayloads);
+        List<List<T>> chunkedVariablePayloadList = compress
+                ? chunkCompressedVariablePayloads(chunkablePayload, variablePayloads)
+                : chunkVariablePayloads(chunkablePayload, variablePayloads, maxPayloadLengthBytes);
 
+        List<CompletableFuture<Integer>> published = new ArrayList<>(chunkedVariablePayloadList.size());
         for (int i = 0; i < chunkedVariablePayloadList.size(); i++) {
             chunkablePayload.setVariablePayload(chunkedVariablePayloadList.get(i));
             chunkablePayload.setChunkInfo(i + 1, chunkedVariablePayloadList.size());
             try {
                 byte[] payloadInBytes = SERIALIZER.writeValueAsBytes(chunkablePayload);
-                this.mqttClient.publish(PublishRequest.builder()
+                PublishRequest.PublishRequestBuilder request = PublishRequest.builder()
                         .qos(QualityOfService.AT_LEAST_ONCE)
-                        .topic(this.updateTopic)
-                        .payload(payloadInBytes).build())
+                        .topic(this.updateTopic);
+                if (compress) {
+                    request.payload(deflate(payloadInBytes))
+                            .contentType(CONTENT_TYPE_JSON)
+                            .userProperties(DEFLATE_USER_PROPERTIES);
+                } else {
+                    request.payload(payloadInBytes);
+                }
+                published.add(this.mqttClient.publish(request.build())
                         .whenComplete((r, t) -> {
                             if (t == null) {
                                 logger.atDebug().kv(topicKey, updateTopic).log("MQTT publish succeeded");
                             } else {
                                 logger.atWarn().kv(topicKey, updateTopic).log("MQTT publish failed", t);
                             }
-                        });
+                        }));
             } catch (JsonProcessingException e) {
                 logger.atError().cause(e).kv(topicKey, updateTopic).log("Failed to publish message via "
                         + "MqttChunkedPayloadPublisher. Unable to write message as bytes");
+                published.add(failed(e));
             }
         }
+        return CompletableFuture.allOf(published.toArray(new CompletableFuture[0]));
+    }
+
+    private static <U> CompletableFuture<U> failed(Throwable cause) {
+        CompletableFuture<U> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
     }
 
     /**
@@ -89,14 +126,16 @@ public class MqttChunkedPayloadPublisher<T> {
      *
      * @param variablePayloads variable objects
      * @param chunkablePayload common objects
+     * @param maxChunkSize     size limit of a serialized chunk
      * @return a list of variable object list
      */
-    private List<List<T>> chunkVariablePayloads(Chunkable<T> chunkablePayload, List<T> variablePayloads) {
+    private List<List<T>> chunkVariablePayloads(Chunkable<T> chunkablePayload, List<T> variablePayloads,
+                                                int maxChunkSize) {
         List<List<T>> chunkedVariablePayloadList = new ArrayList<>();
 
         // if the total size is smaller than the limit, then we don't need to chunk at all
         try {
-            if (getUpdatedChunkablePayloadSize(chunkablePayload, variablePayloads) < maxPayloadLengthBytes) {
+            if (getUpdatedChunkablePayloadSize(chunkablePayload, variablePayloads) < maxChunkSize) {
                 chunkedVariablePayloadList.add(variablePayloads);
                 return chunkedVariablePayloadList;
             }
@@ -111,7 +150,7 @@ public class MqttChunkedPayloadPublisher<T> {
             // if the single payload size plus common info size exceeds the max limit, drop the payload
             try {
                 if (getUpdatedChunkablePayloadSize(chunkablePayload, Collections.singletonList(payload))
-                        > maxPayloadLengthBytes) {
+                        > maxChunkSize) {
                     logger.atWarn().kv(topicKey, updateTopic).log("Dropping a variable payload in "
                             + "chunkable payload publish because its size exceed the max limit allowed");
                     continue;
@@ -130,7 +169,7 @@ public class MqttChunkedPayloadPublisher<T> {
                     // note that size(existing_chunk) + size(payload) may not equal size(updated_chunk)
                     // because of how serializer works
                     chunk.add(payload);
-                    if (getUpdatedChunkablePayloadSize(chunkablePayload, chunk) < maxPayloadLengthBytes) {
+                    if (getUpdatedChunkablePayloadSize(chunkablePayload, chunk) < maxChunkSize) {
                         fitIntoExistingChunks = true;
                     } else {
                         chunk.remove(chunk.size() - 1);
@@ -151,6 +190,85 @@ public class MqttChunkedPayloadPublisher<T> {
         return chunkedVariablePayloadList;
     }
 
+    /**
+     * Chunk the variable objects into multiple lists whose compressed size is below the limit. Compressing for
+     * every placement of every object would be far too slow, so the objects are packed by serialized size scaled
+     * by the compression ratio of the whole payload, and any chunk which still compresses over the limit is split.
+     *
+     * @param variablePayloads variable objects
+     * @param chunkablePayload common objects
+     * @return a list of variable object list
+     */
+    private List<List<T>> chunkCompressedVariablePayloads(Chunkable<T> chunkablePayload, List<T> variablePayloads) {
+        long maxChunkSize;
+        try {
+            chunkablePayload.setVariablePayload(variablePayloads);
+            byte[] payloadInBytes = SERIALIZER.writeValueAsBytes(chunkablePayload);
+            int compressedSize = deflate(payloadInBytes).length;
+            if (compressedSize < maxPayloadLengthBytes) {
+                List<List<T>> chunkedVariablePayloadList = new ArrayList<>();
+                chunkedVariablePayloadList.add(variablePayloads);
+                return chunkedVariablePayloadList;
+            }
+            maxChunkSize = (long) maxPayloadLengthBytes * payloadInBytes.length / compressedSize;
+        } catch (JsonProcessingException e) {
+            logger.atError().cause(e).kv(topicKey, updateTopic)
+                    .log("Unable to write chunkable payload as bytes. Will continue with chunking");
+            maxChunkSize = maxPayloadLengthBytes;
+        }
+
+        List<List<T>> chunkedVariablePayloadList = new ArrayList<>();
+        for (List<T> chunk : chunkVariablePayloads(chunkablePayload, variablePayloads,
+                (int) Math.min(maxChunkSize, Integer.MAX_VALUE))) {
+            splitUntilCompressedSizeFits(chunkablePayload, chunk, chunkedVariablePayloadList);
+        }
+        return chunkedVariablePayloadList;
+    }
+
+    private void splitUntilCompressedSizeFits(Chunkable<T> chunkablePayload, List<T> chunk,
+                                              List<List<T>> chunkedVariablePayloadList) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            chunkablePayload.setVariablePayload(chunk);
+            if (deflate(SERIALIZER.writeValueAsBytes(chunkablePayload)).length < maxPayloadLengthBytes) {
+                chunkedVariablePayloadList.add(chunk);
+                return;
+            }
+        } catch (JsonProcessingException e) {
+            logger.atError().cause(e).kv(topicKey, updateTopic)
+                    .log("Unable to write chunkable payload as bytes. Dropping the variable payloads");
+            return;
+        }
+        if (chunk.size() == 1) {
+            logger.atWarn().kv(topicKey, updateTopic).log("Dropping a variable payload in "
+                    + "chunkable payload publish because its compressed size exceed the max limit allowed");
+            return;
+        }
+        int half = chunk.size() / 2;
+        splitUntilCompressedSizeFits(chunkablePayload, new ArrayList<>(chunk.subList(0, half)),
+                chunkedVariablePayloadList);
+        splitUntilCompressedSizeFits(chunkablePayload, new ArrayList<>(chunk.subList(half, chunk.size())),
+                chunkedVariablePayloadList);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
     private int getUpdatedChunkablePayloadSize(Chunkable<T> chunkablePayload, List<T> variablePayloads)
             throws JsonProcessingException {
         chunkablePayload.setVariablePayload(variablePayloads);
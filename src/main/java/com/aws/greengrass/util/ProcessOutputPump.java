@@ -0,0 +1,188 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util;
+
+import lombok.Getter;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Sends the lines written by child processes to their consumers. Each stream is read with blocking reads on its own
+ * thread, taken from a pool shared by all processes so that threads are reused rather than started for every process.
+ * A consumer which is slow therefore only holds back its own stream. Bytes are read and decoded into buffers owned by
+ * the stream, and every complete line of a read is handed to the consumer in one pass, through a builder which is
+ * reused for the whole life of the stream.
+ *
+ * <p>A running process still holds two threads, one per stream. Java 8 has no virtual threads, and the pipes of a
+ * {@link Process} cannot be read without blocking, so the threads are only made cheaper: they are pooled and run with
+ * a small stack.
+ */
+final class ProcessOutputPump {
+    static final ProcessOutputPump INSTANCE = new ProcessOutputPump();
+
+    private static final int BUFFER_SIZE = 8192;
+    // Enough for the line consumers, which log the line, and far less than the default stack of a thread
+    private static final long THREAD_STACK_SIZE = 256 * 1024;
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private final ExecutorService readers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(null, r, "Exec-output-pump-" + threadNumber.incrementAndGet(), THREAD_STACK_SIZE);
+        // Set as a daemon thread so that it dies when the main thread exits
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Start sending the lines of a stream to a consumer.
+     *
+     * @param in     stream to read
+     * @param out    consumer of each line, including its line separator. May be null to discard the output
+     * @param onDone called once the end of the stream has been reached
+     * @return the stream being pumped
+     */
+    PumpedStream pump(InputStream in, Consumer<CharSequence> out, Runnable onDone) {
+        PumpedStream stream = new PumpedStream(in, out, onDone);
+        readers.execute(stream::run);
+        return stream;
+    }
+
+    private static CharsetDecoder newDecoder() {
+        return StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * State of one pumped stream, only used by the thread reading it.
+     */
+    static final class PumpedStream {
+        private final InputStream in;
+        private final Consumer<CharSequence> out;
+        private final Runnable onDone;
+        private final CharsetDecoder decoder = newDecoder();
+        private final StringBuilder line = new StringBuilder();
+        private final CountDownLatch done = new CountDownLatch(1);
+        // bytes of a character which was split between two reads
+        private final byte[] partial = new byte[8];
+        private int partialLength;
+        private boolean cr;
+        @Getter
+        private int nlines;
+
+        private PumpedStream(InputStream in, Consumer<CharSequence> out, Runnable onDone) {
+            this.in = in;
+            this.out = out;
+            this.onDone = onDone;
+        }
+
+        /**
+         * Wait for the end of the stream.
+         *
+         * @param millis time to wait
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void join(long millis) throws InterruptedException {
+            done.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Read the stream to its end, sending each line to the consumer.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        void run() {
+            try {
+                ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+                CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+                while (true) {
+                    bytes.clear();
+                    bytes.put(partial, 0, partialLength);
+                    int read = in.read(bytes.array(), bytes.position(), bytes.remaining());
+                    if (read < 0) {
+                        break;
+                    }
+                    bytes.position(bytes.position() + read);
+                    decode(bytes, chars, false);
+                }
+                bytes.clear();
+                bytes.put(partial, 0, partialLength);
+                decode(bytes, chars, true);
+                if (out != null && line.length() > 0) {
+                    out.accept(line);
+                }
+                line.setLength(0);
+            } catch (Throwable ignore) {
+                // nothing that can go wrong here worries us, they're
+                // all EOFs
+            } finally {
+                done.countDown();
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }
+        }
+
+        private void decode(ByteBuffer bytes, CharBuffer chars, boolean endOfInput) {
+            bytes.flip();
+            while (true) {
+                chars.clear();
+                boolean overflow = decoder.decode(bytes, chars, endOfInput).isOverflow();
+                if (endOfInput && !overflow) {
+                    decoder.flush(chars);
+                }
+                chars.flip();
+                splitLines(chars);
+                if (!overflow) {
+                    break;
+                }
+            }
+            partialLength = bytes.remaining();
+            bytes.get(partial, 0, partialLength);
+        }
+
+        private void splitLines(CharBuffer chars) {
+            char[] array = chars.array();
+            int start = chars.position();
+            int end = chars.limit();
+            int lineStart = start;
+            for (int i = start; i < end; i++) {
+                char c = array[i];
+                if (c != '\n' && c != '\r') {
+                    cr = false;
+                    continue;
+                }
+                line.append(array, lineStart, i - lineStart);
+                lineStart = i + 1;
+                // Append a newline to our builder if we get \n or if we are seeing \r for the first time.
+                // This prevents \r\n from causing 2 lines to be logged.
+                // If cr is true and we see another \r, we will append a newline (\r\r is 2 lines).
+                // Splitting on cr too protects us from having crazy long lines from a console application
+                // which is using \r to rewrite the last line, ex updating download status.
+                if (!cr || c == '\r') {
+                    cr = c == '\r';
+                    line.append('\n');
+                    nlines++;
+                }
+                if (out != null && line.length() > 0) {
+                    out.accept(line);
+                }
+                line.setLength(0);
+            }
+            if (lineStart < end) {
+                line.append(array, lineStart, end - lineStart);
+            }
+        }
+    }
+}
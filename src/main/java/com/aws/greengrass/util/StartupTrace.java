@@ -0,0 +1,213 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records where the time goes while the Nucleus starts, as spans which are written in the Chrome trace event format,
+ * so that the file can be opened in Perfetto or chrome://tracing.
+ *
+ * <p>Tracing is enabled with {@code -Daws.greengrass.startupTrace=true}. When it is disabled, starting a span only
+ * reads a constant and returns a shared span which does nothing. Recording stops when {@link #finish()} is called
+ * once all services have started, and the spans are written to {@value #TRACE_FILE} in the log directory.
+ */
+public final class StartupTrace {
+    private static final Logger logger = LogManager.getLogger(StartupTrace.class);
+    public static final String ENABLED_PROPERTY = "aws.greengrass.startupTrace";
+    public static final String TRACE_FILE = "startup-trace.json";
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    // bound the memory used if the Nucleus never finishes starting
+    private static final int MAX_EVENTS = 100_000;
+    private static final Span NOOP = new Span(null, null, null, null, 0);
+    private static final StartupTrace trace = new StartupTrace(ENABLED, MAX_EVENTS);
+
+    private final AtomicBoolean recording;
+    private final int maxEvents;
+    private final Queue<Map<String, Object>> events = new ConcurrentLinkedQueue<>();
+    // number of events in the queue, which is not constant time to get from the queue itself
+    private final AtomicInteger eventCount = new AtomicInteger();
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    // trace timestamps are relative to the start of the JVM, so class loading before the first span shows up as a gap
+    private final long traceOriginNanos;
+
+    StartupTrace(boolean enabled, int maxEvents) {
+        this.recording = new AtomicBoolean(enabled);
+        this.maxEvents = maxEvents;
+        this.traceOriginNanos = enabled ? traceOrigin() : 0;
+    }
+
+    public static boolean isEnabled() {
+        return trace.recording.get();
+    }
+
+    /**
+     * Start a span on the current thread. Close it, with try-with-resources, on the same thread.
+     *
+     * @param category category of the span, such as {@code kernel} or {@code inject}
+     * @param name     name of the span
+     * @return span to close once the work is done
+     */
+    public static Span begin(String category, String name) {
+        if (!ENABLED || !trace.recording.get()) {
+            return NOOP;
+        }
+        return trace.start(category, name, null);
+    }
+
+    /**
+     * Start a span on the current thread with an argument shown in the details of the span.
+     *
+     * @param category category of the span
+     * @param name     name of the span
+     * @param argName  argument name
+     * @param argValue argument value
+     * @return span to close once the work is done
+     */
+    public static Span begin(String category, String name, String argName, Object argValue) {
+        if (!ENABLED || !trace.recording.get()) {
+            return NOOP;
+        }
+        Map<String, Object> args = new HashMap<>();
+        args.put(argName, String.valueOf(argValue));
+        return trace.start(category, name, args);
+    }
+
+    /**
+     * Stop recording and write the recorded spans to the log directory. Only the first call writes the trace.
+     */
+    public static void finish() {
+        if (ENABLED) {
+            trace.writeTo(LogManager.getRootLogConfiguration().getStoreDirectory().resolve(TRACE_FILE));
+        }
+    }
+
+    Span start(String category, String name, Map<String, Object> args) {
+        return new Span(this, category, name, args, System.nanoTime());
+    }
+
+    int getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Stop recording and write the recorded spans.
+     *
+     * @param file file to write
+     * @return true if this call stopped the recording and wrote the file
+     */
+    boolean writeTo(Path file) {
+        if (!recording.compareAndSet(true, false)) {
+            return false;
+        }
+        Map<Long, String> threadNames = new HashMap<>();
+        List<Map<String, Object>> traceEvents = new ArrayList<>(eventCount.get() + 16);
+        for (Map<String, Object> event : events) {
+            String threadName = (String) event.remove("threadName");
+            threadNames.putIfAbsent((Long) event.get("tid"), threadName);
+            traceEvents.add(event);
+        }
+        threadNames.forEach((tid, threadName) -> {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("name", "thread_name");
+            metadata.put("ph", "M");
+            metadata.put("pid", 1);
+            metadata.put("tid", tid);
+            metadata.put("args", Collections.singletonMap("name", threadName));
+            traceEvents.add(metadata);
+        });
+        events.clear();
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("displayTimeUnit", "ms");
+        content.put("traceEvents", traceEvents);
+        try {
+            SerializerFactory.getFailSafeJsonObjectMapper().writeValue(file.toFile(), content);
+            logger.atInfo().kv("file", file).kv("spans", eventCount.get()).kv("droppedSpans", droppedCount.get())
+                    .log("Wrote the startup trace");
+        } catch (IOException e) {
+            logger.atWarn().kv("file", file).setCause(e).log("Unable to write the startup trace");
+        }
+        return true;
+    }
+
+    private static long traceOrigin() {
+        long sinceJvmStartMillis =
+                System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(Math.max(0, sinceJvmStartMillis));
+    }
+
+    private void record(Span span, long endNanos) {
+        if (!recording.get()) {
+            return;
+        }
+        // count only the events which are kept
+        int count;
+        do {
+            count = eventCount.get();
+            if (count >= maxEvents) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+        } while (!eventCount.compareAndSet(count, count + 1));
+        Thread thread = Thread.currentThread();
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", span.name);
+        event.put("cat", span.category);
+        event.put("ph", "X");
+        event.put("ts", TimeUnit.NANOSECONDS.toMicros(span.startNanos - traceOriginNanos));
+        event.put("dur", TimeUnit.NANOSECONDS.toMicros(endNanos - span.startNanos));
+        event.put("pid", 1);
+        event.put("tid", thread.getId());
+        event.put("threadName", thread.getName());
+        if (span.args != null) {
+            event.put("args", span.args);
+        }
+        events.add(event);
+    }
+
+    /**
+     * A span of work which is recorded when closed.
+     */
+    public static final class Span implements AutoCloseable {
+        private final StartupTrace trace;
+        private final String category;
+        private final String name;
+        private final Map<String, Object> args;
+        private final long startNanos;
+
+        private Span(StartupTrace trace, String category, String name, Map<String, Object> args, long startNanos) {
+            this.trace = trace;
+            this.category = category;
+            this.name = name;
+            this.args = args;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (trace != null) {
+                trace.record(this, System.nanoTime());
+            }
+        }
+    }
+}
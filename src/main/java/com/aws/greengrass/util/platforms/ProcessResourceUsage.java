@@ -0,0 +1,24 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Resource usage of the processes of a component. CPU time and I/O bytes are cumulative counters, the I/O bytes are -1
+ * where the platform cannot account for them.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ProcessResourceUsage {
+    long cpuTimeMillis;
+    long rssBytes;
+    long ioReadBytes;
+    long ioWriteBytes;
+    long threads;
+    int processes;
+}
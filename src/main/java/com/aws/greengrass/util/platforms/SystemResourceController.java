@@ -59,4 +59,15 @@ public interface SystemResourceController {
      * @throws IOException on failure to resume
      */
     void resumeComponentProcesses(GreengrassService component) throws IOException;
+
+    /**
+     * Get the resource usage of the processes of a generic external service, including all of their descendants.
+     *
+     * @param component a greengrass service instance
+     * @param processes currently alive processes for the component
+     * @return resource usage, or null if the platform cannot sample it
+     */
+    default ProcessResourceUsage getResourceUsage(GreengrassService component, List<Process> processes) {
+        return null;
+    }
 }
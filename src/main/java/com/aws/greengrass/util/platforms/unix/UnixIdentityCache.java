@@ -0,0 +1,246 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix;
+
+import com.aws.greengrass.jna.UnixLibC;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Structure;
+import com.sun.jna.ptr.PointerByReference;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Looks up users and groups in process through the C library, instead of running {@code id} or reading
+ * {@code /etc/group}. Results, including users and groups which do not exist, are cached until they are older than the
+ * time to live or the local passwd or group file is modified.
+ */
+@SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME",
+        justification = "User and group database paths cannot be relative")
+final class UnixIdentityCache {
+    private static final Logger logger = LogManager.getLogger(UnixIdentityCache.class);
+    static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long INITIAL_BUFFER_SIZE = 4 * 1024;
+    private static final long MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private final UnixLibC libc;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Table<UnixUserAttributes> users;
+    private final Table<UnixGroupAttributes> groups;
+
+    UnixIdentityCache(UnixLibC libc, Path passwdFile, Path groupFile, long ttlMillis, LongSupplier clock) {
+        this.libc = libc;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.users = new Table<>(passwdFile);
+        this.groups = new Table<>(groupFile);
+    }
+
+    /**
+     * Create a cache of the system user and group database.
+     *
+     * @return cache, which cannot look anything up if the C library could not be loaded
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static UnixIdentityCache create() {
+        UnixLibC libc = null;
+        try {
+            libc = Native.load("c", UnixLibC.class);
+        } catch (Throwable e) {
+            logger.atWarn().setCause(e).log("Unable to load the C library, users and groups will be looked up with id"
+                    + " and /etc/group");
+        }
+        return new UnixIdentityCache(libc, Paths.get("/etc/passwd"), Paths.get("/etc/group"), DEFAULT_TTL_MILLIS,
+                System::currentTimeMillis);
+    }
+
+    boolean isAvailable() {
+        return libc != null;
+    }
+
+    /**
+     * Look up a user by name, or by UID if the user is numeric.
+     *
+     * @param user user name or UID
+     * @return the user, or empty if there is no such user
+     * @throws IOException if the lookup failed
+     */
+    Optional<UnixUserAttributes> lookupUser(String user) throws IOException {
+        Optional<UnixUserAttributes> cached = users.get(user);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<UnixUserAttributes> loaded = Optional.ofNullable(loadUser(user));
+        users.put(user, loaded);
+        return loaded;
+    }
+
+    /**
+     * Look up a group by name, or by GID if it is numeric and there is no group with that name.
+     *
+     * @param group group name or GID
+     * @return the group, or empty if there is no such group
+     * @throws IOException if the lookup failed
+     */
+    Optional<UnixGroupAttributes> lookupGroup(String group) throws IOException {
+        Optional<UnixGroupAttributes> cached = groups.get(group);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<UnixGroupAttributes> loaded = Optional.ofNullable(loadGroup(group));
+        groups.put(group, loaded);
+        return loaded;
+    }
+
+    private UnixUserAttributes loadUser(String user) throws IOException {
+        UnixLibC.Passwd passwd = new UnixLibC.Passwd();
+        boolean found;
+        if (isNumeric(user)) {
+            Integer uid = parseId(user);
+            found = uid != null
+                    && call(passwd, (buf, size, result) -> libc.getpwuid_r(uid, passwd, buf, size, result));
+        } else {
+            found = call(passwd, (buf, size, result) -> libc.getpwnam_r(user, passwd, buf, size, result));
+        }
+        if (!found) {
+            return null;
+        }
+        return UnixUserAttributes.builder()
+                .principalName(passwd.pw_name)
+                .principalIdentifier(Integer.toUnsignedString(passwd.pw_uid))
+                .primaryGid(Integer.toUnsignedLong(passwd.pw_gid))
+                .build();
+    }
+
+    private UnixGroupAttributes loadGroup(String group) throws IOException {
+        UnixLibC.Group grp = new UnixLibC.Group();
+        // Like the /etc/group lookup, a group can be named by its name or by its GID
+        boolean found = call(grp, (buf, size, result) -> libc.getgrnam_r(group, grp, buf, size, result));
+        if (!found && isNumeric(group)) {
+            Integer gid = parseId(group);
+            found = gid != null
+                    && call(grp, (buf, size, result) -> libc.getgrgid_r(gid, grp, buf, size, result));
+        }
+        if (!found) {
+            return null;
+        }
+        return UnixGroupAttributes.builder()
+                .principalName(grp.gr_name)
+                .principalIdentifier(Integer.toUnsignedString(grp.gr_gid))
+                .build();
+    }
+
+    /**
+     * Call a reentrant lookup function, growing its string buffer until the entry fits.
+     *
+     * @return true if the entry was found and read into the structure
+     */
+    private static boolean call(Structure entry, LookupCall call) throws IOException {
+        for (long size = INITIAL_BUFFER_SIZE; size <= MAX_BUFFER_SIZE; size *= 2) {
+            PointerByReference result = new PointerByReference();
+            int error;
+            // The strings of the entry point into the buffer, they are read before it is released
+            try (Memory buf = new Memory(size)) {
+                error = call.call(buf, new NativeLong(size), result);
+                if (result.getValue() != null) {
+                    entry.read();
+                }
+            }
+            if (error == UnixLibC.ERANGE) {
+                continue;
+            }
+            if (result.getValue() != null) {
+                return true;
+            }
+            if (error != 0) {
+                throw new IOException("User and group lookup failed with error " + error);
+            }
+            return false;
+        }
+        throw new IOException("User or group entry is larger than " + MAX_BUFFER_SIZE + " bytes");
+    }
+
+    private static boolean isNumeric(String id) {
+        return id.chars().allMatch(Character::isDigit);
+    }
+
+    private static Integer parseId(String id) {
+        try {
+            return Integer.parseUnsignedInt(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LookupCall {
+        int call(Memory buf, NativeLong size, PointerByReference result);
+    }
+
+    /**
+     * Cached lookups, forgotten when the file backing them is modified.
+     */
+    private final class Table<T> {
+        private final Path file;
+        private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final AtomicLong fileModified = new AtomicLong(Long.MIN_VALUE);
+
+        Table(Path file) {
+            this.file = file;
+        }
+
+        @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+        Optional<T> get(String key) {
+            long modified = lastModified();
+            if (fileModified.getAndSet(modified) != modified) {
+                entries.clear();
+                return null;
+            }
+            Entry<T> entry = entries.get(key);
+            if (entry == null || clock.getAsLong() - entry.loadedAt >= ttlMillis) {
+                return null;
+            }
+            return entry.value;
+        }
+
+        void put(String key, Optional<T> value) {
+            entries.put(key, new Entry<>(value, clock.getAsLong()));
+        }
+
+        private long lastModified() {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                // The users and groups come from somewhere else, only the time to live applies
+                return 0;
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final Optional<T> value;
+        private final long loadedAt;
+
+        Entry(Optional<T> value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
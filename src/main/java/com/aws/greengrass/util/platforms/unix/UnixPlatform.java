@@ -85,6 +85,7 @@ public class UnixPlatform extends Platform {
     private static UnixUserAttributes CURRENT_USER;
     private static UnixGroupAttributes CURRENT_USER_PRIMARY_GROUP;
     private static final Lock lock = LockFactory.newReentrantLock(UnixPlatform.class.getSimpleName());
+    private static final UnixIdentityCache identityCache = UnixIdentityCache.create();
 
     private final SystemResourceController systemResourceController = new StubResourceController();
     private final UnixRunWithGenerator runWithGenerator;
@@ -201,6 +202,25 @@ public class UnixPlatform extends Platform {
             throw new IOException("No user to lookup");
         }
         boolean isNumeric = user.chars().allMatch(Character::isDigit);
+        if (identityCache.isAvailable()) {
+            Optional<UnixUserAttributes> found = null;
+            try {
+                found = identityCache.lookupUser(user);
+            } catch (IOException e) {
+                logger.atDebug().setEventType("user-lookup").kv("user", user).setCause(e)
+                        .log("Native user lookup failed, falling back to id");
+            }
+            if (found != null) {
+                if (found.isPresent()) {
+                    return found.get();
+                }
+                if (!isNumeric) {
+                    throw new IOException("Unrecognized user: " + user);
+                }
+                // if customer put in an ID it does not need to exist on the system
+                return UnixUserAttributes.builder().principalIdentifier(user).principalName(user).build();
+            }
+        }
         UnixUserAttributes.UnixUserAttributesBuilder builder = UnixUserAttributes.builder();
 
         if (isNumeric) {
@@ -229,6 +249,18 @@ public class UnixPlatform extends Platform {
         if (Utils.isEmpty(name)) {
             throw new IOException("No group to lookup");
         }
+        if (identityCache.isAvailable()) {
+            Optional<UnixGroupAttributes> found = null;
+            try {
+                found = identityCache.lookupGroup(name);
+            } catch (IOException e) {
+                logger.atDebug().setEventType("group-lookup").kv("group", name).setCause(e)
+                        .log("Native group lookup failed, falling back to " + POSIX_GROUP_FILE);
+            }
+            if (found != null) {
+                return found.isPresent() ? found.get() : unknownGroup(name);
+            }
+        }
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(POSIX_GROUP_FILE))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -248,6 +280,10 @@ public class UnixPlatform extends Platform {
             }
         }
 
+        return unknownGroup(name);
+    }
+
+    private static UnixGroupAttributes unknownGroup(String name) throws IOException {
         // if customer put in an ID it does not need to exist on the system
         if (name.chars().allMatch(Character::isDigit)) {
             return UnixGroupAttributes.builder().principalName(name).principalIdentifier(name).build();
@@ -98,6 +98,50 @@ public interface CgroupManager {
      */
     String getThawedState();
 
+    /**
+     * Read the CPU time used by the component's cgroup, including processes which have already exited.
+     *
+     * @param componentName name of the component
+     * @param reader        reader for the accounting files
+     * @return CPU time in milliseconds, or -1 if the cgroup has no CPU accounting
+     */
+    default long readCpuTimeMillis(String componentName, ProcfsReader reader) {
+        return -1;
+    }
+
+    /**
+     * Read the anonymous memory, which is the resident set size without the page cache, of the component's cgroup.
+     *
+     * @param componentName name of the component
+     * @param reader        reader for the accounting files
+     * @return bytes, or -1 if the cgroup has no memory accounting
+     */
+    default long readRssBytes(String componentName, ProcfsReader reader) {
+        return -1;
+    }
+
+    /**
+     * Read the bytes read from block devices by the component's cgroup.
+     *
+     * @param componentName name of the component
+     * @param reader        reader for the accounting files
+     * @return bytes, or -1 if the cgroup has no I/O accounting
+     */
+    default long readIoReadBytes(String componentName, ProcfsReader reader) {
+        return -1;
+    }
+
+    /**
+     * Read the bytes written to block devices by the component's cgroup.
+     *
+     * @param componentName name of the component
+     * @param reader        reader for the accounting files
+     * @return bytes, or -1 if the cgroup has no I/O accounting
+     */
+    default long readIoWriteBytes(String componentName, ProcfsReader reader) {
+        return -1;
+    }
+
     /**
      * Freeze processes in the component's cgroup.
      *
@@ -29,6 +29,8 @@ public enum CgroupV1 implements CgroupManager {
     private static final String CPU_PERIOD_FILE = "cpu.cfs_period_us";
     private static final String CPU_QUOTA_FILE = "cpu.cfs_quota_us";
     private static final String FREEZER_STATE_FILE = "freezer.state";
+    private static final String CPU_USAGE_FILE = "cpuacct.usage";
+    private static final String MEMORY_STAT_FILE = "memory.stat";
     
     // Freezer state constants
     private static final String FROZEN_STATE = "FROZEN";
@@ -119,4 +121,15 @@ public enum CgroupV1 implements CgroupManager {
     public String getThawedState() {
         return THAWED_STATE;
     }
+
+    @Override
+    public long readCpuTimeMillis(String componentName, ProcfsReader reader) {
+        long nanos = reader.readLong(getSubsystemComponentPath(componentName).resolve(CPU_USAGE_FILE));
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+
+    @Override
+    public long readRssBytes(String componentName, ProcfsReader reader) {
+        return reader.readKeyedLong(getSubsystemComponentPath(componentName).resolve(MEMORY_STAT_FILE), "rss");
+    }
 }
@@ -49,6 +49,9 @@ public enum CgroupV2 implements CgroupManager {
     private static final String MEMORY_LIMIT_FILE = "memory.max";
     private static final String CPU_LIMIT_FILE = "cpu.max";
     private static final String FREEZER_STATE_FILE = "cgroup.freeze";
+    private static final String CPU_STAT_FILE = "cpu.stat";
+    private static final String MEMORY_STAT_FILE = "memory.stat";
+    private static final String IO_STAT_FILE = "io.stat";
     private static final String SUBTREE_CONTROL_FILE = "cgroup.subtree_control";
     private static final String SUBTREE_CONTROL_FILE_CONTENT = "+cpu +io +memory +pids";
     
@@ -177,4 +180,26 @@ public enum CgroupV2 implements CgroupManager {
     public String getThawedState() {
         return THAWED_STATE;
     }
+
+    @Override
+    public long readCpuTimeMillis(String componentName, ProcfsReader reader) {
+        long micros = reader.readKeyedLong(getSubsystemComponentPath(componentName).resolve(CPU_STAT_FILE),
+                "usage_usec");
+        return micros < 0 ? -1 : micros / 1000;
+    }
+
+    @Override
+    public long readRssBytes(String componentName, ProcfsReader reader) {
+        return reader.readKeyedLong(getSubsystemComponentPath(componentName).resolve(MEMORY_STAT_FILE), "anon");
+    }
+
+    @Override
+    public long readIoReadBytes(String componentName, ProcfsReader reader) {
+        return reader.readTokenSum(getSubsystemComponentPath(componentName).resolve(IO_STAT_FILE), "rbytes=");
+    }
+
+    @Override
+    public long readIoWriteBytes(String componentName, ProcfsReader reader) {
+        return reader.readTokenSum(getSubsystemComponentPath(componentName).resolve(IO_STAT_FILE), "wbytes=");
+    }
 }
@@ -7,12 +7,33 @@ package com.aws.greengrass.util.platforms.unix.linux;
 
 import com.aws.greengrass.util.platforms.SystemResourceController;
 import com.aws.greengrass.util.platforms.unix.UnixPlatform;
+import org.zeroturnaround.process.PidUtil;
+
+import java.util.Set;
 
 public class LinuxPlatform extends UnixPlatform {
     SystemResourceController systemResourceController = new LinuxSystemResourceController(this);
+    ProcessTree processTree = new ProcessTree();
 
     @Override
     public SystemResourceController getSystemResourceController() {
         return systemResourceController;
     }
+
+    /**
+     * Get the child PIDs of a process by walking only its own process tree through /proc, instead of scanning every
+     * process on the system.
+     *
+     * @param process process
+     * @return a set of PIDs
+     * @throws InterruptedException InterruptedException
+     */
+    @Override
+    public Set<Integer> getChildPids(Process process) throws InterruptedException {
+        Set<Integer> pids = processTree.descendants(PidUtil.getPid(process));
+        if (pids == null) {
+            return super.getChildPids(process);
+        }
+        return pids;
+    }
 }
@@ -10,6 +10,7 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.Utils;
+import com.aws.greengrass.util.platforms.ProcessResourceUsage;
 import com.aws.greengrass.util.platforms.SystemResourceController;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.zeroturnaround.process.PidUtil;
@@ -21,6 +22,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +46,7 @@ public class LinuxSystemResourceController implements SystemResourceController {
     private CgroupManager freezerManager;
     private CgroupManager generalManager; // general manager for initialization
     private List<CgroupManager> resourceLimitCgroups; // managers used for resource limit mounts
+    private final ProcfsReader procfsReader = new ProcfsReader();
 
     protected LinuxPlatform platform;
 
@@ -196,6 +199,54 @@ public class LinuxSystemResourceController implements SystemResourceController {
         freezerManager.thawProcesses(component.getServiceName());
     }
 
+    @Override
+    public synchronized ProcessResourceUsage getResourceUsage(GreengrassService component,
+                                                              List<Process> processes) {
+        String name = component.getServiceName();
+        ProcessResourceUsage usage = procfsReader.sample(componentPids(name, processes));
+        // Prefer the cgroup accounting where the component has a cgroup, it also counts processes which have exited
+        long cpuTimeMillis = cpuManager.readCpuTimeMillis(name, procfsReader);
+        long rssBytes = memoryManager.readRssBytes(name, procfsReader);
+        long ioReadBytes = cpuManager.readIoReadBytes(name, procfsReader);
+        long ioWriteBytes = cpuManager.readIoWriteBytes(name, procfsReader);
+        return usage.toBuilder()
+                .cpuTimeMillis(cpuTimeMillis < 0 ? usage.getCpuTimeMillis() : cpuTimeMillis)
+                .rssBytes(rssBytes < 0 ? usage.getRssBytes() : rssBytes)
+                .ioReadBytes(ioReadBytes < 0 ? usage.getIoReadBytes() : ioReadBytes)
+                .ioWriteBytes(ioWriteBytes < 0 ? usage.getIoWriteBytes() : ioWriteBytes)
+                .build();
+    }
+
+    /**
+     * Get the processes of a component without scanning every process on the system: all processes in its cgroup if
+     * it has one, otherwise the lifecycle processes and their process trees.
+     */
+    private Set<Integer> componentPids(String component, List<Process> processes) {
+        Path cgroupProcs = cpuManager.getCgroupProcsPath(component);
+        if (Files.exists(cgroupProcs)) {
+            try {
+                Set<Integer> pids = pidsInComponentCgroup(cpuManager, component);
+                if (!pids.isEmpty()) {
+                    return pids;
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.atDebug().kv(COMPONENT_NAME, component).setCause(e)
+                        .log("Unable to read the processes of the component cgroup, walking its process tree");
+            }
+        }
+        Set<Integer> pids = new HashSet<>();
+        for (Process process : processes) {
+            pids.add(PidUtil.getPid(process));
+            try {
+                pids.addAll(platform.getChildPids(process));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return pids;
+    }
+
     private void addComponentProcessToCgroup(String component, Process process, CgroupManager cgroupManager)
             throws IOException {
 
@@ -215,7 +266,11 @@ public class LinuxSystemResourceController implements SystemResourceController {
 
                     // Writing pid to cgroup.procs file should auto add the pid to tasks file
                     // Once a process is added to a cgroup, its forked child processes inherit its (parent's) settings
+                    // so only the processes which are not in the cgroup yet are written
                     for (Integer pid : childProcesses) {
+                        if (pidsInCgroup.contains(pid)) {
+                            continue;
+                        }
                         if (pid == null) {
                             logger.atError().log("The process doesn't exist and is skipped");
                             continue;
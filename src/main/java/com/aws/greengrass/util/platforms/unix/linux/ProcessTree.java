@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Finds the descendants of a process by following the {@code /proc/<pid>/task/<tid>/children} files, so the cost
+ * depends on the size of the process tree rather than on the number of processes on the system.
+ */
+@SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME",
+        justification = "Proc virtual filesystem path cannot be relative")
+public class ProcessTree {
+    private final Path procRoot;
+    private volatile Boolean supported;
+
+    public ProcessTree() {
+        this(Paths.get("/proc"));
+    }
+
+    ProcessTree(Path procRoot) {
+        this.procRoot = procRoot;
+    }
+
+    /**
+     * Get the PIDs of all descendants of a process.
+     *
+     * @param pid PID of the process
+     * @return PIDs of the descendants, or null if the kernel does not provide the children files
+     */
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+    public Set<Integer> descendants(int pid) {
+        if (!isSupported()) {
+            return null;
+        }
+        Set<Integer> descendants = new HashSet<>();
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        toVisit.add(pid);
+        while (!toVisit.isEmpty()) {
+            int parent = toVisit.poll();
+            for (int child : children(parent)) {
+                if (child != pid && descendants.add(child)) {
+                    toVisit.add(child);
+                }
+            }
+        }
+        return descendants;
+    }
+
+    private Set<Integer> children(int pid) {
+        Set<Integer> children = new HashSet<>();
+        try (DirectoryStream<Path> tasks = Files.newDirectoryStream(
+                procRoot.resolve(Integer.toString(pid)).resolve("task"))) {
+            // Each thread only lists the children it forked
+            for (Path task : tasks) {
+                parsePids(task.resolve("children"), children);
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            // The process exited, it has no children any more
+        }
+        return children;
+    }
+
+    private static void parsePids(Path file, Set<Integer> pids) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            // The thread exited
+            return;
+        }
+        for (String pid : new String(bytes, StandardCharsets.US_ASCII).trim().split("\\s+")) {
+            if (!pid.isEmpty()) {
+                try {
+                    pids.add(Integer.parseInt(pid));
+                } catch (NumberFormatException e) {
+                    // Not a PID, ignore it
+                }
+            }
+        }
+    }
+
+    private boolean isSupported() {
+        Boolean isSupported = supported;
+        if (isSupported == null) {
+            // The children files need a kernel built with CONFIG_PROC_CHILDREN, check our own threads for them
+            isSupported = false;
+            try (DirectoryStream<Path> tasks = Files.newDirectoryStream(procRoot.resolve("self").resolve("task"))) {
+                Iterator<Path> it = tasks.iterator();
+                isSupported = it.hasNext() && Files.exists(it.next().resolve("children"));
+            } catch (IOException | DirectoryIteratorException e) {
+                // No proc filesystem
+            }
+            supported = isSupported;
+        }
+        return isSupported;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.util.platforms.ProcessResourceUsage;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+/**
+ * Reads process and cgroup accounting from the proc and cgroup virtual filesystems, without spawning any process. One
+ * read buffer is reused for every file, so an instance must not be used by more than one thread at a time.
+ */
+@SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME",
+        justification = "Proc virtual filesystem path cannot be relative")
+public class ProcfsReader {
+    // USER_HZ, which the kernel uses for the times in /proc/<pid>/stat regardless of its internal tick rate
+    private static final int CLOCK_TICKS_PER_SECOND = 100;
+    // Fields of /proc/<pid>/stat counted from the one after the command name, which is field 3
+    private static final int STAT_UTIME = 11;
+    private static final int STAT_STIME = 12;
+
+    private final Path procRoot;
+    private final byte[] buffer = new byte[16 * 1024];
+    private int length;
+
+    public ProcfsReader() {
+        this(Paths.get("/proc"));
+    }
+
+    ProcfsReader(Path procRoot) {
+        this.procRoot = procRoot;
+    }
+
+    /**
+     * Sample the resource usage of processes from /proc. Only the given processes are read, the caller finds the
+     * processes of a component from its cgroup or its process tree.
+     *
+     * @param pids pids of the processes
+     * @return resource usage summed over the processes which are still running. The I/O bytes are -1 if the io file
+     *         of none of the processes could be read
+     */
+    public ProcessResourceUsage sample(Collection<Integer> pids) {
+        long ticks = 0;
+        long rssBytes = 0;
+        long readBytes = 0;
+        long writeBytes = 0;
+        long threads = 0;
+        int processes = 0;
+        boolean ioRead = false;
+        for (int pid : pids) {
+            Path dir = procRoot.resolve(Integer.toString(pid));
+            if (!read(dir.resolve("stat"))) {
+                // exited since the pids were listed
+                continue;
+            }
+            processes++;
+            ticks += Math.max(0, statField(STAT_UTIME)) + Math.max(0, statField(STAT_STIME));
+            if (read(dir.resolve("status"))) {
+                rssBytes += Math.max(0, keyedLong("VmRSS:")) * 1024;
+                threads += Math.max(0, keyedLong("Threads:"));
+            }
+            // Only readable by the owner of the process, or with CAP_SYS_PTRACE
+            if (read(dir.resolve("io"))) {
+                ioRead = true;
+                readBytes += Math.max(0, keyedLong("read_bytes:"));
+                writeBytes += Math.max(0, keyedLong("write_bytes:"));
+            }
+        }
+        return ProcessResourceUsage.builder()
+                .cpuTimeMillis(ticks * 1000 / CLOCK_TICKS_PER_SECOND)
+                .rssBytes(rssBytes)
+                .ioReadBytes(ioRead ? readBytes : -1)
+                .ioWriteBytes(ioRead ? writeBytes : -1)
+                .threads(threads)
+                .processes(processes)
+                .build();
+    }
+
+    /**
+     * Read a value from a file of "key value" lines, such as cpu.stat or memory.stat of a cgroup.
+     *
+     * @param file file to read
+     * @param key  key at the start of the line
+     * @return value, or -1 if the file or key does not exist
+     */
+    public long readKeyedLong(Path file, String key) {
+        return read(file) ? keyedLong(key) : -1;
+    }
+
+    /**
+     * Read a file containing a single number, such as cpuacct.usage of a cgroup.
+     *
+     * @param file file to read
+     * @return value, or -1 if the file does not exist or does not start with a number
+     */
+    public long readLong(Path file) {
+        return read(file) ? parseLong(0) : -1;
+    }
+
+    /**
+     * Sum all values of a "key=value" token across a file, such as rbytes= in io.stat of a cgroup.
+     *
+     * @param file  file to read
+     * @param token token including the '='
+     * @return sum, or -1 if the file does not exist
+     */
+    public long readTokenSum(Path file, String token) {
+        if (!read(file)) {
+            return -1;
+        }
+        byte[] t = token.getBytes(StandardCharsets.US_ASCII);
+        long sum = 0;
+        for (int i = 0; i + t.length <= length; i++) {
+            if ((i == 0 || buffer[i - 1] == ' ' || buffer[i - 1] == '\n') && matches(i, t)) {
+                sum += Math.max(0, parseLong(i + t.length));
+            }
+        }
+        return sum;
+    }
+
+    private boolean read(Path file) {
+        length = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while (length < buffer.length && (n = in.read(buffer, length, buffer.length - length)) > 0) {
+                length += n;
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get a field of the stat file in the buffer. The command name in field 2 can contain spaces and parentheses, so
+     * fields are counted from the last ')'.
+     */
+    private long statField(int index) {
+        int i = length - 1;
+        while (i >= 0 && buffer[i] != ')') {
+            i--;
+        }
+        if (i < 0) {
+            return -1;
+        }
+        // skip ") "
+        i += 2;
+        for (int field = 0; field < index && i < length; i++) {
+            if (buffer[i] == ' ') {
+                field++;
+            }
+        }
+        return parseLong(i);
+    }
+
+    private long keyedLong(String key) {
+        byte[] k = key.getBytes(StandardCharsets.US_ASCII);
+        int lineStart = 0;
+        while (lineStart + k.length < length) {
+            if (matches(lineStart, k) && (buffer[lineStart + k.length] == ' '
+                    || buffer[lineStart + k.length] == '\t')) {
+                return parseLong(lineStart + k.length);
+            }
+            while (lineStart < length && buffer[lineStart] != '\n') {
+                lineStart++;
+            }
+            lineStart++;
+        }
+        return -1;
+    }
+
+    private boolean matches(int at, byte[] bytes) {
+        for (int j = 0; j < bytes.length; j++) {
+            if (buffer[at + j] != bytes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseLong(int from) {
+        int i = from;
+        while (i < length && (buffer[i] == ' ' || buffer[i] == '\t')) {
+            i++;
+        }
+        if (i >= length || buffer[i] < '0' || buffer[i] > '9') {
+            return -1;
+        }
+        long value = 0;
+        while (i < length && buffer[i] >= '0' && buffer[i] <= '9') {
+            value = value * 10 + buffer[i] - '0';
+            i++;
+        }
+        return value;
+    }
+}
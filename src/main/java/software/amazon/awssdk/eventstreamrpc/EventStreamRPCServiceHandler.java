@@ -13,6 +13,7 @@ import java.util.Collection;
 public abstract class EventStreamRPCServiceHandler implements OperationContinuationHandlerFactory {
     private AuthenticationHandler authenticationHandler;
     private AuthorizationHandler authorizationHandler;
+    private OperationMetricsRecorder operationMetricsRecorder;
 
     /**
      * Constructs a new EventStreamRPCServiceHandler
@@ -67,4 +68,19 @@ public abstract class EventStreamRPCServiceHandler implements OperationContinuat
     public void setAuthenticationHandler(AuthenticationHandler authenticationHandler) {
         this.authenticationHandler = authenticationHandler;
     }
+
+    /**
+     * Returns the recorder operation handlers report their measurements to, may be null
+     * @return Returns the operation metrics recorder
+     */
+    public OperationMetricsRecorder getOperationMetricsRecorder() {
+        return operationMetricsRecorder;
+    }
+
+    /**
+     * @param operationMetricsRecorder Sets the operation metrics recorder. Null disables recording
+     */
+    public void setOperationMetricsRecorder(OperationMetricsRecorder operationMetricsRecorder) {
+        this.operationMetricsRecorder = operationMetricsRecorder;
+    }
 }
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.IntConsumer;
 
 /**
  * Class to process continuations
@@ -31,6 +32,7 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationContinuationHandler.class);
 
     private final OperationContinuationHandlerContext context;
+    private final OperationMetricsRecorder metricsRecorder;
     private List<Header> initialRequestHeaders;
     private RequestType initialRequest;
 
@@ -48,6 +50,7 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
     public OperationContinuationHandler(final OperationContinuationHandlerContext context) {
         super(context.getContinuation());
         this.context = context;
+        this.metricsRecorder = context.getMetricsRecorder();
     }
 
     @Override
@@ -102,6 +105,16 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
         return getOperationModelContext().getOperationName();
     }
 
+    /**
+     * Returns the identity of the connected client, for attributing metrics
+     *
+     * @return the identity label, or null before the connection is authenticated
+     */
+    private String getIdentityLabel() {
+        final AuthenticationData authenticationData = context.getAuthenticationData();
+        return authenticationData == null ? null : authenticationData.getIdentityLabel();
+    }
+
     /**
      * Called when the underlying continuation is closed. Gives operations a chance to cleanup whatever resources may be
      * on the other end of an open stream. Also invoked when an underlying ServerConnection is closed associated with
@@ -222,7 +235,14 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
      * @param streamingResponse A future that completes when the stream event message is sent
      */
     final public CompletableFuture<Void> sendStreamEvent(final StreamingResponseType streamingResponse) {
-        return sendMessage(streamingResponse, false);
+        if (metricsRecorder == null) {
+            return sendMessage(streamingResponse, false);
+        }
+        final long sendStart = System.nanoTime();
+        final int[] eventBytes = {0};
+        return sendMessage(streamingResponse, false, size -> eventBytes[0] = size).whenComplete((res, ex) ->
+                metricsRecorder.streamEventSent(getIdentityLabel(), getOperationName(),
+                        System.nanoTime() - sendStart, eventBytes[0], ex != null));
     }
 
     /**
@@ -232,6 +252,18 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
      * @return A future that completes when the message is sent
      */
     final protected CompletableFuture<Void> sendMessage(final EventStreamJsonMessage message, final boolean close) {
+        return sendMessage(message, close, null);
+    }
+
+    /**
+     * Sends a message through the given continuation, reporting the serialized payload size before sending
+     * @param message The message to send
+     * @param close If true, the continuation is closed after the message is sent
+     * @param payloadSizeConsumer Receives the payload size in bytes, may be null
+     * @return A future that completes when the message is sent
+     */
+    private CompletableFuture<Void> sendMessage(final EventStreamJsonMessage message, final boolean close,
+                                                final IntConsumer payloadSizeConsumer) {
         if (continuation.isClosed()) { //is this check necessary?
             return CompletableFuture.supplyAsync(() -> {
                 throw new EventStreamClosedException(continuation.getNativeHandle());
@@ -239,6 +271,9 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
         }
         final List<Header> responseHeaders = new ArrayList<>();
         byte[] outputPayload = getOperationModelContext().getServiceModel().toJson(message);
+        if (payloadSizeConsumer != null) {
+            payloadSizeConsumer.accept(outputPayload.length);
+        }
         responseHeaders.add(Header.createHeader(EventStreamRPCServiceModel.CONTENT_TYPE_HEADER,
                 EventStreamRPCServiceModel.CONTENT_TYPE_APPLICATION_JSON));
         responseHeaders.add(Header.createHeader(EventStreamRPCServiceModel.SERVICE_MODEL_TYPE_HEADER,
@@ -310,12 +345,21 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
                         || bytes.length == 0)) {
                     return;
                 } else {
+                    if (metricsRecorder != null) {
+                        metricsRecorder.streamEventReceived(getIdentityLabel(), getOperationName(),
+                                bytes == null ? 0 : bytes.length);
+                    }
                     final StreamingRequestType streamEvent = serviceModel.fromJson(getStreamingRequestClass(), bytes);
                     //exceptions occurring during this processing will result in closure of stream
                     handleStreamEvent(streamEvent);
                 }
             } else {
                 //this is the initial request
+                final long requestStart = System.nanoTime();
+                if (metricsRecorder != null) {
+                    metricsRecorder.requestReceived(getIdentityLabel(), getOperationName(),
+                            bytes == null ? 0 : bytes.length);
+                }
                 initialRequestHeaders = new ArrayList<>(list);
                 initialRequest = serviceModel.fromJson(getRequestClass(), bytes);
                 //call into business logic
@@ -333,7 +377,12 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
                             throw new RuntimeException("Handler for operation [" + getOperationName()
                                     + "] did not return expected type. Found: " + result.getClass().getName());
                         }
-                        sendMessage(result, !isStreamingOperation()).whenComplete((res, ex) -> {
+                        sendMessage(result, !isStreamingOperation(), size -> {
+                            if (metricsRecorder != null) {
+                                metricsRecorder.requestCompleted(getIdentityLabel(), getOperationName(),
+                                        System.nanoTime() - requestStart, size);
+                            }
+                        }).whenComplete((res, ex) -> {
                             if (ex != null) {
                                 LOGGER.error(ex.getClass().getName() + " sending response message: " + ex.getMessage());
                             } else {
@@ -363,6 +412,9 @@ public abstract class OperationContinuationHandler<RequestType extends EventStre
         if (throwable instanceof CompletionException) {
             throwable = throwable.getCause();
         }
+        if (metricsRecorder != null) {
+            metricsRecorder.operationFailed(getIdentityLabel(), getOperationName());
+        }
         if (throwable instanceof EventStreamOperationError) {
             //We do not check if the specific exception thrown is a part of the core service?
             sendModeledError((EventStreamOperationError) throwable);
@@ -20,6 +20,7 @@ public class OperationContinuationHandlerContext {
     private final ServerConnection serverConnection;
     private final ServerConnectionContinuation continuation;
     private final AuthenticationData authenticationData;
+    private final OperationMetricsRecorder metricsRecorder;
 
     /**
      * Creates a new OperationContinuationHandlerContext
@@ -30,9 +31,24 @@ public class OperationContinuationHandlerContext {
     public OperationContinuationHandlerContext(final ServerConnection connection,
            final ServerConnectionContinuation continuation,
            final AuthenticationData authenticationData) {
+        this(connection, continuation, authenticationData, null);
+    }
+
+    /**
+     * Creates a new OperationContinuationHandlerContext
+     * @param connection The connection to associate with the OperationContinuationHandlerContext
+     * @param continuation The continuation to associate with the OperationContinuationHandlerContext
+     * @param authenticationData The authentication data to associate with the OperationContinuationHandlerContext
+     * @param metricsRecorder The recorder for operation measurements, may be null
+     */
+    public OperationContinuationHandlerContext(final ServerConnection connection,
+           final ServerConnectionContinuation continuation,
+           final AuthenticationData authenticationData,
+           final OperationMetricsRecorder metricsRecorder) {
         this.serverConnection = connection;
         this.continuation = continuation;
         this.authenticationData = authenticationData;
+        this.metricsRecorder = metricsRecorder;
     }
 
     /**
@@ -58,4 +74,12 @@ public class OperationContinuationHandlerContext {
     public AuthenticationData getAuthenticationData() {
         return authenticationData;
     }
+
+    /**
+     * Returns the operation metrics recorder associated with the OperationContinuationHandlerContext
+     * @return the operation metrics recorder, or null if metrics are not recorded
+     */
+    public OperationMetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
 }
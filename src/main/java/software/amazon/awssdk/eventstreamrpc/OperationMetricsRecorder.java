@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.awssdk.eventstreamrpc;
+
+/**
+ * Receives per-operation measurements from operation handlers. Implementations are called on the event loop thread
+ * (or the thread completing an asynchronous handler) and must not block.
+ */
+public interface OperationMetricsRecorder {
+
+    /**
+     * Called when an initial request for an operation has been received and decoded
+     *
+     * @param identityLabel identity of the client that sent the request
+     * @param operationName name of the operation
+     * @param requestBytes size of the request payload in bytes
+     */
+    void requestReceived(String identityLabel, String operationName, int requestBytes);
+
+    /**
+     * Called when an operation handler produced a response which is about to be sent to the client
+     *
+     * @param identityLabel identity of the client that sent the request
+     * @param operationName name of the operation
+     * @param latencyNanos time between receiving the request and the handler producing a response
+     * @param responseBytes size of the response payload in bytes
+     */
+    void requestCompleted(String identityLabel, String operationName, long latencyNanos, int responseBytes);
+
+    /**
+     * Called when an error response is sent to the client, either from the initial request or an open stream
+     *
+     * @param identityLabel identity of the client
+     * @param operationName name of the operation
+     */
+    void operationFailed(String identityLabel, String operationName);
+
+    /**
+     * Called when the client sent an event on an open stream
+     *
+     * @param identityLabel identity of the client
+     * @param operationName name of the operation
+     * @param eventBytes size of the event payload in bytes
+     */
+    void streamEventReceived(String identityLabel, String operationName, int eventBytes);
+
+    /**
+     * Called when a stream event sent to the client has been written, or failed to be written
+     *
+     * @param identityLabel identity of the client
+     * @param operationName name of the operation
+     * @param latencyNanos time between the send being requested and its completion
+     * @param eventBytes size of the event payload in bytes
+     * @param failed true if the event could not be sent
+     */
+    void streamEventSent(String identityLabel, String operationName, long latencyNanos, int eventBytes,
+                         boolean failed);
+}
@@ -149,7 +149,7 @@ public class ServiceOperationMappingContinuationHandler extends ServerConnection
     @Override
     protected ServerConnectionContinuationHandler onIncomingStream(ServerConnectionContinuation continuation, String operationName) {
         final OperationContinuationHandlerContext operationContext = new OperationContinuationHandlerContext(
-                connection, continuation, authenticationData);
+                connection, continuation, authenticationData, serviceHandler.getOperationMetricsRecorder());
         final Function<OperationContinuationHandlerContext, ? extends ServerConnectionContinuationHandler> registeredOperationHandlerFn =
                 serviceHandler.getOperationHandler(operationName);
         if (registeredOperationHandlerFn != null) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.ipc;
+
+import com.aws.greengrass.config.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCClientV2;
+import software.amazon.awssdk.aws.greengrass.model.BinaryMessage;
+import software.amazon.awssdk.aws.greengrass.model.GetConfigurationRequest;
+import software.amazon.awssdk.aws.greengrass.model.GetConfigurationResponse;
+import software.amazon.awssdk.aws.greengrass.model.PublishMessage;
+import software.amazon.awssdk.aws.greengrass.model.PublishToTopicRequest;
+import software.amazon.awssdk.aws.greengrass.model.SubscribeToConfigurationUpdateRequest;
+import software.amazon.awssdk.aws.greengrass.model.SubscribeToTopicRequest;
+import software.amazon.awssdk.eventstreamrpc.StreamResponseHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.jmh.ipc.IPCBenchmarkKernel.CONFIG_VALUE_KEY;
+
+/**
+ * End to end IPC benchmarks. Clients connect to a locally launched kernel over the real domain socket, so the numbers
+ * include serialization, the native event stream layer, authorization and the pub/sub and config store agents.
+ */
+public class IPCBenchmark {
+    private static final String TOPIC = "benchmark/topic";
+    private static final String PUBLISHER = "BenchmarkPublisher";
+    private static final String SUBSCRIBER_PREFIX = "BenchmarkSubscriber";
+    private static final long DELIVERY_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Publish one message and wait until every subscriber received it. With one subscriber the score is the number
+     * of messages per second which make it through the Nucleus at the given payload size.
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Fork(1)
+    @Measurement(iterations = 5)
+    @Warmup(iterations = 3)
+    @State(Scope.Benchmark)
+    public static class PublishToTopicFanOut {
+        @Param({"1", "100"})
+        private int subscribers;
+
+        @Param({"16", "1024", "65536"})
+        private int payloadSize;
+
+        private final Semaphore delivered = new Semaphore(0);
+        private IPCBenchmarkKernel kernel;
+        private GreengrassCoreIPCClientV2 publisher;
+        private PublishToTopicRequest request;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            List<String> components = new ArrayList<>();
+            components.add(PUBLISHER);
+            for (int i = 0; i < subscribers; i++) {
+                components.add(SUBSCRIBER_PREFIX + i);
+            }
+            kernel = new IPCBenchmarkKernel(components);
+            publisher = kernel.connect(PUBLISHER);
+            for (int i = 0; i < subscribers; i++) {
+                kernel.connect(SUBSCRIBER_PREFIX + i).subscribeToTopic(new SubscribeToTopicRequest().withTopic(TOPIC),
+                        releaseOnEvent(delivered));
+            }
+            request = new PublishToTopicRequest().withTopic(TOPIC).withPublishMessage(new PublishMessage()
+                    .withBinaryMessage(new BinaryMessage().withMessage(new byte[payloadSize])));
+        }
+
+        @TearDown(Level.Trial)
+        public void doShutdown() throws Exception {
+            kernel.close();
+        }
+
+        @Benchmark
+        public void publishAndDeliver() throws Exception {
+            publisher.publishToTopic(request);
+            awaitDelivery(delivered, subscribers);
+        }
+    }
+
+    /**
+     * Plain request and response round trip.
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Fork(1)
+    @Measurement(iterations = 5)
+    @Warmup(iterations = 3)
+    @State(Scope.Benchmark)
+    public static class GetConfiguration {
+        private IPCBenchmarkKernel kernel;
+        private GreengrassCoreIPCClientV2 client;
+        private GetConfigurationRequest request;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            kernel = new IPCBenchmarkKernel(Collections.singletonList(PUBLISHER));
+            client = kernel.connect(PUBLISHER);
+            request = new GetConfigurationRequest().withKeyPath(Collections.singletonList(CONFIG_VALUE_KEY));
+        }
+
+        @TearDown(Level.Trial)
+        public void doShutdown() throws Exception {
+            kernel.close();
+        }
+
+        @Benchmark
+        public GetConfigurationResponse getConfiguration() throws Exception {
+            return client.getConfiguration(request);
+        }
+    }
+
+    /**
+     * Time from a configuration change in the Nucleus until the subscribed component receives the update event.
+     */
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @Measurement(iterations = 5)
+    @Warmup(iterations = 3)
+    @State(Scope.Benchmark)
+    public static class ConfigurationUpdateDelivery {
+        private final Semaphore delivered = new Semaphore(0);
+        private IPCBenchmarkKernel kernel;
+        private Topic valueTopic;
+        private int value;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            kernel = new IPCBenchmarkKernel(Collections.singletonList(PUBLISHER));
+            kernel.connect(PUBLISHER).subscribeToConfigurationUpdate(new SubscribeToConfigurationUpdateRequest()
+                            .withKeyPath(Collections.singletonList(CONFIG_VALUE_KEY)),
+                    releaseOnEvent(delivered));
+            valueTopic = kernel.getComponentConfiguration(PUBLISHER).lookup(CONFIG_VALUE_KEY);
+        }
+
+        @TearDown(Level.Trial)
+        public void doShutdown() throws Exception {
+            kernel.close();
+        }
+
+        @Benchmark
+        public void updateAndDeliver() throws Exception {
+            valueTopic.withValue(++value);
+            awaitDelivery(delivered, 1);
+        }
+    }
+
+    private static <T> StreamResponseHandler<T> releaseOnEvent(Semaphore delivered) {
+        return new StreamResponseHandler<T>() {
+            @Override
+            public void onStreamEvent(T event) {
+                delivered.release();
+            }
+
+            @Override
+            public boolean onStreamError(Throwable error) {
+                return false;
+            }
+
+            @Override
+            public void onStreamClosed() {
+            }
+        };
+    }
+
+    private static void awaitDelivery(Semaphore delivered, int events) throws InterruptedException {
+        if (!delivered.tryAcquire(events, DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Stream events were not delivered in time");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.ipc;
+
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.lifecyclemanager.GlobalStateChangeListener;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.util.Coerce;
+import com.aws.greengrass.util.Utils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCClientV2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.ipc.AuthenticationHandler.SERVICE_UNIQUE_ID_KEY;
+import static com.aws.greengrass.ipc.IPCEventStreamService.NUCLEUS_DOMAIN_SOCKET_FILEPATH_FOR_COMPONENT;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.PRIVATE_STORE_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SETENV_CONFIG_NAMESPACE;
+
+/**
+ * Kernel for IPC benchmarks. It runs no cloud facing services, only the IPC server and a set of generic components
+ * without lifecycle steps, which exist so that benchmark clients can connect with their identity. Every component may
+ * use all pub/sub operations on all topics, and has a {@code value} key in its configuration.
+ */
+public class IPCBenchmarkKernel implements AutoCloseable {
+    public static final String CONFIG_VALUE_KEY = "value";
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private final Path rootDir;
+    private final Kernel kernel;
+    private final List<GreengrassCoreIPCClientV2> clients = new ArrayList<>();
+
+    /**
+     * Launch a kernel with the given components and wait for all of them to start.
+     *
+     * @param componentNames names of the components which benchmark clients connect as
+     * @throws IOException          if the config or root directory cannot be written
+     * @throws InterruptedException if interrupted while waiting for the components
+     */
+    public IPCBenchmarkKernel(List<String> componentNames) throws IOException, InterruptedException {
+        rootDir = Files.createTempDirectory("ipc-benchmark");
+        Path configFile = rootDir.resolve("config.yaml");
+        YAML.writeValue(configFile.toFile(), buildConfig(componentNames));
+
+        kernel = new Kernel();
+        kernel.parseArgs("-r", rootDir.toString(), "-i", configFile.toUri().toString());
+
+        Set<String> waitingFor = Collections.synchronizedSet(new HashSet<>(componentNames));
+        CountDownLatch started = new CountDownLatch(1);
+        GlobalStateChangeListener listener = (service, oldState, newState) -> {
+            if ((State.RUNNING.equals(newState) || State.FINISHED.equals(newState))
+                    && waitingFor.remove(service.getName()) && waitingFor.isEmpty()) {
+                started.countDown();
+            }
+        };
+        kernel.getContext().addGlobalStateChangeListener(listener);
+        kernel.launch();
+        if (!started.await(60, TimeUnit.SECONDS)) {
+            kernel.shutdown();
+            throw new IllegalStateException("Components did not start: " + waitingFor);
+        }
+        kernel.getContext().removeGlobalStateChangeListener(listener);
+    }
+
+    /**
+     * Connect a new IPC client over the domain socket. The client is closed with the kernel.
+     *
+     * @param componentName component to connect as
+     * @return connected client
+     * @throws IOException if the connection fails
+     */
+    public GreengrassCoreIPCClientV2 connect(String componentName) throws IOException {
+        Topics privateConfig = kernel.getConfig().findTopics(SERVICES_NAMESPACE_TOPIC, componentName,
+                PRIVATE_STORE_NAMESPACE_TOPIC);
+        String socketPath = Coerce.toString(kernel.getConfig().getRoot()
+                .lookup(SETENV_CONFIG_NAMESPACE, NUCLEUS_DOMAIN_SOCKET_FILEPATH_FOR_COMPONENT));
+        GreengrassCoreIPCClientV2 client = new GreengrassCoreIPCClientV2.Builder()
+                .withAuthToken(Coerce.toString(privateConfig.find(SERVICE_UNIQUE_ID_KEY)))
+                .withSocketPath(socketPath)
+                .build();
+        synchronized (clients) {
+            clients.add(client);
+        }
+        return client;
+    }
+
+    /**
+     * Get the configuration namespace of a component.
+     *
+     * @param componentName component name
+     * @return configuration topics
+     */
+    public Topics getComponentConfiguration(String componentName) {
+        return kernel.findServiceTopic(componentName).lookupTopics("configuration");
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (clients) {
+            for (GreengrassCoreIPCClientV2 client : clients) {
+                client.close();
+            }
+            clients.clear();
+        }
+        kernel.shutdown();
+        Utils.deleteFileRecursively(rootDir.toFile());
+    }
+
+    private static Map<String, Object> buildConfig(List<String> componentNames) {
+        Map<String, Object> services = new HashMap<>();
+        Map<String, Object> main = new HashMap<>();
+        main.put("dependencies", componentNames);
+        main.put("lifecycle", Collections.emptyMap());
+        services.put("main", main);
+
+        for (String name : componentNames) {
+            Map<String, Object> policy = new HashMap<>();
+            policy.put("policyDescription", "Benchmark access to all topics");
+            policy.put("operations", Collections.singletonList("*"));
+            policy.put("resources", Collections.singletonList("*"));
+            Map<String, Object> configuration = new HashMap<>();
+            configuration.put("accessControl", Collections.singletonMap("aws.greengrass.ipc.pubsub",
+                    Collections.singletonMap(name + ":pubsub:1", policy)));
+            configuration.put(CONFIG_VALUE_KEY, 0);
+
+            Map<String, Object> component = new HashMap<>();
+            component.put("lifecycle", Collections.emptyMap());
+            component.put("configuration", configuration);
+            services.put(name, component);
+        }
+        return Collections.singletonMap("services", services);
+    }
+}
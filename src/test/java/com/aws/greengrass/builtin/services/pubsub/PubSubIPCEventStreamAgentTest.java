@@ -10,6 +10,7 @@ import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.aws.greengrass.util.OrderedExecutorService;
+import com.aws.greengrass.util.Pair;
 import org.hamcrest.collection.IsMapContaining;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +37,8 @@ import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext
 import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -603,6 +606,38 @@ class PubSubIPCEventStreamAgentTest {
         assertEquals(0, pubSubIPCEventStreamAgent.getListeners().size());
     }
 
+    @Test
+    void GIVEN_subscribed_consumers_WHEN_publish_batch_THEN_each_consumer_receives_its_messages_in_order()
+            throws InterruptedException {
+        String otherTopic = "OtherTopic";
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch allTopicsLatch = new CountDownLatch(3);
+        CountDownLatch otherTopicLatch = new CountDownLatch(1);
+        pubSubIPCEventStreamAgent.subscribe("+", e -> {
+            received.add(new String(e.getPayload()));
+            allTopicsLatch.countDown();
+        }, "Subscriber1");
+        pubSubIPCEventStreamAgent.subscribe(otherTopic, e -> otherTopicLatch.countDown(), "Subscriber2");
+
+        pubSubIPCEventStreamAgent.publish(Arrays.asList(new Pair<>(TEST_TOPIC, "1".getBytes()),
+                new Pair<>(otherTopic, "2".getBytes()), new Pair<>(TEST_TOPIC, "3".getBytes())), TEST_SERVICE);
+        assertTrue(allTopicsLatch.await(10, TimeUnit.SECONDS));
+        assertTrue(otherTopicLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("1", "2", "3"), received);
+    }
+
+    @Test
+    void GIVEN_subscribed_consumer_WHEN_publish_batch_with_wildcard_topic_THEN_throws_and_nothing_published()
+            throws InterruptedException {
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+        pubSubIPCEventStreamAgent.subscribe(TEST_TOPIC, getConsumer(countDownLatch), TEST_SERVICE);
+
+        assertThrows(InvalidArgumentsError.class, () -> pubSubIPCEventStreamAgent.publish(
+                Arrays.asList(new Pair<>(TEST_TOPIC, "1".getBytes()), new Pair<>("Test/+", "2".getBytes())),
+                TEST_SERVICE));
+        assertFalse(countDownLatch.await(1, TimeUnit.SECONDS));
+    }
+
     private static Consumer<PublishEvent> getConsumer(CountDownLatch cdl) {
         return subscriptionResponseMessage -> cdl.countDown();
     }
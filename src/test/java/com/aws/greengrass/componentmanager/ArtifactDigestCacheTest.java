@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class ArtifactDigestCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private Path cacheFile;
+    private Path artifact;
+
+    @BeforeEach
+    void setup() throws Exception {
+        cacheFile = tempDir.resolve(ArtifactDigestCache.ARTIFACT_DIGEST_CACHE_FILE);
+        artifact = tempDir.resolve("artifact.zip");
+        Files.write(artifact, "artifact content".getBytes());
+    }
+
+    @Test
+    void GIVEN_digest_cached_WHEN_artifact_unchanged_THEN_digest_returned_after_reload() {
+        new ArtifactDigestCache(cacheFile).put(artifact, "SHA-256", "digest");
+        assertTrue(Files.exists(cacheFile));
+
+        ArtifactDigestCache cache = new ArtifactDigestCache(cacheFile);
+        assertEquals(Optional.of("digest"), cache.get(artifact, "SHA-256"));
+        assertFalse(cache.get(artifact, "SHA-1").isPresent());
+    }
+
+    @Test
+    void GIVEN_digest_cached_WHEN_artifact_modified_THEN_digest_not_returned() throws Exception {
+        ArtifactDigestCache cache = new ArtifactDigestCache(cacheFile);
+        cache.put(artifact, "SHA-256", "digest");
+
+        FileTime modified = Files.getLastModifiedTime(artifact);
+        Files.write(artifact, "changed content!".getBytes());
+        Files.setLastModifiedTime(artifact, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertFalse(cache.get(artifact, "SHA-256").isPresent());
+
+        // a new digest is cached for the new content
+        cache.put(artifact, "SHA-256", "newDigest");
+        assertEquals(Optional.of("newDigest"), cache.get(artifact, "SHA-256"));
+    }
+
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    @Test
+    void GIVEN_artifact_replaced_WHEN_get_THEN_digest_not_returned() throws Exception {
+        ArtifactDigestCache cache = new ArtifactDigestCache(cacheFile);
+        cache.put(artifact, "SHA-256", "digest");
+
+        Path copy = tempDir.resolve("copy.zip");
+        Files.copy(artifact, copy);
+        Files.setLastModifiedTime(copy, Files.getLastModifiedTime(artifact));
+        Files.move(copy, artifact, StandardCopyOption.REPLACE_EXISTING);
+
+        assertFalse(cache.get(artifact, "SHA-256").isPresent());
+    }
+
+    @Test
+    void GIVEN_corrupt_cache_file_WHEN_get_THEN_digest_computed_again(ExtensionContext context) throws Exception {
+        ignoreExceptionOfType(context, JsonParseException.class);
+        Files.write(cacheFile, "not json".getBytes());
+        assertFalse(new ArtifactDigestCache(cacheFile).get(artifact, "SHA-256").isPresent());
+    }
+}
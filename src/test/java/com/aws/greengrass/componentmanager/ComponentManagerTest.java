@@ -15,6 +15,7 @@ import com.aws.greengrass.componentmanager.converter.RecipeLoader;
 import com.aws.greengrass.componentmanager.exceptions.MissingRequiredComponentsException;
 import com.aws.greengrass.componentmanager.exceptions.NoAvailableComponentVersionException;
 import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
+import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
 import com.aws.greengrass.componentmanager.exceptions.PackagingException;
 import com.aws.greengrass.componentmanager.exceptions.SizeLimitException;
 import com.aws.greengrass.componentmanager.models.ComponentArtifact;
@@ -79,10 +80,13 @@ import static com.aws.greengrass.componentmanager.KernelConfigResolver.PREV_VERS
 import static com.aws.greengrass.componentmanager.KernelConfigResolver.VERSION_CONFIG_KEY;
 import static com.aws.greengrass.deployment.DeviceConfiguration.COMPONENT_STORE_MAX_SIZE_BYTES;
 import static com.aws.greengrass.deployment.DeviceConfiguration.COMPONENT_STORE_MAX_SIZE_DEFAULT_BYTES;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_COMPONENT_PREPARE_CONCURRENCY;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_COMPONENT_PREPARE_MAX_BYTES_IN_FLIGHT;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionUltimateCauseOfType;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -272,6 +276,63 @@ class ComponentManagerTest {
         verify(componentStore, times(0)).getPackageRecipe(pkgId2);
     }
 
+    @Test
+    void GIVEN_prepare_concurrency_WHEN_prepare_packages_THEN_packages_prepared_at_the_same_time() throws Exception {
+        when(deviceConfiguration.getComponentPrepareConcurrency())
+                .thenReturn(Topic.of(context, DEVICE_PARAM_COMPONENT_PREPARE_CONCURRENCY, 2));
+        ComponentIdentifier pkgId1 = new ComponentIdentifier("MonitoringService", new Semver("1.0.0"));
+        ComponentIdentifier pkgId2 = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+
+        Path sourceRecipe = RECIPE_RESOURCE_PATH.resolve("MonitoringService-1.0.0.yaml");
+        ComponentRecipe recipe = recipeLoader.loadFromFile(new String(Files.readAllBytes(sourceRecipe))).get();
+
+        // Each package waits for the other one to start preparing
+        CountDownLatch bothPreparing = new CountDownLatch(2);
+        when(componentStore.getPackageRecipe(any())).thenAnswer(invocationOnMock -> {
+            bothPreparing.countDown();
+            if (!bothPreparing.await(5, TimeUnit.SECONDS)) {
+                throw new PackageLoadingException("Packages were not prepared at the same time");
+            }
+            return recipe;
+        });
+
+        Future<Void> future = componentManager.preparePackages(Arrays.asList(pkgId1, pkgId2));
+        future.get(10, TimeUnit.SECONDS);
+
+        verify(componentStore).getPackageRecipe(pkgId1);
+        verify(componentStore).getPackageRecipe(pkgId2);
+    }
+
+    @Test
+    void GIVEN_prepare_concurrency_WHEN_one_package_fails_THEN_fails_without_waiting_for_others() throws Exception {
+        when(deviceConfiguration.getComponentPrepareConcurrency())
+                .thenReturn(Topic.of(context, DEVICE_PARAM_COMPONENT_PREPARE_CONCURRENCY, 2));
+        ComponentIdentifier pkgId1 = new ComponentIdentifier("MonitoringService", new Semver("1.0.0"));
+        ComponentIdentifier pkgId2 = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+
+        CountDownLatch pkgId1Preparing = new CountDownLatch(1);
+        CountDownLatch pkgId1Interrupted = new CountDownLatch(1);
+        when(componentStore.getPackageRecipe(pkgId1)).thenAnswer(invocationOnMock -> {
+            pkgId1Preparing.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                pkgId1Interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        when(componentStore.getPackageRecipe(pkgId2)).thenAnswer(invocationOnMock -> {
+            pkgId1Preparing.await(5, TimeUnit.SECONDS);
+            throw new PackageLoadingException("Failed to load recipe");
+        });
+
+        Future<Void> future = componentManager.preparePackages(Arrays.asList(pkgId1, pkgId2));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), instanceOf(PackageLoadingException.class));
+        assertTrue(pkgId1Interrupted.await(5, TimeUnit.SECONDS));
+    }
+
     @Test
     void GIVEN_service_has_version_WHEN_getPackageVersionFromService_THEN_returnIt() {
         Topics serviceConfigTopics = mock(Topics.class);
@@ -585,7 +646,7 @@ class ComponentManagerTest {
         when(componentStore.getPackageRecipe(pkgId)).thenReturn(componentRecipe);
 
         // mock very large component store size
-        when(componentStore.getContentSize()).thenReturn(TEN_TERA_BYTES);
+        when(componentStore.getContentSize(any())).thenReturn(TEN_TERA_BYTES);
         when(artifactDownloader.getDownloadSize()).thenReturn(TEN_BYTES);
 
         ignoreExceptionUltimateCauseOfType(context, SizeLimitException.class);
@@ -594,6 +655,29 @@ class ComponentManagerTest {
         verify(artifactDownloader, never()).download();
     }
 
+    @Test
+    void GIVEN_store_size_unreadable_WHEN_prepare_artifacts_THEN_download_bytes_released() throws Exception {
+        when(deviceConfiguration.getComponentPrepareMaxBytesInFlight())
+                .thenReturn(Topic.of(context, DEVICE_PARAM_COMPONENT_PREPARE_MAX_BYTES_IN_FLIGHT, 1L));
+        ComponentIdentifier pkgId = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+        when(componentStore.resolveArtifactDirectoryPath(pkgId)).thenReturn(tempDir);
+        when(artifactDownloader.getDownloadSize()).thenReturn(TEN_BYTES);
+        when(componentStore.getContentSize(any()))
+                .thenThrow(new PackageLoadingException("Failed to access package store")).thenReturn(0L);
+        List<ComponentArtifact> artifacts = Collections.singletonList(
+                ComponentArtifact.builder().artifactUri(new URI("greengrass:binary1")).build());
+
+        assertThrows(PackageLoadingException.class, () -> componentManager.prepareArtifacts(pkgId, artifacts));
+
+        // The failed artifact does not hold on to its bytes, which would make the next one wait forever
+        Future<?> next = executor.submit(() -> {
+            componentManager.prepareArtifacts(pkgId, artifacts);
+            return null;
+        });
+        next.get(5, TimeUnit.SECONDS);
+        verify(artifactDownloader).download();
+    }
+
     @Test
     void GIVEN_kernel_service_configs_WHEN_get_versions_to_keep_THEN_return_correct_result() {
         Collection<GreengrassService> mockOrderedDeps =
@@ -469,6 +469,11 @@ class ComponentStoreTest {
         preloadRecipeFileFromTestResource(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME);
         long recipeLength = RECIPE_RESOURCE_PATH.resolve(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME).toFile().length();
         assertEquals(recipeLength, componentStore.getContentSize());
+
+        // files being downloaded are left out
+        Path recipe = recipeDirectory.resolve(
+                getRecipeStorageFilenameFromTestSource(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME));
+        assertEquals(0, componentStore.getContentSize(new HashSet<>(Arrays.asList(recipe))));
     }
 
     private void preloadRecipeFileFromTestResource(String recipeFileName) throws Exception {
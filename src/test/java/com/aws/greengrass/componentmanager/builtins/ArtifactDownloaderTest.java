@@ -35,16 +35,25 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionUltimateCauseOfType;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -52,6 +61,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({GGExtension.class, MockitoExtension.class})
 class ArtifactDownloaderTest {
@@ -229,6 +239,94 @@ class ArtifactDownloaderTest {
         assertThrows(PackageDownloadException.class, () -> downloader.download());
     }
 
+    @Test
+    void GIVEN_chunked_download_WHEN_download_THEN_chunks_written_at_their_position() throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        MockDownloader downloader =
+                new RangedMockDownloader(createTestIdentifier(), artifact, artifactDir, content, componentStore);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            downloader.setChunkedDownload(executor, 3, 5);
+            File file = downloader.download();
+
+            assertThat(Files.readAllBytes(file.toPath()), equalTo(content.getBytes()));
+            assertThat(downloader.requestedRanges, containsInAnyOrder(0L, 5L, 10L, 15L, 20L));
+            assertFalse(Files.exists(downloader.getChunkProgressPath()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_chunked_download_interrupted_WHEN_download_again_THEN_only_missing_chunks_downloaded()
+            throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        RangedMockDownloader downloader = spy(
+                new RangedMockDownloader(createTestIdentifier(), artifact, artifactDir, content, componentStore));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            downloader.setChunkedDownload(executor, 2, 5);
+            doAnswer(invocationOnMock -> {
+                throw new PackageDownloadException("Fail to download");
+            }).when(downloader).downloadRange(eq(10L), anyLong(), any());
+            assertThrows(PackageDownloadException.class, downloader::download);
+            assertTrue(Files.exists(downloader.getChunkProgressPath()));
+
+            downloader.requestedRanges.clear();
+            doAnswer(invocationOnMock -> invocationOnMock.callRealMethod())
+                    .when(downloader).downloadRange(eq(10L), anyLong(), any());
+            File file = downloader.download();
+
+            assertThat(Files.readAllBytes(file.toPath()), equalTo(content.getBytes()));
+            assertThat(downloader.requestedRanges, containsInAnyOrder(10L, 15L, 20L));
+            assertFalse(Files.exists(downloader.getChunkProgressPath()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_chunked_download_WHEN_later_chunk_fails_THEN_fails_without_waiting_for_earlier_chunk()
+            throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        RangedMockDownloader downloader = spy(
+                new RangedMockDownloader(createTestIdentifier(), artifact, artifactDir, content, componentStore));
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch firstChunkInterrupted = new CountDownLatch(1);
+        try {
+            downloader.setChunkedDownload(executor, 2, 5);
+            doAnswer(invocationOnMock -> {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    firstChunkInterrupted.countDown();
+                    throw e;
+                }
+                return invocationOnMock.callRealMethod();
+            }).when(downloader).downloadRange(eq(0L), anyLong(), any());
+            doAnswer(invocationOnMock -> {
+                throw new PackageDownloadException("Fail to download");
+            }).when(downloader).downloadRange(eq(5L), anyLong(), any());
+
+            assertThrows(PackageDownloadException.class, downloader::download);
+            assertTrue(firstChunkInterrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void GIVEN_checksum_match_WHEN_download_required_THEN_return_false() throws Exception {
         String content = "Sample artifact content";
@@ -243,6 +341,24 @@ class ArtifactDownloaderTest {
         File file = downloader.getArtifactFile();
         Files.write(file.toPath(), content.getBytes());
         assertThat(downloader.downloadRequired(), is(false));
+        verify(componentStore).cacheArtifactDigest(file.toPath(), "SHA-256", checksum);
+    }
+
+    @Test
+    void GIVEN_cached_digest_WHEN_download_required_THEN_artifact_not_hashed() throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        MockDownloader downloader = new MockDownloader(createTestIdentifier(), artifact, artifactDir, content, componentStore);
+        File file = downloader.getArtifactFile();
+        // different content, so the result can only come from the cache
+        Files.write(file.toPath(), "Other content".getBytes());
+        when(componentStore.getCachedArtifactDigest(file.toPath(), "SHA-256")).thenReturn(Optional.of(checksum));
+
+        assertThat(downloader.downloadRequired(), is(false));
+        verify(componentStore, times(0)).cacheArtifactDigest(any(), any(), any());
     }
 
     @Test
@@ -269,6 +385,7 @@ class ArtifactDownloaderTest {
         final String localFileName = LOCAL_FILE_NAME;
         final String input;
         InputStream overridingInputStream = null;
+        final List<Long> requestedRanges = new CopyOnWriteArrayList<>();
 
         MockDownloader(ComponentIdentifier identifier, ComponentArtifact artifact, Path artifactDir,
                        String inputContent, ComponentStore componentStore) {
@@ -288,6 +405,7 @@ class ArtifactDownloaderTest {
 
         @Override
         protected long download(long start, long end, MessageDigest digest) throws PackageDownloadException {
+            requestedRanges.add(start);
             if (overridingInputStream != null) {
                 return super.download(overridingInputStream, digest);
             }
@@ -305,4 +423,19 @@ class ArtifactDownloaderTest {
             return (long) input.length();
         }
     }
+
+    static class RangedMockDownloader extends MockDownloader implements RangedArtifactDownloader {
+        RangedMockDownloader(ComponentIdentifier identifier, ComponentArtifact artifact, Path artifactDir,
+                             String inputContent, ComponentStore componentStore) {
+            super(identifier, artifact, artifactDir, inputContent, componentStore);
+        }
+
+        @Override
+        public long downloadRange(long start, long end, RangeSink sink)
+                throws PackageDownloadException, InterruptedException {
+            requestedRanges.add(start);
+            return sink.write(
+                    new ByteArrayInputStream(Arrays.copyOfRange(input.getBytes(), (int) start, (int) end + 1)));
+        }
+    }
 }
@@ -49,6 +49,7 @@ import java.util.Base64;
 import static com.aws.greengrass.componentmanager.builtins.GreengrassRepositoryDownloader.CONTENT_LENGTH_HEADER;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.net.HttpURLConnection.HTTP_PARTIAL;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -137,6 +138,8 @@ class GreengrassRepositoryDownloaderTest {
 
         downloader.download();
 
+        // the presigned URL of the size lookup is reused for the download
+        verify(client, times(1)).getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class));
         GetComponentVersionArtifactRequest generatedRequest =
                 getComponentVersionArtifactRequestArgumentCaptor.getValue();
         assertEquals(TEST_ARN, generatedRequest.arn());
@@ -229,6 +232,47 @@ class GreengrassRepositoryDownloaderTest {
         verify(request, times(2)).call();
     }
 
+    @Test
+    void GIVEN_presigned_url_expired_WHEN_download_THEN_new_url_fetched(ExtensionContext context) throws Exception {
+        ignoreExceptionOfType(context, RetryableServerErrorException.class);
+        Path mockArtifactPath = ComponentTestResourceHelper
+                .getPathForTestPackage(ComponentTestResourceHelper.MONITORING_SERVICE_PACKAGE_NAME, "1.0.0")
+                .resolve("monitor_artifact_100.txt");
+        when(client.getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class))).thenReturn(
+                GetComponentVersionArtifactResponse.builder().preSignedUrl("https://www.amazon.com/artifact.txt")
+                        .build());
+        ComponentIdentifier pkgId = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+        lenient().when(componentStore.getRecipeMetadata(pkgId)).thenReturn(new RecipeMetadata(TEST_ARN));
+        GreengrassRepositoryDownloader downloader = spy(new GreengrassRepositoryDownloader(clientFactory, pkgId,
+                ComponentArtifact.builder().artifactUri(new URI("greengrass:binary")).build(), null, componentStore, deviceConfiguration));
+        downloader.setClientExceptionRetryConfig(
+                downloader.getClientExceptionRetryConfig().toBuilder().initialRetryInterval(Duration.ZERO).build());
+
+        doReturn(httpClient).when(downloader).getSdkHttpClient();
+        doReturn(request).when(httpClient).prepareRequest(any());
+        when(request.call())
+                .thenReturn(HttpExecuteResponse.builder()
+                        .response(SdkHttpResponse.builder().statusCode(HTTP_OK)
+                                .putHeader(CONTENT_LENGTH_HEADER, String.valueOf(Files.size(mockArtifactPath))).build())
+                        .responseBody(AbortableInputStream.create(Files.newInputStream(mockArtifactPath)))
+                        .build())
+                .thenReturn(HttpExecuteResponse.builder()
+                        .response(SdkHttpResponse.builder().statusCode(HTTP_FORBIDDEN).build())
+                        .build())
+                .thenReturn(HttpExecuteResponse.builder()
+                        .response(SdkHttpResponse.builder().statusCode(HTTP_PARTIAL).build())
+                        .responseBody(AbortableInputStream.create(Files.newInputStream(mockArtifactPath)))
+                        .build());
+
+        downloader.getDownloadSize();
+        verify(client, times(1)).getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class));
+
+        assertEquals(Files.size(mockArtifactPath), downloader.download(0, Files.size(mockArtifactPath) - 1,
+                MessageDigest.getInstance("SHA-256")));
+        verify(client, times(2)).getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class));
+        verify(request, times(3)).call();
+    }
+
     @Test
     void GIVEN_http_connection_bad_request_WHEN_attempt_download_THEN_download_error_thrown() throws Exception {
         GetComponentVersionArtifactResponse result =
@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.dependency;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(GGExtension.class)
+class PluginIndexTest {
+    private static final String SIGNATURE = "annotated:com.aws.greengrass.dependency.ImplementsService";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void GIVEN_indexed_jar_WHEN_index_reloaded_THEN_classes_returned_without_scanning() throws Exception {
+        Path jar = writeJar("plugin.jar", "content");
+        PluginIndex index = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        index.put(jar, SIGNATURE, Arrays.asList("com.example.A", "com.example.B"));
+        index.save();
+
+        PluginIndex reloaded = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        assertThat(reloaded.get(jar, SIGNATURE), contains("com.example.A", "com.example.B"));
+        assertNull(reloaded.get(jar, "implementing:com.example.Foo"));
+    }
+
+    @Test
+    void GIVEN_indexed_jar_WHEN_content_changes_THEN_not_found() throws Exception {
+        Path jar = writeJar("plugin.jar", "content");
+        PluginIndex index = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        index.put(jar, SIGNATURE, Collections.singletonList("com.example.A"));
+
+        writeJar("plugin.jar", "changed content");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 5000));
+
+        assertNull(index.get(jar, SIGNATURE));
+    }
+
+    @Test
+    void GIVEN_indexed_jar_WHEN_touched_with_same_content_THEN_still_found() throws Exception {
+        Path jar = writeJar("plugin.jar", "content");
+        PluginIndex index = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        index.put(jar, SIGNATURE, Collections.singletonList("com.example.A"));
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 5000));
+
+        assertThat(index.get(jar, SIGNATURE), contains("com.example.A"));
+    }
+
+    @Test
+    void GIVEN_indexed_jar_WHEN_jar_deleted_and_saved_THEN_entry_dropped() throws Exception {
+        Path jar = writeJar("plugin.jar", "content");
+        PluginIndex index = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        index.put(jar, SIGNATURE, Collections.singletonList("com.example.A"));
+        index.save();
+
+        Files.delete(jar);
+        index.save();
+        writeJar("plugin.jar", "content");
+
+        PluginIndex reloaded = new PluginIndex(tempDir.resolve(PluginIndex.PLUGIN_INDEX_FILE));
+        assertNull(reloaded.get(jar, SIGNATURE));
+    }
+
+    private Path writeJar(String name, String content) throws Exception {
+        Path jar = tempDir.resolve(name);
+        Files.write(jar, content.getBytes(StandardCharsets.UTF_8));
+        return jar;
+    }
+}
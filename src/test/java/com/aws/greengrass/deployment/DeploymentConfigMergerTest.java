@@ -21,6 +21,7 @@ import com.aws.greengrass.deployment.exceptions.ServiceUpdateException;
 import com.aws.greengrass.iot.IotCloudHelper;
 import com.aws.greengrass.iot.IotConnectionManager;
 import com.aws.greengrass.iot.model.IotCloudResponse;
+import com.aws.greengrass.ipc.IPCOperationMetrics;
 import com.aws.greengrass.security.SecurityService;
 import com.aws.greengrass.security.exceptions.MqttConnectionProviderException;
 import software.amazon.awssdk.crt.mqtt.MqttClientConnection;
@@ -116,6 +117,8 @@ class DeploymentConfigMergerTest {
     private Topics runtimeTopics;
     @Mock
     private Context context;
+    @Mock
+    private IPCOperationMetrics ipcOperationMetrics;
 
     @BeforeEach
     void beforeEach() {
@@ -125,6 +128,7 @@ class DeploymentConfigMergerTest {
         lenient().when(context.get(DeploymentDirectoryManager.class)).thenReturn(deploymentDirectoryManager);
         lenient().when(context.get(DeploymentService.class)).thenReturn(deploymentService);
         lenient().when(context.get(EndpointSwitchState.class)).thenReturn(mock(EndpointSwitchState.class));
+        lenient().when(context.get(IPCOperationMetrics.class)).thenReturn(ipcOperationMetrics);
         lenient().when(deploymentService.getRuntimeConfig()).thenReturn(runtimeTopics);
         lenient().when(runtimeTopics.lookup(any(String.class))).thenReturn(mock(Topic.class));
         lenient().when(deviceConfiguration.getStandaloneMqttTimeout()).thenReturn(60_000L);
@@ -241,6 +245,7 @@ class DeploymentConfigMergerTest {
         // assert obsolete service is removed from context and config.
         verify(oldServiceTopics, times(1)).remove();
         verify(context, times(1)).remove("oldService");
+        verify(ipcOperationMetrics).removeComponent("oldService");
     }
 
     @Test
@@ -42,6 +42,7 @@ import static com.aws.greengrass.ipc.IPCEventStreamService.DEFAULT_PORT_NUMBER;
 import static com.aws.greengrass.ipc.IPCEventStreamService.NUCLEUS_DOMAIN_SOCKET_FILEPATH_FOR_COMPONENT;
 import static com.aws.greengrass.ipc.IPCEventStreamService.NUCLEUS_DOMAIN_SOCKET_FILEPATH;
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SETENV_CONFIG_NAMESPACE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -72,6 +73,9 @@ class IPCEventStreamServiceTest {
     @Mock
     private Topic mockRelativePath;
 
+    @Mock
+    private Topic mockThreadsTopic;
+
     @Mock
     private AuthenticationHandler mockAuthenticationHandler;
 
@@ -88,7 +92,7 @@ class IPCEventStreamServiceTest {
         when(mockAuthenticationHandler.doAuthentication(anyString())).thenReturn("SomeService");
 
         ipcEventStreamService = new IPCEventStreamService(mockKernel, deviceConfiguration, new GreengrassCoreIPCService(), config,
-                mockAuthenticationHandler);
+                mockAuthenticationHandler, new IPCOperationMetrics());
         ipcEventStreamService.startup();
         Thread.sleep(5000);
     }
@@ -144,4 +148,20 @@ class IPCEventStreamServiceTest {
             }
         }
     }
+
+    @Test
+    void GIVEN_event_loop_threads_configured_WHEN_get_thread_count_THEN_configured_value_used() {
+        when(mockThreadsTopic.getOnce()).thenReturn(3);
+        when(deviceConfiguration.getIpcEventLoopThreads()).thenReturn(mockThreadsTopic);
+        assertEquals(3, ipcEventStreamService.getEventLoopThreadCount());
+    }
+
+    @Test
+    void GIVEN_event_loop_threads_not_configured_WHEN_get_thread_count_THEN_default_based_on_cores() {
+        when(mockThreadsTopic.getOnce()).thenReturn(0);
+        when(deviceConfiguration.getIpcEventLoopThreads()).thenReturn(mockThreadsTopic);
+        int expected = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                IPCEventStreamService.MAX_DEFAULT_EVENT_LOOP_THREADS));
+        assertEquals(expected, ipcEventStreamService.getEventLoopThreadCount());
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc;
+
+import com.aws.greengrass.telemetry.AggregationType;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class IPCMetricsEmitterTest {
+    private static final String PUBLISH_TO_TOPIC = "aws.greengrass#PublishToTopic";
+    private static final String SUBSCRIBE_TO_TOPIC = "aws.greengrass#SubscribeToTopic";
+
+    private IPCOperationMetrics ipcOperationMetrics;
+    private IPCMetricsEmitter emitter;
+
+    @BeforeEach
+    void setup() {
+        ipcOperationMetrics = new IPCOperationMetrics();
+        emitter = new IPCMetricsEmitter(ipcOperationMetrics);
+    }
+
+    @Test
+    void GIVEN_requests_recorded_WHEN_get_metrics_THEN_per_component_operation_metrics_returned() {
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        ipcOperationMetrics.requestCompleted("ComponentA", PUBLISH_TO_TOPIC, TimeUnit.MILLISECONDS.toNanos(3), 2);
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 50);
+        ipcOperationMetrics.operationFailed("ComponentA", PUBLISH_TO_TOPIC);
+        ipcOperationMetrics.streamEventSent("ComponentB", SUBSCRIBE_TO_TOPIC, 1000, 20, false);
+        ipcOperationMetrics.streamEventSent("ComponentB", SUBSCRIBE_TO_TOPIC, 1000, 20, true);
+
+        Map<String, Object> metrics = byName(emitter.getMetrics());
+        assertEquals(2L, metrics.get("ComponentA.PublishToTopic.RequestCount"));
+        assertEquals(1L, metrics.get("ComponentA.PublishToTopic.ErrorCount"));
+        assertEquals(150L, metrics.get("ComponentA.PublishToTopic.BytesIn"));
+        assertEquals(2L, metrics.get("ComponentA.PublishToTopic.BytesOut"));
+        assertEquals(4.096, metrics.get("ComponentA.PublishToTopic.HandlerLatencyP99"));
+        assertEquals(1L, metrics.get("ComponentB.SubscribeToTopic.StreamEventsSent"));
+        assertEquals(1L, metrics.get("ComponentB.SubscribeToTopic.StreamEventsFailed"));
+        assertEquals(20L, metrics.get("ComponentB.SubscribeToTopic.BytesOut"));
+    }
+
+    @Test
+    void GIVEN_metrics_emitted_WHEN_no_new_activity_THEN_nothing_emitted_and_stats_stay_cumulative() {
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        assertEquals(1L, byName(emitter.getMetrics()).get("ComponentA.PublishToTopic.RequestCount"));
+        assertTrue(emitter.getMetrics().isEmpty());
+
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        assertEquals(1L, byName(emitter.getMetrics()).get("ComponentA.PublishToTopic.RequestCount"));
+        assertEquals(2L, ipcOperationMetrics.getStats().get("ComponentA").get("PublishToTopic").snapshot()
+                .getRequests());
+    }
+
+    @Test
+    void GIVEN_component_removed_WHEN_get_metrics_THEN_its_snapshots_dropped_and_stats_start_over() {
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        emitter.getMetrics();
+
+        ipcOperationMetrics.removeComponent("ComponentA");
+        assertTrue(emitter.getMetrics().isEmpty());
+
+        // a component deployed again with the same name is not compared against the stats of the removed one
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        assertEquals(1L, byName(emitter.getMetrics()).get("ComponentA.PublishToTopic.RequestCount"));
+    }
+
+    @Test
+    void GIVEN_latency_percentiles_WHEN_get_aggregation_type_THEN_percentile_aggregation_returned() {
+        ipcOperationMetrics.requestReceived("ComponentA", PUBLISH_TO_TOPIC, 100);
+        ipcOperationMetrics.requestCompleted("ComponentA", PUBLISH_TO_TOPIC, TimeUnit.MILLISECONDS.toNanos(3), 2);
+
+        Map<String, Metric> metrics = emitter.getMetrics().stream()
+                .collect(Collectors.toMap(Metric::getName, Function.identity()));
+        assertEquals(AggregationType.P50,
+                emitter.getAggregationType(metrics.get("ComponentA.PublishToTopic.HandlerLatencyP50")));
+        assertEquals(AggregationType.P99,
+                emitter.getAggregationType(metrics.get("ComponentA.PublishToTopic.HandlerLatencyP99")));
+        assertNull(emitter.getAggregationType(metrics.get("ComponentA.PublishToTopic.RequestCount")));
+    }
+
+    private static Map<String, Object> byName(List<Metric> metrics) {
+        return metrics.stream().collect(Collectors.toMap(Metric::getName, Metric::getValue));
+    }
+}
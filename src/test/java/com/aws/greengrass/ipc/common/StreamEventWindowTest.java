@@ -0,0 +1,159 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.ipc.common;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.aws.greengrass.model.SubscriptionResponseMessage;
+import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({GGExtension.class, MockitoExtension.class})
+class StreamEventWindowTest {
+    @Mock
+    private StreamEventPublisher<SubscriptionResponseMessage> publisher;
+
+    private final List<SubscriptionResponseMessage> sent = new ArrayList<>();
+    private final List<CompletableFuture<Void>> writes = new ArrayList<>();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        when(publisher.sendStreamEvent(any())).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            writes.add(write);
+            return write;
+        });
+    }
+
+    @Test
+    void GIVEN_window_full_WHEN_drop_oldest_THEN_oldest_queued_events_dropped_and_rest_sent_in_order() {
+        StreamEventWindow<SubscriptionResponseMessage> window = newWindow(StreamOverflowPolicy.DROP_OLDEST);
+        SubscriptionResponseMessage[] events = events(6);
+        for (SubscriptionResponseMessage event : events) {
+            window.send(event);
+        }
+
+        // 2 in flight, 2 queued, events 2 and 3 were pushed out by 4 and 5
+        assertEquals(2, sent.size());
+        assertEquals(2, window.getPendingCount());
+        assertEquals(2, dropped.get());
+
+        writes.get(0).complete(null);
+        writes.get(1).complete(null);
+        assertEquals(4, sent.size());
+        assertSame(events[4], sent.get(2));
+        assertSame(events[5], sent.get(3));
+        assertEquals(0, window.getPendingCount());
+    }
+
+    @Test
+    void GIVEN_window_full_WHEN_drop_newest_THEN_new_events_dropped() {
+        StreamEventWindow<SubscriptionResponseMessage> window = newWindow(StreamOverflowPolicy.DROP_NEWEST);
+        SubscriptionResponseMessage[] events = events(6);
+        for (SubscriptionResponseMessage event : events) {
+            window.send(event);
+        }
+        assertEquals(2, dropped.get());
+
+        writes.get(0).complete(null);
+        writes.get(1).complete(null);
+        assertSame(events[2], sent.get(2));
+        assertSame(events[3], sent.get(3));
+        assertEquals(2L, window.getDroppedEvents().sum());
+    }
+
+    @Test
+    void GIVEN_window_full_WHEN_disconnect_timeout_passes_without_progress_THEN_stream_closed() {
+        StreamEventWindow<SubscriptionResponseMessage> window = newWindow(StreamOverflowPolicy.DISCONNECT);
+        for (SubscriptionResponseMessage event : events(4)) {
+            window.send(event);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        window.send(new SubscriptionResponseMessage());
+        verify(publisher, never()).closeStream();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        window.send(new SubscriptionResponseMessage());
+        verify(publisher, times(1)).closeStream();
+        // The newest event dropped while waiting, plus the 2 queued and the one which triggered the disconnect
+        assertEquals(4, dropped.get());
+
+        window.send(new SubscriptionResponseMessage());
+        assertEquals(5, dropped.get());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void GIVEN_window_full_WHEN_no_more_events_sent_THEN_stall_check_closes_stream() {
+        ScheduledExecutorService ses = mock(ScheduledExecutorService.class);
+        StreamEventWindow<SubscriptionResponseMessage> window =
+                new StreamEventWindow<>(publisher, 2, StreamOverflowPolicy.DISCONNECT, TimeUnit.SECONDS.toNanos(10),
+                        dropped::incrementAndGet, clock::get, ses);
+        for (SubscriptionResponseMessage event : events(4)) {
+            window.send(event);
+        }
+        verify(ses).schedule(any(Runnable.class), eq(TimeUnit.SECONDS.toNanos(10)), eq(TimeUnit.NANOSECONDS));
+
+        // One event is written, so the subscriber gets a new deadline when the check runs
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        writes.get(0).complete(null);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        window.checkStalled();
+        verify(publisher, never()).closeStream();
+        verify(ses).schedule(any(Runnable.class), eq(TimeUnit.SECONDS.toNanos(4)), eq(TimeUnit.NANOSECONDS));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        window.checkStalled();
+        verify(publisher, times(1)).closeStream();
+        assertEquals(1, dropped.get());
+    }
+
+    @Test
+    void GIVEN_unbounded_window_WHEN_send_many_THEN_all_sent() {
+        StreamEventWindow<SubscriptionResponseMessage> window = StreamEventWindow.unbounded(publisher);
+        for (SubscriptionResponseMessage event : events(100)) {
+            window.send(event);
+        }
+        assertEquals(100, sent.size());
+    }
+
+    private StreamEventWindow<SubscriptionResponseMessage> newWindow(StreamOverflowPolicy policy) {
+        return new StreamEventWindow<>(publisher, 2, policy, TimeUnit.SECONDS.toNanos(10), dropped::incrementAndGet,
+                clock::get, null);
+    }
+
+    private static SubscriptionResponseMessage[] events(int count) {
+        SubscriptionResponseMessage[] events = new SubscriptionResponseMessage[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new SubscriptionResponseMessage();
+        }
+        return events;
+    }
+}
@@ -23,8 +23,10 @@ import software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService;
 import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext;
 
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith({GGExtension.class, MockitoExtension.class})
@@ -47,7 +49,7 @@ class LifecycleIPCServiceTest {
     @BeforeEach
     public void setup() {
         lifecycleIPCService = new LifecycleIPCService();
-        lifecycleIPCService.setEventStreamAgent(eventStreamAgent);
+        lifecycleIPCService.setEventStreamAgentProvider(() -> eventStreamAgent);
         lifecycleIPCService.setGreengrassCoreIPCService(greengrassCoreIPCService);
         lifecycleIPCService.setAuthorizationHandler(authorizationHandler);
     }
@@ -92,4 +94,21 @@ class LifecycleIPCServiceTest {
         resumeHandler.apply(mockContext);
         verify(eventStreamAgent).getResumeComponentHandler(mockContext);
     }
+
+    @Test
+    void GIVEN_handlers_registered_WHEN_no_operation_called_THEN_agent_not_resolved() {
+        AtomicInteger resolved = new AtomicInteger();
+        lifecycleIPCService.setEventStreamAgentProvider(() -> {
+            resolved.incrementAndGet();
+            return eventStreamAgent;
+        });
+        lifecycleIPCService.startup();
+        assertEquals(0, resolved.get());
+
+        ArgumentCaptor<Function> argumentCaptor = ArgumentCaptor.forClass(Function.class);
+        verify(greengrassCoreIPCService).setUpdateStateHandler(argumentCaptor.capture());
+        argumentCaptor.getValue().apply(mockContext);
+        assertEquals(1, resolved.get());
+        verify(eventStreamAgent).getUpdateStateOperationHandler(mockContext);
+    }
 }
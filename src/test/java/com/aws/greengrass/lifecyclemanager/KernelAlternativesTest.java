@@ -29,9 +29,11 @@ import static com.aws.greengrass.deployment.model.Deployment.DeploymentStage.DEF
 import static com.aws.greengrass.deployment.model.Deployment.DeploymentStage.KERNEL_ACTIVATION;
 import static com.aws.greengrass.deployment.model.Deployment.DeploymentStage.KERNEL_ROLLBACK;
 import static com.aws.greengrass.deployment.model.Deployment.DeploymentStage.ROLLBACK_BOOTSTRAP;
+import static com.aws.greengrass.lifecyclemanager.KernelAlternatives.CDS_PARAMS_FILE;
 import static com.aws.greengrass.lifecyclemanager.KernelAlternatives.KERNEL_DISTRIBUTION_DIR;
 import static com.aws.greengrass.lifecyclemanager.KernelAlternatives.LAUNCH_PARAMS_FILE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.io.FileMatchers.anExistingFileOrDirectory;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -127,6 +129,41 @@ class KernelAlternativesTest {
         assertThat(initPath.toFile(), not(anExistingFileOrDirectory()));
     }
 
+    @Test
+    void GIVEN_class_data_sharing_archive_WHEN_kernel_update_THEN_new_launch_dir_has_no_archive() throws Exception {
+        Path initPath = createRandomDirectory();
+        Files.createFile(initPath.resolve(CDS_PARAMS_FILE));
+        Files.createFile(initPath.resolve("nucleus-abc.jsa"));
+        Files.createFile(initPath.resolve(LAUNCH_PARAMS_FILE));
+        kernelAlternatives.setupLinkToDirectory(kernelAlternatives.getCurrentDir(), initPath);
+        doNothing().when(kernelAlternatives).cleanupLoaderLogs();
+
+        kernelAlternatives.prepareBootstrap("mockDeployment");
+
+        Path newLaunchPath = altsDir.resolve("mockDeployment");
+        assertThat(newLaunchPath.resolve(LAUNCH_PARAMS_FILE).toFile(), anExistingFileOrDirectory());
+        assertThat(newLaunchPath.resolve(CDS_PARAMS_FILE).toFile(), not(anExistingFileOrDirectory()));
+        assertThat(newLaunchPath.resolve("nucleus-abc.jsa").toFile(), not(anExistingFileOrDirectory()));
+        assertThat(initPath.resolve("nucleus-abc.jsa").toFile(), anExistingFileOrDirectory());
+    }
+
+    @Test
+    void GIVEN_java_versions_WHEN_class_data_sharing_params_THEN_archive_created_then_used() {
+        assertEquals(8, KernelAlternatives.javaFeatureVersion("1.8"));
+        assertEquals(17, KernelAlternatives.javaFeatureVersion("17"));
+        assertEquals(0, KernelAlternatives.javaFeatureVersion(null));
+
+        Path archive = altsDir.resolve("nucleus-abc.jsa");
+        assertThat(KernelAlternatives.classDataSharingParams(17, archive, false),
+                containsString("-XX:ArchiveClassesAtExit=" + archive));
+        assertThat(KernelAlternatives.classDataSharingParams(17, archive, true),
+                containsString("-XX:SharedArchiveFile=" + archive));
+        assertThat(KernelAlternatives.classDataSharingParams(21, archive, false),
+                containsString("-XX:+AutoCreateSharedArchive"));
+        assertThat(KernelAlternatives.classDataSharingParams(21, archive, false),
+                containsString("-XX:+IgnoreUnrecognizedVMOptions"));
+    }
+
     @Test
     void GIVEN_kernel_update_with_same_deployment_id_WHEN_success_THEN_launch_dir_update_correctly() throws Exception {
         // testing the scenario when the existing launch dir and the new launch dir are constructed from the same
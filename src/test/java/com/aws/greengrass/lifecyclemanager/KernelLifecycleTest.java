@@ -158,6 +158,7 @@ class KernelLifecycleTest {
         when(mockContext.get(eq(ExecutorService.class))).thenReturn(mock(ExecutorService.class));
         when(mockContext.get(eq(ScheduledExecutorService.class))).thenReturn(mock(ScheduledExecutorService.class));
         when(mockContext.get(eq(DeviceConfiguration.class))).thenReturn(mockDeviceConfiguration);
+        when(mockContext.get(eq(StartupScheduler.class))).thenReturn(new StartupScheduler(mockContext));
         when(mockDeviceConfiguration.isDeviceConfiguredToTalkToCloud()).thenReturn(true);
 
 
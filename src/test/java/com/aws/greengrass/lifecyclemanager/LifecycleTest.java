@@ -58,6 +58,7 @@ import static com.github.grantwest.eventually.EventuallyLambdaMatcher.eventually
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -186,6 +187,73 @@ class LifecycleTest {
         assertThat(lifecycle.getStatusDetails(), is(STATUS_DETAIL_HEALTHY));
     }
 
+    @Test
+    void GIVEN_state_new_WHEN_install_interrupted_THEN_service_still_installed_and_started() throws Exception {
+        lifecycle = new Lifecycle(greengrassService, logger, greengrassService.getPrivateConfig());
+        initLifecycleState(lifecycle, State.NEW);
+        Mockito.doThrow(new InterruptedException()).when(greengrassService).install();
+
+        lifecycle.initLifecycleThread();
+        lifecycle.requestStart();
+
+        verify(greengrassService, timeout(1000)).startup();
+        assertEquals(State.STARTING, lifecycle.getState());
+    }
+
+    @Test
+    void GIVEN_service_starting_WHEN_finished_reported_during_requestStart_THEN_no_deadlock() throws Exception {
+        lifecycle = new Lifecycle(greengrassService, logger, greengrassService.getPrivateConfig());
+        initLifecycleState(lifecycle, State.INSTALLED);
+
+        // Reporting FINISHED from STARTING takes lock then desiredStateLock, requesting a start takes them the
+        // other way around unless state events are enqueued without lock
+        AtomicBoolean started = new AtomicBoolean();
+        CountDownLatch reported = new CountDownLatch(1);
+        Thread requester = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                lifecycle.requestStart();
+            }
+        });
+        Mockito.doAnswer((mock) -> {
+            if (started.compareAndSet(false, true)) {
+                requester.start();
+                lifecycle.reportState(State.FINISHED);
+                reported.countDown();
+            }
+            return null;
+        }).when(greengrassService).startup();
+
+        lifecycle.initLifecycleThread();
+        lifecycle.requestStart();
+
+        assertTrue(reported.await(5, TimeUnit.SECONDS));
+        requester.join(5000);
+        assertFalse(requester.isAlive());
+    }
+
+    @Test
+    void GIVEN_service_running_WHEN_waiting_for_events_THEN_no_lifecycle_thread_held() throws InterruptedException {
+        lifecycle = new Lifecycle(greengrassService, logger, greengrassService.getPrivateConfig());
+        initLifecycleState(lifecycle, State.INSTALLED);
+        lenient().when(greengrassService.getName()).thenReturn("MockService");
+        Mockito.doAnswer((mock) -> {
+            lifecycle.reportState(State.RUNNING);
+            return null;
+        }).when(greengrassService).startup();
+
+        lifecycle.initLifecycleThread();
+        lifecycle.requestStart();
+
+        assertThat(greengrassService::getState, eventuallyEval(is(State.RUNNING)));
+        assertThat(() -> Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> "MockService-lifecycle".equals(t.getName())), eventuallyEval(is(false)));
+        assertFalse(lifecycle.getLifecycleThread().isDone());
+
+        // An event schedules the state machine again
+        lifecycle.requestStop();
+        verify(greengrassService, timeout(1000)).shutdown();
+    }
+
     @Test
     void GIVEN_state_new_WHEN_install_timeout_THEN_service_errored() throws InterruptedException {
         // GIVEN
@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.telemetry.MetricSketch;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({GGExtension.class, MockitoExtension.class})
+class ServiceStateCountersTest {
+    @Mock
+    private Kernel kernel;
+    @Mock
+    private GreengrassService service1;
+    @Mock
+    private GreengrassService service2;
+    private final AtomicLong clock = new AtomicLong(1000);
+    private ServiceStateCounters counters;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(service1.getServiceName()).thenReturn("service1");
+        lenient().when(service2.getServiceName()).thenReturn("service2");
+        counters = new ServiceStateCounters(kernel, clock::get);
+    }
+
+    @Test
+    void GIVEN_tracked_services_WHEN_states_change_THEN_counts_updated_without_reading_states_again() {
+        Collection<GreengrassService> services = Arrays.asList(service1, service2);
+        when(kernel.orderedDependencies()).thenReturn(services);
+        when(service1.getState()).thenReturn(State.RUNNING);
+        when(service2.getState()).thenReturn(State.STARTING);
+
+        assertEquals(1, counters.getCount(State.RUNNING));
+        assertEquals(1, counters.getCount(State.STARTING));
+        assertTrue(counters.isHealthy());
+
+        counters.globalServiceStateChanged(service2, State.STARTING, State.RUNNING);
+        counters.globalServiceStateChanged(service1, State.RUNNING, State.BROKEN);
+        Map<State, Integer> stateCount = counters.getCounts();
+        assertEquals(1, stateCount.get(State.RUNNING));
+        assertEquals(0, stateCount.get(State.STARTING));
+        assertEquals(1, stateCount.get(State.BROKEN));
+        assertFalse(counters.isHealthy());
+
+        // The states were read once, when the services were first scanned
+        verify(service1, times(1)).getState();
+        verify(service2, times(1)).getState();
+    }
+
+    @Test
+    void GIVEN_dependency_order_changes_WHEN_count_THEN_removed_service_not_counted() {
+        when(kernel.orderedDependencies()).thenReturn(Arrays.asList(service1, service2));
+        when(service1.getState()).thenReturn(State.RUNNING);
+        when(service2.getState()).thenReturn(State.RUNNING);
+        assertEquals(2, counters.getCount(State.RUNNING));
+
+        counters.globalServiceStateChanged(service2, State.RUNNING, State.FINISHED);
+        when(kernel.orderedDependencies()).thenReturn(Collections.singletonList(service1));
+        assertEquals(1, counters.getCount(State.RUNNING));
+        assertEquals(0, counters.getCount(State.FINISHED));
+
+        // Events of services which are not tracked are ignored
+        counters.globalServiceStateChanged(service2, State.FINISHED, State.RUNNING);
+        assertEquals(1, counters.getCount(State.RUNNING));
+    }
+
+    @Test
+    void GIVEN_state_changes_WHEN_drain_time_in_state_THEN_time_in_each_left_state_recorded() {
+        when(kernel.orderedDependencies()).thenReturn(Collections.singletonList(service1));
+        when(service1.getState()).thenReturn(State.INSTALLED);
+        counters.getCount(State.INSTALLED);
+
+        clock.addAndGet(200);
+        counters.globalServiceStateChanged(service1, State.INSTALLED, State.STARTING);
+        clock.addAndGet(3000);
+        counters.globalServiceStateChanged(service1, State.STARTING, State.RUNNING);
+        clock.addAndGet(50);
+        // Repeated event for the same state does not end the interval
+        counters.globalServiceStateChanged(service1, State.STARTING, State.RUNNING);
+
+        Map<String, ServiceStateCounters.StateActivity> activity = counters.drainStateActivity();
+        assertEquals(1, activity.size());
+        Map<State, MetricSketch> states = activity.get("service1").getTimeInState();
+        assertEquals(2, states.size());
+        assertEquals(1, states.get(State.INSTALLED).getCount());
+        assertEquals(200, states.get(State.INSTALLED).getSum());
+        assertEquals(3000, states.get(State.STARTING).getSum());
+        assertEquals(1, activity.get("service1").getEnteredCount(State.RUNNING));
+        assertTrue(counters.drainStateActivity().isEmpty());
+    }
+
+    @Test
+    void GIVEN_new_service_not_scanned_yet_WHEN_it_changes_state_THEN_time_in_state_and_errors_recorded() {
+        when(kernel.orderedDependencies()).thenReturn(Collections.singletonList(service1));
+        when(service1.getState()).thenReturn(State.RUNNING);
+        counters.getCount(State.RUNNING);
+
+        // service2 is deployed after the last scan
+        counters.globalServiceStateChanged(service2, State.NEW, State.NEW);
+        clock.addAndGet(500);
+        counters.globalServiceStateChanged(service2, State.NEW, State.INSTALLED);
+        counters.globalServiceStateChanged(service2, State.INSTALLED, State.STARTING);
+        counters.globalServiceStateChanged(service2, State.STARTING, State.ERRORED);
+        counters.globalServiceStateChanged(service2, State.ERRORED, State.BROKEN);
+        assertEquals(0, counters.getCount(State.BROKEN));
+
+        ServiceStateCounters.StateActivity activity = counters.drainStateActivity().get("service2");
+        assertEquals(500, activity.getTimeInState().get(State.NEW).getSum());
+        assertEquals(1, activity.getEnteredCount(State.ERRORED));
+        assertEquals(1, activity.getEnteredCount(State.BROKEN));
+
+        // the next scan counts it in the state it reached
+        when(kernel.orderedDependencies()).thenReturn(Arrays.asList(service1, service2));
+        assertEquals(1, counters.getCount(State.BROKEN));
+    }
+}
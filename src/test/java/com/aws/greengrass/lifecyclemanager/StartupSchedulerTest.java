@@ -0,0 +1,142 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.amazon.aws.iot.greengrass.component.common.DependencyType;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StartupSchedulerTest {
+
+    @Test
+    void GIVEN_services_with_dependencies_WHEN_critical_path_THEN_follows_dependencies_which_were_waited_for() {
+        GreengrassService slow = service("slow", Collections.emptyMap());
+        GreengrassService fast = service("fast", Collections.emptyMap());
+        GreengrassService early = service("early", Collections.emptyMap());
+        Map<GreengrassService, DependencyType> mainDependencies = new LinkedHashMap<>();
+        mainDependencies.put(fast, DependencyType.HARD);
+        mainDependencies.put(slow, DependencyType.HARD);
+        mainDependencies.put(early, DependencyType.HARD);
+        GreengrassService main = service("main", mainDependencies);
+
+        Map<GreengrassService, StartupScheduler.Timeline> timelines = new LinkedHashMap<>();
+        timelines.put(early, timeline(0, 5, 6, 8));
+        timelines.put(slow, timeline(0, 10, 10, 100));
+        timelines.put(fast, timeline(0, 5, 5, 20));
+        timelines.put(main, timeline(10, 30, 100, 120));
+
+        List<Map<String, Object>> path = StartupScheduler.criticalPath(timelines, 0);
+
+        assertThat(path.stream().map(e -> e.get("service")).collect(Collectors.toList()), contains("slow", "main"));
+        assertEquals(70L, path.get(1).get("dependencyWaitMillis"));
+        assertEquals(10L, path.get(1).get("installWaitMillis"));
+        assertEquals(20L, path.get(1).get("startupMillis"));
+        assertEquals(120L, path.get(1).get("readyAtMillis"));
+    }
+
+    @Test
+    void GIVEN_dependency_ready_before_install_ended_WHEN_critical_path_THEN_path_stops_at_service() {
+        GreengrassService dependency = service("dependency", Collections.emptyMap());
+        GreengrassService main = service("main", Collections.singletonMap(dependency, DependencyType.HARD));
+
+        Map<GreengrassService, StartupScheduler.Timeline> timelines = new LinkedHashMap<>();
+        timelines.put(dependency, timeline(0, 1, 1, 5));
+        timelines.put(main, timeline(0, 50, 50, 60));
+
+        List<Map<String, Object>> path = StartupScheduler.criticalPath(timelines, 0);
+
+        assertThat(path.stream().map(e -> e.get("service")).collect(Collectors.toList()), contains("main"));
+    }
+
+    @Test
+    void GIVEN_install_concurrency_WHEN_installs_requested_THEN_extra_installs_wait_for_a_slot() {
+        AtomicLong clock = new AtomicLong();
+        StartupScheduler scheduler = new StartupScheduler(mock(Context.class), clock::get);
+        scheduler.setInstallConcurrency(1);
+        GreengrassService first = service("first", Collections.emptyMap());
+        GreengrassService second = service("second", Collections.emptyMap());
+        GreengrassService third = service("third", Collections.emptyMap());
+
+        CompletableFuture<Void> firstSlot = scheduler.acquireInstallSlot(first);
+        CompletableFuture<Void> secondSlot = scheduler.acquireInstallSlot(second);
+        CompletableFuture<Void> thirdSlot = scheduler.acquireInstallSlot(third);
+        assertTrue(firstSlot.isDone());
+        assertFalse(secondSlot.isDone());
+
+        // a cancelled waiter does not take the slot
+        secondSlot.cancel(false);
+        scheduler.releaseInstallSlot(first);
+        assertTrue(thirdSlot.isDone());
+        assertFalse(thirdSlot.isCancelled());
+    }
+
+    @Test
+    void GIVEN_default_install_concurrency_WHEN_installs_requested_THEN_none_waits() {
+        StartupScheduler scheduler = new StartupScheduler(mock(Context.class), System::currentTimeMillis);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(scheduler.acquireInstallSlot(service("service" + i, Collections.emptyMap())).isDone());
+        }
+    }
+
+    @Test
+    void GIVEN_dependency_broken_WHEN_dependent_waits_THEN_startup_tracking_ends() {
+        Context context = mock(Context.class);
+        when(context.get(ExecutorService.class)).thenReturn(mock(ExecutorService.class));
+        StartupScheduler scheduler = new StartupScheduler(context, System::currentTimeMillis);
+        GreengrassService dependency = service("dependency", Collections.emptyMap());
+        GreengrassService main = service("main", Collections.singletonMap(dependency, DependencyType.HARD));
+        scheduler.startAll(Arrays.asList(dependency, main));
+
+        // errors are retried, so the dependent may still start
+        scheduler.globalServiceStateChanged(dependency, State.STARTING, State.ERRORED);
+        verify(context, never()).removeGlobalStateChangeListener(scheduler);
+
+        scheduler.globalServiceStateChanged(dependency, State.ERRORED, State.BROKEN);
+        verify(context).removeGlobalStateChangeListener(scheduler);
+    }
+
+    private static GreengrassService service(String name, Map<GreengrassService, DependencyType> dependencies) {
+        GreengrassService service = mock(GreengrassService.class);
+        when(service.shouldAutoStart()).thenReturn(true);
+        when(service.getServiceName()).thenReturn(name);
+        when(service.getDependencies()).thenReturn(dependencies);
+        return service;
+    }
+
+    private static StartupScheduler.Timeline timeline(long installStart, long installEnd, long starting, long ready) {
+        StartupScheduler.Timeline timeline = new StartupScheduler.Timeline();
+        timeline.installStartMillis = installStart;
+        timeline.installEndMillis = installEnd;
+        timeline.startingMillis = starting;
+        timeline.readyMillis = ready;
+        return timeline;
+    }
+}
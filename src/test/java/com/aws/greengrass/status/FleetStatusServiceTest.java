@@ -22,6 +22,7 @@ import com.aws.greengrass.lifecyclemanager.KernelLifecycle;
 import com.aws.greengrass.lifecyclemanager.exceptions.ServiceLoadException;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.PublishRequest;
+import com.aws.greengrass.mqttclient.spool.SpoolerStoreException;
 import com.aws.greengrass.status.model.ComponentDetails;
 import com.aws.greengrass.status.model.ComponentStatusDetails;
 import com.aws.greengrass.status.model.FleetStatusDetails;
@@ -720,6 +721,115 @@ class FleetStatusServiceTest extends GGServiceTestUtil {
         assertEquals(Collections.singletonList("arn:aws:greengrass:testRegion:12345:configuration:testGroup:12"), fleetStatusDetails.getComponentDetails().get(0).getFleetConfigArns());
 
     }
+
+    @Test
+    void GIVEN_component_already_published_WHEN_status_change_leaves_details_unchanged_THEN_no_MQTT_Sent()
+            throws ServiceLoadException, IOException, InterruptedException {
+        // Set up all the topics
+        Topics statusConfigTopics = Topics.of(context, FLEET_STATUS_CONFIG_TOPICS, null);
+        statusConfigTopics.createLeafChild(FLEET_STATUS_PERIODIC_PUBLISH_INTERVAL_SEC).withValue("10000");
+        Topics allComponentToGroupsTopics = Topics.of(context, GROUP_TO_ROOT_COMPONENTS_TOPICS, null);
+        Topics groupsTopics = Topics.of(context, "MockService", allComponentToGroupsTopics);
+        Topic groupTopic1 = Topic.of(context, "arn:aws:greengrass:testRegion:12345:configuration:testGroup:12",
+                true);
+        groupsTopics.children.put(new CaseInsensitiveString("MockService"), groupTopic1);
+        allComponentToGroupsTopics.children.put(new CaseInsensitiveString("MockService"), groupsTopics);
+        lenient().when(config.lookupTopics(COMPONENTS_TO_GROUPS_TOPICS)).thenReturn(allComponentToGroupsTopics);
+
+        // Set up all the mocks
+        when(mockDeploymentStatusKeeper.registerDeploymentStatusConsumer(any(), consumerArgumentCaptor.capture(), anyString())).thenReturn(true);
+        when(mockGreengrassService1.getName()).thenReturn("MockService");
+        when(mockGreengrassService1.getServiceConfig()).thenReturn(config);
+        when(mockGreengrassService1.getStatusDetails()).thenReturn(TEST_BROKEN_COMPONENT_STATUS_DETAILS);
+        when(mockGreengrassService1.getState()).thenReturn(State.ERRORED);
+        when(mockGreengrassService1.inState(State.BROKEN)).thenReturn(false);
+        when(mockGreengrassService1.inState(State.ERRORED)).thenReturn(true);
+        when(mockKernel.locate(DeploymentService.DEPLOYMENT_SERVICE_TOPICS)).thenReturn(mockDeploymentService);
+        when(mockKernel.locate("MockService")).thenReturn(mockGreengrassService1);
+
+        when(mockDeploymentService.getConfig()).thenReturn(config);
+        doNothing().when(context).addGlobalStateChangeListener(addGlobalStateChangeListenerArgumentCaptor.capture());
+        when(mockDeviceConfiguration.getStatusConfigurationTopics()).thenReturn(statusConfigTopics);
+
+        // Create the fleet status service instance
+        fleetStatusService = createFSS();
+        fleetStatusService.startup();
+
+        // Update the state of an EG service.
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.RUNNING, State.ERRORED);
+
+        // Verify that an MQTT message with the components' status is uploaded.
+        verify(mockMqttClient, times(1)).publish(publishRequestArgumentCaptor.capture());
+
+        when(mockGreengrassService1.reachedDesiredState()).thenReturn(true);
+        when(mockGreengrassService1.getState()).thenReturn(State.RUNNING);
+        when(mockGreengrassService1.inState(State.BROKEN)).thenReturn(false);
+        when(mockGreengrassService1.inState(State.ERRORED)).thenReturn(false);
+        when(mockKernelLifecycle.allServicesInTerminalState()).thenReturn(true);
+        AtomicBoolean isShutdownInitiated = new AtomicBoolean(false);
+        when(mockKernelLifecycle.getIsShutdownInitiated()).thenReturn(isShutdownInitiated);
+        // Update the state of an EG service.
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.STARTING, State.RUNNING);
+        // Verify that an MQTT message with the components' status is uploaded.
+        verify(mockMqttClient, times(2)).publish(publishRequestArgumentCaptor.capture());
+
+        // The component restarts and reaches RUNNING again, so its details are the same as last published
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.STARTING, State.RUNNING);
+        verify(mockMqttClient, times(2)).publish(any(PublishRequest.class));
+    }
+
+    @Test
+    void GIVEN_publish_failed_WHEN_status_change_leaves_details_unchanged_THEN_MQTT_Sent_again()
+            throws ServiceLoadException, InterruptedException {
+        // Set up all the topics
+        Topics statusConfigTopics = Topics.of(context, FLEET_STATUS_CONFIG_TOPICS, null);
+        statusConfigTopics.createLeafChild(FLEET_STATUS_PERIODIC_PUBLISH_INTERVAL_SEC).withValue("10000");
+        Topics allComponentToGroupsTopics = Topics.of(context, GROUP_TO_ROOT_COMPONENTS_TOPICS, null);
+        lenient().when(config.lookupTopics(COMPONENTS_TO_GROUPS_TOPICS)).thenReturn(allComponentToGroupsTopics);
+
+        // Set up all the mocks
+        when(mockDeploymentStatusKeeper.registerDeploymentStatusConsumer(any(), consumerArgumentCaptor.capture(), anyString())).thenReturn(true);
+        when(mockGreengrassService1.getName()).thenReturn("MockService");
+        when(mockGreengrassService1.getServiceConfig()).thenReturn(config);
+        when(mockGreengrassService1.getState()).thenReturn(State.RUNNING);
+        when(mockGreengrassService1.inState(State.BROKEN)).thenReturn(false);
+        when(mockGreengrassService1.inState(State.ERRORED)).thenReturn(false);
+        when(mockGreengrassService1.reachedDesiredState()).thenReturn(true);
+        when(mockKernel.locate(DeploymentService.DEPLOYMENT_SERVICE_TOPICS)).thenReturn(mockDeploymentService);
+        when(mockKernel.locate("MockService")).thenReturn(mockGreengrassService1);
+        when(mockKernelLifecycle.allServicesInTerminalState()).thenReturn(true);
+        when(mockKernelLifecycle.getIsShutdownInitiated()).thenReturn(new AtomicBoolean(false));
+
+        when(mockDeploymentService.getConfig()).thenReturn(config);
+        doNothing().when(context).addGlobalStateChangeListener(addGlobalStateChangeListenerArgumentCaptor.capture());
+        when(mockDeviceConfiguration.getStatusConfigurationTopics()).thenReturn(statusConfigTopics);
+        CompletableFuture<Integer> spoolFull = new CompletableFuture<>();
+        spoolFull.completeExceptionally(new SpoolerStoreException("Spool full"));
+        when(mockMqttClient.publish(any(PublishRequest.class))).thenReturn(spoolFull)
+                .thenReturn(CompletableFuture.completedFuture(0));
+
+        // Create the fleet status service instance
+        fleetStatusService = createFSS();
+        fleetStatusService.startup();
+
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.STARTING, State.RUNNING);
+        verify(mockMqttClient, times(1)).publish(any(PublishRequest.class));
+
+        // The failed publish was not recorded, so the same details are sent again
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.STARTING, State.RUNNING);
+        verify(mockMqttClient, times(2)).publish(any(PublishRequest.class));
+
+        // Once published, they are not
+        addGlobalStateChangeListenerArgumentCaptor.getValue()
+                .globalServiceStateChanged(mockGreengrassService1, State.STARTING, State.RUNNING);
+        verify(mockMqttClient, times(2)).publish(any(PublishRequest.class));
+    }
+
     @Test
     void GIVEN_during_deployment_WHEN_periodic_update_triggered_THEN_No_MQTT_Sent() throws InterruptedException {
         // Set up all the topics
@@ -0,0 +1,153 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class BinaryMetricsLogTest {
+    private static final String NAMESPACE = "SystemMetrics";
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void GIVEN_data_points_WHEN_appended_THEN_read_back_in_order() throws IOException {
+        // Start of an hour so that all points go to the same file
+        long now = Instant.now().truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+        BinaryMetricsLog log = new BinaryMetricsLog(tempDir, NAMESPACE);
+        log.append(Arrays.asList(point("CpuUsage", 12.5, now), point("TotalNumberOfFDs", 4583, now)));
+        log.append(Collections.singletonList(point("CpuUsage", 13.25, now + 60_000)));
+        log.append(Collections.singletonList(point("SystemMemUsage", null, now + 120_000)));
+        log.close();
+
+        List<Metric> read = readPoints();
+        assertEquals(4, read.size());
+        assertEquals("CpuUsage", read.get(0).getName());
+        assertEquals(12.5, read.get(0).getValue());
+        assertEquals(TelemetryUnit.Percent, read.get(0).getUnit());
+        assertEquals(TelemetryAggregation.Average, read.get(0).getAggregation());
+        assertEquals(NAMESPACE, read.get(0).getNamespace());
+        assertEquals(4583L, read.get(1).getValue());
+        assertEquals(now + 60_000, read.get(2).getTimestamp());
+        assertNull(read.get(3).getValue());
+        // A JSON log event is several hundred bytes per data point, this includes the string definitions
+        assertTrue(Files.size(onlyFile()) < 4 * 50);
+    }
+
+    @Test
+    void GIVEN_aggregated_metrics_with_sketch_WHEN_appended_THEN_read_back() throws IOException {
+        MetricSketch sketch = new MetricSketch();
+        for (int i = 1; i <= 100; i++) {
+            sketch.add(i);
+        }
+        Map<String, Object> value = new HashMap<>();
+        value.put("P90", 90.0);
+        AggregatedMetric metric = AggregatedMetric.builder().name("Latency").unit("Milliseconds").value(value)
+                .sketch(sketch).build();
+        long now = Instant.now().toEpochMilli();
+        BinaryMetricsLog log = new BinaryMetricsLog(tempDir, MetricsAggregator.AGGREGATE_METRICS_FILE);
+        log.append(new AggregatedNamespaceData(now, NAMESPACE, Collections.singletonList(metric)));
+        log.close();
+
+        List<AggregatedNamespaceData> read = new ArrayList<>();
+        BinaryMetricsLog.read(onlyFile(), m -> { }, read::add);
+        assertEquals(1, read.size());
+        assertEquals(now, read.get(0).getTimestamp());
+        assertEquals(NAMESPACE, read.get(0).getNamespace());
+        AggregatedMetric readMetric = read.get(0).getMetrics().get(0);
+        assertEquals("Latency", readMetric.getName());
+        assertEquals("Milliseconds", readMetric.getUnit());
+        assertEquals(90.0, readMetric.getValue().get("P90"));
+        assertEquals(sketch.getCount(), readMetric.getSketch().getCount());
+        assertEquals(sketch.getPositive(), readMetric.getSketch().getPositive());
+        assertEquals(sketch.quantile(0.5), readMetric.getSketch().quantile(0.5));
+    }
+
+    @Test
+    void GIVEN_torn_record_at_end_WHEN_read_THEN_complete_records_returned() throws IOException {
+        long now = Instant.now().toEpochMilli();
+        BinaryMetricsLog log = new BinaryMetricsLog(tempDir, NAMESPACE);
+        log.append(Collections.singletonList(point("CpuUsage", 1.5, now)));
+        log.close();
+        // The start of another data point, as if the process died in the middle of a write
+        Files.write(onlyFile(), new byte[]{2, 0}, StandardOpenOption.APPEND);
+
+        assertEquals(1, readPoints().size());
+    }
+
+    @Test
+    void GIVEN_files_from_earlier_hours_WHEN_delete_before_THEN_only_older_hours_deleted() throws IOException {
+        long now = Instant.now().toEpochMilli();
+        long twoHoursAgo = Instant.ofEpochMilli(now).minus(2, ChronoUnit.HOURS).toEpochMilli();
+        BinaryMetricsLog log = new BinaryMetricsLog(tempDir, NAMESPACE);
+        log.append(Collections.singletonList(point("CpuUsage", 1.5, twoHoursAgo)));
+        log.append(Collections.singletonList(point("CpuUsage", 2.5, now)));
+        log.close();
+        new BinaryMetricsLog(tempDir, NAMESPACE + "Other").append(
+                Collections.singletonList(point("CpuUsage", 1.5, twoHoursAgo)));
+
+        BinaryMetricsLog.deleteFilesBefore(tempDir, NAMESPACE, now);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+        List<Metric> read = readPoints(NAMESPACE + "_");
+        assertEquals(1, read.size());
+        assertEquals(2.5, read.get(0).getValue());
+    }
+
+    private List<Metric> readPoints() throws IOException {
+        return readPoints("");
+    }
+
+    private List<Metric> readPoints(String prefix) throws IOException {
+        List<Metric> read = new ArrayList<>();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path p : files.filter(p -> p.getFileName().toString().startsWith(prefix)).sorted()
+                    .collect(Collectors.toList())) {
+                BinaryMetricsLog.read(p, read::add, am -> { });
+            }
+        }
+        return read;
+    }
+
+    private Path onlyFile() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            List<Path> all = files.collect(Collectors.toList());
+            assertEquals(1, all.size());
+            return all.get(0);
+        }
+    }
+
+    private static Metric point(String name, Object value, long timestamp) {
+        return Metric.builder().namespace(NAMESPACE).name(name).unit(TelemetryUnit.Percent)
+                .aggregation(TelemetryAggregation.Average).value(value).timestamp(timestamp).build();
+    }
+}
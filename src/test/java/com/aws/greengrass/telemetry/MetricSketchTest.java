@@ -0,0 +1,96 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class MetricSketchTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void GIVEN_values_WHEN_quantile_THEN_within_relative_accuracy() {
+        MetricSketch sketch = new MetricSketch();
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i);
+        }
+        assertEquals(10_000, sketch.getCount());
+        assertEquals(1, sketch.getMin());
+        assertEquals(10_000, sketch.getMax());
+        assertEquals(5000.5, AggregationType.Average.valueOf(sketch));
+        assertWithinAccuracy(5000, sketch.quantile(0.5));
+        assertWithinAccuracy(9000, sketch.quantile(0.9));
+        assertWithinAccuracy(9900, sketch.quantile(0.99));
+    }
+
+    @Test
+    void GIVEN_negative_and_zero_values_WHEN_quantile_THEN_ordered_correctly() {
+        MetricSketch sketch = new MetricSketch();
+        sketch.add(-100);
+        sketch.add(-1);
+        sketch.add(0);
+        sketch.add(1);
+        sketch.add(100);
+        assertWithinAccuracy(-100, sketch.quantile(0));
+        assertWithinAccuracy(-1, sketch.quantile(0.25));
+        assertEquals(0, sketch.quantile(0.5));
+        assertWithinAccuracy(1, sketch.quantile(0.75));
+        assertWithinAccuracy(100, sketch.quantile(1));
+    }
+
+    @Test
+    void GIVEN_split_values_WHEN_merge_THEN_same_as_single_sketch() {
+        MetricSketch all = new MetricSketch();
+        MetricSketch first = new MetricSketch();
+        MetricSketch second = new MetricSketch();
+        for (int i = 1; i <= 1000; i++) {
+            all.add(i * 0.5);
+            (i % 2 == 0 ? first : second).add(i * 0.5);
+        }
+        first.merge(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getSum(), first.getSum());
+        assertEquals(all.getPositive(), first.getPositive());
+        assertEquals(all.quantile(0.9), first.quantile(0.9));
+    }
+
+    @Test
+    void GIVEN_wide_range_of_values_WHEN_add_THEN_bucket_count_is_bounded() {
+        MetricSketch sketch = new MetricSketch();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(Math.pow(1.001, i));
+        }
+        assertTrue(sketch.getPositive().size() <= MetricSketch.MAX_BUCKETS);
+        assertWithinAccuracy(Math.pow(1.001, 98_999), sketch.quantile(0.99));
+    }
+
+    @Test
+    void GIVEN_sketch_WHEN_serialized_THEN_deserialized_to_same_sketch() throws IOException {
+        MetricSketch sketch = new MetricSketch();
+        sketch.add(-3);
+        sketch.add(0);
+        sketch.add(42);
+        MetricSketch read = mapper.readValue(mapper.writeValueAsString(sketch), MetricSketch.class);
+        assertEquals(sketch.getCount(), read.getCount());
+        assertEquals(sketch.getMin(), read.getMin());
+        assertEquals(sketch.getMax(), read.getMax());
+        assertEquals(sketch.getPositive(), read.getPositive());
+        assertEquals(sketch.getNegative(), read.getNegative());
+        assertEquals(sketch.quantile(0.5), read.quantile(0.5));
+    }
+
+    private static void assertWithinAccuracy(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * MetricSketch.RELATIVE_ACCURACY * 1.01);
+    }
+}
@@ -30,15 +30,20 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.aws.greengrass.telemetry.MetricsAggregator.AGGREGATE_METRICS_FILE;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
@@ -128,6 +133,185 @@ class MetricsAggregatorTest {
         }
     }
 
+    @Test
+    void GIVEN_metrics_in_memory_store_WHEN_aggregate_THEN_aggregated_without_log_files() throws IOException {
+        long lastAgg = Instant.now().toEpochMilli();
+        Metric m1 = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(10).timestamp(lastAgg).build();
+        Metric m2 = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(20).timestamp(lastAgg + 1).build();
+        Metric late = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(40).timestamp(lastAgg + 100).build();
+        metricsAggregator.getMetricsStore().record(Arrays.asList(m1, m2, late), false);
+        assertFalse(Files.exists(TelemetryConfig.getTelemetryDirectory().resolve(GREENGRASS_COMPONENTS_NS + ".log")));
+
+        metricsAggregator.aggregateMetrics(lastAgg, lastAgg + 100);
+        Path path = TelemetryConfig.getTelemetryDirectory().resolve("AggregateMetrics.log");
+        List<String> aggregatedMetricLogs = Files.readAllLines(path);
+        assertEquals(1, aggregatedMetricLogs.size());
+        AggregatedNamespaceData am = mapper.readValue(mapper.readTree(aggregatedMetricLogs.get(0)).get("message")
+                .asText(), AggregatedNamespaceData.class);
+        assertEquals(GREENGRASS_COMPONENTS_NS, am.getNamespace());
+        assertEquals((double) 30, am.getMetrics().get(0).getValue().get("Sum"));
+
+        // The point emitted at the end of the interval is left for the next aggregation
+        metricsAggregator.aggregateMetrics(lastAgg + 100, lastAgg + 200);
+        aggregatedMetricLogs = Files.readAllLines(path);
+        assertEquals(2, aggregatedMetricLogs.size());
+        am = mapper.readValue(mapper.readTree(aggregatedMetricLogs.get(1)).get("message").asText(),
+                AggregatedNamespaceData.class);
+        assertEquals((double) 40, am.getMetrics().get(0).getValue().get("Sum"));
+    }
+
+    @Test
+    void GIVEN_raw_metrics_persisted_before_restart_WHEN_aggregate_THEN_persisted_and_memory_points_aggregated()
+            throws IOException {
+        long lastAgg = Instant.now().toEpochMilli() - 1000;
+        metricsAggregator.setBinaryMetricsLogs(true);
+        metricsAggregator.getMetricsStore().record(Collections.singletonList(
+                Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                        .aggregation(TelemetryAggregation.Sum).value(10).timestamp(lastAgg).build()), true);
+
+        // The points persisted before the restart are not in the memory of the new aggregator
+        MetricsAggregator restarted = new MetricsAggregator();
+        long now = Instant.now().toEpochMilli();
+        restarted.getMetricsStore().record(Collections.singletonList(
+                Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                        .aggregation(TelemetryAggregation.Sum).value(20).timestamp(now).build()), false);
+        restarted.aggregateMetrics(lastAgg, now + 100);
+
+        List<String> aggregatedMetricLogs =
+                Files.readAllLines(TelemetryConfig.getTelemetryDirectory().resolve("AggregateMetrics.log"));
+        AggregatedNamespaceData am = mapper.readValue(mapper.readTree(aggregatedMetricLogs.get(0)).get("message")
+                .asText(), AggregatedNamespaceData.class);
+        assertEquals((double) 30, am.getMetrics().get(0).getValue().get("Sum"));
+    }
+
+    @Test
+    void GIVEN_emitter_registered_with_store_WHEN_emit_metrics_THEN_points_aggregated_from_memory()
+            throws IOException {
+        long lastAgg = Instant.now().toEpochMilli();
+        Metric m = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(10).timestamp(lastAgg).build();
+        PeriodicMetricsEmitter emitter = new PeriodicMetricsEmitter() {
+            @Override
+            public void emitMetrics() {
+                emit(getMetrics(), greengrassComponentsMetricsFactory::putMetricData);
+            }
+
+            @Override
+            public List<Metric> getMetrics() {
+                return Collections.singletonList(m);
+            }
+        };
+        emitter.recordTo(metricsAggregator.getMetricsStore(), () -> false);
+
+        emitter.emitMetrics();
+        assertFalse(Files.exists(TelemetryConfig.getTelemetryDirectory().resolve(GREENGRASS_COMPONENTS_NS + ".log")));
+        metricsAggregator.aggregateMetrics(lastAgg, lastAgg + 100);
+        List<String> aggregatedMetricLogs =
+                Files.readAllLines(TelemetryConfig.getTelemetryDirectory().resolve("AggregateMetrics.log"));
+        AggregatedNamespaceData am = mapper.readValue(mapper.readTree(aggregatedMetricLogs.get(0)).get("message")
+                .asText(), AggregatedNamespaceData.class);
+        assertEquals((double) 10, am.getMetrics().get(0).getValue().get("Sum"));
+    }
+
+    @Test
+    void GIVEN_percentile_metric_WHEN_publish_THEN_sketches_merged_over_publish_interval() throws IOException {
+        long lastAgg = Instant.now().toEpochMilli();
+        List<Metric> first = new ArrayList<>();
+        List<Metric> second = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            Metric m = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("Latency")
+                    .unit(TelemetryUnit.Milliseconds).aggregation(TelemetryAggregation.Average).value(i)
+                    .timestamp(i <= 50 ? lastAgg : lastAgg + 100).build();
+            (i <= 50 ? first : second).add(m);
+        }
+        metricsAggregator.getMetricsStore().record(first, m -> AggregationType.P90, false);
+        metricsAggregator.aggregateMetrics(lastAgg, lastAgg + 100);
+        metricsAggregator.getMetricsStore().record(second, m -> AggregationType.P90, false);
+        metricsAggregator.aggregateMetrics(lastAgg + 100, lastAgg + 200);
+
+        List<String> aggregatedMetricLogs =
+                Files.readAllLines(TelemetryConfig.getTelemetryDirectory().resolve("AggregateMetrics.log"));
+        AggregatedNamespaceData am = mapper.readValue(mapper.readTree(aggregatedMetricLogs.get(0)).get("message")
+                .asText(), AggregatedNamespaceData.class);
+        assertEquals(45, (double) am.getMetrics().get(0).getValue().get("P90"), 45 * 0.01);
+        // The sketch is kept in memory, not in the JSON log
+        assertNull(am.getMetrics().get(0).getSketch());
+        assertFalse(aggregatedMetricLogs.get(0).contains("\\\"S\\\""));
+
+        Map<Long, List<AggregatedNamespaceData>> metricsMap =
+                metricsAggregator.getMetricsToPublish(lastAgg, lastAgg + 300);
+        List<AggregatedNamespaceData> published = metricsMap.get(lastAgg + 300);
+        // The accumulated point is the P90 of all data points in the publish interval, not of the aggregated points
+        AggregatedNamespaceData accumulated = published.get(published.size() - 2);
+        assertEquals(lastAgg + 300, accumulated.getTimestamp());
+        assertEquals(90, (double) accumulated.getMetrics().get(0).getValue().get("Sum"), 90 * 0.01);
+        for (AggregatedNamespaceData nsd : published) {
+            nsd.getMetrics().forEach(m -> assertNull(m.getSketch()));
+        }
+    }
+
+    @Test
+    void GIVEN_percentile_in_other_namespace_WHEN_publish_THEN_only_percentile_accumulated() {
+        long lastAgg = Instant.now().toEpochMilli();
+        for (int i = 1; i <= 100; i++) {
+            long timestamp = i <= 50 ? lastAgg : lastAgg + 100;
+            metricsAggregator.getMetricsStore().record(Arrays.asList(
+                    Metric.builder().namespace("IPCOperations").name("Latency").unit(TelemetryUnit.Milliseconds)
+                            .aggregation(TelemetryAggregation.Average).value(i).timestamp(timestamp).build(),
+                    Metric.builder().namespace("IPCOperations").name("Requests").unit(TelemetryUnit.Count)
+                            .aggregation(TelemetryAggregation.Sum).value(1).timestamp(timestamp).build()),
+                    m -> "Latency".equals(m.getName()) ? AggregationType.P90 : null, false);
+            if (i == 50) {
+                metricsAggregator.aggregateMetrics(lastAgg, lastAgg + 100);
+            }
+        }
+        metricsAggregator.aggregateMetrics(lastAgg + 100, lastAgg + 200);
+
+        List<AggregatedNamespaceData> published =
+                metricsAggregator.getMetricsToPublish(lastAgg, lastAgg + 300).get(lastAgg + 300);
+        // Two aggregated points, the accumulated percentile and kernel metrics
+        assertEquals(4, published.size());
+        AggregatedNamespaceData accumulated = published.get(published.size() - 2);
+        assertEquals(lastAgg + 300, accumulated.getTimestamp());
+        assertEquals(1, accumulated.getMetrics().size());
+        assertEquals("Latency", accumulated.getMetrics().get(0).getName());
+        assertEquals(90, (double) accumulated.getMetrics().get(0).getValue().get("Sum"), 90 * 0.01);
+    }
+
+    @Test
+    void GIVEN_binary_metrics_logs_WHEN_publish_THEN_binary_and_existing_json_files_read() throws IOException {
+        long lastAgg = Instant.now().toEpochMilli();
+        // Aggregated before switching to the binary format
+        Map<String, Object> value = new HashMap<>();
+        value.put("Sum", 5.0);
+        aggregatedMetricFactory.logMetrics(new TelemetryLoggerMessage(new AggregatedNamespaceData(lastAgg,
+                GREENGRASS_COMPONENTS_NS, Collections.singletonList(
+                new AggregatedMetric("A", value, String.valueOf(TelemetryUnit.Count))))));
+
+        metricsAggregator.setBinaryMetricsLogs(true);
+        Metric m = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(10).timestamp(lastAgg + 1).build();
+        metricsAggregator.getMetricsStore().record(Collections.singletonList(m), true);
+        metricsAggregator.aggregateMetrics(lastAgg, lastAgg + 100);
+        try (Stream<Path> files = Files.list(TelemetryConfig.getTelemetryDirectory())) {
+            List<String> names = files.map(p -> p.getFileName().toString()).collect(Collectors.toList());
+            assertTrue(names.stream().anyMatch(n -> n.startsWith(GREENGRASS_COMPONENTS_NS + "_")
+                    && n.endsWith(BinaryMetricsLog.FILE_EXTENSION)));
+            assertTrue(names.stream().anyMatch(n -> n.startsWith(AGGREGATE_METRICS_FILE + "_")
+                    && n.endsWith(BinaryMetricsLog.FILE_EXTENSION)));
+        }
+
+        List<AggregatedNamespaceData> published =
+                metricsAggregator.getMetricsToPublish(lastAgg, lastAgg + 200).get(lastAgg + 200);
+        // JSON point, binary point, accumulated point and kernel metrics
+        assertEquals(4, published.size());
+        AggregatedNamespaceData accumulated = published.get(published.size() - 2);
+        assertEquals(15.0, accumulated.getMetrics().get(0).getValue().get("Sum"));
+    }
+
     @Test
     void GIVEN_invalid_metrics_WHEN_aggregate_THEN_parse_them_properly(ExtensionContext exContext) throws IOException,
             InterruptedException {
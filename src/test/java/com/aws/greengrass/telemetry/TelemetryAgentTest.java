@@ -8,6 +8,8 @@ package com.aws.greengrass.telemetry;
 import com.aws.greengrass.config.Topic;
 import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.ipc.IPCMetricsEmitter;
+import com.aws.greengrass.lifecyclemanager.ComponentProcessMetricsEmitter;
 import com.aws.greengrass.lifecyclemanager.KernelMetricsEmitter;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.PublishRequest;
@@ -89,6 +91,10 @@ class TelemetryAgentTest extends GGServiceTestUtil {
     @Mock
     private KernelMetricsEmitter kme;
     @Mock
+    private IPCMetricsEmitter ime;
+    @Mock
+    private ComponentProcessMetricsEmitter cpme;
+    @Mock
     private MetricsAggregator ma;
 
     @BeforeEach
@@ -128,7 +134,7 @@ class TelemetryAgentTest extends GGServiceTestUtil {
         }).when(ma).getMetricsToPublish(anyLong(), anyLong());
         lenient().when(mockMqttClient.publish(any(PublishRequest.class))).thenReturn(CompletableFuture.completedFuture(0));
 
-        telemetryAgent = new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService,
+        telemetryAgent = new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ime, cpme, ses, executorService,
                 3, 1);
     }
 
@@ -160,7 +166,7 @@ class TelemetryAgentTest extends GGServiceTestUtil {
 
     @Test
     void GIVEN_periodic_update_less_than_default_WHEN_config_read_THEN_sets_publish_interval_to_default() throws InterruptedException {
-        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService));
+        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ime, cpme, ses, executorService));
         telemetryAgent.postInject();
         TimeUnit.SECONDS.sleep(1);
         assertNotNull(telemetryAgent.getPeriodicAggregateMetricsFuture());
@@ -182,7 +188,7 @@ class TelemetryAgentTest extends GGServiceTestUtil {
         configurationTopics.createLeafChild("periodicPublishMetricsIntervalSeconds").withValue(300);
         when(mockDeviceConfiguration.getTelemetryConfigurationTopics()).thenReturn(configurationTopics);
 
-        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService));
+        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ime, cpme, ses, executorService));
         telemetryAgent.postInject();
 
         TimeUnit.SECONDS.sleep(2);
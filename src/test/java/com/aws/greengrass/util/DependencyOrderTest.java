@@ -13,11 +13,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItems;
 
 @ExtendWith(GGExtension.class)
@@ -45,4 +48,24 @@ class DependencyOrderTest {
                 tree.keySet(), tree::get);
         assertThat(result, hasItems("C"));
     }
+
+    @Test
+    void GIVEN_independent_chains_WHEN_ordered_THEN_each_element_after_its_dependencies_and_cycle_left_pending() {
+        Map<String, Set<String>> tree = new LinkedHashMap<>();
+        tree.put("main", new HashSet<>(Arrays.asList("A", "X")));
+        tree.put("A", new HashSet<>(Arrays.asList("B")));
+        tree.put("B", new HashSet<>(Arrays.asList("C")));
+        tree.put("C", Collections.emptySet());
+        tree.put("X", Collections.emptySet());
+        tree.put("P", new HashSet<>(Arrays.asList("Q")));
+        tree.put("Q", new HashSet<>(Arrays.asList("P")));
+        Map<String, Set<String>> dependencies = new HashMap<>(tree);
+        Set<String> pending = new LinkedHashSet<>(tree.keySet());
+
+        LinkedHashSet<String> result = new DependencyOrder<String>().computeOrderedDependencies(pending,
+                dependencies::get);
+
+        assertThat(result, contains("C", "X", "B", "A", "main"));
+        assertThat(pending, containsInAnyOrder("P", "Q"));
+    }
 }
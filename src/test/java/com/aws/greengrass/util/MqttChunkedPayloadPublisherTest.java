@@ -8,6 +8,7 @@ package com.aws.greengrass.util;
 
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.PublishRequest;
+import com.aws.greengrass.mqttclient.v5.UserProperty;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
@@ -22,17 +23,28 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
+import static com.aws.greengrass.util.MqttChunkedPayloadPublisher.CONTENT_ENCODING_DEFLATE;
+import static com.aws.greengrass.util.MqttChunkedPayloadPublisher.CONTENT_ENCODING_KEY;
+import static com.aws.greengrass.util.MqttChunkedPayloadPublisher.CONTENT_TYPE_JSON;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({GGExtension.class, MockitoExtension.class})
 class MqttChunkedPayloadPublisherTest {
@@ -213,6 +225,91 @@ class MqttChunkedPayloadPublisherTest {
         verify(mqttClient, times(0)).publish(publishRequestArgumentCaptor.capture());
     }
 
+    @Test
+    void GIVEN_compression_enabled_WHEN_payload_compresses_below_limit_THEN_send_one_deflated_chunk()
+            throws IOException, DataFormatException {
+        when(mqttClient.isMqtt5()).thenReturn(true);
+        publisher.setCompressPayloads(true);
+        publisher.setMaxPayloadLengthBytes(2000);
+        ChunkableTestMessage message = new ChunkableTestMessage("commonPayload");
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            payloads.add("{\"componentName\":\"aws.greengrass.Component\",\"status\":\"RUNNING\"}");
+        }
+
+        publisher.publish(message, payloads);
+        verify(mqttClient, times(1)).publish(publishRequestArgumentCaptor.capture());
+        PublishRequest request = publishRequestArgumentCaptor.getValue();
+        assertTrue(request.getPayload().length < 2000);
+        assertEquals(CONTENT_TYPE_JSON, request.getContentType());
+        assertEquals(Collections.singletonList(new UserProperty(CONTENT_ENCODING_KEY, CONTENT_ENCODING_DEFLATE)),
+                request.getUserProperties());
+
+        ChunkableTestMessage message1 = MAPPER.readValue(inflate(request.getPayload()), ChunkableTestMessage.class);
+        assertEquals(100, message1.getVariablePayload().size());
+        assertEquals(1, message1.getId());
+        assertEquals(1, message1.getTotalChunks());
+    }
+
+    @Test
+    void GIVEN_compression_enabled_WHEN_compressed_payload_exceeds_limit_THEN_every_chunk_fits_compressed()
+            throws IOException, DataFormatException {
+        when(mqttClient.isMqtt5()).thenReturn(true);
+        publisher.setCompressPayloads(true);
+        publisher.setMaxPayloadLengthBytes(1000);
+        ChunkableTestMessage message = new ChunkableTestMessage("commonPayload");
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            payloads.add(RandomStringUtils.randomAlphanumeric(50));
+        }
+
+        publisher.publish(message, payloads);
+        verify(mqttClient, atLeast(2)).publish(publishRequestArgumentCaptor.capture());
+        List<PublishRequest> publishRequests = publishRequestArgumentCaptor.getAllValues();
+        List<String> received = new ArrayList<>();
+        for (int i = 0; i < publishRequests.size(); i++) {
+            assertTrue(publishRequests.get(i).getPayload().length < 1000);
+            ChunkableTestMessage chunk =
+                    MAPPER.readValue(inflate(publishRequests.get(i).getPayload()), ChunkableTestMessage.class);
+            assertEquals(i + 1, chunk.getId());
+            assertEquals(publishRequests.size(), chunk.getTotalChunks());
+            received.addAll(chunk.getVariablePayload());
+        }
+        assertEquals(100, received.size());
+        assertTrue(received.containsAll(payloads));
+    }
+
+    @Test
+    void GIVEN_compression_enabled_WHEN_mqtt_3_THEN_send_plain_payload() throws IOException {
+        when(mqttClient.isMqtt5()).thenReturn(false);
+        publisher.setCompressPayloads(true);
+        publisher.setMaxPayloadLengthBytes(Integer.MAX_VALUE);
+        ChunkableTestMessage message = new ChunkableTestMessage("commonPayload");
+
+        publisher.publish(message, Arrays.asList("payload1", "payload2"));
+        verify(mqttClient, times(1)).publish(publishRequestArgumentCaptor.capture());
+        PublishRequest request = publishRequestArgumentCaptor.getValue();
+        assertNull(request.getContentType());
+        assertNull(request.getUserProperties());
+        ChunkableTestMessage message1 = MAPPER.readValue(request.getPayload(), ChunkableTestMessage.class);
+        assertEquals(Arrays.asList("payload1", "payload2"), message1.getVariablePayload());
+    }
+
+    private static byte[] inflate(byte[] compressed) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                out.write(buffer, 0, inflater.inflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class ProcessOutputPumpTest {
+    private final ProcessOutputPump pump = new ProcessOutputPump();
+
+    @Test
+    void GIVEN_output_with_mixed_line_separators_WHEN_pumped_THEN_same_lines_as_line_reader() throws Exception {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        byte[] output = "one\r\ntwo\nthree\r\rfour\rcafé ✓\nno newline".getBytes(StandardCharsets.UTF_8);
+
+        ProcessOutputPump.PumpedStream stream = pump.pump(new ByteArrayInputStream(output),
+                l -> lines.add(l.toString()), done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(lines, contains("one\n", "two\n", "three\n", "\n", "four\n", "café ✓\n", "no newline"));
+        assertEquals(6, stream.getNlines());
+    }
+
+    @Test
+    void GIVEN_character_split_between_writes_WHEN_pumped_THEN_decoded_once_complete() throws Exception {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        PipedOutputStream writer = new PipedOutputStream();
+        PipedInputStream in = new PipedInputStream(writer);
+        byte[] check = "✓\n".getBytes(StandardCharsets.UTF_8);
+
+        ProcessOutputPump.PumpedStream stream = pump.pump(in, l -> lines.add(l.toString()), done::countDown);
+        writer.write(check, 0, 1);
+        writer.flush();
+        Thread.sleep(50);
+        writer.write(check, 1, check.length - 1);
+        writer.flush();
+        closeWhenRead(in, writer);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(lines, contains("✓\n"));
+        assertEquals(1, stream.getNlines());
+    }
+
+    @Test
+    void GIVEN_many_streams_WHEN_pumped_THEN_each_consumer_gets_its_own_lines() throws Exception {
+        int streams = 50;
+        CountDownLatch done = new CountDownLatch(streams);
+        List<List<String>> outputs = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            List<String> lines = new CopyOnWriteArrayList<>();
+            outputs.add(lines);
+            byte[] output = ("stream " + i + "\nend " + i + "\n").getBytes(StandardCharsets.UTF_8);
+            pump.pump(new ByteArrayInputStream(output), l -> lines.add(l.toString()), done::countDown);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < streams; i++) {
+            assertThat(outputs.get(i), contains("stream " + i + "\n", "end " + i + "\n"));
+        }
+    }
+
+    @Test
+    void GIVEN_blocked_consumer_WHEN_other_stream_pumped_THEN_other_stream_not_held_back() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        pump.pump(new ByteArrayInputStream("blocked\n".getBytes(StandardCharsets.UTF_8)), l -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, null);
+        List<String> lines = new CopyOnWriteArrayList<>();
+        pump.pump(new ByteArrayInputStream("other\n".getBytes(StandardCharsets.UTF_8)),
+                l -> lines.add(l.toString()), otherDone::countDown);
+
+        assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+        assertThat(lines, contains("other\n"));
+        release.countDown();
+    }
+
+    private static void closeWhenRead(PipedInputStream in, PipedOutputStream writer)
+            throws IOException, InterruptedException {
+        while (in.available() > 0) {
+            Thread.sleep(10);
+        }
+        writer.close();
+    }
+}
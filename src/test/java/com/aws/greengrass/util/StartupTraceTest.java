@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class StartupTraceTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void GIVEN_spans_closed_WHEN_write_THEN_trace_file_has_spans_and_thread_names() throws Exception {
+        StartupTrace trace = new StartupTrace(true, 10);
+        try (StartupTrace.Span span = trace.start("lifecycle", "install",
+                Collections.singletonMap("service", "main"))) {
+            assertEquals(0, trace.getEventCount());
+        }
+        assertEquals(1, trace.getEventCount());
+
+        Path file = tempDir.resolve(StartupTrace.TRACE_FILE);
+        assertTrue(trace.writeTo(file));
+
+        JsonNode events = SerializerFactory.getFailSafeJsonObjectMapper().readTree(file.toFile()).get("traceEvents");
+        List<JsonNode> spans = spans(events);
+        assertEquals(1, spans.size());
+        assertEquals("install", spans.get(0).get("name").asText());
+        assertEquals("lifecycle", spans.get(0).get("cat").asText());
+        assertEquals("main", spans.get(0).get("args").get("service").asText());
+        assertTrue(spans.get(0).get("dur").asLong() >= 0);
+        assertFalse(spans.get(0).has("threadName"));
+
+        JsonNode metadata = events.get(1);
+        assertEquals("thread_name", metadata.get("name").asText());
+        assertEquals(spans.get(0).get("tid").asLong(), metadata.get("tid").asLong());
+        assertEquals(Thread.currentThread().getName(), metadata.get("args").get("name").asText());
+    }
+
+    @Test
+    void GIVEN_more_spans_than_the_cap_WHEN_closed_THEN_only_recorded_spans_counted() throws Exception {
+        StartupTrace trace = new StartupTrace(true, 2);
+        for (int i = 0; i < 5; i++) {
+            trace.start("kernel", "span" + i, null).close();
+        }
+        assertEquals(2, trace.getEventCount());
+
+        Path file = tempDir.resolve(StartupTrace.TRACE_FILE);
+        trace.writeTo(file);
+        List<JsonNode> spans =
+                spans(SerializerFactory.getFailSafeJsonObjectMapper().readTree(file.toFile()).get("traceEvents"));
+        assertEquals(2, spans.size());
+        assertEquals("span0", spans.get(0).get("name").asText());
+        assertEquals("span1", spans.get(1).get("name").asText());
+    }
+
+    @Test
+    void GIVEN_trace_written_WHEN_span_closed_or_written_again_THEN_nothing_recorded() throws Exception {
+        StartupTrace trace = new StartupTrace(true, 10);
+        Path file = tempDir.resolve(StartupTrace.TRACE_FILE);
+        assertTrue(trace.writeTo(file));
+
+        trace.start("kernel", "late", null).close();
+        assertEquals(0, trace.getEventCount());
+        Files.delete(file);
+        assertFalse(trace.writeTo(file));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void GIVEN_tracing_disabled_WHEN_write_THEN_no_file() {
+        StartupTrace trace = new StartupTrace(false, 10);
+        trace.start("kernel", "span", null).close();
+
+        assertEquals(0, trace.getEventCount());
+        assertFalse(trace.writeTo(tempDir.resolve(StartupTrace.TRACE_FILE)));
+    }
+
+    private static List<JsonNode> spans(JsonNode events) {
+        List<JsonNode> spans = new ArrayList<>();
+        events.forEach(event -> {
+            if ("X".equals(event.get("ph").asText())) {
+                spans.add(event);
+            }
+        });
+        return spans;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix;
+
+import com.aws.greengrass.jna.UnixLibC;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.sun.jna.Native;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@EnabledOnOs({OS.LINUX, OS.MAC})
+@ExtendWith(GGExtension.class)
+class UnixIdentityCacheTest {
+    @TempDir
+    Path etc;
+    private Path passwd;
+    private Path group;
+    private final AtomicLong clock = new AtomicLong(1000);
+    private UnixLibC libc;
+    private UnixIdentityCache cache;
+
+    @BeforeEach
+    void setup() throws IOException {
+        passwd = Files.createFile(etc.resolve("passwd"));
+        group = Files.createFile(etc.resolve("group"));
+        libc = mock(UnixLibC.class, delegatesTo(Native.load("c", UnixLibC.class)));
+        cache = new UnixIdentityCache(libc, passwd, group, 60_000, clock::get);
+    }
+
+    @Test
+    void GIVEN_root_user_WHEN_lookup_by_name_or_uid_THEN_resolved_natively() throws IOException {
+        UnixUserAttributes byName = cache.lookupUser("root").get();
+        assertEquals("0", byName.getPrincipalIdentifier());
+        assertEquals("root", byName.getPrincipalName());
+        assertEquals(0L, byName.getPrimaryGID().get());
+
+        UnixUserAttributes byId = cache.lookupUser("0").get();
+        assertEquals("root", byId.getPrincipalName());
+
+        UnixGroupAttributes rootGroup = cache.lookupGroup("0").get();
+        assertEquals("0", rootGroup.getPrincipalIdentifier());
+        assertFalse(cache.lookupUser("no-such-user-for-greengrass-tests").isPresent());
+        assertFalse(cache.lookupGroup("no-such-group-for-greengrass-tests").isPresent());
+    }
+
+    @Test
+    void GIVEN_cached_user_WHEN_passwd_modified_or_ttl_expired_THEN_looked_up_again() throws IOException {
+        cache.lookupUser("root");
+        cache.lookupUser("root");
+        verify(libc, times(1)).getpwnam_r(eq("root"), any(), any(), any(), any());
+
+        Files.setLastModifiedTime(passwd, FileTime.fromMillis(Files.getLastModifiedTime(passwd).toMillis() + 5000));
+        cache.lookupUser("root");
+        verify(libc, times(2)).getpwnam_r(eq("root"), any(), any(), any(), any());
+
+        clock.addAndGet(60_000);
+        cache.lookupUser("root");
+        cache.lookupUser("root");
+        verify(libc, times(3)).getpwnam_r(eq("root"), any(), any(), any(), any());
+
+        // Groups are cached separately, a change to the passwd file does not affect them
+        cache.lookupGroup("0");
+        Files.setLastModifiedTime(passwd, FileTime.fromMillis(Files.getLastModifiedTime(passwd).toMillis() + 5000));
+        cache.lookupGroup("0");
+        verify(libc, times(1)).getgrnam_r(eq("0"), any(), any(), any(), any());
+    }
+}
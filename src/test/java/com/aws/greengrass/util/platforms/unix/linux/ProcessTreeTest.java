@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(GGExtension.class)
+class ProcessTreeTest {
+    @TempDir
+    Path procRoot;
+
+    @Test
+    void GIVEN_children_files_WHEN_descendants_THEN_only_tree_of_process_walked() throws IOException {
+        writeChildren("self", 1, "");
+        // 100 has two threads which forked 101 and 102, 101 forked 103, and 200 is unrelated
+        writeChildren("100", 100, "101 ");
+        writeChildren("100", 105, "102 ");
+        writeChildren("101", 101, "103 ");
+        writeChildren("102", 102, "");
+        writeChildren("200", 200, "201 ");
+
+        assertThat(new ProcessTree(procRoot).descendants(100), containsInAnyOrder(101, 102, 103));
+        assertThat(new ProcessTree(procRoot).descendants(102), empty());
+        // 103 exited, it has no task directory any more
+        assertThat(new ProcessTree(procRoot).descendants(101), containsInAnyOrder(103));
+    }
+
+    @Test
+    void GIVEN_kernel_without_children_files_WHEN_descendants_THEN_null() throws IOException {
+        Files.createDirectories(procRoot.resolve("self").resolve("task").resolve("1"));
+
+        assertNull(new ProcessTree(procRoot).descendants(100));
+    }
+
+    private void writeChildren(String pid, int tid, String children) throws IOException {
+        Path task = Files.createDirectories(procRoot.resolve(pid).resolve("task").resolve(Integer.toString(tid)));
+        Files.write(task.resolve("children"), children.getBytes(StandardCharsets.US_ASCII));
+    }
+}
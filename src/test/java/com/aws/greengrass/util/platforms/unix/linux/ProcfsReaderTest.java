@@ -0,0 +1,93 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.platforms.ProcessResourceUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(GGExtension.class)
+class ProcfsReaderTest {
+    @TempDir
+    Path procRoot;
+
+    @Test
+    void GIVEN_pids_WHEN_sample_THEN_usage_of_only_those_processes_summed() throws IOException {
+        // 100 -> 101, and 200 is unrelated
+        writeProcess(100, 1, "sh", 150, 50, 1000, 2, 10, 20);
+        writeProcess(101, 100, "my (weird) app", 300, 100, 2000, 5, 30, 40);
+        writeProcess(200, 1, "other", 9999, 9999, 9999, 9, 9, 9);
+
+        ProcessResourceUsage usage = new ProcfsReader(procRoot).sample(Arrays.asList(100, 101, 300));
+        assertEquals(2, usage.getProcesses());
+        assertEquals((150 + 50 + 300 + 100) * 10, usage.getCpuTimeMillis());
+        assertEquals((1000 + 2000) * 1024, usage.getRssBytes());
+        assertEquals(7, usage.getThreads());
+        assertEquals(40, usage.getIoReadBytes());
+        assertEquals(60, usage.getIoWriteBytes());
+    }
+
+    @Test
+    void GIVEN_io_files_not_readable_WHEN_sample_THEN_io_unavailable() throws IOException {
+        writeProcess(100, 1, "sh", 150, 50, 1000, 2, 10, 20);
+        Files.delete(procRoot.resolve("100").resolve("io"));
+
+        ProcessResourceUsage usage = new ProcfsReader(procRoot).sample(Collections.singletonList(100));
+        assertEquals(1, usage.getProcesses());
+        assertEquals(-1, usage.getIoReadBytes());
+        assertEquals(-1, usage.getIoWriteBytes());
+    }
+
+    @Test
+    void GIVEN_cgroup_accounting_files_WHEN_read_THEN_values_parsed() throws IOException {
+        ProcfsReader reader = new ProcfsReader(procRoot);
+        Path cpuStat = procRoot.resolve("cpu.stat");
+        Files.write(cpuStat, "usage_usec 123456\nuser_usec 100000\nsystem_usec 23456\n"
+                .getBytes(StandardCharsets.UTF_8));
+        Path memoryStat = procRoot.resolve("memory.stat");
+        Files.write(memoryStat, "anon_thp 0\nanon 4096\nfile 8192\n".getBytes(StandardCharsets.UTF_8));
+        Path ioStat = procRoot.resolve("io.stat");
+        Files.write(ioStat, ("8:0 rbytes=100 wbytes=200 rios=1 wios=2 dbytes=0 dios=0\n"
+                + "8:16 rbytes=300 wbytes=400 rios=3 wios=4 dbytes=0 dios=0\n").getBytes(StandardCharsets.UTF_8));
+        Path cpuacct = procRoot.resolve("cpuacct.usage");
+        Files.write(cpuacct, "987654321\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(123456, reader.readKeyedLong(cpuStat, "usage_usec"));
+        assertEquals(4096, reader.readKeyedLong(memoryStat, "anon"));
+        assertEquals(-1, reader.readKeyedLong(memoryStat, "rss"));
+        assertEquals(400, reader.readTokenSum(ioStat, "rbytes="));
+        assertEquals(600, reader.readTokenSum(ioStat, "wbytes="));
+        assertEquals(987654321, reader.readLong(cpuacct));
+        assertEquals(-1, reader.readLong(procRoot.resolve("missing")));
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private void writeProcess(int pid, int ppid, String comm, long utime, long stime, long rssKb, int threads,
+                              long readBytes, long writeBytes) throws IOException {
+        Path dir = Files.createDirectories(procRoot.resolve(Integer.toString(pid)));
+        String stat = String.format("%d (%s) S %d %d %d 0 -1 4194560 100 0 0 0 %d %d 0 0 20 0 %d 0 12345 1000000 250 "
+                + "18446744073709551615 1 1 0 0 0 0 0 0 0 0 0 0 17 0 0 0 0 0 0", pid, comm, ppid, pid, pid, utime,
+                stime, threads);
+        Files.write(dir.resolve("stat"), stat.getBytes(StandardCharsets.UTF_8));
+        String status = String.format("Name:\t%s%nState:\tS (sleeping)%nPPid:\t%d%nVmPeak:\t%8d kB%nVmRSS:\t%8d kB%n"
+                + "Threads:\t%d%n", comm, ppid, rssKb * 2, rssKb, threads);
+        Files.write(dir.resolve("status"), status.getBytes(StandardCharsets.UTF_8));
+        String io = String.format("rchar: 1%nwchar: 2%nsyscr: 3%nsyscw: 4%nread_bytes: %d%nwrite_bytes: %d%n"
+                + "cancelled_write_bytes: 0%n", readBytes, writeBytes);
+        Files.write(dir.resolve("io"), io.getBytes(StandardCharsets.UTF_8));
+    }
+}